@@ -0,0 +1,89 @@
+package org.cardanofoundation.cip113.benchmark;
+
+import com.bloxbean.cardano.client.api.util.ValueUtil;
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import com.easy1staking.cardano.model.AssetType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming balance JSON codec of {@link BalanceValueHelper} against the previous
+ * ObjectMapper map binding followed by a {@code Value.add} fold (read) and {@code ValueUtil.toAmountList}
+ * plus {@code AssetType.fromUnit} (write), for balances holding an increasing number of assets.
+ * Run with the gc profiler (configured in build.gradle) to get allocations per call (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BalanceJsonBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int assets;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String json;
+
+    private Value value;
+
+    @Setup
+    public void setup() {
+        Map<String, String> unitMap = new HashMap<>();
+        unitMap.put("lovelace", "1500000");
+        for (int i = 0; i < assets; i++) {
+            unitMap.put("%056x%08x".formatted(i % 4, i), String.valueOf(1_000_000L * (i + 1)));
+        }
+        value = BalanceValueHelper.fromUnitMap(unitMap);
+        json = BalanceValueHelper.toJson(value);
+    }
+
+    @Benchmark
+    public Value readStreaming() {
+        return BalanceValueHelper.fromJson(json);
+    }
+
+    @Benchmark
+    public Map<String, String> readStreamingUnitMap() {
+        return BalanceValueHelper.unitMapFromJson(json);
+    }
+
+    @Benchmark
+    public Value readMapBinding() throws Exception {
+        Map<String, String> unitMap = objectMapper.readValue(json, new TypeReference<Map<String, String>>() {
+        });
+        return unitMap.entrySet()
+                .stream()
+                .reduce(Value.builder().build(), (value, entry) -> {
+                    var assetType = AssetType.fromUnit(entry.getKey());
+                    var amount = new BigInteger(entry.getValue());
+                    if (assetType.isAda()) {
+                        return value.addCoin(amount);
+                    } else {
+                        return value.add(assetType.policyId(), "0x" + assetType.assetName(), amount);
+                    }
+                }, Value::add);
+    }
+
+    @Benchmark
+    public String writeStreaming() {
+        return BalanceValueHelper.toJson(value);
+    }
+
+    @Benchmark
+    public String writeMapBinding() throws Exception {
+        Map<String, String> unitMap = new HashMap<>();
+        ValueUtil.toAmountList(value).forEach(amount -> {
+            var assetType = AssetType.fromUnit(amount.getUnit());
+            unitMap.put(assetType.isAda() ? AssetType.LOVELACE : assetType.toUnit(), String.valueOf(amount.getQuantity()));
+        });
+        return objectMapper.writeValueAsString(unitMap);
+    }
+
+}
@@ -0,0 +1,75 @@
+package org.cardanofoundation.cip113.benchmark;
+
+import com.bloxbean.cardano.client.plutus.spec.PlutusData;
+import com.bloxbean.cardano.client.util.HexUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cardanofoundation.cip113.model.onchain.RegistryNode;
+import org.cardanofoundation.cip113.model.onchain.RegistryNodeParser;
+import org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist.BlacklistNode;
+import org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist.BlacklistNodeParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the typed PlutusData decoders against the previous PlutusData -> JSON -> JsonNode round trip.
+ * Run with the gc profiler (configured in build.gradle) to get allocations per parse (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NodeParserBenchmark {
+
+    private static final String REGISTRY_NODE_DATUM = "d8799f581c0befd1269cf3b5b41cce136c92c64b45dde93e4bfe11875839b713d1581effffffffffffffffffffffffffffffffffffffffffffffffffffffffd8799f581caaa513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126102ffd8799f581cdef513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126103ff581c1234567890abcdef1234567890abcdef1234567890abcdef12345678ff";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser();
+    private final BlacklistNodeParser blacklistNodeParser = new BlacklistNodeParser();
+
+    private String blacklistNodeDatum;
+
+    @Setup
+    public void setup() {
+        blacklistNodeDatum = new BlacklistNode("0befd1269cf3b5b41cce136c92c64b45dde93e4bfe11875839b713d1",
+                "ffffffffffffffffffffffffffffffffffffffffffffffffffffffff")
+                .toPlutusData()
+                .serializeToHex();
+    }
+
+    @Benchmark
+    public Optional<RegistryNode> registryNodeDirect() {
+        return registryNodeParser.parse(REGISTRY_NODE_DATUM);
+    }
+
+    @Benchmark
+    public RegistryNode registryNodeJsonRoundTrip() throws Exception {
+        var json = toJson(REGISTRY_NODE_DATUM);
+        var fields = json.path("fields");
+        return RegistryNode.builder()
+                .key(fields.get(0).path("bytes").asText())
+                .next(fields.get(1).path("bytes").asText())
+                .transferLogicScript(fields.get(2).path("fields").get(0).path("bytes").asText())
+                .thirdPartyTransferLogicScript(fields.get(3).path("fields").get(0).path("bytes").asText())
+                .globalStatePolicyId(fields.get(4).path("bytes").asText())
+                .build();
+    }
+
+    @Benchmark
+    public Optional<BlacklistNode> blacklistNodeDirect() {
+        return blacklistNodeParser.parse(blacklistNodeDatum);
+    }
+
+    @Benchmark
+    public BlacklistNode blacklistNodeJsonRoundTrip() throws Exception {
+        var fields = toJson(blacklistNodeDatum).path("fields");
+        return new BlacklistNode(fields.get(0).path("bytes").asText(), fields.get(1).path("bytes").asText());
+    }
+
+    private JsonNode toJson(String inlineDatum) throws Exception {
+        var data = PlutusData.deserialize(HexUtil.decodeHexString(inlineDatum));
+        return objectMapper.readTree(objectMapper.writeValueAsString(data));
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.cardanofoundation.cip113.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Spring cache abstraction backed by bounded Caffeine caches.
+ * Caches are declared up front so that actuator binds their hit/miss/eviction metrics at startup.
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    public static final String BLACKLIST_STATUS_CACHE = "blacklistStatus";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.blacklist-status.max-size:10000}") long maxSize,
+                                     @Value("${cache.blacklist-status.ttl:10m}") Duration ttl) {
+        log.info("INIT {} cache, max size: {}, ttl: {}", BLACKLIST_STATUS_CACHE, maxSize, ttl);
+        var cacheManager = new CaffeineCacheManager(BLACKLIST_STATUS_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+
+}
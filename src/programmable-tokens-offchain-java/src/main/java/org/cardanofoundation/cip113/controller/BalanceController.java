@@ -6,11 +6,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.entity.BalanceLogEntity;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.model.BalanceHistoryPage;
+import org.cardanofoundation.cip113.model.BalancesAtSlotRequest;
+import org.cardanofoundation.cip113.model.HistoryCursor;
+import org.cardanofoundation.cip113.model.HolderCursor;
+import org.cardanofoundation.cip113.model.TokenHolder;
+import org.cardanofoundation.cip113.model.TokenHolderPage;
 import org.cardanofoundation.cip113.model.WalletBalanceResponse;
+import org.cardanofoundation.cip113.service.AddressComponentsCache;
 import org.cardanofoundation.cip113.service.BalanceService;
 import org.cardanofoundation.cip113.service.BlacklistQueryService;
 import org.cardanofoundation.cip113.service.ProtocolParamsService;
 import org.cardanofoundation.cip113.service.RegistryService;
+import org.cardanofoundation.cip113.service.TokenHoldingService;
 import org.cardanofoundation.cip113.util.AddressUtil;
 import org.cardanofoundation.cip113.util.BalanceValueHelper;
 import org.springframework.http.ResponseEntity;
@@ -31,6 +39,8 @@ public class BalanceController {
     private final ProtocolParamsService protocolParamsService;
     private final RegistryService registryService;
     private final BlacklistQueryService blacklistQueryService;
+    private final AddressComponentsCache addressComponentsCache;
+    private final TokenHoldingService tokenHoldingService;
 
     /**
      * Get current balance for all assets at an address
@@ -125,65 +135,134 @@ public class BalanceController {
     }
 
     /**
-     * Get balance history for all assets at an address
+     * Get the balance of an address as of a past slot
+     *
+     * @param address the bech32 address
+     * @param slot the slot
+     * @return the latest balance entry at or before the slot, or 404 if the address had none yet
+     */
+    @GetMapping("/at-slot/{address}")
+    public ResponseEntity<BalanceLogEntity> getBalanceAtSlot(
+            @PathVariable String address,
+            @RequestParam long slot) {
+        log.debug("GET /at-slot/{} - fetching balance at slot {}", address, slot);
+        return balanceService.getBalanceAtSlot(address, slot)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the balances of many addresses as of the same past slot
+     *
+     * @param request the slot and the addresses, at most {@value BalanceService#MAX_HISTORY_PAGE_SIZE}
+     * @return map of address to its latest balance entry at or before the slot, addresses without one are left out
+     */
+    @PostMapping("/at-slot")
+    public ResponseEntity<Map<String, BalanceLogEntity>> getBalancesAtSlot(@RequestBody BalancesAtSlotRequest request) {
+        log.debug("POST /at-slot - fetching balances of {} addresses at slot {}", request.addresses().size(), request.slot());
+        if (request.addresses().size() > BalanceService.MAX_HISTORY_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(balanceService.getBalancesAtSlot(request.addresses(), request.slot()));
+    }
+
+    /**
+     * Get the balances of all the addresses of a stake key hash as of a past slot
+     *
+     * @param stakeHash the stake key hash
+     * @param slot the slot
+     * @return the latest balance entry at or before the slot of each address
+     */
+    @GetMapping("/at-slot-by-stake/{stakeHash}")
+    public ResponseEntity<List<BalanceLogEntity>> getBalancesAtSlotByStakeKey(
+            @PathVariable String stakeHash,
+            @RequestParam long slot) {
+        log.debug("GET /at-slot-by-stake/{} - fetching balances at slot {}", stakeHash, slot);
+        return ResponseEntity.ok(balanceService.getBalancesAtSlotByStakeKey(stakeHash, slot));
+    }
+
+    /**
+     * Get balance history for all assets at an address, one page at a time.
+     * The cursor of the next page, if any, is returned in the {@value HistoryCursor#NEXT_CURSOR_HEADER} header.
      *
      * @param address the bech32 address
      * @param limit maximum number of entries (default 100)
+     * @param cursor optional cursor returned with the previous page
      * @return list of balance entries
      */
     @GetMapping("/history/{address}")
     public ResponseEntity<List<BalanceLogEntity>> getBalanceHistory(
             @PathVariable String address,
-            @RequestParam(defaultValue = "100") int limit) {
-        log.debug("GET /history/{} - fetching balance history, limit={}", address, limit);
-        List<BalanceLogEntity> history = balanceService.getBalanceHistory(address, limit);
-        return ResponseEntity.ok(history);
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /history/{} - fetching balance history, limit={}, cursor={}", address, limit, cursor);
+
+        Optional<HistoryCursor> historyCursor = HistoryCursor.parse(cursor);
+        if (cursor != null && historyCursor.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        BalanceHistoryPage page = balanceService.getBalanceHistoryPage(address, historyCursor.orElse(null), limit);
+        return withNextCursor(page).body(page.entries());
     }
 
     /**
-     * Get transaction list with balance diffs
+     * Get transaction list with balance diffs, one page at a time.
+     * The cursor of the next page, if any, is returned in the {@value HistoryCursor#NEXT_CURSOR_HEADER} header.
      *
      * @param address the bech32 address
      * @param limit maximum number of entries (default 100)
+     * @param cursor optional cursor returned with the previous page
      * @return list of transactions with balance differences
      */
     @GetMapping("/transactions/{address}")
     public ResponseEntity<List<Map<String, Object>>> getTransactionsWithDiffs(
             @PathVariable String address,
-            @RequestParam(defaultValue = "100") int limit) {
-        log.debug("GET /transactions/{} - fetching transactions with diffs, limit={}", address, limit);
-
-        List<BalanceLogEntity> history = balanceService.getBalanceHistory(address, limit);
-
-        // Calculate diffs between consecutive entries
-        List<Map<String, Object>> transactions = history.stream()
-                .map(entry -> {
-                    Map<String, Object> txData = new HashMap<>();
-                    txData.put("txHash", entry.getTxHash());
-                    txData.put("slot", entry.getSlot());
-                    txData.put("blockHeight", entry.getBlockHeight());
-                    txData.put("balance", BalanceValueHelper.fromJson(entry.getBalance()));
-
-                    // Get previous balance to calculate diff
-                    balanceService.getPreviousBalance(entry).ifPresentOrElse(
-                            prevEntry -> {
-                                Value diff = balanceService.calculateBalanceDiff(entry, prevEntry);
-                                txData.put("diff", BalanceValueHelper.toUnitMap(diff));
-                                txData.put("previousBalance", BalanceValueHelper.fromJson(prevEntry.getBalance()));
-                            },
-                            () -> {
-                                // First transaction, diff is the balance itself
-                                Value balance = BalanceValueHelper.fromJson(entry.getBalance());
-                                txData.put("diff", BalanceValueHelper.toUnitMap(balance));
-                                txData.put("previousBalance", BalanceValueHelper.empty());
-                            }
-                    );
-
-                    return txData;
-                })
-                .collect(Collectors.toList());
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /transactions/{} - fetching transactions with diffs, limit={}, cursor={}", address, limit, cursor);
+
+        Optional<HistoryCursor> historyCursor = HistoryCursor.parse(cursor);
+        if (cursor != null && historyCursor.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        return ResponseEntity.ok(transactions);
+        BalanceHistoryPage page = balanceService.getBalanceHistoryPage(address, historyCursor.orElse(null), limit);
+        List<BalanceLogEntity> history = page.entries();
+
+        // Calculate diffs between consecutive entries, the previous balance of each entry is the next row of the page
+        List<Map<String, Object>> transactions = new ArrayList<>(history.size());
+        for (int i = 0; i < history.size(); i++) {
+            BalanceLogEntity entry = history.get(i);
+            Map<String, Object> txData = new HashMap<>();
+            txData.put("txHash", entry.getTxHash());
+            txData.put("slot", entry.getSlot());
+            txData.put("blockHeight", entry.getBlockHeight());
+            txData.put("balance", BalanceValueHelper.fromJson(entry.getBalance()));
+
+            page.previousOf(i).ifPresentOrElse(
+                    prevEntry -> {
+                        Value diff = balanceService.calculateBalanceDiff(entry, prevEntry);
+                        txData.put("diff", BalanceValueHelper.toUnitMap(diff));
+                        txData.put("previousBalance", BalanceValueHelper.fromJson(prevEntry.getBalance()));
+                    },
+                    () -> {
+                        // First transaction, diff is the balance itself
+                        txData.put("diff", BalanceValueHelper.unitMapFromJson(entry.getBalance()));
+                        txData.put("previousBalance", BalanceValueHelper.empty());
+                    }
+            );
+
+            transactions.add(txData);
+        }
+
+        return withNextCursor(page).body(transactions);
+    }
+
+    private static ResponseEntity.BodyBuilder withNextCursor(BalanceHistoryPage page) {
+        var response = ResponseEntity.ok();
+        page.nextCursor().ifPresent(next -> response.header(HistoryCursor.NEXT_CURSOR_HEADER, next.encode()));
+        return response;
     }
 
     /**
@@ -199,6 +278,69 @@ public class BalanceController {
         return ResponseEntity.ok(balances);
     }
 
+    /**
+     * Get the holders of a policy, one per address with its total across the asset names of the policy,
+     * ordered by address, one page at a time.
+     * The cursor of the next page, if any, is returned in the {@value HistoryCursor#NEXT_CURSOR_HEADER} header.
+     *
+     * @param policyId the programmable token policy id
+     * @param limit maximum number of holders (default 100)
+     * @param cursor optional cursor returned with the previous page
+     * @return list of holders
+     */
+    @GetMapping("/holders/{policyId}")
+    public ResponseEntity<List<TokenHolder>> getHolders(
+            @PathVariable String policyId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /holders/{} - fetching holders, limit={}, cursor={}", policyId, limit, cursor);
+
+        Optional<HolderCursor> holderCursor = HolderCursor.parse(cursor);
+        if (!TokenHoldingService.isPolicyId(policyId) || (cursor != null && holderCursor.isEmpty())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TokenHolderPage page = tokenHoldingService.getHolders(policyId, holderCursor.orElse(null), limit);
+        var response = ResponseEntity.ok();
+        page.nextCursor().ifPresent(next -> response.header(HistoryCursor.NEXT_CURSOR_HEADER, next.encode()));
+        return response.body(page.holders());
+    }
+
+    /**
+     * Get the largest holders of a policy
+     *
+     * @param policyId the programmable token policy id
+     * @param limit number of holders (default 10)
+     * @return list of holders, largest total amount first
+     */
+    @GetMapping("/holders/{policyId}/top")
+    public ResponseEntity<List<TokenHolder>> getTopHolders(
+            @PathVariable String policyId,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("GET /holders/{}/top - fetching top {} holders", policyId, limit);
+        if (!TokenHoldingService.isPolicyId(policyId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tokenHoldingService.getTopHolders(policyId, limit));
+    }
+
+    /**
+     * Get the number of distinct addresses holding a policy
+     *
+     * @param policyId the programmable token policy id
+     * @return map with the holder count
+     */
+    @GetMapping("/holders/{policyId}/count")
+    public ResponseEntity<Map<String, Object>> getHolderCount(@PathVariable String policyId) {
+        log.debug("GET /holders/{}/count - counting holders", policyId);
+        if (!TokenHoldingService.isPolicyId(policyId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Map.of(
+                "policyId", policyId,
+                "holders", tokenHoldingService.countHolders(policyId)));
+    }
+
     /**
      * Get only programmable token balances for an address
      * Filters the balance to include only assets that are registered in the programmable token registry
@@ -258,7 +400,7 @@ public class BalanceController {
 
         try {
             // Parse wallet address to extract payment and stake credentials
-            AddressUtil.AddressComponents components = AddressUtil.decompose(address);
+            AddressUtil.AddressComponents components = addressComponentsCache.decompose(address);
 
             if (components == null) {
                 log.warn("Failed to decompose address: {}", address);
@@ -325,9 +467,8 @@ public class BalanceController {
 
             for (BalanceLogEntity balanceEntry : filteredBalances) {
                 try {
-                    // Convert JSON to Value, then to unit map
-                    Value valueObj = BalanceValueHelper.fromJson(balanceEntry.getBalance());
-                    Map<String, String> balance = BalanceValueHelper.toUnitMap(valueObj);
+                    // Stream the stored JSON straight to a unit map
+                    Map<String, String> balance = BalanceValueHelper.unitMapFromJson(balanceEntry.getBalance());
 
                     for (String unit : balance.keySet()) {
                         // Skip lovelace (ADA)
@@ -344,8 +485,15 @@ public class BalanceController {
                         AssetType assetType = AssetType.fromUnit(unit);
                         String policyId = assetType.policyId();
 
-                        // Check blacklist status for this token
-                        boolean isBlacklisted = blacklistQueryService.isAddressBlacklisted(policyId, address);
+                        // Check blacklist status for this token, failing safe to "not blacklisted"
+                        // (failures are not cached, so the next request checks again)
+                        boolean isBlacklisted;
+                        try {
+                            isBlacklisted = blacklistQueryService.isAddressBlacklisted(policyId, address);
+                        } catch (Exception e) {
+                            log.error("Error checking blacklist status for token={}, address={}", policyId, address, e);
+                            isBlacklisted = false;
+                        }
                         blacklistStatuses.put(unit, isBlacklisted);
 
                         if (isBlacklisted) {
@@ -7,6 +7,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.entity.BalanceLogEntity;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.model.BalanceHistoryPage;
+import org.cardanofoundation.cip113.model.HistoryCursor;
 import org.cardanofoundation.cip113.model.TransactionType;
 import org.cardanofoundation.cip113.service.BalanceService;
 import org.cardanofoundation.cip113.service.ProtocolParamsService;
@@ -33,20 +35,28 @@ public class HistoryController {
 
     /**
      * Get transaction history by stake key hash with optional protocol filtering
-     * Returns all transactions across all addresses with this stake key,
-     * sorted by slot DESC with balance diffs from the database
+     * Returns the transactions across all addresses with this stake key,
+     * sorted by slot DESC with balance diffs from the database, one page at a time.
+     * The cursor of the next page, if any, is returned in the {@value HistoryCursor#NEXT_CURSOR_HEADER} header.
      *
      * @param stakeKeyHash the stake key hash (user hash)
      * @param protocolTxHash optional protocol transaction hash to filter by protocol version
      * @param limit maximum number of entries (default 10)
+     * @param cursor optional cursor returned with the previous page
      * @return list of transaction history entries
      */
     @GetMapping("/by-stake/{stakeKeyHash}")
     public ResponseEntity<List<TransactionHistoryResponse>> getHistoryByStakeKey(
             @PathVariable String stakeKeyHash,
             @RequestParam(required = false) String protocolTxHash,
-            @RequestParam(defaultValue = "10") int limit) {
-        log.debug("GET /history/by-stake/{} - protocolTxHash={}, limit={}", stakeKeyHash, protocolTxHash, limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /history/by-stake/{} - protocolTxHash={}, limit={}, cursor={}", stakeKeyHash, protocolTxHash, limit, cursor);
+
+        Optional<HistoryCursor> historyCursor = HistoryCursor.parse(cursor);
+        if (cursor != null && historyCursor.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
 
         // Resolve payment script hash from protocol tx hash if provided
         String paymentScriptHash = null;
@@ -61,62 +71,46 @@ public class HistoryController {
             }
         }
 
-        // Get all latest balances for this stake key (optionally filtered by protocol)
-        List<BalanceLogEntity> latestBalances;
-        if (paymentScriptHash != null) {
-            latestBalances = balanceService.getLatestBalancesByPaymentScriptAndStakeKey(paymentScriptHash, stakeKeyHash);
-        } else {
-            latestBalances = balanceService.getLatestBalancesByStakeKey(stakeKeyHash);
-        }
+        // One indexed query returns exactly the page, across all the addresses of the stake key
+        BalanceHistoryPage page = balanceService.getBalanceHistoryPageByStakeKey(
+                stakeKeyHash, paymentScriptHash, historyCursor.orElse(null), limit);
 
-        // For each address, get their history
-        List<TransactionHistoryResponse> allHistory = new ArrayList<>();
-
-        for (BalanceLogEntity latestBalance : latestBalances) {
-            String address = latestBalance.getAddress();
-
-            // Get full history for this address (we'll limit globally later)
-            List<BalanceLogEntity> addressHistory = balanceService.getBalanceHistory(address, Integer.MAX_VALUE);
-
-            // Process each entry - use stored balance diff and transaction type
-            for (BalanceLogEntity entry : addressHistory) {
-                // Deserialize stored balance diff (or calculate if not present for backward compatibility)
-                Map<String, String> diffMap;
-                if (entry.getBalanceDiff() != null && !entry.getBalanceDiff().isEmpty()) {
-                    diffMap = deserializeBalanceDiff(entry.getBalanceDiff());
-                } else {
-                    // Fallback to calculation for old entries
-                    Optional<BalanceLogEntity> previousOpt = balanceService.getPreviousBalance(entry);
-                    String previousBalanceJson = previousOpt.map(BalanceLogEntity::getBalance).orElse(null);
-                    diffMap = BalanceValueHelper.calculateSignedDiff(entry.getBalance(), previousBalanceJson);
-                }
-
-                // Filter out zero amounts from balance diff
-                diffMap = filterZeroAmounts(diffMap);
-
-                // Convert slot to timestamp
-                var timestamp = cardanoConverters.slot().slotToTime(entry.getSlot()).toInstant(ZoneOffset.UTC).getEpochSecond();
-
-                TransactionHistoryResponse response = TransactionHistoryResponse.builder()
-                        .txHash(entry.getTxHash())
-                        .address(entry.getAddress())
-                        .slot(entry.getSlot())
-                        .timestamp(timestamp)
-                        .transactionType(entry.getTransactionType())
-                        .balanceDiff(diffMap)
-                        .build();
-
-                allHistory.add(response);
+        List<TransactionHistoryResponse> history = new ArrayList<>(page.entries().size());
+
+        // Process each entry - use stored balance diff and transaction type
+        for (BalanceLogEntity entry : page.entries()) {
+            // Deserialize stored balance diff (or calculate if not present for backward compatibility)
+            Map<String, String> diffMap;
+            if (entry.getBalanceDiff() != null && !entry.getBalanceDiff().isEmpty()) {
+                diffMap = deserializeBalanceDiff(entry.getBalanceDiff());
+            } else {
+                // Fallback to calculation for old entries
+                Optional<BalanceLogEntity> previousOpt = balanceService.getPreviousBalance(entry);
+                String previousBalanceJson = previousOpt.map(BalanceLogEntity::getBalance).orElse(null);
+                diffMap = BalanceValueHelper.calculateSignedDiff(entry.getBalance(), previousBalanceJson);
             }
-        }
 
-        // Sort all transactions by slot DESC (most recent first) and apply limit
-        List<TransactionHistoryResponse> sortedHistory = allHistory.stream()
-                .sorted(Comparator.comparing(TransactionHistoryResponse::getSlot).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+            // Filter out zero amounts from balance diff
+            diffMap = filterZeroAmounts(diffMap);
+
+            // Convert slot to timestamp
+            var timestamp = cardanoConverters.slot().slotToTime(entry.getSlot()).toInstant(ZoneOffset.UTC).getEpochSecond();
+
+            TransactionHistoryResponse response = TransactionHistoryResponse.builder()
+                    .txHash(entry.getTxHash())
+                    .address(entry.getAddress())
+                    .slot(entry.getSlot())
+                    .timestamp(timestamp)
+                    .transactionType(entry.getTransactionType())
+                    .balanceDiff(diffMap)
+                    .build();
+
+            history.add(response);
+        }
 
-        return ResponseEntity.ok(sortedHistory);
+        var response = ResponseEntity.ok();
+        page.nextCursor().ifPresent(next -> response.header(HistoryCursor.NEXT_CURSOR_HEADER, next.encode()));
+        return response.body(history);
     }
 
     /**
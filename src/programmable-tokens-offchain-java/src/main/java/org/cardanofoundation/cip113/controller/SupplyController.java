@@ -0,0 +1,87 @@
+package org.cardanofoundation.cip113.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.TokenSupplyEntity;
+import org.cardanofoundation.cip113.entity.TokenSupplyEventEntity;
+import org.cardanofoundation.cip113.model.HistoryCursor;
+import org.cardanofoundation.cip113.model.SupplyEventPage;
+import org.cardanofoundation.cip113.service.TokenSupplyService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("${apiPrefix}/supply")
+@RequiredArgsConstructor
+@Slf4j
+public class SupplyController {
+
+    private final TokenSupplyService tokenSupplyService;
+
+    /**
+     * Get the current circulating supply of every asset of a programmable token policy
+     *
+     * @param policyId the policy id
+     * @return the supply (with the minted and burned totals) of each asset, 404 if the policy never minted
+     */
+    @GetMapping("/{policyId}")
+    public ResponseEntity<List<TokenSupplyEntity>> getSupply(@PathVariable String policyId) {
+        log.debug("GET /supply/{} - fetching current supply", policyId);
+        List<TokenSupplyEntity> supplies = tokenSupplyService.getSupply(policyId);
+        if (supplies.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(supplies);
+    }
+
+    /**
+     * Get the circulating supply of every asset of a policy as of a past slot
+     *
+     * @param policyId the policy id
+     * @param slot the slot
+     * @return map of hex asset name to its supply at the slot, assets not minted yet are left out
+     */
+    @GetMapping("/{policyId}/at-slot")
+    public ResponseEntity<Map<String, String>> getSupplyAtSlot(
+            @PathVariable String policyId,
+            @RequestParam long slot) {
+        log.debug("GET /supply/{}/at-slot - fetching supply at slot {}", policyId, slot);
+        Map<String, String> supplies = new LinkedHashMap<>();
+        tokenSupplyService.getSupplyAtSlot(policyId, slot)
+                .forEach(event -> supplies.put(event.getAssetName(), event.getSupply().toString()));
+        return ResponseEntity.ok(supplies);
+    }
+
+    /**
+     * Get the mint and burn events of a policy, most recent first, one page at a time.
+     * The cursor of the next page, if any, is returned in the {@value HistoryCursor#NEXT_CURSOR_HEADER} header.
+     *
+     * @param policyId the policy id
+     * @param limit maximum number of events (default 100)
+     * @param cursor optional cursor returned with the previous page
+     * @return list of events, each with the supply of its asset after it
+     */
+    @GetMapping("/{policyId}/events")
+    public ResponseEntity<List<TokenSupplyEventEntity>> getSupplyEvents(
+            @PathVariable String policyId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /supply/{}/events - fetching mint and burn events, limit={}, cursor={}", policyId, limit, cursor);
+
+        Optional<HistoryCursor> historyCursor = HistoryCursor.parse(cursor);
+        if (cursor != null && historyCursor.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SupplyEventPage page = tokenSupplyService.getHistory(policyId, historyCursor.orElse(null), limit);
+        var response = ResponseEntity.ok();
+        page.nextCursor().ifPresent(next -> response.header(HistoryCursor.NEXT_CURSOR_HEADER, next.encode()));
+        return response.body(page.events());
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Interned bech32 addresses, referenced by their integer id from balance_log instead of repeating the address on every row.
+ * Entries are never removed.
+ */
+@Entity
+@Table(name = "address_dictionary", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_address_dictionary_address", columnNames = {"address"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddressDictionaryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, length = 200)
+    private String address;
+
+}
@@ -1,5 +1,6 @@
 package org.cardanofoundation.cip113.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,19 +13,16 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "balance_log", indexes = {
-    @Index(name = "idx_balance_address", columnList = "address"),
-    @Index(name = "idx_balance_payment_script", columnList = "paymentScriptHash"),
-    @Index(name = "idx_balance_stake_key", columnList = "stakeKeyHash"),
-    @Index(name = "idx_balance_payment_stake", columnList = "paymentScriptHash, stakeKeyHash"),
+    @Index(name = "idx_balance_address_slot_id", columnList = "addressId, slot, id"),
+    @Index(name = "idx_balance_stake_slot_id", columnList = "stakeKeyHash, slot, id"),
+    @Index(name = "idx_balance_payment_stake_slot_id", columnList = "paymentScriptHash, stakeKeyHash, slot, id"),
     @Index(name = "idx_balance_tx_hash", columnList = "txHash"),
-    @Index(name = "idx_balance_slot", columnList = "slot"),
-    @Index(name = "idx_balance_transaction_type", columnList = "transactionType"),
-    @Index(name = "idx_balance_payment_type", columnList = "paymentScriptHash, transactionType")
+    @Index(name = "idx_balance_slot", columnList = "slot")
 }, uniqueConstraints = {
-    @UniqueConstraint(name = "unique_balance_entry", columnNames = {"address", "txHash"})
+    @UniqueConstraint(name = "unique_balance_entry", columnNames = {"addressId", "txHash", "slot"})
 })
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class BalanceLogEntity {
@@ -34,17 +32,27 @@ public class BalanceLogEntity {
     private Long id;
 
     // Address Information
-    @Column(nullable = false, length = 200)
+    // The bech32 address is interned in address_dictionary, rows only store its id (see AddressDictionary)
+    @JsonIgnore
+    @Column(nullable = false)
+    private Integer addressId;
+
+    // Not stored, filled in from the address dictionary when rows are read (see BalanceService)
+    @Transient
     private String address;
 
-    @Column(nullable = false, length = 56)
+    // Hashes are hex in Java and raw bytes in the table
+    @Convert(converter = HexBytesConverter.class)
+    @Column(nullable = false, length = 28)
     private String paymentScriptHash;
 
-    @Column(length = 56)
+    @Convert(converter = HexBytesConverter.class)
+    @Column(length = 28)
     private String stakeKeyHash;
 
     // Transaction Context
-    @Column(nullable = false, length = 64)
+    @Convert(converter = HexBytesConverter.class)
+    @Column(nullable = false, length = 32)
     private String txHash;
 
     @Column(nullable = false)
@@ -54,9 +62,16 @@ public class BalanceLogEntity {
     private Long blockHeight;
 
     // Balance State (after this transaction) - JSON format: {"lovelace": "1000000", "unit": "amount"}
-    @Column(nullable = false, columnDefinition = "TEXT")
+    // Only stored on keyframes, delta entries are rebuilt from the nearest keyframe and the balance_diff of the entries after it
+    @Column(columnDefinition = "TEXT")
     private String balance;
 
+    // Number of entries since the last keyframe of the address, 0 on keyframes.
+    // Null on entries written before delta encoding that have not been converted yet
+    @JsonIgnore
+    @Column(name = "keyframe_distance")
+    private Integer keyframeDistance;
+
     // Transaction Type and Balance Difference
     @Enumerated(EnumType.STRING)
     @Column(name = "transaction_type")
@@ -0,0 +1,62 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of {@link BalanceLogEntity} holding only the latest balance of each address.
+ * Kept in sync by {@link org.cardanofoundation.cip113.service.BalanceService} whenever entries are appended to the log.
+ */
+@Entity
+@Table(name = "current_balance", indexes = {
+    @Index(name = "idx_current_balance_payment_script", columnList = "paymentScriptHash"),
+    @Index(name = "idx_current_balance_stake_key", columnList = "stakeKeyHash"),
+    @Index(name = "idx_current_balance_payment_stake", columnList = "paymentScriptHash, stakeKeyHash"),
+    @Index(name = "idx_current_balance_slot", columnList = "slot")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrentBalanceEntity {
+
+    @Id
+    @Column(length = 200)
+    private String address;
+
+    @Column(nullable = false, length = 56)
+    private String paymentScriptHash;
+
+    @Column(length = 56)
+    private String stakeKeyHash;
+
+    // Latest balance_log entry for this address
+    @Column(nullable = false)
+    private Long balanceLogId;
+
+    @Column(nullable = false, length = 64)
+    private String txHash;
+
+    @Column(nullable = false)
+    private Long slot;
+
+    @Column(nullable = false)
+    private Long blockHeight;
+
+    // Same JSON format as BalanceLogEntity.balance
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String balance;
+
+    // Keyframe distance of the latest entry, tells when the next entry has to be a keyframe
+    @Column(nullable = false)
+    private Integer keyframeDistance;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,27 @@
+package org.cardanofoundation.cip113.entity;
+
+import com.bloxbean.cardano.client.util.HexUtil;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores hex encoded hashes (policy ids, script and key hashes, transaction hashes) as raw bytes, half the width
+ * of their text form in both the table and its indexes.
+ * <p>
+ * Applies to query parameters compared with a converted attribute as well, so repository methods keep taking
+ * hex strings. Values read back are lower case hex.
+ */
+@Converter
+public class HexBytesConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String hex) {
+        return hex == null ? null : HexUtil.decodeHexString(hex);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : HexUtil.encodeHexString(bytes);
+    }
+
+}
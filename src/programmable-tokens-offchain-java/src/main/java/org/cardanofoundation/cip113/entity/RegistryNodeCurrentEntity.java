@@ -0,0 +1,71 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of {@link RegistryNodeEntity} holding only the latest state of each node, deleted nodes included.
+ * Kept in sync by {@link org.cardanofoundation.cip113.service.RegistryService} whenever node states are appended to the log.
+ */
+@Entity
+@Table(name = "registry_node_current",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uq_registry_node_current_protocol_params_key", columnNames = {"protocolParamsId", "key"})
+    },
+    indexes = {
+        @Index(name = "idx_registry_node_current_slot", columnList = "slot")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistryNodeCurrentEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "protocolParamsId", nullable = false)
+    private ProtocolParamsEntity protocolParams;
+
+    @Column(nullable = false, length = 64)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String next;
+
+    @Column(nullable = false, length = 56)
+    private String transferLogicScript;
+
+    @Column(nullable = false, length = 56)
+    private String thirdPartyTransferLogicScript;
+
+    @Column(length = 56)
+    private String globalStatePolicyId;
+
+    @Column(nullable = false)
+    private Boolean isDeleted;
+
+    // Latest registry_node entry for this node
+    @Column(nullable = false)
+    private Long registryNodeId;
+
+    @Column(nullable = false, length = 64)
+    private String txHash;
+
+    @Column(nullable = false)
+    private Long slot;
+
+    @Column(nullable = false)
+    private Long blockHeight;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -14,12 +14,8 @@ import java.time.LocalDateTime;
         @UniqueConstraint(name = "uq_registry_key_slot_tx", columnNames = {"key", "slot", "txHash"})
     },
     indexes = {
-        @Index(name = "idx_registry_key", columnList = "key"),
-        @Index(name = "idx_registry_next", columnList = "next"),
         @Index(name = "idx_registry_protocol_params", columnList = "protocolParamsId"),
-        @Index(name = "idx_registry_slot", columnList = "slot"),
-        @Index(name = "idx_registry_is_deleted", columnList = "isDeleted"),
-        @Index(name = "idx_registry_key_slot_deleted", columnList = "key, slot, isDeleted")
+        @Index(name = "idx_registry_slot", columnList = "slot")
     })
 @Data
 @Builder
@@ -34,26 +30,33 @@ public class RegistryNodeEntity {
     // NOTE: In the rare edge case where multiple transactions in the same slot modify the same key,
     // we won't know which one is "latest" within that slot. This is unlikely in practice.
     // The composite unique constraint (key, slot, txHash) prevents race conditions during bulk processing.
-    @Column(nullable = false, length = 64)
+    // Keys and hashes are hex in Java and raw bytes in the table
+    @Convert(converter = HexBytesConverter.class)
+    @Column(nullable = false, length = 32)
     private String key;
 
-    @Column(nullable = false, length = 64)
+    @Convert(converter = HexBytesConverter.class)
+    @Column(nullable = false, length = 32)
     private String next;
 
-    @Column(nullable = false, length = 56)
+    @Convert(converter = HexBytesConverter.class)
+    @Column(nullable = false, length = 28)
     private String transferLogicScript;
 
-    @Column(nullable = false, length = 56)
+    @Convert(converter = HexBytesConverter.class)
+    @Column(nullable = false, length = 28)
     private String thirdPartyTransferLogicScript;
 
-    @Column(length = 56)
+    @Convert(converter = HexBytesConverter.class)
+    @Column(length = 28)
     private String globalStatePolicyId;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "protocolParamsId", nullable = false)
     private ProtocolParamsEntity protocolParams;
 
-    @Column(nullable = false, length = 64)
+    @Convert(converter = HexBytesConverter.class)
+    @Column(nullable = false, length = 32)
     private String txHash;
 
     @Column(nullable = false)
@@ -0,0 +1,56 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+/**
+ * Amount of one native asset held at one programmable token address, one row per non zero (address, asset).
+ * Projection of {@link CurrentBalanceEntity}, kept in sync by
+ * {@link org.cardanofoundation.cip113.service.TokenHoldingService} in the same transaction.
+ */
+@Entity
+@Table(name = "token_holding", indexes = {
+    @Index(name = "idx_token_holding_policy_address", columnList = "policyId, address, amount")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uq_token_holding_address_unit", columnNames = {"address", "policyId", "assetName"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenHoldingEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 56)
+    private String policyId;
+
+    // Hex encoded, empty for the empty asset name
+    @Column(nullable = false, length = 64)
+    private String assetName;
+
+    @Column(nullable = false, length = 200)
+    private String address;
+
+    @Column(length = 56)
+    private String stakeKeyHash;
+
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger amount;
+
+    // Slot of the balance this amount was projected from
+    @Column(nullable = false)
+    private Long slot;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,59 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+/**
+ * Circulating supply of one programmable token asset: everything minted minus everything burned.
+ * Projection of {@link TokenSupplyEventEntity}, kept in sync by
+ * {@link org.cardanofoundation.cip113.service.TokenSupplyService} in the transaction appending the events.
+ */
+@Entity
+@Table(name = "token_supply", indexes = {
+    @Index(name = "idx_token_supply_slot", columnList = "slot")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uq_token_supply_unit", columnNames = {"policyId", "assetName"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenSupplyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 56)
+    private String policyId;
+
+    // Hex encoded, empty for the empty asset name
+    @Column(nullable = false, length = 64)
+    private String assetName;
+
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger supply;
+
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger minted;
+
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger burned;
+
+    // Latest mint or burn
+    @Column(nullable = false, length = 64)
+    private String txHash;
+
+    @Column(nullable = false)
+    private Long slot;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+}
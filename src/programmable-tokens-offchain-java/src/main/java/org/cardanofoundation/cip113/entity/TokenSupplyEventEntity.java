@@ -0,0 +1,67 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only log of the mints (positive quantity) and burns (negative quantity) of programmable token assets,
+ * each carrying the running totals of its asset after it.
+ */
+@Entity
+@Table(name = "token_supply_event", indexes = {
+    @Index(name = "idx_token_supply_event_policy_slot_id", columnList = "policyId, slot, id"),
+    @Index(name = "idx_token_supply_event_unit_slot_id", columnList = "policyId, assetName, slot, id"),
+    @Index(name = "idx_token_supply_event_slot", columnList = "slot")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uq_token_supply_event", columnNames = {"txHash", "policyId", "assetName"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenSupplyEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 56)
+    private String policyId;
+
+    // Hex encoded, empty for the empty asset name
+    @Column(nullable = false, length = 64)
+    private String assetName;
+
+    @Column(nullable = false, length = 64)
+    private String txHash;
+
+    @Column(nullable = false)
+    private Long slot;
+
+    @Column(nullable = false)
+    private Long blockHeight;
+
+    // Minted quantity, negative for a burn
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger quantity;
+
+    // Running totals of the asset after this event
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger supply;
+
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger minted;
+
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger burned;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,38 @@
+package org.cardanofoundation.cip113.model;
+
+import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of balance history, most recent first.
+ *
+ * @param entries   the entries of the page
+ * @param following the first entry of the next page, null on the last page. Fetched along with the page, it tells
+ *                  whether there is a next page and, for a single address, is the previous balance of the last entry
+ */
+public record BalanceHistoryPage(List<BalanceLogEntity> entries, BalanceLogEntity following) {
+
+    /**
+     * @return the cursor of the next page, empty on the last page
+     */
+    public Optional<HistoryCursor> nextCursor() {
+        return following == null || entries.isEmpty()
+                ? Optional.empty()
+                : Optional.of(HistoryCursor.of(entries.getLast()));
+    }
+
+    /**
+     * Only meaningful for the history of a single address
+     *
+     * @param index index of an entry of the page
+     * @return the entry preceding it on chain, empty for the first entry of the address
+     */
+    public Optional<BalanceLogEntity> previousOf(int index) {
+        return index + 1 < entries.size()
+                ? Optional.of(entries.get(index + 1))
+                : Optional.ofNullable(following);
+    }
+
+}
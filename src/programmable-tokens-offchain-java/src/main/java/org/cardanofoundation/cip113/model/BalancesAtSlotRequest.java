@@ -0,0 +1,19 @@
+package org.cardanofoundation.cip113.model;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Request model for the balances of many addresses as of the same slot.
+ * Used by the /balances/at-slot endpoint for audits and reconciliations.
+ */
+public record BalancesAtSlotRequest(
+        Long slot,                   // Balances in force at this slot
+        List<String> addresses       // Bech32 addresses
+) {
+    public BalancesAtSlotRequest {
+        requireNonNull(slot, "slot required");
+        requireNonNull(addresses, "addresses required");
+    }
+}
@@ -0,0 +1,50 @@
+package org.cardanofoundation.cip113.model;
+
+import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+
+import java.util.Optional;
+
+/**
+ * Keyset pagination cursor over balance history, ordered by slot DESC then id DESC.
+ * <p>
+ * A page starts strictly after the (slot, id) of the last entry of the previous page, so fetching
+ * a page is a single index range scan whatever its depth. Encoded as {@code "slot:id"} and returned
+ * to clients in the {@value #NEXT_CURSOR_HEADER} response header.
+ *
+ * @param slot the slot of the last entry already returned
+ * @param id   the id of the last entry already returned
+ */
+public record HistoryCursor(long slot, long id) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static HistoryCursor of(BalanceLogEntity entry) {
+        return new HistoryCursor(entry.getSlot(), entry.getId());
+    }
+
+    /**
+     * @param cursor an encoded cursor
+     * @return the cursor, or empty if malformed
+     */
+    public static Optional<HistoryCursor> parse(String cursor) {
+        if (cursor == null) {
+            return Optional.empty();
+        }
+        int separator = cursor.indexOf(':');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new HistoryCursor(
+                    Long.parseLong(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1))));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode() {
+        return slot + ":" + id;
+    }
+
+}
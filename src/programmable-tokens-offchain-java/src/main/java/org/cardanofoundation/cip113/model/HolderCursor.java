@@ -0,0 +1,34 @@
+package org.cardanofoundation.cip113.model;
+
+import java.util.Optional;
+
+/**
+ * Keyset pagination cursor over the holders of a policy, ordered by address.
+ * <p>
+ * Encoded as the address itself and returned to clients in the {@value HistoryCursor#NEXT_CURSOR_HEADER}
+ * response header, like {@link HistoryCursor}.
+ *
+ * @param address the address of the last holder already returned
+ */
+public record HolderCursor(String address) {
+
+    public static HolderCursor of(TokenHolder holder) {
+        return new HolderCursor(holder.address());
+    }
+
+    /**
+     * @param cursor an encoded cursor
+     * @return the cursor, or empty if malformed
+     */
+    public static Optional<HolderCursor> parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(new HolderCursor(cursor));
+    }
+
+    public String encode() {
+        return address;
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.cardanofoundation.cip113.model;
+
+import java.math.BigInteger;
+
+/**
+ * Mint (positive quantity) or burn (negative quantity) of a programmable token asset, as read from the mint field
+ * of a transaction.
+ *
+ * @param policyId    the policy id
+ * @param assetName   the hex encoded asset name
+ * @param txHash      the minting transaction
+ * @param slot        the slot of the transaction
+ * @param blockHeight the block height of the transaction
+ * @param quantity    the minted quantity, negative for a burn
+ */
+public record SupplyChange(String policyId, String assetName, String txHash, long slot, long blockHeight,
+                           BigInteger quantity) {
+}
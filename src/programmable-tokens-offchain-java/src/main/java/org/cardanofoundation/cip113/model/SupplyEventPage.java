@@ -0,0 +1,27 @@
+package org.cardanofoundation.cip113.model;
+
+import org.cardanofoundation.cip113.entity.TokenSupplyEventEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of the mint and burn events of a policy, most recent first.
+ *
+ * @param events    the events of the page
+ * @param following the first event of the next page, null on the last page
+ */
+public record SupplyEventPage(List<TokenSupplyEventEntity> events, TokenSupplyEventEntity following) {
+
+    /**
+     * @return the cursor of the next page, empty on the last page
+     */
+    public Optional<HistoryCursor> nextCursor() {
+        if (following == null || events.isEmpty()) {
+            return Optional.empty();
+        }
+        var last = events.getLast();
+        return Optional.of(new HistoryCursor(last.getSlot(), last.getId()));
+    }
+
+}
@@ -0,0 +1,13 @@
+package org.cardanofoundation.cip113.model;
+
+import java.math.BigInteger;
+
+/**
+ * A holder of a programmable token policy, aggregated over the asset names of the policy.
+ *
+ * @param address      the holder address
+ * @param stakeKeyHash the stake key hash of the address, null if none
+ * @param amount       the total amount held across the asset names of the policy
+ */
+public record TokenHolder(String address, String stakeKeyHash, BigInteger amount) {
+}
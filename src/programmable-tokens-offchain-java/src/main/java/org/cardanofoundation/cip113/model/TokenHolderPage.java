@@ -0,0 +1,23 @@
+package org.cardanofoundation.cip113.model;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of the holders of a policy, ordered by address.
+ *
+ * @param holders   the holders of the page
+ * @param following the first holder of the next page, null on the last page
+ */
+public record TokenHolderPage(List<TokenHolder> holders, TokenHolder following) {
+
+    /**
+     * @return the cursor of the next page, empty on the last page
+     */
+    public Optional<HolderCursor> nextCursor() {
+        return following == null || holders.isEmpty()
+                ? Optional.empty()
+                : Optional.of(HolderCursor.of(holders.getLast()));
+    }
+
+}
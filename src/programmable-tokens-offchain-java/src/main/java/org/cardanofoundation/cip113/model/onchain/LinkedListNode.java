@@ -0,0 +1,12 @@
+package org.cardanofoundation.cip113.model.onchain;
+
+/**
+ * A node of an on-chain sorted linked list (registry, blacklist), pointing to the key of the next node
+ */
+public interface LinkedListNode {
+
+    String key();
+
+    String next();
+
+}
@@ -11,7 +11,7 @@ public record RegistryNode(String key,
                            String next,
                            String transferLogicScript,
                            String thirdPartyTransferLogicScript,
-                           String globalStatePolicyId) {
+                           String globalStatePolicyId) implements LinkedListNode {
 
     public PlutusData toPlutusData() {
 
@@ -5,9 +5,10 @@ import com.bloxbean.cardano.client.plutus.spec.ConstrPlutusData;
 import com.bloxbean.cardano.client.plutus.spec.PlutusData;
 import com.bloxbean.cardano.client.util.HexUtil;
 import lombok.Builder;
+import org.cardanofoundation.cip113.model.onchain.LinkedListNode;
 
 @Builder(toBuilder = true)
-public record BlacklistNode(String key, String next) {
+public record BlacklistNode(String key, String next) implements LinkedListNode {
 
     public PlutusData toPlutusData() {
         return ConstrPlutusData.of(0,
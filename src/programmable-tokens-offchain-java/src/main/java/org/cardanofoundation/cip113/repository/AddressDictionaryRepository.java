@@ -0,0 +1,18 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.AddressDictionaryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AddressDictionaryRepository extends JpaRepository<AddressDictionaryEntity, Integer> {
+
+    /**
+     * Find the dictionary entries of the given addresses, addresses never seen are left out
+     */
+    List<AddressDictionaryEntity> findByAddressIn(Collection<String> addresses);
+
+}
@@ -3,60 +3,196 @@ package org.cardanofoundation.cip113.repository;
 import org.cardanofoundation.cip113.entity.BalanceLogEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BalanceLogRepository extends JpaRepository<BalanceLogEntity, Long> {
+public interface BalanceLogRepository extends JpaRepository<BalanceLogEntity, Long>, BalanceLogRepositoryCustom {
+
+    /**
+     * Dictionary id of the bech32 :address parameter, entries only store the id (see AddressDictionaryEntity).
+     * Evaluated once per query, so lookups still seek the address_id indexes.
+     */
+    String ADDRESS_ID = "(SELECT d.id FROM AddressDictionaryEntity d WHERE d.address = :address)";
 
     /**
      * Find the latest balance entry for an address
      */
-    @Query("SELECT b FROM BalanceLogEntity b WHERE b.address = :address ORDER BY b.slot DESC, b.id DESC")
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.addressId = " + ADDRESS_ID + " ORDER BY b.slot DESC, b.id DESC")
     List<BalanceLogEntity> findLatestByAddress(@Param("address") String address, Pageable pageable);
 
     /**
-     * Find balance history for an address
+     * Find the current balance entry for an address through the current_balance projection
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.id = (" +
+           "  SELECT c.balanceLogId FROM CurrentBalanceEntity c WHERE c.address = :address" +
+           ")")
+    Optional<BalanceLogEntity> findCurrentByAddress(@Param("address") String address);
+
+    /**
+     * Id of the latest entry of dictionary address d, ordered like {@link #findLatestByAddress} (slot, then id),
+     * a single seek on the (address_id, slot DESC, id DESC) index
+     */
+    String LATEST_ID = "(SELECT b2.id FROM BalanceLogEntity b2 WHERE b2.addressId = d.id " +
+                       "ORDER BY b2.slot DESC, b2.id DESC LIMIT 1)";
+
+    /**
+     * Find the latest balance entry for each of the given addresses in a single query, still one index seek per
+     * address. Only used to rebuild the current_balance projection after a rollback.
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.id IN (" +
+           "  SELECT " + LATEST_ID + " FROM AddressDictionaryEntity d WHERE d.address IN :addresses" +
+           ")")
+    List<BalanceLogEntity> findLatestByAddresses(@Param("addresses") Collection<String> addresses);
+
+    /**
+     * Delete all entries above the given slot (chain rollback).
+     * balance_log is partitioned by slot, only the partitions above the slot are touched.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BalanceLogEntity b WHERE b.slot > :slot")
+    int deleteBySlotGreaterThan(@Param("slot") Long slot);
+
+    /**
+     * Find the balance entry of an address in force at the given slot: the latest one at or before it.
+     * A single seek on the (address_id, slot DESC, id DESC) index.
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.addressId = " + ADDRESS_ID + " AND b.slot <= :slot " +
+           "ORDER BY b.slot DESC, b.id DESC")
+    List<BalanceLogEntity> findAtOrBeforeSlot(@Param("address") String address, @Param("slot") Long slot, Pageable pageable);
+
+    /**
+     * Id of the entry of dictionary address d in force at :slot, a single seek on the (address_id, slot DESC, id DESC) index
+     */
+    String ID_AT_OR_BEFORE_SLOT = "(SELECT b2.id FROM BalanceLogEntity b2 WHERE b2.addressId = d.id AND b2.slot <= :slot " +
+                                  "ORDER BY b2.slot DESC, b2.id DESC LIMIT 1)";
+
+    /**
+     * Find the entry in force at the given slot of each of the given addresses in a single query,
+     * still one index seek per address. Addresses without an entry at or before the slot are left out.
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.id IN (" +
+           "  SELECT " + ID_AT_OR_BEFORE_SLOT + " FROM AddressDictionaryEntity d WHERE d.address IN :addresses" +
+           ")")
+    List<BalanceLogEntity> findAtOrBeforeSlotByAddresses(@Param("addresses") Collection<String> addresses,
+                                                         @Param("slot") Long slot);
+
+    /**
+     * Find the entry in force at the given slot of every address of a stake key hash in a single query.
+     * Every address that ever had an entry has a current_balance row.
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.id IN (" +
+           "  SELECT " + ID_AT_OR_BEFORE_SLOT + " FROM AddressDictionaryEntity d, CurrentBalanceEntity c " +
+           "  WHERE c.stakeKeyHash = :stakeKeyHash AND d.address = c.address" +
+           ")")
+    List<BalanceLogEntity> findAtOrBeforeSlotByStakeKeyHash(@Param("stakeKeyHash") String stakeKeyHash,
+                                                            @Param("slot") Long slot);
+
+    /**
+     * Find, for each of the given entries, the nearest keyframe of its address at or before it, in a single query
+     */
+    @Query("SELECT k FROM BalanceLogEntity k WHERE k.id IN (" +
+           "  SELECT (SELECT k2.id FROM BalanceLogEntity k2 WHERE k2.addressId = e.addressId AND k2.balance IS NOT NULL " +
+           "          AND (k2.slot < e.slot OR (k2.slot = e.slot AND k2.id <= e.id)) " +
+           "          ORDER BY k2.slot DESC, k2.id DESC LIMIT 1) " +
+           "  FROM BalanceLogEntity e WHERE e.id IN :ids" +
+           ")")
+    List<BalanceLogEntity> findKeyframesAtOrBefore(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find, for each address, the entries after its entry in :fromIds up to and including its entry in :toIds,
+     * in chain order per address. Expects at most one entry per address in each of the id lists.
+     */
+    @Query("SELECT b FROM BalanceLogEntity b, BalanceLogEntity f, BalanceLogEntity t " +
+           "WHERE f.id IN :fromIds AND t.id IN :toIds AND t.addressId = f.addressId AND b.addressId = f.addressId " +
+           "AND (b.slot > f.slot OR (b.slot = f.slot AND b.id > f.id)) " +
+           "AND (b.slot < t.slot OR (b.slot = t.slot AND b.id <= t.id)) " +
+           "ORDER BY b.addressId, b.slot ASC, b.id ASC")
+    List<BalanceLogEntity> findHistoriesBetween(@Param("fromIds") Collection<Long> fromIds,
+                                                @Param("toIds") Collection<Long> toIds);
+
+    /**
+     * Find the entries of an address after the (fromSlot, fromId) position up to and including the (toSlot, toId) one,
+     * in chain order
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.addressId = " + ADDRESS_ID + " " +
+           "AND (b.slot > :fromSlot OR (b.slot = :fromSlot AND b.id > :fromId)) " +
+           "AND (b.slot < :toSlot OR (b.slot = :toSlot AND b.id <= :toId)) " +
+           "ORDER BY b.slot ASC, b.id ASC")
+    List<BalanceLogEntity> findHistoryBetween(@Param("address") String address,
+                                              @Param("fromSlot") Long fromSlot,
+                                              @Param("fromId") Long fromId,
+                                              @Param("toSlot") Long toSlot,
+                                              @Param("toId") Long toId);
+
+    /**
+     * Find addresses that still have entries written before delta encoding
+     */
+    @Query("SELECT d.address FROM AddressDictionaryEntity d " +
+           "WHERE d.id IN (SELECT b.addressId FROM BalanceLogEntity b WHERE b.keyframeDistance IS NULL)")
+    List<String> findAddressesWithUnencodedEntries(Pageable pageable);
+
+    /**
+     * Find the entries of an address written before delta encoding, in chain order
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.addressId = " + ADDRESS_ID + " AND b.keyframeDistance IS NULL " +
+           "ORDER BY b.slot ASC, b.id ASC")
+    List<BalanceLogEntity> findUnencodedByAddress(@Param("address") String address, Pageable pageable);
+
+    /**
+     * Find the id of the last entry of an address written before delta encoding
+     */
+    @Query("SELECT MAX(b.id) FROM BalanceLogEntity b WHERE b.addressId = " + ADDRESS_ID + " AND b.keyframeDistance IS NULL")
+    Optional<Long> findLastUnencodedId(@Param("address") String address);
+
+    /**
+     * Find balance history for an address, first page
      */
-    @Query("SELECT b FROM BalanceLogEntity b WHERE b.address = :address ORDER BY b.slot DESC")
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.addressId = " + ADDRESS_ID + " ORDER BY b.slot DESC, b.id DESC")
     List<BalanceLogEntity> findHistoryByAddress(@Param("address") String address, Pageable pageable);
 
     /**
-     * Find latest balances by payment script hash (one per address)
+     * Find balance history for an address, page after the (slot, id) cursor
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.addressId = " + ADDRESS_ID + " " +
+           "AND (b.slot < :slot OR (b.slot = :slot AND b.id < :id)) " +
+           "ORDER BY b.slot DESC, b.id DESC")
+    List<BalanceLogEntity> findHistoryByAddressBefore(@Param("address") String address,
+                                                      @Param("slot") Long slot,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+
+    /**
+     * Find latest balances by payment script hash (one per address), resolved through the current_balance projection
      */
-    @Query("SELECT b FROM BalanceLogEntity b WHERE b.paymentScriptHash = :paymentScriptHash " +
-           "AND b.id IN (" +
-           "  SELECT MAX(b2.id) FROM BalanceLogEntity b2 " +
-           "  WHERE b2.paymentScriptHash = :paymentScriptHash " +
-           "  GROUP BY b2.address" +
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.id IN (" +
+           "  SELECT c.balanceLogId FROM CurrentBalanceEntity c " +
+           "  WHERE c.paymentScriptHash = :paymentScriptHash" +
            ") ORDER BY b.slot DESC")
     List<BalanceLogEntity> findLatestByPaymentScriptHash(@Param("paymentScriptHash") String paymentScriptHash);
 
     /**
-     * Find latest balances by stake key hash (one per address)
+     * Find latest balances by stake key hash (one per address), resolved through the current_balance projection
      */
-    @Query("SELECT b FROM BalanceLogEntity b WHERE b.stakeKeyHash = :stakeKeyHash " +
-           "AND b.id IN (" +
-           "  SELECT MAX(b2.id) FROM BalanceLogEntity b2 " +
-           "  WHERE b2.stakeKeyHash = :stakeKeyHash " +
-           "  GROUP BY b2.address" +
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.id IN (" +
+           "  SELECT c.balanceLogId FROM CurrentBalanceEntity c " +
+           "  WHERE c.stakeKeyHash = :stakeKeyHash" +
            ") ORDER BY b.slot DESC")
     List<BalanceLogEntity> findLatestByStakeKeyHash(@Param("stakeKeyHash") String stakeKeyHash);
 
     /**
-     * Find latest balances by payment script hash and stake key hash
+     * Find latest balances by payment script hash and stake key hash, resolved through the current_balance projection
      */
-    @Query("SELECT b FROM BalanceLogEntity b WHERE b.paymentScriptHash = :paymentScriptHash " +
-           "AND b.stakeKeyHash = :stakeKeyHash " +
-           "AND b.id IN (" +
-           "  SELECT MAX(b2.id) FROM BalanceLogEntity b2 " +
-           "  WHERE b2.paymentScriptHash = :paymentScriptHash " +
-           "  AND b2.stakeKeyHash = :stakeKeyHash " +
-           "  GROUP BY b2.address" +
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.id IN (" +
+           "  SELECT c.balanceLogId FROM CurrentBalanceEntity c " +
+           "  WHERE c.paymentScriptHash = :paymentScriptHash " +
+           "  AND c.stakeKeyHash = :stakeKeyHash" +
            ") ORDER BY b.slot DESC")
     List<BalanceLogEntity> findLatestByPaymentScriptHashAndStakeKeyHash(
             @Param("paymentScriptHash") String paymentScriptHash,
@@ -66,30 +202,58 @@ public interface BalanceLogRepository extends JpaRepository<BalanceLogEntity, Lo
     /**
      * Find balance entries by transaction hash
      */
-    @Query("SELECT b FROM BalanceLogEntity b WHERE b.txHash = :txHash ORDER BY b.address")
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.txHash = :txHash")
     List<BalanceLogEntity> findByTxHash(@Param("txHash") String txHash);
 
+    /**
+     * Find balance entries for any of the given transaction hashes
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.txHash IN :txHashes")
+    List<BalanceLogEntity> findByTxHashIn(@Param("txHashes") Collection<String> txHashes);
+
     /**
      * Check if balance entry exists for this address and transaction
      */
-    boolean existsByAddressAndTxHash(String address, String txHash);
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM BalanceLogEntity b WHERE b.addressId = " + ADDRESS_ID + " AND b.txHash = :txHash")
+    boolean existsByAddressAndTxHash(@Param("address") String address, @Param("txHash") String txHash);
 
     /**
-     * Find balance history by stake key hash with optional protocol filtering
-     * @param stakeKeyHash The stake key hash to filter by
-     * @param paymentScriptHash Optional payment script hash for protocol version filtering
-     * @param pageable Pagination parameters
-     * @return List of balance entries ordered by slot descending
+     * Find balance history across all addresses of a stake key hash, first page
      */
-    @Query("""
-        SELECT bl FROM BalanceLogEntity bl
-        WHERE bl.stakeKeyHash = :stakeKeyHash
-        AND (:paymentScriptHash IS NULL OR bl.paymentScriptHash = :paymentScriptHash)
-        ORDER BY bl.slot DESC
-        """)
-    List<BalanceLogEntity> findHistoryByStakeKeyHashAndPaymentScript(
-            @Param("stakeKeyHash") String stakeKeyHash,
-            @Param("paymentScriptHash") String paymentScriptHash,
-            Pageable pageable
-    );
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.stakeKeyHash = :stakeKeyHash ORDER BY b.slot DESC, b.id DESC")
+    List<BalanceLogEntity> findHistoryByStakeKeyHash(@Param("stakeKeyHash") String stakeKeyHash, Pageable pageable);
+
+    /**
+     * Find balance history across all addresses of a stake key hash, page after the (slot, id) cursor
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.stakeKeyHash = :stakeKeyHash " +
+           "AND (b.slot < :slot OR (b.slot = :slot AND b.id < :id)) " +
+           "ORDER BY b.slot DESC, b.id DESC")
+    List<BalanceLogEntity> findHistoryByStakeKeyHashBefore(@Param("stakeKeyHash") String stakeKeyHash,
+                                                           @Param("slot") Long slot,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
+
+    /**
+     * Find balance history by payment script hash (protocol version) and stake key hash, first page
+     */
+    @Query("SELECT b FROM BalanceLogEntity b " +
+           "WHERE b.paymentScriptHash = :paymentScriptHash AND b.stakeKeyHash = :stakeKeyHash " +
+           "ORDER BY b.slot DESC, b.id DESC")
+    List<BalanceLogEntity> findHistoryByPaymentScriptHashAndStakeKeyHash(@Param("paymentScriptHash") String paymentScriptHash,
+                                                                         @Param("stakeKeyHash") String stakeKeyHash,
+                                                                         Pageable pageable);
+
+    /**
+     * Find balance history by payment script hash (protocol version) and stake key hash, page after the (slot, id) cursor
+     */
+    @Query("SELECT b FROM BalanceLogEntity b " +
+           "WHERE b.paymentScriptHash = :paymentScriptHash AND b.stakeKeyHash = :stakeKeyHash " +
+           "AND (b.slot < :slot OR (b.slot = :slot AND b.id < :id)) " +
+           "ORDER BY b.slot DESC, b.id DESC")
+    List<BalanceLogEntity> findHistoryByPaymentScriptHashAndStakeKeyHashBefore(@Param("paymentScriptHash") String paymentScriptHash,
+                                                                               @Param("stakeKeyHash") String stakeKeyHash,
+                                                                               @Param("slot") Long slot,
+                                                                               @Param("id") Long id,
+                                                                               Pageable pageable);
 }
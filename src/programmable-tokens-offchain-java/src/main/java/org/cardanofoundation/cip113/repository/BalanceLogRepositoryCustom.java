@@ -0,0 +1,21 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+
+import java.util.List;
+
+/**
+ * Custom fragment for {@link BalanceLogRepository} providing JDBC based bulk operations
+ * that bypass the per-row overhead of the JPA persistence context.
+ */
+public interface BalanceLogRepositoryCustom {
+
+    /**
+     * Insert all entries with a single JDBC batch.
+     * Generated ids are written back onto the given entities.
+     *
+     * @param entities the balance log entries to insert
+     */
+    void batchInsert(List<BalanceLogEntity> entities);
+
+}
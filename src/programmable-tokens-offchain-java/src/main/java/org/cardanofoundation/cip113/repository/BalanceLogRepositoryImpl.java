@@ -0,0 +1,83 @@
+package org.cardanofoundation.cip113.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+import org.cardanofoundation.cip113.entity.HexBytesConverter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class BalanceLogRepositoryImpl implements BalanceLogRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO balance_log " +
+            "(address_id, payment_script_hash, stake_key_hash, tx_hash, slot, block_height, balance, transaction_type, balance_diff, keyframe_distance, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Same encoding as the entity mapping
+    private static final HexBytesConverter HEX_BYTES = new HexBytesConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<BalanceLogEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        var createdAt = LocalDateTime.now();
+        var keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        var entity = entities.get(i);
+                        if (entity.getCreatedAt() == null) {
+                            entity.setCreatedAt(createdAt);
+                        }
+                        ps.setInt(1, entity.getAddressId());
+                        ps.setBytes(2, HEX_BYTES.convertToDatabaseColumn(entity.getPaymentScriptHash()));
+                        ps.setBytes(3, HEX_BYTES.convertToDatabaseColumn(entity.getStakeKeyHash()));
+                        ps.setBytes(4, HEX_BYTES.convertToDatabaseColumn(entity.getTxHash()));
+                        ps.setLong(5, entity.getSlot());
+                        ps.setLong(6, entity.getBlockHeight());
+                        // Delta entries keep their full balance in memory only
+                        boolean keyframe = entity.getKeyframeDistance() == null || entity.getKeyframeDistance() == 0;
+                        ps.setString(7, keyframe ? entity.getBalance() : null);
+                        ps.setString(8, entity.getTransactionType() != null ? entity.getTransactionType().name() : null);
+                        ps.setString(9, entity.getBalanceDiff());
+                        if (entity.getKeyframeDistance() != null) {
+                            ps.setInt(10, entity.getKeyframeDistance());
+                        } else {
+                            ps.setNull(10, Types.INTEGER);
+                        }
+                        ps.setTimestamp(11, Timestamp.valueOf(entity.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entities.size();
+                    }
+                },
+                keyHolder);
+
+        // Write generated ids back, batch order is preserved by the driver
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < entities.size(); i++) {
+            var id = keys.get(i).get("id");
+            if (id instanceof Number number) {
+                entities.get(i).setId(number.longValue());
+            }
+        }
+    }
+}
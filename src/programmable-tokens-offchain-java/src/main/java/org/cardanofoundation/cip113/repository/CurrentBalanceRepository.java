@@ -0,0 +1,28 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.CurrentBalanceEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CurrentBalanceRepository extends JpaRepository<CurrentBalanceEntity, String> {
+
+    /**
+     * Find the addresses whose current balance was set above the given slot
+     */
+    @Query("SELECT c.address FROM CurrentBalanceEntity c WHERE c.slot > :slot")
+    List<String> findAddressesBySlotGreaterThan(@Param("slot") Long slot);
+
+    /**
+     * Delete all current balances set above the given slot (chain rollback)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CurrentBalanceEntity c WHERE c.slot > :slot")
+    int deleteBySlotGreaterThan(@Param("slot") Long slot);
+
+}
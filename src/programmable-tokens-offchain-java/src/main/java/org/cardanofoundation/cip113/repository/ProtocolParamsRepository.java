@@ -2,7 +2,9 @@ package org.cardanofoundation.cip113.repository;
 
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +23,8 @@ public interface ProtocolParamsRepository extends JpaRepository<ProtocolParamsEn
     Optional<ProtocolParamsEntity> findBySlot(Long slot);
 
     boolean existsByTxHash(String txHash);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProtocolParamsEntity p WHERE p.slot > :slot")
+    int deleteBySlotGreaterThan(@Param("slot") Long slot);
 }
@@ -0,0 +1,42 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.RegistryNodeCurrentEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RegistryNodeCurrentRepository extends JpaRepository<RegistryNodeCurrentEntity, Long> {
+
+    /**
+     * Get the latest state of a node
+     */
+    @Query("SELECT c FROM RegistryNodeCurrentEntity c WHERE c.protocolParams.id = :protocolParamsId AND c.key = :key")
+    Optional<RegistryNodeCurrentEntity> findByProtocolParamsIdAndKey(@Param("protocolParamsId") Long protocolParamsId, @Param("key") String key);
+
+    /**
+     * Get the latest state of every live node across all protocol params, with the protocol params
+     * fetched so the nodes can be used detached
+     */
+    @Query("SELECT c FROM RegistryNodeCurrentEntity c JOIN FETCH c.protocolParams WHERE c.isDeleted = false")
+    List<RegistryNodeCurrentEntity> findAllLive();
+
+    /**
+     * Find the keys of the nodes whose state was set above the given slot
+     */
+    @Query("SELECT DISTINCT c.key FROM RegistryNodeCurrentEntity c WHERE c.slot > :slot")
+    List<String> findKeysBySlotGreaterThan(@Param("slot") Long slot);
+
+    /**
+     * Delete all node states set above the given slot (chain rollback)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM RegistryNodeCurrentEntity c WHERE c.slot > :slot")
+    int deleteBySlotGreaterThan(@Param("slot") Long slot);
+
+}
@@ -0,0 +1,44 @@
+package org.cardanofoundation.cip113.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Creates the slot range partitions of the tables partitioned by slot (balance_log, registry_node), through the
+ * create_slot_partitions function of the V12 migration.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SlotPartitionRepository {
+
+    /**
+     * Slots per partition, one Shelley era epoch
+     */
+    public static final long SLOT_RANGE = 432_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the lowest slot stored in the default partition of a table, i.e. not covered by a partition yet
+     */
+    public Optional<Long> findMinDefaultPartitionSlot(String table) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT MIN(slot) FROM " + table + "_default", Long.class));
+    }
+
+    /**
+     * Create the missing partitions of a table covering the given slots. Rows already stored in the default
+     * partition for these slots are moved to their new partition.
+     *
+     * @return the number of created partitions
+     */
+    public int createPartitions(String table, long fromSlot, long toSlot) {
+        Integer created = jdbcTemplate.queryForObject("SELECT create_slot_partitions(?, ?, ?, ?)",
+                Integer.class, table, fromSlot, toSlot, SLOT_RANGE);
+        return created != null ? created : 0;
+    }
+
+}
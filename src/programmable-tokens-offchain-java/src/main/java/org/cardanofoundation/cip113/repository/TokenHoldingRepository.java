@@ -0,0 +1,61 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.TokenHoldingEntity;
+import org.cardanofoundation.cip113.model.TokenHolder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TokenHoldingRepository extends JpaRepository<TokenHoldingEntity, Long> {
+
+    /**
+     * Find every holding of the given addresses
+     */
+    List<TokenHoldingEntity> findByAddressIn(Collection<String> addresses);
+
+    String HOLDER = "new org.cardanofoundation.cip113.model.TokenHolder(h.address, h.stakeKeyHash, SUM(h.amount))";
+
+    /**
+     * Find the first page of the holders of a policy, one row per address, ordered by address
+     */
+    @Query("SELECT " + HOLDER + " FROM TokenHoldingEntity h WHERE h.policyId = :policyId " +
+           "GROUP BY h.address, h.stakeKeyHash ORDER BY h.address")
+    List<TokenHolder> findHolders(@Param("policyId") String policyId, Pageable pageable);
+
+    /**
+     * Find the holders of a policy strictly after the address cursor, ordered by address
+     */
+    @Query("SELECT " + HOLDER + " FROM TokenHoldingEntity h WHERE h.policyId = :policyId AND h.address > :address " +
+           "GROUP BY h.address, h.stakeKeyHash ORDER BY h.address")
+    List<TokenHolder> findHoldersAfter(@Param("policyId") String policyId,
+                                       @Param("address") String address,
+                                       Pageable pageable);
+
+    /**
+     * Find the largest holders of a policy, summing the asset names of the policy held at each address
+     */
+    @Query("SELECT " + HOLDER + " FROM TokenHoldingEntity h WHERE h.policyId = :policyId " +
+           "GROUP BY h.address, h.stakeKeyHash ORDER BY SUM(h.amount) DESC, h.address")
+    List<TokenHolder> findTopHolders(@Param("policyId") String policyId, Pageable pageable);
+
+    /**
+     * Count the distinct addresses holding any asset name of a policy
+     */
+    @Query("SELECT COUNT(DISTINCT h.address) FROM TokenHoldingEntity h WHERE h.policyId = :policyId")
+    long countHolders(@Param("policyId") String policyId);
+
+    /**
+     * Delete every holding of the given addresses (chain rollback, before re-projection)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TokenHoldingEntity h WHERE h.address IN :addresses")
+    int deleteByAddressIn(@Param("addresses") Collection<String> addresses);
+
+}
@@ -0,0 +1,64 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.TokenSupplyEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TokenSupplyEventRepository extends JpaRepository<TokenSupplyEventEntity, Long> {
+
+    /**
+     * Find the events of the given transactions, to skip already recorded ones
+     */
+    List<TokenSupplyEventEntity> findByTxHashIn(Collection<String> txHashes);
+
+    /**
+     * Find the latest event at or before a slot of every asset of a policy.
+     * Events are appended in chain order, so the highest id per asset is its latest event.
+     */
+    @Query("SELECT e FROM TokenSupplyEventEntity e " +
+           "WHERE e.id IN (SELECT MAX(e2.id) FROM TokenSupplyEventEntity e2 " +
+           "  WHERE e2.policyId = :policyId AND e2.slot <= :slot GROUP BY e2.assetName)")
+    List<TokenSupplyEventEntity> findLatestAtOrBeforeSlot(@Param("policyId") String policyId, @Param("slot") long slot);
+
+    /**
+     * Find the latest event of every asset of the given policies, to re-project them after a rollback
+     */
+    @Query("SELECT e FROM TokenSupplyEventEntity e " +
+           "WHERE e.id IN (SELECT MAX(e2.id) FROM TokenSupplyEventEntity e2 " +
+           "  WHERE e2.policyId IN :policyIds GROUP BY e2.policyId, e2.assetName)")
+    List<TokenSupplyEventEntity> findLatestByPolicyIds(@Param("policyIds") Collection<String> policyIds);
+
+    /**
+     * Find the first page of the events of a policy, most recent first
+     */
+    @Query("SELECT e FROM TokenSupplyEventEntity e WHERE e.policyId = :policyId " +
+           "ORDER BY e.slot DESC, e.id DESC")
+    List<TokenSupplyEventEntity> findHistory(@Param("policyId") String policyId, Pageable pageable);
+
+    /**
+     * Find the events of a policy strictly before the (slot, id) cursor, most recent first
+     */
+    @Query("SELECT e FROM TokenSupplyEventEntity e WHERE e.policyId = :policyId " +
+           "AND (e.slot < :slot OR (e.slot = :slot AND e.id < :id)) " +
+           "ORDER BY e.slot DESC, e.id DESC")
+    List<TokenSupplyEventEntity> findHistoryBefore(@Param("policyId") String policyId,
+                                                   @Param("slot") long slot,
+                                                   @Param("id") long id,
+                                                   Pageable pageable);
+
+    /**
+     * Delete all events above the given slot (chain rollback)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TokenSupplyEventEntity e WHERE e.slot > :slot")
+    int deleteBySlotGreaterThan(@Param("slot") Long slot);
+
+}
@@ -0,0 +1,38 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.TokenSupplyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TokenSupplyRepository extends JpaRepository<TokenSupplyEntity, Long> {
+
+    /**
+     * Find the supply of every asset of a policy
+     */
+    List<TokenSupplyEntity> findByPolicyId(String policyId);
+
+    /**
+     * Find the supply of every asset of the given policies
+     */
+    List<TokenSupplyEntity> findByPolicyIdIn(Collection<String> policyIds);
+
+    /**
+     * Find the supplies last changed above the given slot
+     */
+    List<TokenSupplyEntity> findBySlotGreaterThan(Long slot);
+
+    /**
+     * Delete all supplies last changed above the given slot (chain rollback)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TokenSupplyEntity s WHERE s.slot > :slot")
+    int deleteBySlotGreaterThan(@Param("slot") Long slot);
+
+}
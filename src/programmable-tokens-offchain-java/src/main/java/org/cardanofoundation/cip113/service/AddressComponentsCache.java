@@ -0,0 +1,49 @@
+package org.cardanofoundation.cip113.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.util.AddressUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded memoization of {@link AddressUtil#decompose}, shared by the balance indexer and the balance endpoints.
+ * <p>
+ * Programmable token addresses are few and hot: the same addresses are decoded on every transfer and every
+ * wallet balance query. Addresses that fail to decompose are not cached.
+ * <p>
+ * Hit/miss/eviction counts are published as {@code cache.*{cache=addressComponents}}.
+ */
+@Component
+@Slf4j
+public class AddressComponentsCache {
+
+    public static final String CACHE_NAME = "addressComponents";
+
+    private final Cache<String, AddressUtil.AddressComponents> cache;
+
+    public AddressComponentsCache(MeterRegistry meterRegistry,
+                                  @Value("${cache.address-components.max-size:50000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("INIT {} cache, max size: {}", CACHE_NAME, maxSize);
+    }
+
+    /**
+     * @param bech32Address the bech32 encoded address
+     * @return the address components, or null if the address cannot be decomposed
+     */
+    public AddressUtil.AddressComponents decompose(String bech32Address) {
+        if (bech32Address == null) {
+            return null;
+        }
+        return cache.get(bech32Address, AddressUtil::decompose);
+    }
+
+}
@@ -0,0 +1,139 @@
+package org.cardanofoundation.cip113.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.AddressDictionaryEntity;
+import org.cardanofoundation.cip113.repository.AddressDictionaryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Resolves bech32 addresses to their address_dictionary id, interning addresses seen for the first time,
+ * and ids back to their address when reading rows that reference them.
+ * <p>
+ * Both directions are memoized in bounded caches. Ids of newly interned addresses are only cached once the
+ * surrounding transaction commits, so an id whose insert was rolled back is never handed out again.
+ */
+@Component
+@Slf4j
+public class AddressDictionary {
+
+    private final AddressDictionaryRepository repository;
+
+    private final Cache<String, Integer> cache;
+
+    private final Cache<Integer, String> addresses;
+
+    public AddressDictionary(AddressDictionaryRepository repository,
+                             @Value("${cache.address-dictionary.max-size:100000}") long maxSize) {
+        this.repository = repository;
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+        this.addresses = Caffeine.newBuilder().maximumSize(maxSize).build();
+        log.info("INIT address dictionary cache, max size: {}", maxSize);
+    }
+
+    /**
+     * Resolve the id of every address, adding the missing ones to the dictionary.
+     * Call it from the transaction writing the rows that reference the ids.
+     *
+     * @param addresses the bech32 addresses
+     * @return map of address to its dictionary id
+     */
+    public Map<String, Integer> resolveIds(Collection<String> addresses) {
+        Map<String, Integer> ids = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String address : addresses) {
+            Integer id = cache.getIfPresent(address);
+            if (id != null) {
+                ids.put(address, id);
+            } else {
+                misses.add(address);
+            }
+        }
+
+        if (misses.isEmpty()) {
+            return ids;
+        }
+
+        Map<String, Integer> existing = new HashMap<>();
+        repository.findByAddressIn(misses).forEach(entry -> existing.put(entry.getAddress(), entry.getId()));
+        cacheBothWays(existing);
+        ids.putAll(existing);
+
+        List<AddressDictionaryEntity> created = misses.stream()
+                .filter(address -> !existing.containsKey(address))
+                .map(address -> AddressDictionaryEntity.builder().address(address).build())
+                .toList();
+        if (!created.isEmpty()) {
+            Map<String, Integer> createdIds = new HashMap<>();
+            repository.saveAll(created).forEach(entry -> createdIds.put(entry.getAddress(), entry.getId()));
+            ids.putAll(createdIds);
+            afterCommit(() -> cacheBothWays(createdIds));
+            log.debug("Interned {} new addresses", createdIds.size());
+        }
+
+        return ids;
+    }
+
+    /**
+     * Resolve the id of one address, adding it to the dictionary if missing
+     *
+     * @param address the bech32 address
+     * @return its dictionary id
+     */
+    public Integer resolveId(String address) {
+        return resolveIds(List.of(address)).get(address);
+    }
+
+    /**
+     * Resolve the address of every dictionary id
+     *
+     * @param ids the dictionary ids
+     * @return map of id to its bech32 address, unknown ids are left out
+     */
+    public Map<Integer, String> resolveAddresses(Collection<Integer> ids) {
+        Map<Integer, String> resolved = new HashMap<>();
+        Set<Integer> misses = new HashSet<>();
+        for (Integer id : ids) {
+            String address = addresses.getIfPresent(id);
+            if (address != null) {
+                resolved.put(id, address);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, Integer> loaded = new HashMap<>();
+            repository.findAllById(misses).forEach(entry -> loaded.put(entry.getAddress(), entry.getId()));
+            cacheBothWays(loaded);
+            loaded.forEach((address, id) -> resolved.put(id, address));
+        }
+
+        return resolved;
+    }
+
+    private void cacheBothWays(Map<String, Integer> ids) {
+        cache.putAll(ids);
+        ids.forEach((address, id) -> addresses.put(id, address));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.cardanofoundation.cip113.service;
+
+/**
+ * Indexes part of each block, fed by {@link ChainEventRouter} with only the outputs it accepts.
+ */
+public interface AddressUtxoHandler {
+
+    /**
+     * @return the listener name, used for its metrics, see {@link IndexerMetrics}
+     */
+    String getName();
+
+    /**
+     * @return true to see each block before the other handlers
+     */
+    default boolean runsFirst() {
+        return false;
+    }
+
+    /**
+     * Decide whether an output is relevant. Called on the event publishing thread for every output, so it must be cheap.
+     *
+     * @param output the classified output
+     * @return true to receive the output in {@link #handleBlock}
+     */
+    boolean accepts(ChainEventRouter.ClassifiedOutput output);
+
+    /**
+     * Process a block. Transactions keep all their inputs, but only the accepted outputs.
+     *
+     * @param block the routed block
+     */
+    void handleBlock(ChainEventRouter.RoutedBlock block);
+
+}
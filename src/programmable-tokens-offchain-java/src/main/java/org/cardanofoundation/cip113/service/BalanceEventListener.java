@@ -1,25 +1,26 @@
 package org.cardanofoundation.cip113.service;
 
-import com.bloxbean.cardano.client.transaction.spec.MultiAsset;
-import com.bloxbean.cardano.client.transaction.spec.Value;
 import com.bloxbean.cardano.yaci.helper.model.Transaction;
-import com.bloxbean.cardano.yaci.store.common.domain.Amt;
 import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.AddressUtxoEntity;
 import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.UtxoId;
 import com.bloxbean.cardano.yaci.store.utxo.storage.impl.repository.UtxoRepository;
-import com.easy1staking.cardano.util.AmountUtil;
+import com.easy1staking.cardano.model.AssetType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+import org.cardanofoundation.cip113.entity.TokenSupplyEventEntity;
+import org.cardanofoundation.cip113.model.SupplyChange;
 import org.cardanofoundation.cip113.model.TransactionType;
 import org.cardanofoundation.cip113.util.AddressUtil;
-import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.cardanofoundation.cip113.util.MultiAssetAccumulator;
+import org.cardanofoundation.cip113.util.ProgrammableAddressMatcher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigInteger;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -29,156 +30,237 @@ public class BalanceEventListener {
     private final BalanceService balanceService;
     private final ProtocolParamsService protocolParamsService;
     private final UtxoRepository utxoRepository;
+    private final IndexerMetrics indexerMetrics;
+    private final IndexerSyncStatus indexerSyncStatus;
+    private final AddressComponentsCache addressComponentsCache;
+    private final TokenSupplyService tokenSupplyService;
+    private final TransactionTemplate transactionTemplate;
 
     @EventListener
     public void processEvent(TransactionEvent transactionEvent) {
-        log.debug("Processing AddressUtxoEvent for balance indexing");
+        var sample = indexerMetrics.startBlock();
+        try {
+            indexBlock(transactionEvent);
+            indexerSyncStatus.record(IndexerMetrics.BALANCE, transactionEvent.getMetadata(), transactionEvent.getTransactions().size());
+        } finally {
+            indexerMetrics.recordBlock(sample, IndexerMetrics.BALANCE);
+        }
+    }
+
+    private void indexBlock(TransactionEvent transactionEvent) {
+        log.debug("Processing TransactionEvent for balance indexing");
 
-        // Get all protocol params to know all programmableLogicBaseScriptHashes
-        List<ProtocolParamsEntity> allProtocolParams = protocolParamsService.getAll();
-        if (allProtocolParams.isEmpty()) {
+        // Get all programmable token base script hashes, precomputed in the protocol params snapshot
+        var protocolParamsSnapshot = protocolParamsService.getSnapshot();
+        if (protocolParamsSnapshot.isEmpty()) {
             log.debug("No protocol params loaded yet, skipping balance indexing");
             return;
         }
 
-        // Get all programmable token base script hashes
-        Set<String> progLogicScriptHashes = allProtocolParams.stream()
-                .map(ProtocolParamsEntity::getProgLogicScriptHash)
-                .collect(Collectors.toSet());
+        Set<String> progLogicScriptHashes = protocolParamsSnapshot.getProgLogicScriptHashes();
+        // Rejects non programmable addresses from their raw bytes, before any full decode
+        ProgrammableAddressMatcher programmableAddresses = protocolParamsSnapshot.getProgrammableAddressMatcher();
 
         log.debug("Monitoring {} programmable logic script hashes: {}",
                 progLogicScriptHashes.size(), String.join(", ", progLogicScriptHashes));
 
         var slot = transactionEvent.getMetadata().getSlot();
         var blockHeight = transactionEvent.getMetadata().getBlock();
+        var transactions = transactionEvent.getTransactions();
+
+        // Resolve the inputs of every transaction in the block with a single multi-key lookup
+        Map<String, AddressUtxoEntity> spentUtxos = resolveInputs(transactions);
+
+        // Track balance changes per transaction and address, preserving chain order
+        List<TransactionBalanceChanges> blockChanges = new ArrayList<>();
+        Set<String> touchedAddresses = new HashSet<>();
+        List<SupplyChange> supplyChanges = new ArrayList<>();
+
+        transactions.forEach(transaction -> {
+
+            // Key: address, Value: net balance change
+            Map<String, BalanceAggregator> balanceChanges = new LinkedHashMap<>();
+
+            // Process inputs (subtractions)
+            transaction.getBody()
+                    .getInputs()
+                    .forEach(input -> {
+                        var utxo = spentUtxos.get(utxoRef(input.getTransactionId(), input.getIndex()));
+
+                        if (utxo == null) {
+                            log.debug("UTxO not found for input: {}:{}", input.getTransactionId(), input.getIndex());
+                            return;
+                        }
+
+                        String address = utxo.getOwnerAddr();
+                        if (!programmableAddresses.matches(address)) {
+                            return;
+                        }
+
+                        AddressUtil.AddressComponents components = addressComponentsCache.decompose(address);
+                        if (components != null && progLogicScriptHashes.contains(components.getPaymentScriptHash())) {
+                            BalanceAggregator aggregator = balanceChanges.computeIfAbsent(address,
+                                    k -> new BalanceAggregator(address, components));
+                            log.debug("address: {}, input amounts: {}", address, utxo.getAmounts());
+                            utxo.getAmounts().forEach(amt -> aggregator.subtractInput(amt.getUnit(), amt.getQuantity()));
+                        }
+                    });
 
-        // Process each transaction
-        transactionEvent.getTransactions()
-                .forEach(transaction -> {
-                    String txHash = transaction.getTxHash();
-
-                    // Track balance changes per address using Value objects
-                    // Key: address, Value: net balance change
-                    Map<String, BalanceAggregator> balanceChanges = new HashMap<>();
-
-                    // Process inputs (subtractions) - need to look up UTxOs
-                    transaction.getBody()
-                            .getInputs()
-                            .forEach(input -> {
-                                String inputTxHash = input.getTransactionId();
-                                int outputIndex = input.getIndex();
-
-                                // Look up the UTxO
-                                var utxoOpt = utxoRepository.findById(new UtxoId(inputTxHash, outputIndex));
-
-                                if (utxoOpt.isEmpty()) {
-                                    log.debug("UTxO not found for input: {}:{}", inputTxHash, outputIndex);
-                                    return;
-                                }
-
-                                var utxo = utxoOpt.get();
-                                String address = utxo.getOwnerAddr();
-
-                                AddressUtil.AddressComponents components = AddressUtil.decompose(address);
-                                if (components != null && progLogicScriptHashes.contains(components.getPaymentScriptHash())) {
-                                    // Convert UTxO amounts to Value and subtract
-                                    Value inputValue = amountsToValue(utxo.getAmounts());
-
-                                    BalanceAggregator aggregator = balanceChanges.computeIfAbsent(address,
-                                            k -> new BalanceAggregator(address, components));
-                                    log.info("address: {}, input value: {}", address, inputValue);
-                                    aggregator.subtractInput(inputValue);
-                                }
-                            });
-
-                    // Process outputs (additions)
-                    transaction.getBody()
-                            .getOutputs()
-                            .forEach(output -> {
-                                String address = output.getAddress();
-
-                                AddressUtil.AddressComponents components = AddressUtil.decompose(address);
-                                if (components != null && progLogicScriptHashes.contains(components.getPaymentScriptHash())) {
-                                    // Convert output amounts to Value and add
-                                    var outputValue = output.getAmounts()
-                                            .stream()
-                                            .map(AmountUtil::toValue)
-                                            .reduce(Value::add)
-                                            .orElse(Value.builder().build());
-
-                                    BalanceAggregator aggregator = balanceChanges.computeIfAbsent(address,
-                                            k -> new BalanceAggregator(address, components));
-                                    log.info("address: {}, output value: {}", address, outputValue);
-                                    aggregator.addOutput(outputValue);
-                                }
-                            });
-
-                    // Save balance changes to database
-                    balanceChanges.forEach((address, aggregator) -> {
-
-                        log.info("address: {}, aggregator: {}", address, aggregator.getNetChange());
-
-                        var netChange = aggregator.getNetChange();
-                        // Get previous balance
-                        Value previousBalance = balanceService.getCurrentBalanceAsValue(address);
-
-                        // Calculate new balance: previous + outputs - inputs
-                        Value newBalance = previousBalance.add(netChange);
-
-                        // Calculate signed balance difference
-                        Map<String, String> balanceDiff = calculateSignedDiff(aggregator.getNetChange());
-
-                        TransactionType transactionType = detectTransactionType(netChange, transaction);
-
-                        // Convert new balance to map for service method
-                        Map<String, BigInteger> balanceMap = BalanceValueHelper.toMap(newBalance);
-
-                        // Save using new service method with transaction type and diff
-                        balanceService.append(
-                                address,
-                                txHash,
-                                slot,
-                                blockHeight,
-                                balanceMap,
-                                transactionType,
-                                balanceDiff
-                        );
-
-                        log.info("Recorded balance change: address={}, tx={}, type={}, new_balance={}",
-                                address, txHash, transactionType, BalanceValueHelper.toJson(newBalance));
+            // Process outputs (additions)
+            transaction.getBody()
+                    .getOutputs()
+                    .forEach(output -> {
+                        String address = output.getAddress();
+                        if (!programmableAddresses.matches(address)) {
+                            return;
+                        }
+
+                        AddressUtil.AddressComponents components = addressComponentsCache.decompose(address);
+                        if (components != null && progLogicScriptHashes.contains(components.getPaymentScriptHash())) {
+                            BalanceAggregator aggregator = balanceChanges.computeIfAbsent(address,
+                                    k -> new BalanceAggregator(address, components));
+                            log.debug("address: {}, output amounts: {}", address, output.getAmounts());
+                            output.getAmounts().forEach(amount -> aggregator.addOutput(amount.getUnit(), amount.getQuantity()));
+                        }
                     });
-                });
+
+            if (!balanceChanges.isEmpty()) {
+                blockChanges.add(new TransactionBalanceChanges(transaction, balanceChanges));
+                touchedAddresses.addAll(balanceChanges.keySet());
+                supplyChanges.addAll(readSupplyChanges(transaction, balanceChanges.values(), slot, blockHeight));
+            }
+        });
+
+        if (blockChanges.isEmpty()) {
+            return;
+        }
+
+        // Load the latest balance of every touched address in one query.
+        // The map is then rolled forward in memory so that an address touched by several
+        // transactions of the same block sees its in-block predecessor as previous balance.
+        Map<String, MultiAssetAccumulator> runningBalances = new HashMap<>();
+        balanceService.getCurrentBalancesAsValue(touchedAddresses)
+                .forEach((address, balance) -> runningBalances.put(address, MultiAssetAccumulator.of(balance)));
+
+        List<BalanceLogEntity> entries = new ArrayList<>();
+        blockChanges.forEach(txChanges -> {
+            var transaction = txChanges.transaction();
+            String txHash = transaction.getTxHash();
+
+            txChanges.balanceChanges().forEach((address, aggregator) -> {
+                var netChange = aggregator.getNetChange();
+
+                // Calculate new balance: previous + outputs - inputs
+                MultiAssetAccumulator newBalance = runningBalances.get(address).add(netChange);
+
+                // Calculate signed balance difference
+                Map<String, String> balanceDiff = calculateSignedDiff(netChange);
+
+                TransactionType transactionType = detectTransactionType(netChange, transaction);
+
+                entries.add(balanceService.buildEntry(
+                        aggregator.getComponents(),
+                        txHash,
+                        slot,
+                        blockHeight,
+                        newBalance,
+                        transactionType,
+                        balanceDiff
+                ));
+
+                log.debug("Computed balance change: address={}, tx={}, type={}", address, txHash, transactionType);
+            });
+        });
+
+        // Flush the whole block, balances and supply ledger, in a single transaction
+        var written = transactionTemplate.execute(status -> new BlockWrites(
+                balanceService.appendAll(entries),
+                tokenSupplyService.record(supplyChanges)));
+        indexerMetrics.rowsWritten("balance_log", written.balanceEntries().size());
+        indexerMetrics.rowsWritten("token_supply_event", written.supplyEvents().size());
+        log.info("Recorded {} balance changes and {} supply changes for block {} (slot {})",
+                written.balanceEntries().size(), written.supplyEvents().size(), blockHeight, slot);
     }
 
     /**
-     * Convert list of Amt to Value object
+     * Read the mints and burns of the programmable tokens moved by a transaction from its mint field.
+     * Only the policies whose balance changed at a programmable address are kept, other policies minted by the
+     * same transaction (e.g. registry node NFTs) are not programmable tokens.
+     *
+     * @param transaction    the transaction
+     * @param balanceChanges the balance changes of the transaction at programmable addresses
+     * @param slot           the slot of the block
+     * @param blockHeight    the height of the block
+     * @return the supply changes, empty if the transaction mints nothing
      */
-    private Value amountsToValue(List<Amt> amounts) {
-        return amounts.stream().map(AmountUtil::toValue).reduce(Value.builder().build(), Value::add);
+    private List<SupplyChange> readSupplyChanges(Transaction transaction, Collection<BalanceAggregator> balanceChanges,
+                                                 long slot, long blockHeight) {
+        var mint = transaction.getBody().getMint();
+        if (mint == null || mint.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> policyIds = new HashSet<>();
+        balanceChanges.forEach(aggregator -> policyIds.addAll(aggregator.getNetChange().getPolicyIds()));
+
+        return mint.stream()
+                .filter(amount -> policyIds.contains(amount.getPolicyId()))
+                .map(amount -> {
+                    var assetType = AssetType.fromUnit(amount.getUnit());
+                    return new SupplyChange(assetType.policyId(), assetType.assetName(), transaction.getTxHash(),
+                            slot, blockHeight, amount.getQuantity());
+                })
+                .toList();
+    }
+
+    /**
+     * Resolve all inputs of all transactions with a single multi-key UTxO lookup
+     *
+     * @param transactions the block transactions
+     * @return map of "txHash#outputIndex" to the spent UTxO
+     */
+    private Map<String, AddressUtxoEntity> resolveInputs(List<Transaction> transactions) {
+        List<UtxoId> inputIds = transactions.stream()
+                .flatMap(transaction -> transaction.getBody().getInputs().stream())
+                .map(input -> new UtxoId(input.getTransactionId(), input.getIndex()))
+                .distinct()
+                .toList();
+
+        if (inputIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, AddressUtxoEntity> utxos = new HashMap<>();
+        utxoRepository.findAllById(inputIds)
+                .forEach(utxo -> utxos.put(utxoRef(utxo.getTxHash(), utxo.getOutputIndex()), utxo));
+
+        indexerMetrics.utxoLookups(IndexerMetrics.BALANCE, inputIds.size(), utxos.size());
+        log.debug("Resolved {} of {} inputs", utxos.size(), inputIds.size());
+        return utxos;
+    }
+
+    private static String utxoRef(String txHash, int outputIndex) {
+        return txHash + "#" + outputIndex;
     }
 
     /**
      * Calculate signed balance difference from net change
-     * Converts Value to map with signed string amounts ("+1000", "-50")
+     * Converts the net change to a map with signed string amounts ("+1000", "-50")
      *
      * @param netChange the net balance change (outputs - inputs)
      * @return map of unit to signed amount string
      */
-    private Map<String, String> calculateSignedDiff(Value netChange) {
+    private Map<String, String> calculateSignedDiff(MultiAssetAccumulator netChange) {
         Map<String, String> signedDiff = new LinkedHashMap<>();
 
-        // Convert Value to unit map
-        Map<String, String> unitMap = BalanceValueHelper.toUnitMap(netChange);
-
         // Add sign prefix to each amount
-        unitMap.forEach((unit, amountStr) -> {
-            BigInteger amount = new BigInteger(amountStr);
+        netChange.forEach((unit, amount) -> {
             String signedAmount;
 
             if (amount.compareTo(BigInteger.ZERO) > 0) {
-                signedAmount = "+" + amountStr;
+                signedAmount = "+" + amount;
             } else if (amount.compareTo(BigInteger.ZERO) < 0) {
-                signedAmount = amountStr; // Already has minus sign
+                signedAmount = amount.toString(); // Already has minus sign
             } else {
                 signedAmount = "0"; // No change
             }
@@ -192,30 +274,23 @@ public class BalanceEventListener {
     /**
      * Detect transaction type based on balance changes and transaction data
      * <p>
-     * TODO: Implement transaction type detection logic
-     * <p>
-     * Detection should be based on:
-     * 1. Balance changes (positive = mint/receive, negative = burn/send)
-     * 2. Input/output analysis
-     * - If outputs > inputs: MINT (new tokens created)
-     * - If outputs < inputs: BURN (tokens destroyed)
-     * - If outputs == inputs: TRANSFER (tokens moved)
-     * 3. Registry lookups for REGISTER operations
-     * - Check if transaction registers a new token policy in the registry
-     * 4. Mint field in transaction body
-     * - Presence of mint field indicates MINT or BURN operation
+     * A transaction minting or burning one of the policies whose balance changed is a MINT or a BURN, following the
+     * sign of the first such mint amount. Anything else, including transactions without a mint field, is a TRANSFER.
      *
      * @param netChange   the net change (outputs - inputs)
      * @param transaction the transaction data
-     * @return the detected transaction type (currently returns null)
+     * @return the detected transaction type
      */
-    private TransactionType detectTransactionType(Value netChange, Transaction transaction) {
+    private TransactionType detectTransactionType(MultiAssetAccumulator netChange, Transaction transaction) {
 
-        var netChangePolicies = netChange.getMultiAssets().stream().map(MultiAsset::getPolicyId).toList();
+        var netChangePolicies = netChange.getPolicyIds();
 
-        var mintDetails = transaction.getBody()
-                .getMint()
-                .stream()
+        var mint = transaction.getBody().getMint();
+        if (mint == null) {
+            return TransactionType.TRANSFER;
+        }
+
+        var mintDetails = mint.stream()
                 .filter(amount -> netChangePolicies.contains(amount.getPolicyId()))
                 .toList();
 
@@ -231,29 +306,40 @@ public class BalanceEventListener {
         }
     }
 
+    /**
+     * Rows written for a block
+     */
+    private record BlockWrites(List<BalanceLogEntity> balanceEntries, List<TokenSupplyEventEntity> supplyEvents) {
+    }
+
+    /**
+     * Balance changes of a single transaction, keyed by address
+     */
+    private record TransactionBalanceChanges(Transaction transaction, Map<String, BalanceAggregator> balanceChanges) {
+    }
+
     /**
      * Helper class to aggregate balance changes per address
      */
     private static class BalanceAggregator {
         private final String address;
         private final AddressUtil.AddressComponents components;
-        private Value netChange;
+        private final MultiAssetAccumulator netChange = new MultiAssetAccumulator();
 
         BalanceAggregator(String address, AddressUtil.AddressComponents components) {
             this.address = address;
             this.components = components;
-            this.netChange = BalanceValueHelper.empty();
         }
 
-        void addOutput(Value value) {
-            netChange = netChange.add(value);
+        void addOutput(String unit, BigInteger quantity) {
+            netChange.add(unit, quantity);
         }
 
-        void subtractInput(Value value) {
-            netChange = netChange.subtract(value);
+        void subtractInput(String unit, BigInteger quantity) {
+            netChange.subtract(unit, quantity);
         }
 
-        Value getNetChange() {
+        MultiAssetAccumulator getNetChange() {
             return netChange;
         }
 
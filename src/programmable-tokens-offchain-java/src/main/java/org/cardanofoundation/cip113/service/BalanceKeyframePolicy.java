@@ -0,0 +1,38 @@
+package org.cardanofoundation.cip113.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which balance_log entries keep their full balance.
+ * <p>
+ * Every {@code interval}-th entry of an address is a keyframe storing the complete balance JSON, the entries in
+ * between only store their balance_diff and are rebuilt by replaying the diffs on top of the nearest keyframe.
+ * Reading any entry therefore touches at most {@code interval} rows. An interval of 1 (or less) stores every
+ * balance in full.
+ */
+@Component
+@Slf4j
+public class BalanceKeyframePolicy {
+
+    private final int interval;
+
+    public BalanceKeyframePolicy(@Value("${balances.keyframes.interval:16}") int interval) {
+        this.interval = interval;
+        log.info("Balance keyframe interval: {}", interval);
+    }
+
+    /**
+     * @param previousDistance the keyframe distance of the previous entry of the address, null if there is none
+     * @return the keyframe distance of the next entry, 0 when it has to be a keyframe
+     */
+    public int nextDistance(Integer previousDistance) {
+        if (interval <= 1 || previousDistance == null) {
+            return 0;
+        }
+        int next = previousDistance + 1;
+        return next >= interval ? 0 : next;
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.cardanofoundation.cip113.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.repository.BalanceLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts the balance_log entries written before delta encoding (those without a keyframe distance) into
+ * keyframes and delta entries, a few addresses at a time, see {@link BalanceService#encodeHistory}.
+ * <p>
+ * Each address chunk is converted in its own transaction, so the indexer keeps writing while the history is
+ * converted. A chunk that fails (e.g. rolled back under our feet) is simply retried on the next run.
+ * Once every entry is converted a run is a single lookup on an empty partial index.
+ */
+@Component
+@Slf4j
+public class BalanceLogCompactor {
+
+    private final BalanceService balanceService;
+
+    private final BalanceLogRepository repository;
+
+    private final boolean enabled;
+
+    private final int addressesPerRun;
+
+    private final int entriesPerAddress;
+
+    public BalanceLogCompactor(BalanceService balanceService,
+                               BalanceLogRepository repository,
+                               @Value("${balances.keyframes.compaction.enabled:true}") boolean enabled,
+                               @Value("${balances.keyframes.compaction.addresses-per-run:100}") int addressesPerRun,
+                               @Value("${balances.keyframes.compaction.entries-per-address:1000}") int entriesPerAddress) {
+        this.balanceService = balanceService;
+        this.repository = repository;
+        this.enabled = enabled;
+        this.addressesPerRun = addressesPerRun;
+        this.entriesPerAddress = entriesPerAddress;
+        log.info("INIT balance log compactor, enabled: {}, addresses per run: {}, entries per address: {}",
+                enabled, addressesPerRun, entriesPerAddress);
+    }
+
+    @Scheduled(initialDelayString = "${balances.keyframes.compaction.delay-ms:60000}",
+            fixedDelayString = "${balances.keyframes.compaction.delay-ms:60000}")
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> addresses = repository.findAddressesWithUnencodedEntries(PageRequest.of(0, addressesPerRun));
+        if (addresses.isEmpty()) {
+            return;
+        }
+
+        int encoded = 0;
+        for (String address : addresses) {
+            try {
+                encoded += balanceService.encodeHistory(address, entriesPerAddress);
+            } catch (RuntimeException e) {
+                log.warn("Failed to encode balance history of {}, will retry on the next run", address, e);
+            }
+        }
+
+        log.info("Encoded {} balance entries of {} addresses", encoded, addresses.size());
+    }
+
+}
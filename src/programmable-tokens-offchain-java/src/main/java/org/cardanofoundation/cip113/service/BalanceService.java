@@ -8,18 +8,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+import org.cardanofoundation.cip113.entity.CurrentBalanceEntity;
+import org.cardanofoundation.cip113.model.BalanceHistoryPage;
+import org.cardanofoundation.cip113.model.HistoryCursor;
 import org.cardanofoundation.cip113.model.TransactionType;
 import org.cardanofoundation.cip113.repository.BalanceLogRepository;
+import org.cardanofoundation.cip113.repository.CurrentBalanceRepository;
+import org.cardanofoundation.cip113.util.AddressUtil;
 import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.cardanofoundation.cip113.util.MultiAssetAccumulator;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigInteger;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.cardanofoundation.cip113.util.BalanceValueHelper.fromUnitMap2;
 
@@ -28,7 +34,18 @@ import static org.cardanofoundation.cip113.util.BalanceValueHelper.fromUnitMap2;
 @RequiredArgsConstructor
 public class BalanceService {
 
+    public static final int MAX_HISTORY_PAGE_SIZE = 1000;
+
+    // Order in which the entries of an address were applied
+    private static final Comparator<BalanceLogEntity> CHAIN_ORDER = Comparator.comparing(BalanceLogEntity::getSlot)
+            .thenComparing(BalanceLogEntity::getId);
+
     private final BalanceLogRepository repository;
+    private final CurrentBalanceRepository currentBalanceRepository;
+    private final CurrentBalanceCache currentBalanceCache;
+    private final BalanceKeyframePolicy keyframePolicy;
+    private final AddressDictionary addressDictionary;
+    private final TokenHoldingService tokenHoldingService;
     private final ObjectMapper objectMapper;
 
     /**
@@ -49,7 +66,12 @@ public class BalanceService {
         log.info("Appending balance entry: address={}, tx={}, slot={}",
                 entity.getAddress(), entity.getTxHash(), entity.getSlot());
 
-        return repository.save(entity);
+        // Entries appended one by one always keep their full balance
+        entity.setKeyframeDistance(0);
+        entity.setAddressId(addressDictionary.resolveId(entity.getAddress()));
+        BalanceLogEntity saved = repository.save(entity);
+        updateCurrentBalances(List.of(saved));
+        return saved;
     }
 
     /**
@@ -79,7 +101,7 @@ public class BalanceService {
             log.debug("Balance entry already exists, skipping: address={}, tx={}",
                     address, txHash);
             // Fetch and return existing entity
-            return repository.findByTxHash(txHash).stream()
+            return withAddresses(repository.findByTxHash(txHash)).stream()
                     .filter(e -> e.getAddress().equals(address))
                     .findFirst()
                     .orElseThrow();
@@ -95,6 +117,7 @@ public class BalanceService {
 
         // Create entity
         BalanceLogEntity entity = BalanceLogEntity.builder()
+                .addressId(addressDictionary.resolveId(address))
                 .address(address)
                 .paymentScriptHash(paymentHash)
                 .stakeKeyHash(stakeHash)
@@ -104,12 +127,316 @@ public class BalanceService {
                 .balance(balanceJson)
                 .transactionType(transactionType)
                 .balanceDiff(balanceDiffJson)
+                .keyframeDistance(0)
                 .build();
 
         log.info("Appending balance entry: address={}, tx={}, slot={}, type={}",
                 address, txHash, slot, transactionType);
 
-        return repository.save(entity);
+        BalanceLogEntity saved = repository.save(entity);
+        updateCurrentBalances(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Append a whole block worth of balance entries in a single transaction.
+     * Entries already present for the same address and transaction are skipped (idempotency),
+     * the remaining ones are flushed with one JDBC batch insert.
+     * <p>
+     * Entries are delta encoded: between two keyframes (see {@link BalanceKeyframePolicy}) only the balance_diff is
+     * persisted, which therefore has to be the exact change from the previous entry of the address.
+     * Entries must come in chain order, an entry older than the latest one of its address is rejected.
+     * The returned entries still carry their full balance.
+     *
+     * @param entities the balance log entries to append, in chain order
+     * @return the entries that were actually inserted
+     */
+    @Transactional
+    public List<BalanceLogEntity> appendAll(List<BalanceLogEntity> entities) {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> txHashes = entities.stream()
+                .map(BalanceLogEntity::getTxHash)
+                .collect(Collectors.toSet());
+
+        Set<String> existingEntries = withAddresses(repository.findByTxHashIn(txHashes))
+                .stream()
+                .map(entity -> entryKey(entity.getAddress(), entity.getTxHash()))
+                .collect(Collectors.toSet());
+
+        List<BalanceLogEntity> newEntries = entities.stream()
+                .filter(entity -> {
+                    if (existingEntries.contains(entryKey(entity.getAddress(), entity.getTxHash()))) {
+                        log.debug("Balance entry already exists, skipping: address={}, tx={}",
+                                entity.getAddress(), entity.getTxHash());
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+
+        Map<String, Integer> addressIds = addressDictionary.resolveIds(newEntries.stream()
+                .map(BalanceLogEntity::getAddress)
+                .collect(Collectors.toSet()));
+        newEntries.forEach(entry -> entry.setAddressId(addressIds.get(entry.getAddress())));
+
+        Map<String, CurrentBalanceEntity> currentBalances = findCurrentBalances(newEntries);
+        assignKeyframes(newEntries, currentBalances);
+        repository.batchInsert(newEntries);
+        updateCurrentBalances(newEntries, currentBalances);
+
+        log.info("Appended {} balance entries ({} skipped as duplicates)",
+                newEntries.size(), entities.size() - newEntries.size());
+
+        return newEntries;
+    }
+
+    /**
+     * Build (without persisting) a balance log entry for an already decomposed programmable token address
+     *
+     * @param components      the decomposed address
+     * @param txHash          the transaction hash
+     * @param slot            the slot number
+     * @param blockHeight     the block height
+     * @param balance         the complete balance after the transaction
+     * @param transactionType the type of transaction (MINT, BURN, TRANSFER, REGISTER)
+     * @param balanceDiff     the signed balance differences (e.g., "+1000", "-50")
+     * @return the entry, ready to be passed to {@link #appendAll(List)}
+     */
+    public BalanceLogEntity buildEntry(AddressUtil.AddressComponents components,
+                                       String txHash,
+                                       Long slot,
+                                       Long blockHeight,
+                                       MultiAssetAccumulator balance,
+                                       TransactionType transactionType,
+                                       Map<String, String> balanceDiff) {
+        return BalanceLogEntity.builder()
+                .address(components.getFullAddress())
+                .paymentScriptHash(components.getPaymentScriptHash())
+                .stakeKeyHash(components.getStakeKeyHash())
+                .txHash(txHash)
+                .slot(slot)
+                .blockHeight(blockHeight)
+                .balance(BalanceValueHelper.toJson(balance))
+                .transactionType(transactionType)
+                .balanceDiff(serializeBalanceDiff(balanceDiff))
+                .build();
+    }
+
+    private static String entryKey(String address, String txHash) {
+        return address + "#" + txHash;
+    }
+
+    /**
+     * Set the keyframe distance of each entry, following on from the latest entry of its address.
+     * Entries without a balance diff are always keyframes.
+     * <p>
+     * Entries older than the latest entry of their address are rejected: the entries after them would keep a
+     * keyframe distance, and be rebuilt from a base, that no longer matches the chain.
+     *
+     * @throws IllegalStateException if an entry is older than the latest entry of its address
+     */
+    private void assignKeyframes(List<BalanceLogEntity> entries, Map<String, CurrentBalanceEntity> currentBalances) {
+        Map<String, BalanceLogEntity> previousEntries = new HashMap<>();
+        for (BalanceLogEntity entry : entries) {
+            BalanceLogEntity previous = previousEntries.get(entry.getAddress());
+            CurrentBalanceEntity currentBalance = currentBalances.get(entry.getAddress());
+
+            Integer previousDistance = null;
+            Long previousSlot = null;
+            if (previous != null) {
+                previousDistance = previous.getKeyframeDistance();
+                previousSlot = previous.getSlot();
+            } else if (currentBalance != null) {
+                previousDistance = currentBalance.getKeyframeDistance();
+                previousSlot = currentBalance.getSlot();
+            }
+
+            if (previousSlot != null && entry.getSlot() < previousSlot) {
+                throw new IllegalStateException("Balance entry out of order: address=" + entry.getAddress()
+                        + ", tx=" + entry.getTxHash() + ", slot=" + entry.getSlot() + " is before slot " + previousSlot);
+            }
+            entry.setKeyframeDistance(previousSlot != null && entry.getBalanceDiff() != null
+                    ? keyframePolicy.nextDistance(previousDistance)
+                    : 0);
+            previousEntries.put(entry.getAddress(), entry);
+        }
+    }
+
+    /**
+     * Fill in the balance of delta entries by replaying, per address, the balance diffs recorded after the
+     * nearest keyframe. Keyframes are returned as they are, delta entries as copies so that the rebuilt
+     * balance is never written back to the log.
+     * <p>
+     * The keyframes, and the entries after them, of all the addresses are read with one query each.
+     *
+     * @param entries the entries as read from the log, in any order
+     * @return the same entries, in the same order, all with their address and full balance
+     */
+    private List<BalanceLogEntity> withBalances(List<BalanceLogEntity> entries) {
+        withAddresses(entries);
+
+        Map<Integer, List<BalanceLogEntity>> deltasByAddress = new LinkedHashMap<>();
+        entries.stream()
+                .filter(entry -> entry.getBalance() == null)
+                .forEach(entry -> deltasByAddress.computeIfAbsent(entry.getAddressId(), addressId -> new ArrayList<>()).add(entry));
+
+        if (deltasByAddress.isEmpty()) {
+            return entries;
+        }
+
+        Map<Integer, BalanceLogEntity> oldestDeltas = new HashMap<>();
+        Map<Integer, BalanceLogEntity> newestDeltas = new HashMap<>();
+        Set<Long> wanted = new HashSet<>();
+        deltasByAddress.forEach((addressId, deltas) -> {
+            oldestDeltas.put(addressId, Collections.min(deltas, CHAIN_ORDER));
+            newestDeltas.put(addressId, Collections.max(deltas, CHAIN_ORDER));
+            deltas.forEach(delta -> wanted.add(delta.getId()));
+        });
+
+        Map<Integer, BalanceLogEntity> keyframes = repository.findKeyframesAtOrBefore(
+                        oldestDeltas.values().stream().map(BalanceLogEntity::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(BalanceLogEntity::getAddressId, keyframe -> keyframe, (first, second) -> first));
+
+        Map<Integer, List<BalanceLogEntity>> chains = new HashMap<>();
+        if (!keyframes.isEmpty()) {
+            repository.findHistoriesBetween(
+                            keyframes.values().stream().map(BalanceLogEntity::getId).toList(),
+                            keyframes.keySet().stream().map(addressId -> newestDeltas.get(addressId).getId()).toList())
+                    .forEach(entry -> chains.computeIfAbsent(entry.getAddressId(), addressId -> new ArrayList<>()).add(entry));
+        }
+
+        Map<Long, String> balances = new HashMap<>();
+        deltasByAddress.keySet().forEach(addressId -> {
+            BalanceLogEntity keyframe = keyframes.get(addressId);
+            MultiAssetAccumulator balance;
+            List<BalanceLogEntity> chain;
+            if (keyframe != null) {
+                balance = BalanceValueHelper.accumulatorFromJsonStrict(keyframe.getBalance());
+                chain = chains.getOrDefault(addressId, List.of());
+            } else {
+                BalanceLogEntity oldest = oldestDeltas.get(addressId);
+                BalanceLogEntity newest = newestDeltas.get(addressId);
+                log.warn("No keyframe found before balance entry, replaying from an empty balance: address={}, id={}", oldest.getAddress(), oldest.getId());
+                balance = new MultiAssetAccumulator();
+                chain = repository.findHistoryBetween(oldest.getAddress(), -1L, -1L, newest.getSlot(), newest.getId());
+            }
+
+            for (BalanceLogEntity entry : chain) {
+                if (entry.getBalance() != null) {
+                    balance = BalanceValueHelper.accumulatorFromJsonStrict(entry.getBalance());
+                } else {
+                    balance.add(BalanceValueHelper.accumulatorFromJsonStrict(entry.getBalanceDiff()));
+                }
+                if (wanted.contains(entry.getId())) {
+                    balances.put(entry.getId(), BalanceValueHelper.toJson(balance));
+                }
+            }
+        });
+
+        return entries.stream()
+                .map(entry -> entry.getBalance() != null
+                        ? entry
+                        : entry.toBuilder().balance(balances.get(entry.getId())).build())
+                .toList();
+    }
+
+    private Optional<BalanceLogEntity> withBalance(Optional<BalanceLogEntity> entry) {
+        return entry.map(found -> withBalances(List.of(found)).getFirst());
+    }
+
+    /**
+     * Fill in the bech32 address of entries read from the log, which only store its dictionary id,
+     * resolving the ids of all the entries at once through the cached {@link AddressDictionary}
+     *
+     * @param entries the entries as read from the log
+     * @return the same entries
+     */
+    private List<BalanceLogEntity> withAddresses(List<BalanceLogEntity> entries) {
+        Set<Integer> addressIds = entries.stream()
+                .filter(entry -> entry.getAddress() == null)
+                .map(BalanceLogEntity::getAddressId)
+                .collect(Collectors.toSet());
+        if (addressIds.isEmpty()) {
+            return entries;
+        }
+
+        Map<Integer, String> addresses = addressDictionary.resolveAddresses(addressIds);
+        entries.stream()
+                .filter(entry -> entry.getAddress() == null)
+                .forEach(entry -> entry.setAddress(addresses.get(entry.getAddressId())));
+        return entries;
+    }
+
+    /**
+     * Move the current_balance projection (and the token_holding projection derived from it) forward to the given
+     * freshly appended entries. Rows are never moved backwards, so replaying an older entry leaves the projection untouched.
+     * The in-process cache is refreshed once the surrounding transaction commits.
+     *
+     * @param entries the appended entries, in chain order
+     */
+    private void updateCurrentBalances(List<BalanceLogEntity> entries) {
+        updateCurrentBalances(entries, findCurrentBalances(entries));
+    }
+
+    /**
+     * @param entries         the appended entries (with their full balance), in chain order
+     * @param currentBalances the current_balance rows of the entries addresses, as loaded before the append
+     */
+    private void updateCurrentBalances(List<BalanceLogEntity> entries, Map<String, CurrentBalanceEntity> currentBalances) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        // Last entry per address wins
+        Map<String, BalanceLogEntity> latestEntries = new LinkedHashMap<>();
+        entries.forEach(entry -> latestEntries.put(entry.getAddress(), entry));
+
+        var updatedAt = LocalDateTime.now();
+        List<CurrentBalanceEntity> updated = new ArrayList<>();
+        Map<String, Value> updatedValues = new HashMap<>();
+
+        latestEntries.forEach((address, entry) -> {
+            CurrentBalanceEntity currentBalance = currentBalances.get(address);
+            if (currentBalance != null && currentBalance.getSlot() > entry.getSlot()) {
+                log.debug("Current balance is ahead of entry, skipping projection: address={}, tx={}", address, entry.getTxHash());
+                return;
+            }
+            if (currentBalance == null) {
+                currentBalance = new CurrentBalanceEntity();
+                currentBalance.setAddress(address);
+            }
+            currentBalance.setPaymentScriptHash(entry.getPaymentScriptHash());
+            currentBalance.setStakeKeyHash(entry.getStakeKeyHash());
+            currentBalance.setBalanceLogId(entry.getId());
+            currentBalance.setTxHash(entry.getTxHash());
+            currentBalance.setSlot(entry.getSlot());
+            currentBalance.setBlockHeight(entry.getBlockHeight());
+            currentBalance.setBalance(entry.getBalance());
+            currentBalance.setKeyframeDistance(entry.getKeyframeDistance() != null ? entry.getKeyframeDistance() : 0);
+            currentBalance.setUpdatedAt(updatedAt);
+            updated.add(currentBalance);
+            updatedValues.put(address, BalanceValueHelper.fromJsonStrict(entry.getBalance()));
+        });
+
+        currentBalanceRepository.saveAll(updated);
+        tokenHoldingService.project(updated);
+        currentBalanceCache.putAll(updatedValues);
+    }
+
+    private Map<String, CurrentBalanceEntity> findCurrentBalances(List<BalanceLogEntity> entries) {
+        if (entries.isEmpty()) {
+            return Map.of();
+        }
+        Set<String> addresses = entries.stream()
+                .map(BalanceLogEntity::getAddress)
+                .collect(Collectors.toSet());
+        return currentBalanceRepository.findAllById(addresses)
+                .stream()
+                .collect(Collectors.toMap(CurrentBalanceEntity::getAddress, currentBalance -> currentBalance));
     }
 
     /**
@@ -130,6 +457,88 @@ public class BalanceService {
         }
     }
 
+    /**
+     * Roll the balance index back to the given slot after a chain fork.
+     * Entries above the slot are removed with a single range delete, and the current_balance and token_holding rows
+     * of the affected addresses are re-projected from their latest surviving entry.
+     *
+     * @param slot the slot to roll back to (entries at this slot are kept)
+     * @return the number of balance log entries removed
+     */
+    @Transactional
+    public int rollbackToSlot(Long slot) {
+        List<String> affectedAddresses = currentBalanceRepository.findAddressesBySlotGreaterThan(slot);
+
+        int deleted = repository.deleteBySlotGreaterThan(slot);
+        currentBalanceRepository.deleteBySlotGreaterThan(slot);
+        tokenHoldingService.removeAll(affectedAddresses);
+
+        if (!affectedAddresses.isEmpty()) {
+            updateCurrentBalances(withBalances(repository.findLatestByAddresses(affectedAddresses)));
+        }
+        currentBalanceCache.invalidate(affectedAddresses);
+
+        log.info("Rolled back balances to slot {}: removed {} entries, re-projected {} addresses",
+                slot, deleted, affectedAddresses.size());
+
+        return deleted;
+    }
+
+    /**
+     * Convert up to {@code maxEntries} entries of an address written before delta encoding.
+     * Every entry whose balance diff matches the change from the previous entry becomes a delta entry, except
+     * where the keyframe policy asks for a keyframe and for the last unconverted entry of the address, which
+     * newer entries may already be encoded against.
+     *
+     * @param address    the address
+     * @param maxEntries the maximum number of entries to convert
+     * @return the number of entries converted, 0 once the address is done
+     */
+    @Transactional
+    public int encodeHistory(String address, int maxEntries) {
+        List<BalanceLogEntity> entries = withAddresses(repository.findUnencodedByAddress(address, PageRequest.of(0, maxEntries)));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Long lastUnencodedId = repository.findLastUnencodedId(address).orElse(null);
+
+        // Resume from the entry right before the first unconverted one
+        Optional<BalanceLogEntity> previous = getPreviousBalance(entries.getFirst());
+        MultiAssetAccumulator previousBalance = previous
+                .map(entry -> BalanceValueHelper.accumulatorFromJsonStrict(entry.getBalance()))
+                .orElse(null);
+        Integer previousDistance = previous
+                .map(entry -> entry.getKeyframeDistance() != null ? entry.getKeyframeDistance() : 0)
+                .orElse(null);
+
+        int deltas = 0;
+        for (BalanceLogEntity entry : entries) {
+            MultiAssetAccumulator balance = BalanceValueHelper.accumulatorFromJsonStrict(entry.getBalance());
+            int distance = keyframePolicy.nextDistance(previousDistance);
+
+            boolean delta = distance > 0
+                    && previousBalance != null
+                    && entry.getBalanceDiff() != null
+                    && !entry.getId().equals(lastUnencodedId)
+                    && previousBalance.add(BalanceValueHelper.accumulatorFromJsonStrict(entry.getBalanceDiff()))
+                    .toUnitMap()
+                    .equals(balance.toUnitMap());
+
+            if (delta) {
+                entry.setBalance(null);
+                entry.setKeyframeDistance(distance);
+                deltas++;
+            } else {
+                entry.setKeyframeDistance(0);
+            }
+            previousBalance = balance;
+            previousDistance = entry.getKeyframeDistance();
+        }
+        repository.saveAll(entries);
+
+        log.debug("Encoded {} balance entries of {} ({} as deltas)", entries.size(), address, deltas);
+        return entries.size();
+    }
 
     /**
      * Get the latest balance for an address
@@ -138,9 +547,28 @@ public class BalanceService {
      * @return the latest balance entry or empty if no history
      */
     public Optional<BalanceLogEntity> getLatestBalance(String address) {
-        return repository.findLatestByAddress(address, PageRequest.of(0, 1))
-                .stream()
-                .findFirst();
+        return withBalance(repository.findCurrentByAddress(address));
+    }
+
+    /**
+     * Get the current balance of an address from the in-process cache, falling back to the current_balance projection
+     *
+     * @param address the address
+     * @return the current balance or empty if no history
+     */
+    public Optional<Value> findCurrentBalance(String address) {
+        Optional<Value> cached = currentBalanceCache.get(address);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long generation = currentBalanceCache.generation();
+        return currentBalanceRepository.findById(address)
+                .map(currentBalance -> {
+                    Value value = BalanceValueHelper.fromJsonStrict(currentBalance.getBalance());
+                    currentBalanceCache.putAllIfAbsent(Map.of(address, value), generation);
+                    return value;
+                });
     }
 
     /**
@@ -150,11 +578,44 @@ public class BalanceService {
      * @return Value object representing current balance
      */
     public Value getCurrentBalanceAsValue(String address) {
-        return getLatestBalance(address)
-                .map(entity -> BalanceValueHelper.fromJson(entity.getBalance()))
+        return findCurrentBalance(address)
                 .orElse(BalanceValueHelper.empty());
     }
 
+    /**
+     * Get the current balances of many addresses with a single query
+     *
+     * @param addresses the addresses
+     * @return map of address to current balance, addresses without history map to an empty Value
+     */
+    public Map<String, Value> getCurrentBalancesAsValue(Collection<String> addresses) {
+        Map<String, Value> balances = new HashMap<>();
+        if (addresses.isEmpty()) {
+            return balances;
+        }
+
+        // Read before the cache and the projection, see CurrentBalanceCache#generation
+        long generation = currentBalanceCache.generation();
+        List<String> misses = new ArrayList<>();
+        for (String address : addresses) {
+            currentBalanceCache.get(address).ifPresentOrElse(
+                    value -> balances.put(address, value),
+                    () -> misses.add(address));
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, Value> loaded = new HashMap<>();
+            currentBalanceRepository.findAllById(misses)
+                    .forEach(currentBalance -> loaded.put(currentBalance.getAddress(), BalanceValueHelper.fromJsonStrict(currentBalance.getBalance())));
+            currentBalanceCache.putAllIfAbsent(loaded, generation);
+            balances.putAll(loaded);
+        }
+
+        addresses.forEach(address -> balances.putIfAbsent(address, BalanceValueHelper.empty()));
+
+        return balances;
+    }
+
     /**
      * Get the current balance as a unit map
      *
@@ -162,11 +623,8 @@ public class BalanceService {
      * @return map of unit to amount (as string)
      */
     public Map<String, String> getCurrentBalanceByUnit(String address) {
-        return getLatestBalance(address)
-                .map(entity -> {
-                    Value value = BalanceValueHelper.fromJson(entity.getBalance());
-                    return BalanceValueHelper.toUnitMap(value);
-                })
+        return findCurrentBalance(address)
+                .map(BalanceValueHelper::toUnitMap)
                 .orElse(Map.of());
     }
 
@@ -179,7 +637,114 @@ public class BalanceService {
      */
     public List<BalanceLogEntity> getBalanceHistory(String address, int limit) {
         Pageable pageable = PageRequest.of(0, limit);
-        return repository.findHistoryByAddress(address, pageable);
+        return withBalances(repository.findHistoryByAddress(address, pageable));
+    }
+
+    /**
+     * Get one page of balance history for an address
+     *
+     * @param address the address
+     * @param cursor  the cursor returned with the previous page, null for the first page
+     * @param limit   maximum number of entries, capped to {@link #MAX_HISTORY_PAGE_SIZE}
+     * @return the page (ordered by slot DESC, id DESC)
+     */
+    public BalanceHistoryPage getBalanceHistoryPage(String address, HistoryCursor cursor, int limit) {
+        int pageSize = pageSize(limit);
+        // One extra row tells whether there is a next page
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        var rows = cursor == null
+                ? repository.findHistoryByAddress(address, pageable)
+                : repository.findHistoryByAddressBefore(address, cursor.slot(), cursor.id(), pageable);
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Get one page of balance history across all addresses of a stake key hash
+     *
+     * @param stakeKeyHash      the stake key hash
+     * @param paymentScriptHash optional payment script hash restricting to one protocol version, may be null
+     * @param cursor            the cursor returned with the previous page, null for the first page
+     * @param limit             maximum number of entries, capped to {@link #MAX_HISTORY_PAGE_SIZE}
+     * @return the page (ordered by slot DESC, id DESC)
+     */
+    public BalanceHistoryPage getBalanceHistoryPageByStakeKey(String stakeKeyHash, String paymentScriptHash, HistoryCursor cursor, int limit) {
+        int pageSize = pageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<BalanceLogEntity> rows;
+        if (paymentScriptHash == null) {
+            rows = cursor == null
+                    ? repository.findHistoryByStakeKeyHash(stakeKeyHash, pageable)
+                    : repository.findHistoryByStakeKeyHashBefore(stakeKeyHash, cursor.slot(), cursor.id(), pageable);
+        } else {
+            rows = cursor == null
+                    ? repository.findHistoryByPaymentScriptHashAndStakeKeyHash(paymentScriptHash, stakeKeyHash, pageable)
+                    : repository.findHistoryByPaymentScriptHashAndStakeKeyHashBefore(paymentScriptHash, stakeKeyHash, cursor.slot(), cursor.id(), pageable);
+        }
+        return toPage(rows, pageSize);
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+    }
+
+    private BalanceHistoryPage toPage(List<BalanceLogEntity> rows, int pageSize) {
+        rows = withBalances(rows);
+        return rows.size() > pageSize
+                ? new BalanceHistoryPage(rows.subList(0, pageSize), rows.get(pageSize))
+                : new BalanceHistoryPage(rows, null);
+    }
+
+    /**
+     * Get the balance of an address as of a past slot
+     *
+     * @param address the address
+     * @param slot    the slot
+     * @return the latest entry at or before the slot, empty if the address had no balance entry yet
+     */
+    public Optional<BalanceLogEntity> getBalanceAtSlot(String address, long slot) {
+        return withBalance(repository.findAtOrBeforeSlot(address, slot, PageRequest.of(0, 1))
+                .stream()
+                .findFirst());
+    }
+
+    /**
+     * Get the balances of many addresses as of the same past slot, in a single query (one index seek per address)
+     *
+     * @param addresses the addresses, at most {@link #MAX_HISTORY_PAGE_SIZE}
+     * @param slot      the slot
+     * @return map of address to its latest entry at or before the slot, addresses without one are left out
+     */
+    @Transactional(readOnly = true)
+    public Map<String, BalanceLogEntity> getBalancesAtSlot(Collection<String> addresses, long slot) {
+        if (addresses.size() > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_HISTORY_PAGE_SIZE + " addresses per request");
+        }
+        if (addresses.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, BalanceLogEntity> found = new HashMap<>();
+        withBalances(repository.findAtOrBeforeSlotByAddresses(new HashSet<>(addresses), slot))
+                .forEach(entry -> found.put(entry.getAddress(), entry));
+
+        // In the order of the request
+        Map<String, BalanceLogEntity> balances = new LinkedHashMap<>();
+        addresses.stream()
+                .filter(found::containsKey)
+                .forEach(address -> balances.putIfAbsent(address, found.get(address)));
+        return balances;
+    }
+
+    /**
+     * Get the balances of all the addresses of a stake key hash as of a past slot, in a single query
+     *
+     * @param stakeKeyHash the stake key hash
+     * @param slot         the slot
+     * @return the latest entry at or before the slot of each address that had one
+     */
+    @Transactional(readOnly = true)
+    public List<BalanceLogEntity> getBalancesAtSlotByStakeKey(String stakeKeyHash, long slot) {
+        return withBalances(repository.findAtOrBeforeSlotByStakeKeyHash(stakeKeyHash, slot));
     }
 
     /**
@@ -189,7 +754,7 @@ public class BalanceService {
      * @return list of latest balance entries
      */
     public List<BalanceLogEntity> getLatestBalancesByPaymentScript(String paymentScriptHash) {
-        return repository.findLatestByPaymentScriptHash(paymentScriptHash);
+        return withBalances(repository.findLatestByPaymentScriptHash(paymentScriptHash));
     }
 
     /**
@@ -199,7 +764,7 @@ public class BalanceService {
      * @return list of latest balance entries
      */
     public List<BalanceLogEntity> getLatestBalancesByStakeKey(String stakeKeyHash) {
-        return repository.findLatestByStakeKeyHash(stakeKeyHash);
+        return withBalances(repository.findLatestByStakeKeyHash(stakeKeyHash));
     }
 
     /**
@@ -211,17 +776,19 @@ public class BalanceService {
      */
     public List<BalanceLogEntity> getLatestBalancesByPaymentScriptAndStakeKey(
             String paymentScriptHash, String stakeKeyHash) {
-        return repository.findLatestByPaymentScriptHashAndStakeKeyHash(paymentScriptHash, stakeKeyHash);
+        return withBalances(repository.findLatestByPaymentScriptHashAndStakeKeyHash(paymentScriptHash, stakeKeyHash));
     }
 
     /**
      * Get all balance entries for a transaction
      *
      * @param txHash the transaction hash
-     * @return list of balance entries
+     * @return list of balance entries, ordered by address
      */
     public List<BalanceLogEntity> getBalancesByTransaction(String txHash) {
-        return repository.findByTxHash(txHash);
+        return withBalances(repository.findByTxHash(txHash)).stream()
+                .sorted(Comparator.comparing(BalanceLogEntity::getAddress))
+                .toList();
     }
 
     /**
@@ -249,20 +816,14 @@ public class BalanceService {
      * @return the previous entry or empty if this is the first
      */
     public Optional<BalanceLogEntity> getPreviousBalance(BalanceLogEntity entry) {
-        List<BalanceLogEntity> history = repository.findHistoryByAddress(
-                entry.getAddress(),
-                PageRequest.of(0, 2)
-        );
-
-        // Find the entry before this one (by slot)
-        for (BalanceLogEntity historyEntry : history) {
-            if (!historyEntry.getId().equals(entry.getId()) &&
-                    historyEntry.getSlot() < entry.getSlot()) {
-                return Optional.of(historyEntry);
-            }
-        }
-
-        return Optional.empty();
+        // The entry right after this one in (slot DESC, id DESC) order
+        return withBalance(repository.findHistoryByAddressBefore(
+                        entry.getAddress(),
+                        entry.getSlot(),
+                        entry.getId(),
+                        PageRequest.of(0, 1))
+                .stream()
+                .findFirst());
     }
 
     /**
@@ -273,10 +834,7 @@ public class BalanceService {
      * @return the amount or zero if not found
      */
     public BigInteger getAssetAmount(String balance, String unit) {
-        Value value = BalanceValueHelper.fromJson(balance);
-        Map<String, String> unitMap = BalanceValueHelper.toUnitMap(value);
-        String amountStr = unitMap.get(unit);
-        return amountStr != null ? new BigInteger(amountStr) : BigInteger.ZERO;
+        return BalanceValueHelper.accumulatorFromJson(balance).get(unit);
     }
 
     /**
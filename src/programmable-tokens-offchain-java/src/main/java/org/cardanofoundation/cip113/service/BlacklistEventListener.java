@@ -0,0 +1,72 @@
+package org.cardanofoundation.cip113.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist.BlacklistNodeParser;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps {@link BlacklistIndex} in sync with the chain: spent blacklist node UTxOs are dropped,
+ * newly created ones (identified by the blacklist node NFT they carry) are added, and the cached
+ * blacklist statuses of the affected tokens are evicted.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BlacklistEventListener implements AddressUtxoHandler {
+
+    private final BlacklistIndex blacklistIndex;
+    private final BlacklistNodeParser blacklistNodeParser;
+    private final BlacklistQueryService blacklistQueryService;
+
+    @Override
+    public String getName() {
+        return IndexerMetrics.BLACKLIST;
+    }
+
+    /**
+     * Any output that may be a node: blacklists get indexed on first query, so whether the NFT policy is
+     * followed is only decided when the block is processed
+     */
+    @Override
+    public boolean accepts(ChainEventRouter.ClassifiedOutput output) {
+        return output.hasInlineDatum() && !output.nftPolicyIds().isEmpty();
+    }
+
+    @Override
+    public void handleBlock(ChainEventRouter.RoutedBlock block) {
+        var policyIds = blacklistIndex.getIndexedPolicyIds();
+        if (policyIds.isEmpty()) {
+            return;
+        }
+
+        Set<String> updatedPolicyIds = new HashSet<>();
+
+        block.transactions().forEach(transaction -> {
+
+            // Spent nodes first, a blacklist update replaces the node it spends
+            transaction.inputs()
+                    .forEach(input -> blacklistIndex.removeNode(input.getTxHash(), input.getOutputIndex())
+                            .ifPresent(updatedPolicyIds::add));
+
+            transaction.outputs()
+                    .forEach(output -> output.nftPolicyIds()
+                            .stream()
+                            .filter(policyIds::contains)
+                            .findFirst()
+                            .ifPresent(policyId -> blacklistNodeParser.parse(output.utxo().getInlineDatum())
+                                    .ifPresent(node -> {
+                                        log.info("Blacklist node update: policyId={}, key={}, tx={}", policyId, node.key(), output.utxo().getTxHash());
+                                        blacklistIndex.addNode(policyId, node, output.utxo().getTxHash(), output.utxo().getOutputIndex());
+                                        updatedPolicyIds.add(policyId);
+                                    })));
+        });
+
+        // Cached statuses of the tokens using an updated blacklist are stale now
+        updatedPolicyIds.forEach(blacklistQueryService::evictBlacklistStatuses);
+    }
+
+}
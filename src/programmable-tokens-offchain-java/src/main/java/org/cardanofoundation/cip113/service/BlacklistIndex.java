@@ -0,0 +1,34 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist.BlacklistNode;
+import org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist.BlacklistNodeParser;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * In-memory index of the freeze-and-seize blacklists, one per blacklist node policy, keyed by stake credential hash.
+ * <p>
+ * Kept up to date by {@link BlacklistEventListener}. Membership checks and the covering node proving a credential
+ * is not blacklisted do not touch the UTxO store.
+ */
+@Component
+public class BlacklistIndex extends SortedNodeIndex<BlacklistNode> {
+
+    private final BlacklistNodeParser blacklistNodeParser;
+
+    public BlacklistIndex(BlacklistNodeParser blacklistNodeParser, UtxoProvider utxoProvider) {
+        super("blacklist", utxoProvider);
+        this.blacklistNodeParser = blacklistNodeParser;
+    }
+
+    @Override
+    protected Optional<BlacklistNode> parseNode(String blacklistNodePolicyId, Utxo utxo) {
+        if (utxo.getInlineDatum() == null || !holdsNodeNft(utxo, blacklistNodePolicyId)) {
+            return Optional.empty();
+        }
+        return blacklistNodeParser.parse(utxo.getInlineDatum());
+    }
+
+}
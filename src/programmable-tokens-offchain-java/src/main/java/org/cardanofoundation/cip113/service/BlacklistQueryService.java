@@ -3,6 +3,8 @@ package org.cardanofoundation.cip113.service;
 import com.bloxbean.cardano.client.transaction.spec.TransactionInput;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.config.CacheConfig;
+import org.cardanofoundation.cip113.entity.FreezeAndSeizeTokenRegistrationEntity;
 import org.cardanofoundation.cip113.entity.ProgrammableTokenRegistryEntity;
 import org.cardanofoundation.cip113.repository.BlacklistInitRepository;
 import org.cardanofoundation.cip113.repository.FreezeAndSeizeTokenRegistrationRepository;
@@ -10,13 +12,21 @@ import org.cardanofoundation.cip113.repository.ProgrammableTokenRegistryReposito
 import org.cardanofoundation.cip113.service.substandard.FreezeAndSeizeHandler;
 import org.cardanofoundation.cip113.service.substandard.SubstandardHandlerFactory;
 import org.cardanofoundation.cip113.service.substandard.context.FreezeAndSeizeContext;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Service for querying blacklist status from on-chain data.
  * Follows the same pattern as ComplianceOperationsService - resolves substandard,
  * builds context, and delegates to the appropriate handler.
+ * <p>
+ * Statuses are cached until the blacklist of the token changes on chain. Every eviction bumps a generation, and a
+ * status is only cached if no eviction of its token happened since it started being checked, otherwise a check that
+ * read the blacklist just before an update could cache the old status for the whole TTL.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,6 +37,16 @@ public class BlacklistQueryService {
     private final ProgrammableTokenRegistryRepository programmableTokenRegistryRepository;
     private final FreezeAndSeizeTokenRegistrationRepository freezeAndSeizeTokenRegistrationRepository;
     private final BlacklistInitRepository blacklistInitRepository;
+    private final CacheManager cacheManager;
+
+    // Guards generation changes against the conditional puts of readers
+    private final Object lock = new Object();
+
+    // Bumped by evictAllBlacklistStatuses
+    private long generation;
+
+    // token policy id -> evictions of its statuses
+    private final Map<String, Long> tokenGenerations = new ConcurrentHashMap<>();
 
     /**
      * Check if an address is blacklisted for a specific token.
@@ -38,42 +58,59 @@ public class BlacklistQueryService {
      * <p>
      * Only substandards with blacklist capability (e.g., freeze-and-seize) will return true.
      * Other substandards (e.g., dummy) will return false.
+     * <p>
+     * Failures (e.g. the blacklist UTxOs could not be fetched) are thrown rather than reported as
+     * "not blacklisted", so that they are never cached. Callers decide how to fail safe.
      *
      * @param tokenPolicyId The programmable token policy ID
      * @param address       The bech32 address to check
      * @return true if blacklisted, false otherwise
      */
-    @Cacheable(value = "blacklistStatus", key = "#tokenPolicyId + ':' + #address")
     public boolean isAddressBlacklisted(String tokenPolicyId, String address) {
-        try {
-            log.debug("Checking blacklist status for token={}, address={}", tokenPolicyId, address);
+        var cache = cacheManager.getCache(CacheConfig.BLACKLIST_STATUS_CACHE);
+        var key = tokenPolicyId + ":" + address;
+        if (cache != null) {
+            var cached = cache.get(key, Boolean.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-            // 1. Resolve substandard ID from policy ID
-            var substandardIdOpt = programmableTokenRegistryRepository.findByPolicyId(tokenPolicyId)
-                    .map(ProgrammableTokenRegistryEntity::getSubstandardId);
+        long generation = generation(tokenPolicyId);
+        boolean blacklisted = checkBlacklisted(tokenPolicyId, address);
 
-            if (substandardIdOpt.isEmpty()) {
-                log.debug("Token {} not found in programmable token registry", tokenPolicyId);
-                return false; // Not a programmable token
+        if (cache != null) {
+            synchronized (lock) {
+                if (generation == generation(tokenPolicyId)) {
+                    cache.putIfAbsent(key, blacklisted);
+                }
             }
+        }
+        return blacklisted;
+    }
 
-            String substandardId = substandardIdOpt.get();
-            log.debug("Resolved substandard: {}", substandardId);
+    private boolean checkBlacklisted(String tokenPolicyId, String address) {
+        log.debug("Checking blacklist status for token={}, address={}", tokenPolicyId, address);
 
-            // 2. Build context based on substandard
-            // Currently only freeze-and-seize supports blacklist
-            if ("freeze-and-seize".equals(substandardId)) {
-                return checkFreezeAndSeizeBlacklist(tokenPolicyId, address);
-            } else {
-                log.debug("Substandard {} does not support blacklist", substandardId);
-                return false; // Other substandards don't have blacklist
-            }
+        // 1. Resolve substandard ID from policy ID
+        var substandardIdOpt = programmableTokenRegistryRepository.findByPolicyId(tokenPolicyId)
+                .map(ProgrammableTokenRegistryEntity::getSubstandardId);
 
-        } catch (Exception e) {
-            log.error("Error checking blacklist status for token={}, address={}",
-                    tokenPolicyId, address, e);
-            // Fail-safe: if check fails, assume not blacklisted to avoid blocking legitimate users
-            return false;
+        if (substandardIdOpt.isEmpty()) {
+            log.debug("Token {} not found in programmable token registry", tokenPolicyId);
+            return false; // Not a programmable token
+        }
+
+        String substandardId = substandardIdOpt.get();
+        log.debug("Resolved substandard: {}", substandardId);
+
+        // 2. Build context based on substandard
+        // Currently only freeze-and-seize supports blacklist
+        if ("freeze-and-seize".equals(substandardId)) {
+            return checkFreezeAndSeizeBlacklist(tokenPolicyId, address);
+        } else {
+            log.debug("Substandard {} does not support blacklist", substandardId);
+            return false; // Other substandards don't have blacklist
         }
     }
 
@@ -123,4 +160,54 @@ public class BlacklistQueryService {
             return false;
         }
     }
+
+    /**
+     * Evict the cached blacklist statuses of every token using the given blacklist.
+     * Called by the indexer whenever a node of this blacklist is added or removed on chain.
+     *
+     * @param blacklistNodePolicyId the blacklist node policy id
+     */
+    public void evictBlacklistStatuses(String blacklistNodePolicyId) {
+        var tokenPolicyIds = freezeAndSeizeTokenRegistrationRepository.findByBlacklistInit_BlacklistNodePolicyId(blacklistNodePolicyId)
+                .stream()
+                .map(FreezeAndSeizeTokenRegistrationEntity::getProgrammableTokenPolicyId)
+                .toList();
+
+        if (tokenPolicyIds.isEmpty()) {
+            return;
+        }
+
+        synchronized (lock) {
+            tokenPolicyIds.forEach(tokenPolicyId -> tokenGenerations.merge(tokenPolicyId, 1L, Long::sum));
+            if (cacheManager.getCache(CacheConfig.BLACKLIST_STATUS_CACHE) instanceof CaffeineCache caffeineCache) {
+                caffeineCache.getNativeCache()
+                        .asMap()
+                        .keySet()
+                        .removeIf(key -> tokenPolicyIds.stream().anyMatch(tokenPolicyId -> key.toString().startsWith(tokenPolicyId + ":")));
+                log.debug("Evicted blacklist statuses for blacklistNodePolicyId={}, tokens={}", blacklistNodePolicyId, tokenPolicyIds.size());
+            }
+        }
+    }
+
+    /**
+     * Evict all cached blacklist statuses (e.g. after a rollback)
+     */
+    public void evictAllBlacklistStatuses() {
+        synchronized (lock) {
+            generation++;
+            var cache = cacheManager.getCache(CacheConfig.BLACKLIST_STATUS_CACHE);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * @return a value changing on every eviction of the statuses of this token, read before checking a status
+     */
+    private long generation(String tokenPolicyId) {
+        synchronized (lock) {
+            return generation + tokenGenerations.getOrDefault(tokenPolicyId, 0L);
+        }
+    }
 }
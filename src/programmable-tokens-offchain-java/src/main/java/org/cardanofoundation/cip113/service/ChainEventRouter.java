@@ -0,0 +1,154 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.yaci.store.common.domain.AddressUtxo;
+import com.bloxbean.cardano.yaci.store.common.domain.Amt;
+import com.bloxbean.cardano.yaci.store.events.EventMetadata;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Single entry point for {@link AddressUtxoEvent}s.
+ * <p>
+ * Walks each block once, classifying every output by payment credential, policy ids and datum presence, and hands
+ * each registered {@link AddressUtxoHandler} only the outputs it accepts. Handlers run in turn on the event publishing
+ * thread, so a failure stops sync before Yaci moves its cursor past the block. Handlers running first (protocol params)
+ * see the block before the others, so that those are routed and processed against the protocol params of the same
+ * block.
+ */
+@Service
+@Slf4j
+public class ChainEventRouter {
+
+    /**
+     * An output of the block, decoded once for all handlers
+     *
+     * @param utxo               the output
+     * @param paymentCredential  the payment credential hash of the owner address, null if unknown
+     * @param policyIds          the policy ids of the native assets held
+     * @param nftPolicyIds       the policy ids of which exactly one token is held, e.g. linked list node NFTs
+     * @param hasInlineDatum     whether the output carries an inline datum
+     */
+    public record ClassifiedOutput(AddressUtxo utxo,
+                                   String paymentCredential,
+                                   Set<String> policyIds,
+                                   Set<String> nftPolicyIds,
+                                   boolean hasInlineDatum) {
+
+        public boolean holdsNftOf(Set<String> candidatePolicyIds) {
+            for (String policyId : nftPolicyIds) {
+                if (candidatePolicyIds.contains(policyId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A transaction of the block, with all its inputs and only the outputs accepted by the handler
+     */
+    public record RoutedTransaction(String txHash, List<AddressUtxo> inputs, List<ClassifiedOutput> outputs) {
+    }
+
+    /**
+     * A block as seen by a handler
+     */
+    public record RoutedBlock(EventMetadata metadata, List<RoutedTransaction> transactions) {
+    }
+
+    // In processing order, the handlers running first ahead of the others
+    private final List<AddressUtxoHandler> handlers;
+
+    private final IndexerMetrics indexerMetrics;
+
+    private final IndexerSyncStatus indexerSyncStatus;
+
+    public ChainEventRouter(List<AddressUtxoHandler> handlers,
+                            IndexerMetrics indexerMetrics,
+                            IndexerSyncStatus indexerSyncStatus) {
+        this.handlers = handlers.stream()
+                .sorted(Comparator.comparing(handler -> !handler.runsFirst()))
+                .toList();
+        this.indexerMetrics = indexerMetrics;
+        this.indexerSyncStatus = indexerSyncStatus;
+        log.info("INIT chain event router, handlers: {}", this.handlers.stream().map(AddressUtxoHandler::getName).toList());
+    }
+
+    @EventListener
+    public void processEvent(AddressUtxoEvent addressUtxoEvent) {
+        var metadata = addressUtxoEvent.getEventMetadata();
+        var transactions = classify(addressUtxoEvent);
+        int events = addressUtxoEvent.getTxInputOutputs().size();
+
+        handlers.forEach(handler -> process(handler, route(metadata, transactions, handler), events));
+    }
+
+    private void process(AddressUtxoHandler handler, RoutedBlock block, int events) {
+        var sample = indexerMetrics.startBlock();
+        try {
+            handler.handleBlock(block);
+            indexerSyncStatus.record(handler.getName(), block.metadata(), events);
+        } finally {
+            indexerMetrics.recordBlock(sample, handler.getName());
+        }
+    }
+
+    private static RoutedBlock route(EventMetadata metadata, List<ClassifiedTransaction> transactions, AddressUtxoHandler handler) {
+        List<RoutedTransaction> routed = new ArrayList<>(transactions.size());
+        for (ClassifiedTransaction transaction : transactions) {
+            List<ClassifiedOutput> accepted = new ArrayList<>(0);
+            for (ClassifiedOutput output : transaction.outputs()) {
+                if (handler.accepts(output)) {
+                    accepted.add(output);
+                }
+            }
+            routed.add(new RoutedTransaction(transaction.txHash(), transaction.inputs(), accepted));
+        }
+        return new RoutedBlock(metadata, routed);
+    }
+
+    private static List<ClassifiedTransaction> classify(AddressUtxoEvent addressUtxoEvent) {
+        return addressUtxoEvent.getTxInputOutputs()
+                .stream()
+                .map(txInputOutputs -> new ClassifiedTransaction(
+                        txInputOutputs.getTxHash(),
+                        txInputOutputs.getInputs() != null ? txInputOutputs.getInputs() : List.of(),
+                        txInputOutputs.getOutputs() != null
+                                ? txInputOutputs.getOutputs().stream().map(ChainEventRouter::classify).toList()
+                                : List.of()))
+                .toList();
+    }
+
+    private static ClassifiedOutput classify(AddressUtxo output) {
+        Set<String> policyIds = new HashSet<>();
+        Set<String> nftPolicyIds = new HashSet<>();
+        var amounts = output.getAmounts();
+        if (amounts != null) {
+            for (Amt amt : amounts) {
+                var policyId = amt.getPolicyId();
+                if (policyId == null || policyId.isEmpty()) {
+                    // lovelace
+                    continue;
+                }
+                policyIds.add(policyId);
+                if (BigInteger.ONE.equals(amt.getQuantity())) {
+                    nftPolicyIds.add(policyId);
+                }
+            }
+        }
+        return new ClassifiedOutput(output,
+                output.getOwnerPaymentCredential(),
+                policyIds,
+                nftPolicyIds,
+                output.getInlineDatum() != null);
+    }
+
+    private record ClassifiedTransaction(String txHash, List<AddressUtxo> inputs, List<ClassifiedOutput> outputs) {
+    }
+
+}
@@ -34,6 +34,7 @@ public class ComplianceOperationsService {
 
     private final SubstandardHandlerFactory handlerFactory;
     private final ProtocolBootstrapService protocolBootstrapService;
+    private final TransactionBuildMetrics transactionBuildMetrics;
 
     // ========== Blacklist Operations ==========
 
@@ -58,7 +59,8 @@ public class ComplianceOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
         var blacklistMgr = getBlacklistManageable(substandardId, context);
 
-        var txContext = blacklistMgr.buildBlacklistInitTransaction(request, protocolParams);
+        var txContext = transactionBuildMetrics.record("blacklist_init", substandardId, TransactionBuildMetrics.BLACKLIST,
+                () -> blacklistMgr.buildBlacklistInitTransaction(request, protocolParams));
 
         log.info("Blacklist init transaction built successfully for substandard: {}", substandardId);
         return txContext;
@@ -85,7 +87,8 @@ public class ComplianceOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
         var blacklistMgr = getBlacklistManageable(substandardId, context);
 
-        var txContext = blacklistMgr.buildAddToBlacklistTransaction(request, protocolParams);
+        var txContext = transactionBuildMetrics.record("blacklist_add", substandardId, TransactionBuildMetrics.BLACKLIST,
+                () -> blacklistMgr.buildAddToBlacklistTransaction(request, protocolParams));
 
         log.info("Add to blacklist transaction built successfully for substandard: {}", substandardId);
         return txContext;
@@ -112,7 +115,8 @@ public class ComplianceOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
         var blacklistMgr = getBlacklistManageable(substandardId, context);
 
-        var txContext = blacklistMgr.buildRemoveFromBlacklistTransaction(request, protocolParams);
+        var txContext = transactionBuildMetrics.record("blacklist_remove", substandardId, TransactionBuildMetrics.BLACKLIST,
+                () -> blacklistMgr.buildRemoveFromBlacklistTransaction(request, protocolParams));
 
         log.info("Remove from blacklist transaction built successfully for substandard: {}", substandardId);
         return txContext;
@@ -141,7 +145,8 @@ public class ComplianceOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
         var whitelistMgr = getWhitelistManageable(substandardId, context);
 
-        var txContext = whitelistMgr.buildWhitelistInitTransaction(request, protocolParams);
+        var txContext = transactionBuildMetrics.record("whitelist_init", substandardId, TransactionBuildMetrics.WHITELIST,
+                () -> whitelistMgr.buildWhitelistInitTransaction(request, protocolParams));
 
         log.info("Whitelist init transaction built successfully for substandard: {}", substandardId);
         return txContext;
@@ -168,7 +173,8 @@ public class ComplianceOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
         var whitelistMgr = getWhitelistManageable(substandardId, context);
 
-        var txContext = whitelistMgr.buildAddToWhitelistTransaction(request, protocolParams);
+        var txContext = transactionBuildMetrics.record("whitelist_add", substandardId, TransactionBuildMetrics.WHITELIST,
+                () -> whitelistMgr.buildAddToWhitelistTransaction(request, protocolParams));
 
         log.info("Add to whitelist transaction built successfully for substandard: {}", substandardId);
         return txContext;
@@ -195,7 +201,8 @@ public class ComplianceOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
         var whitelistMgr = getWhitelistManageable(substandardId, context);
 
-        var txContext = whitelistMgr.buildRemoveFromWhitelistTransaction(request, protocolParams);
+        var txContext = transactionBuildMetrics.record("whitelist_remove", substandardId, TransactionBuildMetrics.WHITELIST,
+                () -> whitelistMgr.buildRemoveFromWhitelistTransaction(request, protocolParams));
 
         log.info("Remove from whitelist transaction built successfully for substandard: {}", substandardId);
         return txContext;
@@ -224,7 +231,8 @@ public class ComplianceOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
         var seizeable = getSeizeable(substandardId, context);
 
-        var txContext = seizeable.buildSeizeTransaction(request, protocolParams);
+        var txContext = transactionBuildMetrics.record("seize", substandardId, TransactionBuildMetrics.SEIZE,
+                () -> seizeable.buildSeizeTransaction(request, protocolParams));
 
         log.info("Seize transaction built successfully for substandard: {}", substandardId);
         return txContext;
@@ -251,7 +259,8 @@ public class ComplianceOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
         var seizeable = getSeizeable(substandardId, context);
 
-        var txContext = seizeable.buildMultiSeizeTransaction(request, protocolParams);
+        var txContext = transactionBuildMetrics.record("multi_seize", substandardId, TransactionBuildMetrics.SEIZE,
+                () -> seizeable.buildMultiSeizeTransaction(request, protocolParams));
 
         log.info("Multi-seize transaction built successfully for substandard: {}", substandardId);
         return txContext;
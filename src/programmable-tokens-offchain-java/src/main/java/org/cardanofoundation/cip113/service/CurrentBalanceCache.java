@@ -0,0 +1,130 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Optional in-process cache of the current balance of each address, sitting in front of the
+ * current_balance projection.
+ * <p>
+ * Writes are only published once the surrounding transaction commits, so the cache never exposes
+ * balances that were rolled back. When disabled every lookup is a miss and writes are no-ops.
+ * <p>
+ * Readers may also fill the cache with balances read from the projection. Every indexer write and invalidation
+ * bumps a generation, and a reader's balances are only cached if no write happened since it started reading
+ * (see {@link #generation()}). Otherwise a reader that read before a rollback, or before a block whose entry got
+ * evicted since, could publish a balance older than the projection, which the indexer would then build on.
+ */
+@Component
+@Slf4j
+public class CurrentBalanceCache {
+
+    private final Cache<String, Value> cache;
+
+    // Guards generation changes against the conditional puts of readers
+    private final Object lock = new Object();
+
+    private long generation;
+
+    public CurrentBalanceCache(@org.springframework.beans.factory.annotation.Value("${balances.current-cache.enabled:true}") boolean enabled,
+                               @org.springframework.beans.factory.annotation.Value("${balances.current-cache.max-size:100000}") long maxSize) {
+        this.cache = enabled ? Caffeine.newBuilder().maximumSize(maxSize).build() : null;
+        log.info("Current balance cache enabled: {}, max size: {}", enabled, maxSize);
+    }
+
+    public Optional<Value> get(String address) {
+        return cache == null ? Optional.empty() : Optional.ofNullable(cache.getIfPresent(address));
+    }
+
+    /**
+     * Publish the given balances, deferred until commit when called inside a transaction
+     *
+     * @param balances map of address to its new current balance
+     */
+    public void putAll(Map<String, Value> balances) {
+        if (cache == null || balances.isEmpty()) {
+            return;
+        }
+
+        afterCommit(() -> publish(() -> cache.putAll(balances)));
+    }
+
+    /**
+     * @return the current generation, to be read before reading balances from the projection
+     */
+    public long generation() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    /**
+     * Populate the cache with balances read from the projection, unless the indexer wrote or invalidated balances
+     * since the given generation, and without overriding values already cached
+     *
+     * @param balances   map of address to its balance as read from the projection
+     * @param generation the {@link #generation()} read before reading the balances
+     */
+    public void putAllIfAbsent(Map<String, Value> balances, long generation) {
+        if (cache == null || balances.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            if (generation == this.generation) {
+                balances.forEach(cache.asMap()::putIfAbsent);
+            }
+        }
+    }
+
+    /**
+     * Evict the given addresses, deferred until commit when called inside a transaction
+     *
+     * @param addresses the addresses whose balance changed
+     */
+    public void invalidate(Collection<String> addresses) {
+        if (cache == null || addresses.isEmpty()) {
+            return;
+        }
+
+        afterCommit(() -> publish(() -> cache.invalidateAll(addresses)));
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            afterCommit(() -> publish(cache::invalidateAll));
+        }
+    }
+
+    /**
+     * Apply an indexer write, moving to the next generation so that readers that started before it do not cache
+     */
+    private void publish(Runnable write) {
+        synchronized (lock) {
+            generation++;
+            write.run();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+}
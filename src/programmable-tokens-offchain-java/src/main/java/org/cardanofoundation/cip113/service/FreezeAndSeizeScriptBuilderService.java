@@ -1,9 +1,6 @@
 package org.cardanofoundation.cip113.service;
 
-import com.bloxbean.cardano.aiken.AikenScriptUtil;
 import com.bloxbean.cardano.client.address.Credential;
-import com.bloxbean.cardano.client.plutus.blueprint.PlutusBlueprintUtil;
-import com.bloxbean.cardano.client.plutus.blueprint.model.PlutusVersion;
 import com.bloxbean.cardano.client.plutus.spec.BytesPlutusData;
 import com.bloxbean.cardano.client.plutus.spec.ListPlutusData;
 import com.bloxbean.cardano.client.plutus.spec.PlutusScript;
@@ -30,7 +27,8 @@ import static org.cardanofoundation.cip113.util.PlutusSerializationHelper.serial
  *   <li><b>Blacklist Spend Contract</b> - Parameterized with blacklist mint policy ID</li>
  * </ul>
  * <p>
- * All methods build fresh scripts (no caching) and are thread-safe.
+ * Scripts are memoized in {@link ParameterizedScriptCache} by contract and parameters, so repeated
+ * transfers, blacklist checks and seizes only pay for parameter application once. All methods are thread-safe.
  */
 @Service
 @RequiredArgsConstructor
@@ -41,6 +39,8 @@ public class FreezeAndSeizeScriptBuilderService {
 
     private final SubstandardService substandardService;
 
+    private final ParameterizedScriptCache scriptCache;
+
     /**
      * Build Issuer Admin Contract (withdraw)
      * <p>
@@ -51,11 +51,9 @@ public class FreezeAndSeizeScriptBuilderService {
      * @return Parameterized PlutusScript v3
      */
     public PlutusScript buildIssuerAdminScript(Credential adminPubKeyHash) {
-        var contract = getContract("example_transfer_logic.issuer_admin_contract.withdraw");
-
         var params = ListPlutusData.of(serialize(adminPubKeyHash));
 
-        return applyParameters(contract, params, "issuer_admin");
+        return applyParameters("example_transfer_logic.issuer_admin_contract.withdraw", params, "issuer_admin");
     }
 
     /**
@@ -72,8 +70,6 @@ public class FreezeAndSeizeScriptBuilderService {
             String progLogicBaseScriptHash,
             String blacklistNodePolicyId) {
 
-        var contract = getContract("example_transfer_logic.transfer.withdraw");
-
         var progLogicCredential = Credential.fromScript(progLogicBaseScriptHash);
 
         var params = ListPlutusData.of(
@@ -81,7 +77,7 @@ public class FreezeAndSeizeScriptBuilderService {
                 BytesPlutusData.of(HexUtil.decodeHexString(blacklistNodePolicyId))
         );
 
-        return applyParameters(contract, params, "transfer");
+        return applyParameters("example_transfer_logic.transfer.withdraw", params, "transfer");
     }
 
     /**
@@ -98,8 +94,6 @@ public class FreezeAndSeizeScriptBuilderService {
             TransactionInput bootstrapTxInput,
             String adminPubKeyHash) {
 
-        var contract = getContract("blacklist_mint.blacklist_mint.mint");
-
         var serializedTxInput = PlutusSerializationHelper.serialize(bootstrapTxInput);
 
         var params = ListPlutusData.of(
@@ -107,7 +101,7 @@ public class FreezeAndSeizeScriptBuilderService {
                 BytesPlutusData.of(HexUtil.decodeHexString(adminPubKeyHash))
         );
 
-        return applyParameters(contract, params, "blacklist_mint");
+        return applyParameters("blacklist_mint.blacklist_mint.mint", params, "blacklist_mint");
     }
 
     /**
@@ -120,13 +114,11 @@ public class FreezeAndSeizeScriptBuilderService {
      * @return Parameterized PlutusScript v3
      */
     public PlutusScript buildBlacklistSpendScript(String blacklistMintPolicyId) {
-        var contract = getContract("blacklist_spend.blacklist_spend.spend");
-
         var params = ListPlutusData.of(
                 BytesPlutusData.of(HexUtil.decodeHexString(blacklistMintPolicyId))
         );
 
-        return applyParameters(contract, params, "blacklist_spend");
+        return applyParameters("blacklist_spend.blacklist_spend.spend", params, "blacklist_spend");
     }
 
     /**
@@ -175,27 +167,21 @@ public class FreezeAndSeizeScriptBuilderService {
     }
 
     /**
-     * Apply parameters to contract and build PlutusScript v3
+     * Apply parameters to contract and build PlutusScript v3, or reuse the previously built script
      */
     private PlutusScript applyParameters(
-            SubstandardValidator contract,
+            String contractPath,
             ListPlutusData params,
             String scriptName) {
 
         try {
-            var parameterizedCode = AikenScriptUtil.applyParamToScript(
+            return scriptCache.getOrBuild(
+                    SUBSTANDARD_ID + ":" + contractPath,
                     params,
-                    contract.scriptBytes()
+                    () -> getContract(contractPath).scriptBytes()
             );
-
-            var script = PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(
-                    parameterizedCode,
-                    PlutusVersion.v3
-            );
-
-            log.debug("Built freeze-and-seize {} script", scriptName);
-            return script;
-
+        } catch (IllegalStateException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException(
                     "Failed to build freeze-and-seize " + scriptName + " script",
@@ -0,0 +1,56 @@
+package org.cardanofoundation.cip113.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Contributes the {@code indexer} component to {@code /actuator/health}.
+ * <p>
+ * Reports {@link #DEGRADED} while any listener is further behind the chain tip than
+ * {@code indexer.health.max-lag} (or has not processed a block yet). DEGRADED only maps to HTTP 503 on the
+ * readiness group ({@code /actuator/health/readiness}), so that load balancers can route read traffic away
+ * from a replica that is still catching up without liveness checks restarting it.
+ */
+@Component
+@Slf4j
+public class IndexerHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Indexer is behind the chain tip");
+
+    private final IndexerSyncStatus indexerSyncStatus;
+
+    private final Duration maxLag;
+
+    public IndexerHealthIndicator(IndexerSyncStatus indexerSyncStatus,
+                                  @Value("${indexer.health.max-lag:5m}") Duration maxLag) {
+        this.indexerSyncStatus = indexerSyncStatus;
+        this.maxLag = maxLag;
+        log.info("INIT indexer health, max lag: {}", maxLag);
+    }
+
+    @Override
+    public Health health() {
+        var statuses = indexerSyncStatus.getStatuses();
+        if (statuses.isEmpty()) {
+            return Health.status(DEGRADED)
+                    .withDetail("reason", "no block processed yet")
+                    .build();
+        }
+
+        var builder = Health.up();
+        statuses.forEach((listener, status) -> {
+            builder.withDetail(listener, status);
+            if (status.lagSeconds() > maxLag.toSeconds()) {
+                builder.status(DEGRADED);
+            }
+        });
+        return builder.withDetail("maxLagSeconds", maxLag.toSeconds()).build();
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.cardanofoundation.cip113.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters shared by the chain event listeners.
+ * <ul>
+ *   <li>{@code indexer.block.duration{listener}} - time spent processing one block event</li>
+ *   <li>{@code indexer.rows.written{table}} - rows appended to the indexed tables</li>
+ *   <li>{@code indexer.utxo.lookups} / {@code indexer.utxo.misses} - spent inputs resolved against the UTxO store</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class IndexerMetrics {
+
+    public static final String BALANCE = "balance";
+    public static final String REGISTRY = "registry";
+    public static final String PROTOCOL_PARAMS = "protocol_params";
+    public static final String BLACKLIST = "blacklist";
+    public static final String ROLLBACK = "rollback";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample startBlock() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordBlock(Timer.Sample sample, String listener) {
+        sample.stop(Timer.builder("indexer.block.duration")
+                .description("Time spent processing a block event")
+                .tag("listener", listener)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void rowsWritten(String table, long rows) {
+        if (rows > 0) {
+            Counter.builder("indexer.rows.written")
+                    .description("Rows written by the indexer")
+                    .tag("table", table)
+                    .register(meterRegistry)
+                    .increment(rows);
+        }
+    }
+
+    public void utxoLookups(String listener, long requested, long resolved) {
+        Counter.builder("indexer.utxo.lookups")
+                .description("Spent inputs looked up in the UTxO store")
+                .tag("listener", listener)
+                .register(meterRegistry)
+                .increment(requested);
+        Counter.builder("indexer.utxo.misses")
+                .description("Spent inputs not found in the UTxO store")
+                .tag("listener", listener)
+                .register(meterRegistry)
+                .increment(requested - resolved);
+    }
+
+}
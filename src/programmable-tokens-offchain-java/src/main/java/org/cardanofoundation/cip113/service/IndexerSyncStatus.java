@@ -0,0 +1,131 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.yaci.store.events.EventMetadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.cardanofoundation.conversions.CardanoConverters;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks, per chain event listener, the last processed block and how far behind the chain tip it is.
+ * <p>
+ * Lag is measured as wall clock time since the slot of the last processed block: the tip advances by one slot
+ * per second, so this is also the lag in slots and needs no round trip to the node. Published meters:
+ * <ul>
+ *   <li>{@code indexer.sync.slot{listener}} / {@code indexer.sync.block{listener}} - last processed slot and block height</li>
+ *   <li>{@code indexer.sync.lag.seconds{listener}} - seconds behind the chain tip</li>
+ *   <li>{@code indexer.blocks{listener}} - processed blocks, its rate is the throughput in blocks per second</li>
+ *   <li>{@code indexer.block.events{listener}} - transactions per processed block</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class IndexerSyncStatus {
+
+    // Weight of the latest block in the moving average of the time between blocks
+    private static final double EWMA_ALPHA = 0.1;
+
+    /**
+     * Point in time snapshot of a listener sync progress
+     */
+    public record ListenerStatus(long slot, long blockHeight, long lagSeconds, double blocksPerSecond, long blocks) {
+    }
+
+    private static class ListenerState {
+        private volatile long slot;
+        private volatile long blockHeight;
+        private volatile long blockTime;
+        private volatile long lastProcessedMillis;
+        private volatile double avgIntervalMillis;
+        private volatile long blocks;
+        private Counter blockCounter;
+        private DistributionSummary eventsPerBlock;
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final CardanoConverters cardanoConverters;
+
+    private final Map<String, ListenerState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Record a block processed by a listener
+     *
+     * @param listener the listener name, see {@link IndexerMetrics}
+     * @param metadata the metadata of the processed event
+     * @param events   the number of transactions in the block
+     */
+    public void record(String listener, EventMetadata metadata, int events) {
+        var state = states.computeIfAbsent(listener, this::register);
+        var now = System.currentTimeMillis();
+        var blockTime = cardanoConverters.slot().slotToTime(metadata.getSlot()).toEpochSecond(ZoneOffset.UTC);
+
+        synchronized (state) {
+            if (state.lastProcessedMillis > 0) {
+                var interval = now - state.lastProcessedMillis;
+                state.avgIntervalMillis = state.avgIntervalMillis == 0
+                        ? interval
+                        : EWMA_ALPHA * interval + (1 - EWMA_ALPHA) * state.avgIntervalMillis;
+            }
+            state.lastProcessedMillis = now;
+            state.slot = metadata.getSlot();
+            state.blockHeight = metadata.getBlock();
+            state.blockTime = blockTime;
+            state.blocks++;
+        }
+
+        state.blockCounter.increment();
+        state.eventsPerBlock.record(events);
+    }
+
+    /**
+     * @return the sync status of every listener that processed at least one block, by listener name
+     */
+    public Map<String, ListenerStatus> getStatuses() {
+        Map<String, ListenerStatus> statuses = new TreeMap<>();
+        states.forEach((listener, state) -> statuses.put(listener, new ListenerStatus(state.slot,
+                state.blockHeight,
+                lagSeconds(state),
+                state.avgIntervalMillis > 0 ? 1000d / state.avgIntervalMillis : 0d,
+                state.blocks)));
+        return statuses;
+    }
+
+    private long lagSeconds(ListenerState state) {
+        return state.blockTime > 0 ? Math.max(0, System.currentTimeMillis() / 1000 - state.blockTime) : 0;
+    }
+
+    private ListenerState register(String listener) {
+        var state = new ListenerState();
+        Gauge.builder("indexer.sync.slot", state, s -> s.slot)
+                .description("Last slot processed by the listener")
+                .tag("listener", listener)
+                .register(meterRegistry);
+        Gauge.builder("indexer.sync.block", state, s -> s.blockHeight)
+                .description("Last block height processed by the listener")
+                .tag("listener", listener)
+                .register(meterRegistry);
+        Gauge.builder("indexer.sync.lag.seconds", state, this::lagSeconds)
+                .description("Seconds between the last processed block and the chain tip")
+                .tag("listener", listener)
+                .register(meterRegistry);
+        state.blockCounter = Counter.builder("indexer.blocks")
+                .description("Blocks processed by the listener")
+                .tag("listener", listener)
+                .register(meterRegistry);
+        state.eventsPerBlock = DistributionSummary.builder("indexer.block.events")
+                .description("Transactions per block processed by the listener")
+                .tag("listener", listener)
+                .register(meterRegistry);
+        return state;
+    }
+
+}
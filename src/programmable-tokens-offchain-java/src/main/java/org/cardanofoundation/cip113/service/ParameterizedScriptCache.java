@@ -0,0 +1,96 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.aiken.AikenScriptUtil;
+import com.bloxbean.cardano.client.plutus.blueprint.PlutusBlueprintUtil;
+import com.bloxbean.cardano.client.plutus.blueprint.model.PlutusVersion;
+import com.bloxbean.cardano.client.plutus.spec.ListPlutusData;
+import com.bloxbean.cardano.client.plutus.spec.PlutusScript;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Bounded, thread-safe memoization of parameterized (and plain) validator scripts.
+ * <p>
+ * Applying parameters to a UPLC program is the most expensive CPU step when building transactions,
+ * and the same validators are re-parameterized with the same arguments on every transfer, blacklist
+ * check and seize. Scripts are keyed by (validator title, CBOR of the parameter list), so a given
+ * parameterization is only ever built once per entry lifetime.
+ * <p>
+ * Hit/miss/eviction counts are published as {@code cache.*{cache=parameterizedScripts}} and build
+ * latency as the {@code scripts.build} timer tagged by validator.
+ */
+@Component
+@Slf4j
+public class ParameterizedScriptCache {
+
+    public static final String CACHE_NAME = "parameterizedScripts";
+
+    private record ScriptKey(String validatorTitle, String serializedParams) {
+    }
+
+    private final Cache<ScriptKey, PlutusScript> cache;
+
+    private final MeterRegistry meterRegistry;
+
+    public ParameterizedScriptCache(MeterRegistry meterRegistry,
+                                    @Value("${cache.parameterized-scripts.max-size:1000}") long maxSize) {
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("INIT {} cache, max size: {}", CACHE_NAME, maxSize);
+    }
+
+    /**
+     * Get the script obtained by applying {@code params} to the validator, building it on first use
+     *
+     * @param validatorTitle unique title of the validator, namespaced by the caller if titles can clash across blueprints
+     * @param params         the parameters to apply
+     * @param compiledCode   supplies the unparameterized compiled code, only invoked on a miss
+     * @return the parameterized PlutusScript v3
+     */
+    public PlutusScript getOrBuild(String validatorTitle, ListPlutusData params, Supplier<String> compiledCode) {
+        return cache.get(new ScriptKey(validatorTitle, params.serializeToHex()),
+                key -> timed(validatorTitle, () -> PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(
+                        AikenScriptUtil.applyParamToScript(params, compiledCode.get()),
+                        PlutusVersion.v3)));
+    }
+
+    /**
+     * Get the script for a validator that takes no parameters
+     *
+     * @param validatorTitle unique title of the validator
+     * @param compiledCode   the compiled code
+     * @return the PlutusScript v3
+     */
+    public PlutusScript getOrBuild(String validatorTitle, String compiledCode) {
+        return cache.get(new ScriptKey(validatorTitle, ""),
+                key -> timed(validatorTitle, () -> PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(compiledCode, PlutusVersion.v3)));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        log.info("Cleared {} cache", CACHE_NAME);
+    }
+
+    private PlutusScript timed(String validatorTitle, Supplier<PlutusScript> builder) {
+        var script = Timer.builder("scripts.build")
+                .description("Time spent applying parameters to a validator")
+                .tag("validator", validatorTitle)
+                .register(meterRegistry)
+                .record(builder);
+        log.debug("Built script for validator {}", validatorTitle);
+        return script;
+    }
+
+}
@@ -1,6 +1,5 @@
 package org.cardanofoundation.cip113.service;
 
-import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
 import com.easy1staking.cardano.model.AssetType;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -8,31 +7,47 @@ import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.config.AppConfig;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
 import org.cardanofoundation.cip113.model.onchain.ProtocolParamsParser;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class ProtocolParamsEventListener {
+public class ProtocolParamsEventListener implements AddressUtxoHandler {
 
     private final ProtocolParamsService protocolParamsService;
     private final ProtocolParamsParser protocolParamsParser;
     private final AppConfig.ProtocolParamsConfig protocolParamsConfig;
+    private final IndexerMetrics indexerMetrics;
 
-    @EventListener
+    @Override
+    public String getName() {
+        return IndexerMetrics.PROTOCOL_PARAMS;
+    }
+
+    // The other handlers look up protocol params, so they must be saved before those handlers see the same block
+    @Override
+    public boolean runsFirst() {
+        return true;
+    }
+
+    @Override
+    public boolean accepts(ChainEventRouter.ClassifiedOutput output) {
+        return output.hasInlineDatum() && protocolParamsConfig.getTransactionIds().contains(output.utxo().getTxHash());
+    }
+
+    @Override
     @Transactional
-    public void processEvent(AddressUtxoEvent addressUtxoEvent) {
-        log.debug("Processing AddressUtxoEvent with {} transactions", addressUtxoEvent.getTxInputOutputs().size());
+    public void handleBlock(ChainEventRouter.RoutedBlock block) {
+        log.debug("Processing block with {} transactions", block.transactions().size());
 
-        var slot = addressUtxoEvent.getEventMetadata().getSlot();
-        var blockHeight = addressUtxoEvent.getEventMetadata().getBlock();
+        var slot = block.metadata().getSlot();
+        var blockHeight = block.metadata().getBlock();
 
-        addressUtxoEvent.getTxInputOutputs()
+        block.transactions()
                 .stream()
-                .filter(txInputOutput -> protocolParamsConfig.getTransactionIds().contains(txInputOutput.getTxHash()))
-                .flatMap(txInputOutputs -> txInputOutputs.getOutputs().stream())
-                .filter(addressUtxo -> addressUtxo.getInlineDatum() != null && addressUtxo.getAmounts()
+                .flatMap(transaction -> transaction.outputs().stream())
+                .map(ChainEventRouter.ClassifiedOutput::utxo)
+                .filter(addressUtxo -> addressUtxo.getAmounts()
                         .stream().anyMatch(amt -> "ProtocolParams".equals(AssetType.fromUnit(amt.getUnit()).unsafeHumanAssetName())))
                 .forEach(addressUtxo -> {
 
@@ -53,6 +68,7 @@ public class ProtocolParamsEventListener {
                                                 .build();
 
                                         protocolParamsService.save(entity);
+                                        indexerMetrics.rowsWritten("protocol_params", 1);
                                         log.info("Successfully saved protocol params from txHash={}", txHash);
                                     },
                                     () -> log.error("Failed to parse protocol params from txHash={}", txHash)
@@ -10,8 +10,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Protocol params versions, persisted in {@code protocol_params} and served from an in-memory
+ * {@link ProtocolParamsSnapshot} that is atomically replaced on every change.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -19,8 +22,8 @@ public class ProtocolParamsService {
 
     private final ProtocolParamsRepository repository;
 
-    // Thread-safe in-memory cache, ordered by slot
-    private final CopyOnWriteArrayList<ProtocolParamsEntity> inMemoryCache = new CopyOnWriteArrayList<>();
+    // Immutable, swapped as a whole so readers never see a partial update
+    private volatile ProtocolParamsSnapshot snapshot = ProtocolParamsSnapshot.EMPTY;
 
     /**
      * Load all protocol params from database into memory at boot time
@@ -29,12 +32,12 @@ public class ProtocolParamsService {
     public void init() {
         log.info("Loading protocol params from database into memory...");
         List<ProtocolParamsEntity> allParams = repository.findAllByOrderBySlotAsc();
-        inMemoryCache.addAll(allParams);
-        log.info("Loaded {} protocol params versions into memory", inMemoryCache.size());
+        publish(ProtocolParamsSnapshot.of(allParams));
+        log.info("Loaded {} protocol params versions into memory", allParams.size());
     }
 
     /**
-     * Save a new protocol params version to both database and in-memory cache
+     * Save a new protocol params version to both database and in-memory snapshot
      *
      * @param entity the protocol params entity to save
      * @return the saved entity
@@ -53,27 +56,40 @@ public class ProtocolParamsService {
         // Save to database
         ProtocolParamsEntity saved = repository.save(entity);
 
-        // Add to in-memory cache (sorted by slot)
-        addToMemorySorted(saved);
+        // Publish a snapshot including the new version
+        synchronized (this) {
+            publish(snapshot.with(saved));
+        }
 
         log.info("Successfully saved protocol params version with id={}", saved.getId());
         return saved;
     }
 
     /**
-     * Add entity to in-memory cache in sorted order (by slot)
+     * Remove all protocol params versions created above the given slot (chain rollback),
+     * from both database and in-memory snapshot
+     *
+     * @param slot the slot to roll back to (versions at this slot are kept)
+     * @return the number of versions removed
      */
-    private void addToMemorySorted(ProtocolParamsEntity entity) {
-        int insertIndex = 0;
-        for (int i = 0; i < inMemoryCache.size(); i++) {
-            if (inMemoryCache.get(i).getSlot() > entity.getSlot()) {
-                insertIndex = i;
-                break;
-            }
-            insertIndex = i + 1;
+    @Transactional
+    public int rollbackToSlot(Long slot) {
+        int deleted = repository.deleteBySlotGreaterThan(slot);
+        synchronized (this) {
+            publish(snapshot.upTo(slot));
         }
-        inMemoryCache.add(insertIndex, entity);
-        log.debug("Added protocol params to in-memory cache at index {} (slot={})", insertIndex, entity.getSlot());
+        log.info("Rolled back protocol params to slot {}: removed {} versions, {} remaining in memory",
+                slot, deleted, snapshot.size());
+        return deleted;
+    }
+
+    /**
+     * Get the current snapshot of all protocol params versions, e.g. once per block when indexing
+     *
+     * @return the current snapshot
+     */
+    public ProtocolParamsSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
@@ -82,10 +98,7 @@ public class ProtocolParamsService {
      * @return the latest protocol params or empty if none exist
      */
     public Optional<ProtocolParamsEntity> getLatest() {
-        if (inMemoryCache.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.of(inMemoryCache.get(inMemoryCache.size() - 1));
+        return snapshot.getLatest();
     }
 
     /**
@@ -94,7 +107,7 @@ public class ProtocolParamsService {
      * @return list of all protocol params
      */
     public List<ProtocolParamsEntity> getAll() {
-        return List.copyOf(inMemoryCache);
+        return snapshot.getVersions();
     }
 
     /**
@@ -104,9 +117,7 @@ public class ProtocolParamsService {
      * @return the protocol params or empty if not found
      */
     public Optional<ProtocolParamsEntity> getByTxHash(String txHash) {
-        return inMemoryCache.stream()
-                .filter(p -> p.getTxHash().equals(txHash))
-                .findFirst();
+        return snapshot.getByTxHash(txHash);
     }
 
     /**
@@ -116,9 +127,7 @@ public class ProtocolParamsService {
      * @return the protocol params or empty if not found
      */
     public Optional<ProtocolParamsEntity> getBySlot(Long slot) {
-        return inMemoryCache.stream()
-                .filter(p -> p.getSlot().equals(slot))
-                .findFirst();
+        return snapshot.getBySlot(slot);
     }
 
     /**
@@ -128,13 +137,7 @@ public class ProtocolParamsService {
      * @return the protocol params valid at that slot or empty if none
      */
     public Optional<ProtocolParamsEntity> getValidAtSlot(Long slot) {
-        for (int i = inMemoryCache.size() - 1; i >= 0; i--) {
-            ProtocolParamsEntity entity = inMemoryCache.get(i);
-            if (entity.getSlot() <= slot) {
-                return Optional.of(entity);
-            }
-        }
-        return Optional.empty();
+        return snapshot.getValidAtSlot(slot);
     }
 
     /**
@@ -144,7 +147,11 @@ public class ProtocolParamsService {
      * @return true if exists, false otherwise
      */
     public boolean existsByTxHash(String txHash) {
-        return inMemoryCache.stream()
-                .anyMatch(p -> p.getTxHash().equals(txHash));
+        return snapshot.containsTxHash(txHash);
+    }
+
+    private void publish(ProtocolParamsSnapshot updated) {
+        snapshot = updated;
+        log.debug("Published protocol params snapshot with {} versions", updated.size());
     }
 }
@@ -0,0 +1,161 @@
+package org.cardanofoundation.cip113.service;
+
+import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.util.ProgrammableAddressMatcher;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of all protocol params versions, with the lookups the indexers and controllers need precomputed.
+ * <p>
+ * {@link ProtocolParamsService} publishes a new snapshot on every change, so readers always see a consistent set
+ * of versions without copying or locking: hash lookups by tx hash and registry node policy, binary search by slot,
+ * and ready-made sets of the script hashes and policy ids to watch on chain.
+ */
+public final class ProtocolParamsSnapshot {
+
+    public static final ProtocolParamsSnapshot EMPTY = new ProtocolParamsSnapshot(List.of());
+
+    // Ordered by slot ascending, slots[i] is the slot of versions[i]
+    private final List<ProtocolParamsEntity> versions;
+
+    private final long[] slots;
+
+    private final Map<String, ProtocolParamsEntity> byTxHash;
+
+    private final Map<String, ProtocolParamsEntity> byRegistryNodePolicyId;
+
+    private final Set<String> progLogicScriptHashes;
+
+    private final ProgrammableAddressMatcher programmableAddressMatcher;
+
+    private ProtocolParamsSnapshot(List<ProtocolParamsEntity> versions) {
+        this.versions = versions.stream()
+                .sorted(Comparator.comparing(ProtocolParamsEntity::getSlot))
+                .toList();
+        this.slots = this.versions.stream()
+                .mapToLong(ProtocolParamsEntity::getSlot)
+                .toArray();
+        this.byTxHash = this.versions.stream()
+                .collect(Collectors.toUnmodifiableMap(ProtocolParamsEntity::getTxHash, Function.identity(), (first, second) -> first));
+        this.byRegistryNodePolicyId = this.versions.stream()
+                .collect(Collectors.toUnmodifiableMap(ProtocolParamsEntity::getRegistryNodePolicyId, Function.identity(), (first, second) -> second));
+        this.progLogicScriptHashes = this.versions.stream()
+                .map(ProtocolParamsEntity::getProgLogicScriptHash)
+                .collect(Collectors.toUnmodifiableSet());
+        this.programmableAddressMatcher = ProgrammableAddressMatcher.of(progLogicScriptHashes);
+    }
+
+    public static ProtocolParamsSnapshot of(Collection<ProtocolParamsEntity> versions) {
+        return versions.isEmpty() ? EMPTY : new ProtocolParamsSnapshot(List.copyOf(versions));
+    }
+
+    /**
+     * @return a new snapshot including the given version
+     */
+    public ProtocolParamsSnapshot with(ProtocolParamsEntity version) {
+        var updated = new ArrayList<>(versions);
+        updated.add(version);
+        return new ProtocolParamsSnapshot(updated);
+    }
+
+    /**
+     * @return a new snapshot without the versions created above the given slot
+     */
+    public ProtocolParamsSnapshot upTo(long slot) {
+        int count = countAtOrBefore(slot);
+        return count == versions.size() ? this : of(versions.subList(0, count));
+    }
+
+    public boolean isEmpty() {
+        return versions.isEmpty();
+    }
+
+    public int size() {
+        return versions.size();
+    }
+
+    /**
+     * @return all versions ordered by slot ascending
+     */
+    public List<ProtocolParamsEntity> getVersions() {
+        return versions;
+    }
+
+    public Optional<ProtocolParamsEntity> getLatest() {
+        return versions.isEmpty() ? Optional.empty() : Optional.of(versions.getLast());
+    }
+
+    public Optional<ProtocolParamsEntity> getByTxHash(String txHash) {
+        return Optional.ofNullable(byTxHash.get(txHash));
+    }
+
+    /**
+     * @return the version created at exactly the given slot
+     */
+    public Optional<ProtocolParamsEntity> getBySlot(long slot) {
+        int index = Arrays.binarySearch(slots, slot);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        // Return the first version at this slot, like a forward scan would
+        while (index > 0 && slots[index - 1] == slot) {
+            index--;
+        }
+        return Optional.of(versions.get(index));
+    }
+
+    /**
+     * @return the closest version created at or before the given slot
+     */
+    public Optional<ProtocolParamsEntity> getValidAtSlot(long slot) {
+        int count = countAtOrBefore(slot);
+        return count == 0 ? Optional.empty() : Optional.of(versions.get(count - 1));
+    }
+
+    /**
+     * @return the version whose registry nodes carry an NFT of the given policy
+     */
+    public Optional<ProtocolParamsEntity> getByRegistryNodePolicyId(String registryNodePolicyId) {
+        return Optional.ofNullable(byRegistryNodePolicyId.get(registryNodePolicyId));
+    }
+
+    public Set<String> getRegistryNodePolicyIds() {
+        return byRegistryNodePolicyId.keySet();
+    }
+
+    public Set<String> getProgLogicScriptHashes() {
+        return progLogicScriptHashes;
+    }
+
+    /**
+     * @return a matcher for the addresses whose payment credential is one of the programmable logic script hashes
+     */
+    public ProgrammableAddressMatcher getProgrammableAddressMatcher() {
+        return programmableAddressMatcher;
+    }
+
+    public boolean containsTxHash(String txHash) {
+        return byTxHash.containsKey(txHash);
+    }
+
+    /**
+     * @return the number of versions created at or before the given slot
+     */
+    private int countAtOrBefore(long slot) {
+        int low = 0;
+        int high = slots.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (slots[mid] <= slot) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+}
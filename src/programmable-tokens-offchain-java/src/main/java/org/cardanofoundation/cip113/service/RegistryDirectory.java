@@ -0,0 +1,117 @@
+package org.cardanofoundation.cip113.service;
+
+import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory directory of the latest state of every live registry node, one sorted map of
+ * key -> node per protocol params version, mirroring the on-chain linked lists.
+ * <p>
+ * Built from the latest node states and then kept current by {@link #apply} as node states are
+ * appended to the registry log. Lookups by key are O(log n), listings are served in key order.
+ */
+class RegistryDirectory {
+
+    private static final String SENTINEL_KEY = "";
+
+    private final Map<Long, ConcurrentSkipListMap<String, RegistryNodeEntity>> nodesByProtocolParams = new ConcurrentHashMap<>();
+
+    RegistryDirectory(Collection<RegistryNodeEntity> latestStates) {
+        latestStates.forEach(this::apply);
+    }
+
+    /**
+     * Apply a node state appended to the log: deleted nodes leave the directory, live ones replace
+     * the indexed state unless it is more recent
+     */
+    void apply(RegistryNodeEntity state) {
+        var nodes = nodesByProtocolParams.computeIfAbsent(state.getProtocolParams().getId(), id -> new ConcurrentSkipListMap<>());
+        nodes.compute(state.getKey(), (key, current) -> {
+            if (current != null && isBefore(state, current)) {
+                return current;
+            }
+            return Boolean.TRUE.equals(state.getIsDeleted()) ? null : state;
+        });
+    }
+
+    Optional<RegistryNodeEntity> get(String key, Long protocolParamsId) {
+        return Optional.ofNullable(nodesByProtocolParams.get(protocolParamsId))
+                .map(nodes -> nodes.get(key));
+    }
+
+    /**
+     * @return the most recent state of the key across all protocol params versions
+     */
+    Optional<RegistryNodeEntity> get(String key) {
+        return nodesByProtocolParams.values()
+                .stream()
+                .map(nodes -> nodes.get(key))
+                .filter(Objects::nonNull)
+                .max(RegistryDirectory::compareChainOrder);
+    }
+
+    boolean contains(String key) {
+        return nodesByProtocolParams.values()
+                .stream()
+                .anyMatch(nodes -> nodes.containsKey(key));
+    }
+
+    /**
+     * @return the nodes of a protocol params version in key order
+     */
+    List<RegistryNodeEntity> getNodes(Long protocolParamsId, boolean includeSentinel) {
+        var nodes = nodesByProtocolParams.get(protocolParamsId);
+        if (nodes == null) {
+            return List.of();
+        }
+        return List.copyOf((includeSentinel ? nodes : nodes.tailMap(SENTINEL_KEY, false)).values());
+    }
+
+    /**
+     * @return the latest state of every token key across all protocol params versions, in key order
+     */
+    List<RegistryNodeEntity> getAllTokens() {
+        return nodesByProtocolParams.values()
+                .stream()
+                .flatMap(nodes -> nodes.tailMap(SENTINEL_KEY, false).values().stream())
+                .collect(Collectors.toMap(RegistryNodeEntity::getKey, node -> node,
+                        (a, b) -> compareChainOrder(a, b) >= 0 ? a : b,
+                        TreeMap::new))
+                .values()
+                .stream()
+                .toList();
+    }
+
+    long countTokens(Long protocolParamsId) {
+        var nodes = nodesByProtocolParams.get(protocolParamsId);
+        if (nodes == null) {
+            return 0;
+        }
+        return nodes.containsKey(SENTINEL_KEY) ? nodes.size() - 1 : nodes.size();
+    }
+
+    /**
+     * @return the nodes strictly between two keys, i.e. the nodes unlinked when {@code startKey} now points to {@code endKey}
+     */
+    List<RegistryNodeEntity> getNodesBetween(Long protocolParamsId, String startKey, String endKey) {
+        var nodes = nodesByProtocolParams.get(protocolParamsId);
+        if (nodes == null || startKey.compareTo(endKey) >= 0) {
+            return List.of();
+        }
+        return List.copyOf(nodes.subMap(startKey, false, endKey, false).values());
+    }
+
+    private static boolean isBefore(RegistryNodeEntity state, RegistryNodeEntity other) {
+        return compareChainOrder(state, other) < 0;
+    }
+
+    private static int compareChainOrder(RegistryNodeEntity a, RegistryNodeEntity b) {
+        int bySlot = Long.compare(a.getSlot(), b.getSlot());
+        return bySlot != 0 ? bySlot : Long.compare(a.getBlockHeight(), b.getBlockHeight());
+    }
+
+}
@@ -1,123 +1,110 @@
 package org.cardanofoundation.cip113.service;
 
-import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
-import com.easy1staking.cardano.model.AssetType;
-import com.easy1staking.util.Pair;
+import com.bloxbean.cardano.yaci.store.common.domain.AddressUtxo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
 import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
 import org.cardanofoundation.cip113.model.onchain.RegistryNodeParser;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import java.math.BigInteger;
-import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class RegistryEventListener {
+public class RegistryEventListener implements AddressUtxoHandler {
 
     private final RegistryService registryService;
     private final RegistryNodeParser registryNodeParser;
     private final ProtocolParamsService protocolParamsService;
+    private final RegistryIndex registryIndex;
+    private final IndexerMetrics indexerMetrics;
+
+    @Override
+    public String getName() {
+        return IndexerMetrics.REGISTRY;
+    }
+
+    /**
+     * Registry nodes are the outputs holding the NFT of a registry node policy
+     */
+    @Override
+    public boolean accepts(ChainEventRouter.ClassifiedOutput output) {
+        return output.hasInlineDatum() && output.holdsNftOf(protocolParamsService.getSnapshot().getRegistryNodePolicyIds());
+    }
 
-    @EventListener
-    public void processEvent(AddressUtxoEvent addressUtxoEvent) {
-        log.debug("Processing AddressUtxoEvent for registry nodes");
+    @Override
+    public void handleBlock(ChainEventRouter.RoutedBlock block) {
+        log.debug("Processing block for registry nodes");
 
-        // Get all protocol params to know all registryNodePolicyIds
-        // FIXME: this is super slow, list of protocol params should be updated on an event based and kept in memory
-        List<ProtocolParamsEntity> allProtocolParams = protocolParamsService.getAll();
-        if (allProtocolParams.isEmpty()) {
+        // Protocol params snapshot, with the registryNodePolicyId -> ProtocolParamsEntity lookup precomputed
+        var protocolParamsSnapshot = protocolParamsService.getSnapshot();
+        if (protocolParamsSnapshot.isEmpty()) {
             log.debug("No protocol params loaded yet, skipping registry indexing");
             return;
         }
 
-        // Create map of registryNodePolicyId -> ProtocolParamsEntity for quick lookup
-        Map<String, ProtocolParamsEntity> policyIdToProtocolParams = allProtocolParams.stream()
-                .collect(Collectors.toMap(ProtocolParamsEntity::getRegistryNodePolicyId, Function.identity()));
-
-        var directoryNftPolicyIds = policyIdToProtocolParams.keySet()
-                .stream()
-                .map(AssetType::fromUnit)
-                .map(AssetType::policyId)
-                .toList();
-
-        log.debug("Monitoring {} registry policy IDs: {}",
-                policyIdToProtocolParams.size(),
-                String.join(", ", policyIdToProtocolParams.keySet()));
-
-        var slot = addressUtxoEvent.getEventMetadata().getSlot();
-        var blockHeight = addressUtxoEvent.getEventMetadata().getBlock();
-
-        // Process each transaction's outputs
-        addressUtxoEvent.getTxInputOutputs()
-                .stream()
-                .flatMap(txInputOutputs -> txInputOutputs.getOutputs().stream())
-                .flatMap(output -> {
-                    if (output.getInlineDatum() != null) {
-                        return output.getAmounts()
-                                .stream()
-                                .filter(amt -> amt.getQuantity().equals(BigInteger.ONE) && directoryNftPolicyIds.contains(AssetType.fromUnit(amt.getUnit()).policyId()))
-                                .map(amt -> new Pair<>(output, amt));
-                    } else {
-                        return Stream.empty();
-                    }
-                })
-                .forEach(pair -> {
-                    var output = pair.first();
-                    var amt = AssetType.fromUnit(pair.second().getUnit());
-                    String txHash = output.getTxHash();
-
-                    var protocolParams = policyIdToProtocolParams.get(amt.policyId());
-
-                    log.info("Found registry node UTxO: txHash={}, slot={}, protocolParamsId={}",
-                            txHash, slot, protocolParams.getId());
-
-                    // Parse inline datum to RegistryNode
-                    registryNodeParser.parse(output.getInlineDatum())
-                            .ifPresentOrElse(registryNode -> {
-
-                                        log.info("registryNode: {}", registryNode);
-
-                                        // Create entity
-                                        RegistryNodeEntity entity = RegistryNodeEntity.builder()
-                                                .key(registryNode.key())
-                                                .next(registryNode.next())
-                                                .transferLogicScript(registryNode.transferLogicScript())
-                                                .thirdPartyTransferLogicScript(registryNode.thirdPartyTransferLogicScript())
-                                                .globalStatePolicyId(registryNode.globalStatePolicyId())
-                                                .protocolParams(protocolParams)
-                                                .txHash(txHash)
-                                                .slot(slot)
-                                                .blockHeight(blockHeight)
-                                                .isDeleted(false)
-                                                .build();
-
-                                        // Insert into append-only log
-                                        registryService.insert(entity);
-                                        log.info("Successfully inserted registry node state: key={}, next={}, slot={}, tx={}",
-                                                registryNode.key(), registryNode.next(), slot, txHash);
-
-                                        // Check for deleted nodes between this node and its next pointer
-                                        // If the smart contract skipped nodes (current -> next), those nodes were deleted
-                                        registryService.deleteOrphanedNodes(
-                                                registryNode.key(),
-                                                registryNode.next(),
-                                                protocolParams.getId(),
-                                                slot,
-                                                blockHeight,
-                                                txHash
-                                        );
-                                    },
-                                    () -> log.error("Failed to parse registry node from txHash={}", txHash)
+        var slot = block.metadata().getSlot();
+        var blockHeight = block.metadata().getBlock();
+
+        block.transactions().forEach(transaction -> {
+
+            // Spent nodes first, a registry update replaces the nodes it spends
+            transaction.inputs()
+                    .forEach(input -> registryIndex.removeNode(input.getTxHash(), input.getOutputIndex()));
+
+            // Process the transaction's registry node outputs
+            transaction.outputs().forEach(output -> output.nftPolicyIds()
+                    .forEach(policyId -> protocolParamsSnapshot.getByRegistryNodePolicyId(policyId)
+                            .ifPresent(protocolParams -> indexNode(output.utxo(), policyId, protocolParams, slot, blockHeight))));
+        });
+    }
+
+    private void indexNode(AddressUtxo output, String registryNodePolicyId, ProtocolParamsEntity protocolParams, Long slot, Long blockHeight) {
+        String txHash = output.getTxHash();
+
+        log.info("Found registry node UTxO: txHash={}, slot={}, protocolParamsId={}",
+                txHash, slot, protocolParams.getId());
+
+        // Parse inline datum to RegistryNode
+        registryNodeParser.parse(output.getInlineDatum())
+                .ifPresentOrElse(registryNode -> {
+
+                            log.info("registryNode: {}", registryNode);
+
+                            // Create entity
+                            RegistryNodeEntity entity = RegistryNodeEntity.builder()
+                                    .key(registryNode.key())
+                                    .next(registryNode.next())
+                                    .transferLogicScript(registryNode.transferLogicScript())
+                                    .thirdPartyTransferLogicScript(registryNode.thirdPartyTransferLogicScript())
+                                    .globalStatePolicyId(registryNode.globalStatePolicyId())
+                                    .protocolParams(protocolParams)
+                                    .txHash(txHash)
+                                    .slot(slot)
+                                    .blockHeight(blockHeight)
+                                    .isDeleted(false)
+                                    .build();
+
+                            // Insert into append-only log
+                            registryService.insert(entity);
+                            indexerMetrics.rowsWritten("registry_node", 1);
+                            log.info("Successfully inserted registry node state: key={}, next={}, slot={}, tx={}",
+                                    registryNode.key(), registryNode.next(), slot, txHash);
+
+                            registryIndex.addNode(registryNodePolicyId, registryNode, txHash, output.getOutputIndex());
+
+                            // Check for deleted nodes between this node and its next pointer
+                            // If the smart contract skipped nodes (current -> next), those nodes were deleted
+                            registryService.deleteOrphanedNodes(
+                                    registryNode.key(),
+                                    registryNode.next(),
+                                    protocolParams.getId(),
+                                    slot,
+                                    blockHeight,
+                                    txHash
                             );
-                });
+                        },
+                        () -> log.error("Failed to parse registry node from txHash={}", txHash)
+                );
     }
 }
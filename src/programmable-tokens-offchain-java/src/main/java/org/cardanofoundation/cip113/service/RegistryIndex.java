@@ -0,0 +1,35 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import org.cardanofoundation.cip113.model.onchain.RegistryNode;
+import org.cardanofoundation.cip113.model.onchain.RegistryNodeParser;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * In-memory locator of the registry node UTxOs, one per registry node policy (i.e. per protocol version),
+ * keyed by token policy id.
+ * <p>
+ * Kept up to date by {@link RegistryEventListener}. Transaction builders resolve the node of a token, or the node
+ * to split when registering one, without fetching and parsing the whole registry.
+ */
+@Component
+public class RegistryIndex extends SortedNodeIndex<RegistryNode> {
+
+    private final RegistryNodeParser registryNodeParser;
+
+    public RegistryIndex(RegistryNodeParser registryNodeParser, UtxoProvider utxoProvider) {
+        super("registry", utxoProvider);
+        this.registryNodeParser = registryNodeParser;
+    }
+
+    @Override
+    protected Optional<RegistryNode> parseNode(String registryNodePolicyId, Utxo utxo) {
+        if (utxo.getInlineDatum() == null || !holdsNodeNft(utxo, registryNodePolicyId)) {
+            return Optional.empty();
+        }
+        return registryNodeParser.parse(utxo.getInlineDatum());
+    }
+
+}
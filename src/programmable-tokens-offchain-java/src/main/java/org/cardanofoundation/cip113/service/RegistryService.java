@@ -3,14 +3,28 @@ package org.cardanofoundation.cip113.service;
 import com.easy1staking.cardano.model.AssetType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.RegistryNodeCurrentEntity;
 import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
+import org.cardanofoundation.cip113.repository.RegistryNodeCurrentRepository;
 import org.cardanofoundation.cip113.repository.RegistryNodeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Registry node states, persisted in the append-only {@code registry_node} log (history) and projected to
+ * {@code registry_node_current} (latest state of each node) in the same transaction.
+ * <p>
+ * Reads are served from an in-memory {@link RegistryDirectory} of the latest node states, built once from the
+ * projection and then updated as node states are inserted, so lookups do not hit the database.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -18,6 +32,19 @@ public class RegistryService {
 
     private final RegistryNodeRepository repository;
 
+    private final RegistryNodeCurrentRepository currentRepository;
+
+    // null until loaded, and again after a chain or transaction rollback until reloaded from the projection
+    private volatile RegistryDirectory directory;
+
+    /**
+     * Build the directory at startup rather than on the first request
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDirectory() {
+        directory();
+    }
+
     /**
      * Insert a new registry node state into the append-only log.
      * No checking for existing entries - just insert.
@@ -30,7 +57,32 @@ public class RegistryService {
     public RegistryNodeEntity insert(RegistryNodeEntity entity) {
         log.info("Inserting registry node state: key={}, next={}, slot={}, tx={}, protocolParamsId={}",
                 entity.getKey(), entity.getNext(), entity.getSlot(), entity.getTxHash(), entity.getProtocolParams().getId());
-        return repository.save(entity);
+        return append(entity);
+    }
+
+    /**
+     * Remove all node states created above the given slot (chain rollback).
+     *
+     * @param slot the slot to roll back to (states at this slot are kept)
+     * @return the number of node states removed
+     */
+    @Transactional
+    public int rollbackToSlot(Long slot) {
+        List<String> affectedKeys = currentRepository.findKeysBySlotGreaterThan(slot);
+
+        int deleted = repository.deleteBySlotGreaterThan(slot);
+        currentRepository.deleteBySlotGreaterThan(slot);
+
+        if (!affectedKeys.isEmpty()) {
+            repository.findLatestStatesByKeys(affectedKeys).forEach(this::project);
+        }
+
+        // Reloaded from the projection once the rollback has committed
+        invalidateDirectory();
+        invalidateDirectoryAfterCompletion(true);
+        log.info("Rolled back registry nodes to slot {}: removed {} node states, re-projected {} keys",
+                slot, deleted, affectedKeys.size());
+        return deleted;
     }
 
     /**
@@ -41,7 +93,7 @@ public class RegistryService {
      * @return list of registry nodes (sorted by key)
      */
     public List<RegistryNodeEntity> getAllTokens(Long protocolParamsId) {
-        return repository.findAllByProtocolParamsIdExcludingSentinel(protocolParamsId);
+        return directory().getNodes(protocolParamsId, false);
     }
 
     /**
@@ -51,7 +103,7 @@ public class RegistryService {
      * @return list of all registry nodes (sorted by key)
      */
     public List<RegistryNodeEntity> getAllTokens() {
-        return repository.findAllExcludingSentinel();
+        return directory().getAllTokens();
     }
 
     /**
@@ -61,7 +113,7 @@ public class RegistryService {
      * @return true if registered, false otherwise
      */
     public boolean isTokenRegistered(String policyId) {
-        return repository.existsByKey(policyId);
+        return directory().contains(policyId);
     }
 
     /**
@@ -71,7 +123,7 @@ public class RegistryService {
      * @return the registry node or empty if not found
      */
     public Optional<RegistryNodeEntity> getByKey(String key) {
-        return repository.findByKey(key);
+        return directory().get(key);
     }
 
     /**
@@ -81,7 +133,7 @@ public class RegistryService {
      * @return list of registry nodes sorted by key
      */
     public List<RegistryNodeEntity> getTokensSorted(Long protocolParamsId) {
-        return repository.findAllByProtocolParamsIdExcludingSentinel(protocolParamsId);
+        return directory().getNodes(protocolParamsId, false);
     }
 
     /**
@@ -91,7 +143,7 @@ public class RegistryService {
      * @return list of all registry nodes
      */
     public List<RegistryNodeEntity> getAllNodes(Long protocolParamsId) {
-        return repository.findAllByProtocolParamsId(protocolParamsId);
+        return directory().getNodes(protocolParamsId, true);
     }
 
     /**
@@ -101,7 +153,7 @@ public class RegistryService {
      * @return count of registered tokens
      */
     public long countTokens(Long protocolParamsId) {
-        return repository.countByProtocolParamsIdExcludingSentinel(protocolParamsId);
+        return directory().countTokens(protocolParamsId);
     }
 
     /**
@@ -112,7 +164,7 @@ public class RegistryService {
      * @return the registry node or empty if not found
      */
     public Optional<RegistryNodeEntity> getByKeyAndProtocolParams(String key, Long protocolParamsId) {
-        return repository.findByKeyAndProtocolParamsId(key, protocolParamsId);
+        return directory().get(key, protocolParamsId);
     }
 
     /**
@@ -129,7 +181,7 @@ public class RegistryService {
 
         log.debug("Finding registry node by policy ID: {} (from unit: {})", policyId, unit);
 
-        return repository.findByKey(policyId);
+        return directory().get(policyId);
     }
 
     /**
@@ -148,7 +200,7 @@ public class RegistryService {
         log.debug("Finding registry node by policy ID: {} for protocol params: {} (from unit: {})",
                 policyId, protocolParamsId, unit);
 
-        return repository.findByKeyAndProtocolParamsId(policyId, protocolParamsId);
+        return directory().get(policyId, protocolParamsId);
     }
 
     /**
@@ -167,7 +219,7 @@ public class RegistryService {
      */
     @Transactional
     public void deleteOrphanedNodes(String key, String next, Long protocolParamsId, Long slot, Long blockHeight, String txHash) {
-        List<RegistryNodeEntity> orphanedNodes = repository.findNodesBetweenKeys(protocolParamsId, key, next);
+        List<RegistryNodeEntity> orphanedNodes = directory().getNodesBetween(protocolParamsId, key, next);
 
         if (!orphanedNodes.isEmpty()) {
             log.info("Found {} orphaned node(s) between key='{}' and next='{}' for protocolParamsId={}",
@@ -191,8 +243,103 @@ public class RegistryService {
                         .isDeleted(true)
                         .build();
 
-                repository.save(deletedEntry);
+                append(deletedEntry);
             });
         }
     }
+
+    private RegistryNodeEntity append(RegistryNodeEntity entity) {
+        var saved = repository.save(entity);
+        project(saved);
+        apply(saved);
+        return saved;
+    }
+
+    /**
+     * Upsert the latest state of the node into registry_node_current, unless it already holds a more recent one
+     */
+    private void project(RegistryNodeEntity state) {
+        var current = currentRepository.findByProtocolParamsIdAndKey(state.getProtocolParams().getId(), state.getKey())
+                .orElseGet(() -> RegistryNodeCurrentEntity.builder()
+                        .protocolParams(state.getProtocolParams())
+                        .key(state.getKey())
+                        .build());
+
+        if (current.getSlot() != null && current.getSlot() > state.getSlot()) {
+            log.debug("Current registry node is ahead of state, skipping projection: key={}, tx={}", state.getKey(), state.getTxHash());
+            return;
+        }
+
+        current.setNext(state.getNext());
+        current.setTransferLogicScript(state.getTransferLogicScript());
+        current.setThirdPartyTransferLogicScript(state.getThirdPartyTransferLogicScript());
+        current.setGlobalStatePolicyId(state.getGlobalStatePolicyId());
+        current.setIsDeleted(state.getIsDeleted());
+        current.setRegistryNodeId(state.getId());
+        current.setTxHash(state.getTxHash());
+        current.setSlot(state.getSlot());
+        current.setBlockHeight(state.getBlockHeight());
+        current.setUpdatedAt(LocalDateTime.now());
+        currentRepository.save(current);
+    }
+
+    private static RegistryNodeEntity toRegistryNode(RegistryNodeCurrentEntity current) {
+        return RegistryNodeEntity.builder()
+                .id(current.getRegistryNodeId())
+                .key(current.getKey())
+                .next(current.getNext())
+                .transferLogicScript(current.getTransferLogicScript())
+                .thirdPartyTransferLogicScript(current.getThirdPartyTransferLogicScript())
+                .globalStatePolicyId(current.getGlobalStatePolicyId())
+                .protocolParams(current.getProtocolParams())
+                .txHash(current.getTxHash())
+                .slot(current.getSlot())
+                .blockHeight(current.getBlockHeight())
+                .isDeleted(current.getIsDeleted())
+                .build();
+    }
+
+    private RegistryDirectory directory() {
+        var current = directory;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (directory == null) {
+                var latestStates = currentRepository.findAllLive()
+                        .stream()
+                        .map(RegistryService::toRegistryNode)
+                        .toList();
+                directory = new RegistryDirectory(latestStates);
+                log.info("Loaded registry directory with {} nodes", latestStates.size());
+            }
+            return directory;
+        }
+    }
+
+    /**
+     * Apply a node state to the directory right away, so later reads in the same indexing transaction see it.
+     * Should the transaction roll back, the directory is dropped and reloaded from the projection.
+     */
+    private void apply(RegistryNodeEntity state) {
+        directory().apply(state);
+        invalidateDirectoryAfterCompletion(false);
+    }
+
+    private void invalidateDirectoryAfterCompletion(boolean evenIfCommitted) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (evenIfCommitted || status != STATUS_COMMITTED) {
+                        invalidateDirectory();
+                    }
+                }
+            });
+        }
+    }
+
+    private synchronized void invalidateDirectory() {
+        directory = null;
+    }
 }
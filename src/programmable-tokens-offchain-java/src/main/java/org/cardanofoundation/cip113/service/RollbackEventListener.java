@@ -0,0 +1,51 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.yaci.store.events.RollbackEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Truncates every append-only index above the rollback point when the chain forks,
+ * so that syncing resumes from the rollback point without a full re-index.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RollbackEventListener {
+
+    private final BalanceService balanceService;
+    private final TokenSupplyService tokenSupplyService;
+    private final RegistryService registryService;
+    private final ProtocolParamsService protocolParamsService;
+    private final RegistryIndex registryIndex;
+    private final BlacklistIndex blacklistIndex;
+    private final BlacklistQueryService blacklistQueryService;
+    private final IndexerMetrics indexerMetrics;
+
+    @EventListener
+    @Transactional
+    public void processEvent(RollbackEvent rollbackEvent) {
+        var sample = indexerMetrics.startBlock();
+        long slot = rollbackEvent.getRollbackTo().getSlot();
+        log.info("Processing RollbackEvent, rolling back to slot {}", slot);
+
+        // registry_node references protocol_params, so it goes first
+        int balanceEntries = balanceService.rollbackToSlot(slot);
+        int supplyEvents = tokenSupplyService.rollbackToSlot(slot);
+        int registryNodes = registryService.rollbackToSlot(slot);
+        int protocolParams = protocolParamsService.rollbackToSlot(slot);
+
+        // Registries and blacklists are reloaded from the rolled back UTxO set on next query
+        registryIndex.clear();
+        blacklistIndex.clear();
+        blacklistQueryService.evictAllBlacklistStatuses();
+
+        indexerMetrics.recordBlock(sample, IndexerMetrics.ROLLBACK);
+        log.info("Rolled back to slot {}: removed {} balance entries, {} supply events, {} registry nodes, {} protocol params versions",
+                slot, balanceEntries, supplyEvents, registryNodes, protocolParams);
+    }
+
+}
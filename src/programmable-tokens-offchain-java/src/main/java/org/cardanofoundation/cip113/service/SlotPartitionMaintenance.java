@@ -0,0 +1,77 @@
+package org.cardanofoundation.cip113.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.repository.SlotPartitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.LongSummaryStatistics;
+
+/**
+ * Keeps the slot range partitions of balance_log and registry_node ahead of the indexer.
+ * <p>
+ * Each run creates the partitions from the slowest listener up to {@code ahead} partitions past the fastest one,
+ * so blocks at the tip are written to their own partition. Rows that went past the created partitions (before the
+ * first run, or while syncing more than {@code ahead} epochs between two runs) land in the default partition and
+ * are moved out when their partition gets created.
+ */
+@Component
+@Slf4j
+public class SlotPartitionMaintenance {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("balance_log", "registry_node");
+
+    private final SlotPartitionRepository repository;
+
+    private final IndexerSyncStatus syncStatus;
+
+    private final boolean enabled;
+
+    private final int ahead;
+
+    public SlotPartitionMaintenance(SlotPartitionRepository repository,
+                                    IndexerSyncStatus syncStatus,
+                                    @Value("${indexer.partitions.enabled:true}") boolean enabled,
+                                    @Value("${indexer.partitions.ahead:2}") int ahead) {
+        this.repository = repository;
+        this.syncStatus = syncStatus;
+        this.enabled = enabled;
+        this.ahead = ahead;
+        log.info("INIT slot partition maintenance, enabled: {}, partitions ahead: {}", enabled, ahead);
+    }
+
+    @Scheduled(initialDelayString = "${indexer.partitions.delay-ms:300000}",
+            fixedDelayString = "${indexer.partitions.delay-ms:300000}")
+    public void createPartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        LongSummaryStatistics slots = syncStatus.getStatuses().values().stream()
+                .mapToLong(IndexerSyncStatus.ListenerStatus::slot)
+                .summaryStatistics();
+        if (slots.getCount() == 0) {
+            // Nothing processed yet, the default partitions take the first blocks
+            return;
+        }
+
+        long toSlot = slots.getMax() + ahead * SlotPartitionRepository.SLOT_RANGE;
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                // Blocks synced since the previous run may have gone past the partitions created so far
+                long fromSlot = repository.findMinDefaultPartitionSlot(table)
+                        .map(slot -> Math.min(slot, slots.getMin()))
+                        .orElse(slots.getMin());
+                int created = repository.createPartitions(table, fromSlot, toSlot);
+                if (created > 0) {
+                    log.info("Created {} {} partitions up to slot {}", created, table, toSlot);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to create {} partitions, will retry on the next run", table, e);
+            }
+        }
+    }
+
+}
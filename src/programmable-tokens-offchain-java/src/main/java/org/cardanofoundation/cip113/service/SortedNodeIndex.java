@@ -0,0 +1,210 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.easy1staking.cardano.model.AssetType;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.onchain.LinkedListNode;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of on-chain sorted linked lists, one sorted map of node key -> node UTxO per node policy.
+ * <p>
+ * A list is loaded from the local UTxO store the first time it is queried, and from then on kept up to date by an
+ * event listener as nodes are spent and created on chain. Node and covering node lookups are O(log n) and do not
+ * touch the UTxO store. Subclasses decide which UTxOs hold genuine nodes and how to parse them.
+ * <p>
+ * Loads and chain events are applied under the same lock, so no event is missed while a list loads. A list is only
+ * kept once fully read: a failed read is thrown, and a list missing from the local store (no head node yet) is looked
+ * up directly from Blockfrost for this query only. Without a local store no chain events are received, so nothing is
+ * indexed and every query looks the list up directly.
+ *
+ * @param <N> the node type
+ */
+@Slf4j
+public abstract class SortedNodeIndex<N extends LinkedListNode> {
+
+    /**
+     * A node together with the UTxO holding it
+     */
+    public record Entry<N>(N node, String txHash, int outputIndex) {
+    }
+
+    private static class PolicyIndex<N extends LinkedListNode> {
+
+        // node key -> entry, sorted like the on-chain linked list
+        private final ConcurrentSkipListMap<String, Entry<N>> nodesByKey = new ConcurrentSkipListMap<>();
+
+        // txHash#outputIndex -> node key, to remove nodes when their UTxO is spent
+        private final Map<String, String> keysByUtxoRef = new ConcurrentHashMap<>();
+
+        private void put(Entry<N> entry) {
+            nodesByKey.put(entry.node().key(), entry);
+            keysByUtxoRef.put(utxoRef(entry.txHash(), entry.outputIndex()), entry.node().key());
+        }
+
+        private boolean remove(String txHash, int outputIndex) {
+            var key = keysByUtxoRef.remove(utxoRef(txHash, outputIndex));
+            if (key == null) {
+                return false;
+            }
+            nodesByKey.computeIfPresent(key, (k, entry) ->
+                    entry.txHash().equals(txHash) && entry.outputIndex() == outputIndex ? null : entry);
+            return true;
+        }
+    }
+
+    // Key of the head node every list starts with
+    private static final String HEAD_KEY = "";
+
+    // e.g. "registry", only used in logs
+    private final String name;
+
+    private final UtxoProvider utxoProvider;
+
+    private final Map<String, PolicyIndex<N>> indexes = new ConcurrentHashMap<>();
+
+    protected SortedNodeIndex(String name, UtxoProvider utxoProvider) {
+        this.name = name;
+        this.utxoProvider = utxoProvider;
+    }
+
+    /**
+     * Parse the node held by a UTxO of the list
+     *
+     * @param nodePolicyId the node policy id of the list
+     * @param utxo         a UTxO at the list address
+     * @return the node, empty if the UTxO does not hold a genuine node
+     */
+    protected abstract Optional<N> parseNode(String nodePolicyId, Utxo utxo);
+
+    /**
+     * Find the node with the given key
+     *
+     * @param nodePolicyId the node policy id of the list
+     * @param key          the node key
+     * @param listAddress  the address holding the nodes, read if this list is not indexed yet
+     * @return the node or empty if there is no node with this key
+     */
+    public Optional<Entry<N>> findNode(String nodePolicyId, String key, String listAddress) {
+        return Optional.ofNullable(getOrLoad(nodePolicyId, listAddress).nodesByKey.get(key));
+    }
+
+    /**
+     * @return true if a node with the given key exists, see {@link #findNode}
+     */
+    public boolean contains(String nodePolicyId, String key, String listAddress) {
+        return getOrLoad(nodePolicyId, listAddress).nodesByKey.containsKey(key);
+    }
+
+    /**
+     * Find the node covering a key, i.e. the node with {@code node.key < key < node.next}: the node a new key is
+     * inserted after, or the node proving the key is not in the list
+     *
+     * @param nodePolicyId the node policy id of the list
+     * @param key          the key
+     * @param listAddress  the address holding the nodes, read if this list is not indexed yet
+     * @return the covering node or empty if the key is in the list (or the list is inconsistent)
+     */
+    public Optional<Entry<N>> findCoveringNode(String nodePolicyId, String key, String listAddress) {
+        var lower = getOrLoad(nodePolicyId, listAddress).nodesByKey.lowerEntry(key);
+        return Optional.ofNullable(lower)
+                .map(Map.Entry::getValue)
+                .filter(entry -> entry.node().next().compareTo(key) > 0);
+    }
+
+    /**
+     * @return the node policy ids currently indexed, i.e. the ones to follow on chain
+     */
+    public Set<String> getIndexedPolicyIds() {
+        return indexes.keySet();
+    }
+
+    /**
+     * Record a node created on chain. Ignored if the list is not indexed yet,
+     * since it will be read from the UTxO set when first queried.
+     */
+    public synchronized void addNode(String nodePolicyId, N node, String txHash, int outputIndex) {
+        var index = indexes.get(nodePolicyId);
+        if (index != null) {
+            index.put(new Entry<>(node, txHash, outputIndex));
+            log.debug("Indexed {} node: policyId={}, key={}, next={}", name, nodePolicyId, node.key(), node.next());
+        }
+    }
+
+    /**
+     * Record a spent UTxO, dropping the node it held, if any
+     *
+     * @return the node policy id the spent node belonged to, empty if it was not a node of an indexed list
+     */
+    public synchronized Optional<String> removeNode(String txHash, int outputIndex) {
+        return indexes.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue().remove(txHash, outputIndex))
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    /**
+     * Drop every indexed list, they will be reloaded from the UTxO set on next query (e.g. after a rollback)
+     */
+    public synchronized void clear() {
+        indexes.clear();
+    }
+
+    private PolicyIndex<N> getOrLoad(String nodePolicyId, String listAddress) {
+        var index = indexes.get(nodePolicyId);
+        if (index != null) {
+            return index;
+        }
+
+        if (utxoProvider.hasLocalStore()) {
+            // Under the lock events are applied with: an event waits for the load, then applies on top of it
+            synchronized (this) {
+                index = indexes.get(nodePolicyId);
+                if (index != null) {
+                    return index;
+                }
+                index = parse(nodePolicyId, utxoProvider.findLocalUtxos(listAddress));
+                if (index.nodesByKey.containsKey(HEAD_KEY)) {
+                    indexes.put(nodePolicyId, index);
+                    log.info("Loaded {} index for policyId={} with {} nodes", name, nodePolicyId, index.nodesByKey.size());
+                    return index;
+                }
+            }
+            log.warn("No {} head node in the local UTxO store for policyId={}, looking the list up directly", name, nodePolicyId);
+        }
+
+        return parse(nodePolicyId, utxoProvider.findAllBlockfrostUtxos(listAddress));
+    }
+
+    private PolicyIndex<N> parse(String nodePolicyId, List<Utxo> utxos) {
+        var index = new PolicyIndex<N>();
+        for (Utxo utxo : utxos) {
+            parseNode(nodePolicyId, utxo)
+                    .ifPresent(node -> index.put(new Entry<>(node, utxo.getTxHash(), utxo.getOutputIndex())));
+        }
+        return index;
+    }
+
+    /**
+     * Only UTxOs holding the node NFT of the list are genuine nodes, anyone can send a node datum to the list address
+     */
+    protected static boolean holdsNodeNft(Utxo utxo, String nodePolicyId) {
+        return utxo.getAmount() != null && utxo.getAmount()
+                .stream()
+                .anyMatch(amount -> BigInteger.ONE.equals(amount.getQuantity())
+                        && nodePolicyId.equals(AssetType.fromUnit(amount.getUnit()).policyId()));
+    }
+
+    private static String utxoRef(String txHash, int outputIndex) {
+        return txHash + "#" + outputIndex;
+    }
+
+}
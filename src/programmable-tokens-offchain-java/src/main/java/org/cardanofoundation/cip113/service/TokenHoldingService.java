@@ -0,0 +1,168 @@
+package org.cardanofoundation.cip113.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.CurrentBalanceEntity;
+import org.cardanofoundation.cip113.entity.TokenHoldingEntity;
+import org.cardanofoundation.cip113.model.HolderCursor;
+import org.cardanofoundation.cip113.model.TokenHolder;
+import org.cardanofoundation.cip113.model.TokenHolderPage;
+import org.cardanofoundation.cip113.repository.TokenHoldingRepository;
+import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains and queries the token_holding index: who holds a policy and how much.
+ * <p>
+ * Holdings are a projection of the current balances, updated by {@link BalanceService} in the transaction that
+ * updates current_balance. Only the (address, asset) rows whose amount changed are written, so a block costs
+ * one lookup of the holdings of its touched addresses plus one write per changed asset.
+ * Holder reads are aggregated per address over the asset names of a policy, each a single range scan of the
+ * (policy id, address, amount) index.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TokenHoldingService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int POLICY_ID_LENGTH = 56;
+
+    private final TokenHoldingRepository repository;
+
+    /**
+     * Bring the holdings of the given addresses in line with their new current balance.
+     * Call it from the transaction updating current_balance.
+     *
+     * @param balances the updated current balances
+     */
+    public void project(Collection<CurrentBalanceEntity> balances) {
+        if (balances.isEmpty()) {
+            return;
+        }
+
+        Set<String> addresses = balances.stream()
+                .map(CurrentBalanceEntity::getAddress)
+                .collect(Collectors.toSet());
+
+        // Existing holdings per address, keyed by unit
+        Map<String, Map<String, TokenHoldingEntity>> existing = new HashMap<>();
+        repository.findByAddressIn(addresses).forEach(holding -> existing
+                .computeIfAbsent(holding.getAddress(), address -> new HashMap<>())
+                .put(holding.getPolicyId() + holding.getAssetName(), holding));
+
+        var updatedAt = LocalDateTime.now();
+        List<TokenHoldingEntity> updated = new ArrayList<>();
+        List<TokenHoldingEntity> removed = new ArrayList<>();
+
+        balances.forEach(balance -> {
+            Map<String, TokenHoldingEntity> holdings = existing.getOrDefault(balance.getAddress(), new HashMap<>());
+
+            BalanceValueHelper.accumulatorFromJsonStrict(balance.getBalance()).forEach((unit, amount) -> {
+                // Lovelace is not a holding
+                if (!isAssetUnit(unit) || amount.signum() == 0) {
+                    return;
+                }
+                TokenHoldingEntity holding = holdings.remove(unit);
+                if (holding == null) {
+                    holding = TokenHoldingEntity.builder()
+                            .policyId(unit.substring(0, POLICY_ID_LENGTH))
+                            .assetName(unit.substring(POLICY_ID_LENGTH))
+                            .address(balance.getAddress())
+                            .build();
+                } else if (holding.getAmount().equals(amount)) {
+                    return;
+                }
+                holding.setStakeKeyHash(balance.getStakeKeyHash());
+                holding.setAmount(amount);
+                holding.setSlot(balance.getSlot());
+                holding.setUpdatedAt(updatedAt);
+                updated.add(holding);
+            });
+
+            // Assets no longer held
+            removed.addAll(holdings.values());
+        });
+
+        repository.deleteAll(removed);
+        repository.saveAll(updated);
+        log.debug("Projected token holdings of {} addresses: {} updated, {} removed",
+                addresses.size(), updated.size(), removed.size());
+    }
+
+    /**
+     * Remove every holding of the given addresses, ahead of their re-projection after a rollback
+     *
+     * @param addresses the addresses
+     */
+    public void removeAll(Collection<String> addresses) {
+        if (!addresses.isEmpty()) {
+            repository.deleteByAddressIn(addresses);
+        }
+    }
+
+    /**
+     * Get the holders of a policy, one page at a time, ordered by address
+     *
+     * @param policyId the programmable token policy id
+     * @param cursor   the cursor returned with the previous page, null for the first page
+     * @param limit    the page size, capped at {@value #MAX_PAGE_SIZE}
+     * @return the page
+     */
+    public TokenHolderPage getHolders(String policyId, HolderCursor cursor, int limit) {
+        int pageSize = pageSize(limit);
+        // One extra row tells whether there is a next page
+        var pageable = PageRequest.of(0, pageSize + 1);
+        List<TokenHolder> rows = cursor == null
+                ? repository.findHolders(policyId, pageable)
+                : repository.findHoldersAfter(policyId, cursor.address(), pageable);
+
+        return rows.size() > pageSize
+                ? new TokenHolderPage(rows.subList(0, pageSize), rows.get(pageSize))
+                : new TokenHolderPage(rows, null);
+    }
+
+    /**
+     * Get the largest holders of a policy
+     *
+     * @param policyId the programmable token policy id
+     * @param limit    the number of holders, capped at {@value #MAX_PAGE_SIZE}
+     * @return the holders, largest amount first
+     */
+    public List<TokenHolder> getTopHolders(String policyId, int limit) {
+        return repository.findTopHolders(policyId, PageRequest.of(0, pageSize(limit)));
+    }
+
+    /**
+     * @param policyId the programmable token policy id
+     * @return the number of distinct addresses holding the policy
+     */
+    public long countHolders(String policyId) {
+        return repository.countHolders(policyId);
+    }
+
+    /**
+     * @return true if the unit is a native asset unit (policy id + optional hex asset name)
+     */
+    public static boolean isAssetUnit(String unit) {
+        return unit != null && unit.length() >= POLICY_ID_LENGTH && unit.length() <= POLICY_ID_LENGTH + 64;
+    }
+
+    /**
+     * @return true if the string is a policy id
+     */
+    public static boolean isPolicyId(String policyId) {
+        return policyId != null && policyId.length() == POLICY_ID_LENGTH;
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+}
@@ -44,6 +44,8 @@ public class TokenOperationsService {
 
     private final ProgrammableTokenRegistryRepository programmableTokenRegistryRepository;
 
+    private final TransactionBuildMetrics transactionBuildMetrics;
+
     /**
      * Pre-register a programmable token by registering required stake addresses.
      * This step registers withdraw-0 script stake addresses before the main registration.
@@ -61,22 +63,22 @@ public class TokenOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
 
         // Pattern matching dispatch based on request type
-        var txContext = switch (request) {
-            case DummyRegisterRequest dummyRequest -> {
-                var handler = handlerFactory.getHandler("dummy");
-                var basicOps = (BasicOperations<DummyRegisterRequest>) handler.asBasicOperations()
-                        .orElseThrow(() -> new UnsupportedOperationException("dummy does not support basic operations"));
-                yield basicOps.buildPreRegistrationTransaction(dummyRequest, protocolParams);
-            }
-            case FreezeAndSeizeRegisterRequest fasRequest -> {
-                var handler = handlerFactory.getHandler("freeze-and-seize", FreezeAndSeizeContext.emptyContext());
-                var basicOps = (BasicOperations<FreezeAndSeizeRegisterRequest>) handler.asBasicOperations()
-                        .orElseThrow(() -> new UnsupportedOperationException("freeze-and-seize does not support basic operations"));
-                yield basicOps.buildPreRegistrationTransaction(fasRequest, protocolParams);
-            }
-            default -> throw new UnsupportedOperationException(
-                    "Unknown request type: " + request.getClass().getSimpleName());
-        };
+        var txContext = transactionBuildMetrics.record("pre_register", request.getSubstandardId(), TransactionBuildMetrics.BASIC, () -> switch (request) {
+                case DummyRegisterRequest dummyRequest -> {
+                    var handler = handlerFactory.getHandler("dummy");
+                    var basicOps = (BasicOperations<DummyRegisterRequest>) handler.asBasicOperations()
+                            .orElseThrow(() -> new UnsupportedOperationException("dummy does not support basic operations"));
+                    yield basicOps.buildPreRegistrationTransaction(dummyRequest, protocolParams);
+                }
+                case FreezeAndSeizeRegisterRequest fasRequest -> {
+                    var handler = handlerFactory.getHandler("freeze-and-seize", FreezeAndSeizeContext.emptyContext());
+                    var basicOps = (BasicOperations<FreezeAndSeizeRegisterRequest>) handler.asBasicOperations()
+                            .orElseThrow(() -> new UnsupportedOperationException("freeze-and-seize does not support basic operations"));
+                    yield basicOps.buildPreRegistrationTransaction(fasRequest, protocolParams);
+                }
+                default -> throw new UnsupportedOperationException(
+                        "Unknown request type: " + request.getClass().getSimpleName());
+            });
 
         log.info("Pre-registration transaction built successfully for substandard: {}",
                 request.getSubstandardId());
@@ -101,22 +103,22 @@ public class TokenOperationsService {
         var protocolParams = resolveProtocolParams(protocolTxHash);
 
         // Pattern matching dispatch based on request type
-        var txContext = switch (request) {
-            case DummyRegisterRequest dummyRequest -> {
-                var handler = handlerFactory.getHandler("dummy");
-                var basicOps = (BasicOperations<DummyRegisterRequest>) handler.asBasicOperations()
-                        .orElseThrow(() -> new UnsupportedOperationException("dummy does not support basic operations"));
-                yield basicOps.buildRegistrationTransaction(dummyRequest, protocolParams);
-            }
-            case FreezeAndSeizeRegisterRequest fasRequest -> {
-                var handler = handlerFactory.getHandler("freeze-and-seize", FreezeAndSeizeContext.emptyContext());
-                var basicOps = (BasicOperations<FreezeAndSeizeRegisterRequest>) handler.asBasicOperations()
-                        .orElseThrow(() -> new UnsupportedOperationException("freeze-and-seize does not support basic operations"));
-                yield basicOps.buildRegistrationTransaction(fasRequest, protocolParams);
-            }
-            default -> throw new UnsupportedOperationException(
-                    "Unknown request type: " + request.getClass().getSimpleName());
-        };
+        var txContext = transactionBuildMetrics.record("register", request.getSubstandardId(), TransactionBuildMetrics.BASIC, () -> switch (request) {
+                case DummyRegisterRequest dummyRequest -> {
+                    var handler = handlerFactory.getHandler("dummy");
+                    var basicOps = (BasicOperations<DummyRegisterRequest>) handler.asBasicOperations()
+                            .orElseThrow(() -> new UnsupportedOperationException("dummy does not support basic operations"));
+                    yield basicOps.buildRegistrationTransaction(dummyRequest, protocolParams);
+                }
+                case FreezeAndSeizeRegisterRequest fasRequest -> {
+                    var handler = handlerFactory.getHandler("freeze-and-seize", FreezeAndSeizeContext.emptyContext());
+                    var basicOps = (BasicOperations<FreezeAndSeizeRegisterRequest>) handler.asBasicOperations()
+                            .orElseThrow(() -> new UnsupportedOperationException("freeze-and-seize does not support basic operations"));
+                    yield basicOps.buildRegistrationTransaction(fasRequest, protocolParams);
+                }
+                default -> throw new UnsupportedOperationException(
+                        "Unknown request type: " + request.getClass().getSimpleName());
+            });
 
         log.info("Registration transaction built successfully for substandard: {}",
                 request.getSubstandardId());
@@ -169,15 +171,15 @@ public class TokenOperationsService {
 
         // Get substandard handler with BasicOperations capability
         var handler = context != null ? handlerFactory.getHandler(substandardId, context) : handlerFactory.getHandler(substandardId);
-        var txContext = switch (handler) {
-            case DummySubstandardHandler dummySubstandardHandler ->
-                    dummySubstandardHandler.buildMintTransaction(request, protocolParams);
-            case FreezeAndSeizeHandler freezeAndSeizeHandler ->
-                    freezeAndSeizeHandler.buildMintTransaction(request, protocolParams);
-            case BafinSubstandardHandler bafinSubstandardHandler ->
-                    bafinSubstandardHandler.buildMintTransaction(request, protocolParams);
-            default -> throw new UnsupportedOperationException();
-        };
+        var txContext = transactionBuildMetrics.record("mint", substandardId, TransactionBuildMetrics.BASIC, () -> switch (handler) {
+                case DummySubstandardHandler dummySubstandardHandler ->
+                        dummySubstandardHandler.buildMintTransaction(request, protocolParams);
+                case FreezeAndSeizeHandler freezeAndSeizeHandler ->
+                        freezeAndSeizeHandler.buildMintTransaction(request, protocolParams);
+                case BafinSubstandardHandler bafinSubstandardHandler ->
+                        bafinSubstandardHandler.buildMintTransaction(request, protocolParams);
+                default -> throw new UnsupportedOperationException();
+            });
 
         log.info("Mint transaction built successfully for substandard: {}", substandardId);
 
@@ -230,15 +232,15 @@ public class TokenOperationsService {
 
         // Get substandard handler with BasicOperations capability
         var handler = context != null ? handlerFactory.getHandler(substandardId, context) : handlerFactory.getHandler(substandardId);
-        var txContext = switch (handler) {
-            case DummySubstandardHandler dummySubstandardHandler ->
-                    dummySubstandardHandler.buildBurnTransaction(request, protocolParams);
-            case FreezeAndSeizeHandler freezeAndSeizeHandler ->
-                    freezeAndSeizeHandler.buildBurnTransaction(request, protocolParams);
-            case BafinSubstandardHandler bafinSubstandardHandler ->
-                    bafinSubstandardHandler.buildBurnTransaction(request, protocolParams);
-            default -> throw new UnsupportedOperationException();
-        };
+        var txContext = transactionBuildMetrics.record("burn", substandardId, TransactionBuildMetrics.BASIC, () -> switch (handler) {
+                case DummySubstandardHandler dummySubstandardHandler ->
+                        dummySubstandardHandler.buildBurnTransaction(request, protocolParams);
+                case FreezeAndSeizeHandler freezeAndSeizeHandler ->
+                        freezeAndSeizeHandler.buildBurnTransaction(request, protocolParams);
+                case BafinSubstandardHandler bafinSubstandardHandler ->
+                        bafinSubstandardHandler.buildBurnTransaction(request, protocolParams);
+                default -> throw new UnsupportedOperationException();
+            });
 
         log.info("Burn transaction built successfully for substandard: {}", substandardId);
 
@@ -294,15 +296,15 @@ public class TokenOperationsService {
 
         // Get substandard handler with BasicOperations capability
         var handler = context != null ? handlerFactory.getHandler(substandardId, context) : handlerFactory.getHandler(substandardId);
-        var txContext = switch (handler) {
-            case DummySubstandardHandler dummySubstandardHandler ->
-                    dummySubstandardHandler.buildTransferTransaction(request, protocolParams);
-            case FreezeAndSeizeHandler freezeAndSeizeHandler ->
-                    freezeAndSeizeHandler.buildTransferTransaction(request, protocolParams);
-            case BafinSubstandardHandler bafinSubstandardHandler ->
-                    bafinSubstandardHandler.buildTransferTransaction(request, protocolParams);
-            default -> throw new UnsupportedOperationException();
-        };
+        var txContext = transactionBuildMetrics.record("transfer", substandardId, TransactionBuildMetrics.BASIC, () -> switch (handler) {
+                case DummySubstandardHandler dummySubstandardHandler ->
+                        dummySubstandardHandler.buildTransferTransaction(request, protocolParams);
+                case FreezeAndSeizeHandler freezeAndSeizeHandler ->
+                        freezeAndSeizeHandler.buildTransferTransaction(request, protocolParams);
+                case BafinSubstandardHandler bafinSubstandardHandler ->
+                        bafinSubstandardHandler.buildTransferTransaction(request, protocolParams);
+                default -> throw new UnsupportedOperationException();
+            });
 
 
         log.info("Transfer transaction built successfully for substandard: {}", substandardId);
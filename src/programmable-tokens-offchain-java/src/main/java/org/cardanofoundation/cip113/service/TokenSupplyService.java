@@ -0,0 +1,273 @@
+package org.cardanofoundation.cip113.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.TokenSupplyEntity;
+import org.cardanofoundation.cip113.entity.TokenSupplyEventEntity;
+import org.cardanofoundation.cip113.model.HistoryCursor;
+import org.cardanofoundation.cip113.model.SupplyChange;
+import org.cardanofoundation.cip113.model.SupplyEventPage;
+import org.cardanofoundation.cip113.repository.TokenSupplyEventRepository;
+import org.cardanofoundation.cip113.repository.TokenSupplyRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Circulating supply ledger of the programmable tokens, fed from the mint field of the indexed transactions.
+ * <p>
+ * Every mint and burn is appended to token_supply_event with the running totals of its asset, and the token_supply
+ * row of the asset is moved forward in the same transaction, so the current supply is a single row read and the
+ * supply at a past slot a single lookup of the latest event at or before it. Published meters:
+ * <ul>
+ *   <li>{@code token.supply{policy}} - circulating supply of the policy, all asset names together</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TokenSupplyService {
+
+    public static final int MAX_HISTORY_PAGE_SIZE = 1000;
+
+    private final TokenSupplyRepository repository;
+
+    private final TokenSupplyEventRepository eventRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    // Gauge values, supply per policy id
+    private final Map<String, BigInteger> policySupplies = new ConcurrentHashMap<>();
+
+    /**
+     * Publish the supply gauges at startup rather than on the first mint
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadGauges() {
+        List<TokenSupplyEntity> supplies = repository.findAll();
+        updateGauges(supplies.stream().map(TokenSupplyEntity::getPolicyId).collect(Collectors.toSet()), supplies);
+    }
+
+    /**
+     * Record the mints and burns of a block. Changes already recorded for the same transaction and asset are
+     * skipped (idempotency). Call it from the transaction appending the balance entries of the block, so the
+     * ledger never diverges from the holdings.
+     *
+     * @param changes the supply changes, in chain order
+     * @return the recorded events
+     */
+    @Transactional
+    public List<TokenSupplyEventEntity> record(List<SupplyChange> changes) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> recorded = eventRepository.findByTxHashIn(changes.stream()
+                        .map(SupplyChange::txHash)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .map(event -> eventKey(event.getTxHash(), event.getPolicyId(), event.getAssetName()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        Set<String> policyIds = changes.stream()
+                .map(SupplyChange::policyId)
+                .collect(Collectors.toSet());
+        Map<String, TokenSupplyEntity> supplies = new HashMap<>();
+        repository.findByPolicyIdIn(policyIds)
+                .forEach(supply -> supplies.put(unit(supply.getPolicyId(), supply.getAssetName()), supply));
+
+        var now = LocalDateTime.now();
+        List<TokenSupplyEventEntity> events = new ArrayList<>();
+        Map<String, TokenSupplyEntity> updated = new LinkedHashMap<>();
+
+        for (SupplyChange change : changes) {
+            if (!recorded.add(eventKey(change.txHash(), change.policyId(), change.assetName()))) {
+                log.debug("Supply change already recorded, skipping: policyId={}, assetName={}, tx={}",
+                        change.policyId(), change.assetName(), change.txHash());
+                continue;
+            }
+
+            String unit = unit(change.policyId(), change.assetName());
+            TokenSupplyEntity supply = supplies.computeIfAbsent(unit, key -> TokenSupplyEntity.builder()
+                    .policyId(change.policyId())
+                    .assetName(change.assetName())
+                    .supply(BigInteger.ZERO)
+                    .minted(BigInteger.ZERO)
+                    .burned(BigInteger.ZERO)
+                    .build());
+
+            if (change.quantity().signum() >= 0) {
+                supply.setMinted(supply.getMinted().add(change.quantity()));
+            } else {
+                supply.setBurned(supply.getBurned().subtract(change.quantity()));
+            }
+            supply.setSupply(supply.getMinted().subtract(supply.getBurned()));
+            supply.setTxHash(change.txHash());
+            supply.setSlot(change.slot());
+            supply.setUpdatedAt(now);
+            updated.put(unit, supply);
+
+            events.add(TokenSupplyEventEntity.builder()
+                    .policyId(change.policyId())
+                    .assetName(change.assetName())
+                    .txHash(change.txHash())
+                    .slot(change.slot())
+                    .blockHeight(change.blockHeight())
+                    .quantity(change.quantity())
+                    .supply(supply.getSupply())
+                    .minted(supply.getMinted())
+                    .burned(supply.getBurned())
+                    .createdAt(now)
+                    .build());
+        }
+
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        eventRepository.saveAll(events);
+        repository.saveAll(updated.values());
+        updateGauges(policyIds, supplies.values());
+
+        log.info("Recorded {} supply changes ({} skipped as duplicates)", events.size(), changes.size() - events.size());
+        return events;
+    }
+
+    /**
+     * Roll the supply ledger back to the given slot after a chain fork.
+     * Events above the slot are removed, and the supply of the affected assets is re-projected from their latest
+     * surviving event.
+     *
+     * @param slot the slot to roll back to (events at this slot are kept)
+     * @return the number of events removed
+     */
+    @Transactional
+    public int rollbackToSlot(Long slot) {
+        Set<String> affectedUnits = repository.findBySlotGreaterThan(slot).stream()
+                .map(supply -> unit(supply.getPolicyId(), supply.getAssetName()))
+                .collect(Collectors.toSet());
+
+        int deleted = eventRepository.deleteBySlotGreaterThan(slot);
+        repository.deleteBySlotGreaterThan(slot);
+
+        if (!affectedUnits.isEmpty()) {
+            Set<String> policyIds = affectedUnits.stream()
+                    .map(unit -> unit.substring(0, unit.indexOf('.')))
+                    .collect(Collectors.toSet());
+
+            var now = LocalDateTime.now();
+            repository.saveAll(eventRepository.findLatestByPolicyIds(policyIds).stream()
+                    .filter(event -> affectedUnits.contains(unit(event.getPolicyId(), event.getAssetName())))
+                    .map(event -> TokenSupplyEntity.builder()
+                            .policyId(event.getPolicyId())
+                            .assetName(event.getAssetName())
+                            .supply(event.getSupply())
+                            .minted(event.getMinted())
+                            .burned(event.getBurned())
+                            .txHash(event.getTxHash())
+                            .slot(event.getSlot())
+                            .updatedAt(now)
+                            .build())
+                    .toList());
+
+            updateGauges(policyIds, repository.findByPolicyIdIn(policyIds));
+        }
+
+        log.info("Rolled back token supplies to slot {}: removed {} events, re-projected {} assets",
+                slot, deleted, affectedUnits.size());
+
+        return deleted;
+    }
+
+    /**
+     * @param policyId the policy id
+     * @return the current supply of every asset of the policy
+     */
+    public List<TokenSupplyEntity> getSupply(String policyId) {
+        return repository.findByPolicyId(policyId);
+    }
+
+    /**
+     * @param policyId the policy id
+     * @param slot     the slot
+     * @return the latest event at or before the slot of every asset of the policy, carrying its supply at that slot
+     */
+    public List<TokenSupplyEventEntity> getSupplyAtSlot(String policyId, long slot) {
+        return eventRepository.findLatestAtOrBeforeSlot(policyId, slot);
+    }
+
+    /**
+     * Get the mint and burn events of a policy, one page at a time, most recent first
+     *
+     * @param policyId the policy id
+     * @param cursor   the cursor returned with the previous page, null for the first page
+     * @param limit    the page size, capped at {@value #MAX_HISTORY_PAGE_SIZE}
+     * @return the page
+     */
+    public SupplyEventPage getHistory(String policyId, HistoryCursor cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        // One extra row tells whether there is a next page
+        var pageable = PageRequest.of(0, pageSize + 1);
+        List<TokenSupplyEventEntity> rows = cursor == null
+                ? eventRepository.findHistory(policyId, pageable)
+                : eventRepository.findHistoryBefore(policyId, cursor.slot(), cursor.id(), pageable);
+
+        return rows.size() > pageSize
+                ? new SupplyEventPage(rows.subList(0, pageSize), rows.get(pageSize))
+                : new SupplyEventPage(rows, null);
+    }
+
+    /**
+     * Set the supply gauges of the given policies once the surrounding transaction commits
+     *
+     * @param policyIds the policies to update
+     * @param supplies  the supplies of all the assets of these policies
+     */
+    private void updateGauges(Set<String> policyIds, Collection<TokenSupplyEntity> supplies) {
+        Map<String, BigInteger> totals = new HashMap<>();
+        policyIds.forEach(policyId -> totals.put(policyId, BigInteger.ZERO));
+        supplies.forEach(supply -> totals.computeIfPresent(supply.getPolicyId(), (policyId, total) -> total.add(supply.getSupply())));
+
+        afterCommit(() -> totals.forEach((policyId, total) -> {
+            policySupplies.put(policyId, total);
+            Gauge.builder("token.supply", policySupplies, values -> values.getOrDefault(policyId, BigInteger.ZERO).doubleValue())
+                    .description("Circulating supply of a programmable token policy")
+                    .tag("policy", policyId)
+                    .register(meterRegistry);
+        }));
+    }
+
+    private static String unit(String policyId, String assetName) {
+        return policyId + "." + assetName;
+    }
+
+    private static String eventKey(String txHash, String policyId, String assetName) {
+        return txHash + "#" + unit(policyId, assetName);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+}
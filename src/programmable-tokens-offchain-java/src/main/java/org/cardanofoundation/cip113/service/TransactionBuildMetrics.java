@@ -0,0 +1,49 @@
+package org.cardanofoundation.cip113.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.cardanofoundation.cip113.model.TransactionContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Records {@code tx.build.duration{operation, substandard, capability, outcome}} around substandard
+ * handler calls. Outcome is {@code success}, {@code failure} (handler returned an error context)
+ * or {@code error} (handler threw).
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionBuildMetrics {
+
+    public static final String BASIC = "basic";
+    public static final String BLACKLIST = "blacklist";
+    public static final String WHITELIST = "whitelist";
+    public static final String SEIZE = "seize";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> TransactionContext<T> record(String operation,
+                                            String substandardId,
+                                            String capability,
+                                            Supplier<TransactionContext<T>> build) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = "error";
+        try {
+            var txContext = build.get();
+            outcome = txContext != null && txContext.isSuccessful() ? "success" : "failure";
+            return txContext;
+        } finally {
+            sample.stop(Timer.builder("tx.build.duration")
+                    .description("Time spent building an unsigned transaction")
+                    .tag("operation", operation)
+                    .tag("substandard", substandardId)
+                    .tag("capability", capability)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+}
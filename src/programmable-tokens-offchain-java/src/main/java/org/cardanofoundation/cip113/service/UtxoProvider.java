@@ -6,12 +6,15 @@ import com.bloxbean.cardano.client.backend.blockfrost.service.BFBackendService;
 import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.UtxoId;
 import com.bloxbean.cardano.yaci.store.utxo.storage.impl.repository.UtxoRepository;
 import com.easy1staking.cardano.util.UtxoUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -21,14 +24,21 @@ import java.util.Optional;
 @Slf4j
 public class UtxoProvider {
 
+    private static final String LOCAL = "local";
+    private static final String BLOCKFROST = "blockfrost";
+    private static final int BLOCKFROST_PAGE_SIZE = 100;
+
     private final BFBackendService bfBackendService;
 
     @Nullable
     private final UtxoRepository utxoRepository;
 
+    private final MeterRegistry meterRegistry;
+
     public Optional<Utxo> findUtxo(String txHash, int outputIndex) {
 
         if (utxoRepository == null) {
+            countLookup(BLOCKFROST);
             try {
                 var utxoResult = bfBackendService.getUtxoService().getTxOutput(txHash, outputIndex);
                 if (utxoResult.isSuccessful()) {
@@ -40,11 +50,19 @@ public class UtxoProvider {
                 throw new RuntimeException(e);
             }
         } else {
-            return utxoRepository.findById(UtxoId.builder()
+            countLookup(LOCAL);
+            var utxo = utxoRepository.findById(UtxoId.builder()
                             .txHash(txHash)
                             .outputIndex(outputIndex)
                             .build())
                     .map(UtxoUtil::toUtxo);
+            if (utxo.isEmpty()) {
+                Counter.builder("utxo.provider.misses")
+                        .description("UTxO lookups not found in the local UTxO store")
+                        .register(meterRegistry)
+                        .increment();
+            }
+            return utxo;
         }
 
     }
@@ -52,8 +70,10 @@ public class UtxoProvider {
     public List<Utxo> findUtxos(String address) {
 
         if (utxoRepository == null) {
+            countLookup(BLOCKFROST);
             return getBlockfrostUtxos(address);
         } else {
+            countLookup(LOCAL);
             var utxos = utxoRepository.findUnspentByOwnerAddr(address, Pageable.unpaged())
                     .stream()
                     .flatMap(Collection::stream)
@@ -63,6 +83,10 @@ public class UtxoProvider {
             if (utxos.isEmpty()) {
                 log.info("No UTxos found for address {}", address);
                 // falling back on blockfrost if indexer is behind
+                Counter.builder("utxo.provider.fallbacks")
+                        .description("Address lookups that found no local UTxOs and fell back to Blockfrost")
+                        .register(meterRegistry)
+                        .increment();
                 return getBlockfrostUtxos(address);
             } else {
                 return utxos;
@@ -72,6 +96,61 @@ public class UtxoProvider {
 
     }
 
+    /**
+     * @return true if UTxOs are indexed locally, i.e. chain events are received
+     */
+    public boolean hasLocalStore() {
+        return utxoRepository != null;
+    }
+
+    /**
+     * Find every unspent UTxO at an address in the local UTxO store, without falling back on Blockfrost
+     *
+     * @param address the address
+     * @return the UTxOs, empty if the local store has none at this address
+     */
+    public List<Utxo> findLocalUtxos(String address) {
+        if (utxoRepository == null) {
+            throw new IllegalStateException("No local UTxO store");
+        }
+        countLookup(LOCAL);
+        return utxoRepository.findUnspentByOwnerAddr(address, Pageable.unpaged())
+                .stream()
+                .flatMap(Collection::stream)
+                .map(UtxoUtil::toUtxo)
+                .toList();
+    }
+
+    /**
+     * Find every UTxO at an address through Blockfrost, reading all the pages
+     *
+     * @param address the address
+     * @return the UTxOs
+     * @throws IllegalStateException if a page could not be fetched, rather than returning part of the UTxOs
+     */
+    public List<Utxo> findAllBlockfrostUtxos(String address) {
+        countLookup(BLOCKFROST);
+        List<Utxo> utxos = new ArrayList<>();
+        try {
+            for (int page = 1; ; page++) {
+                var utxoResult = bfBackendService.getUtxoService().getUtxos(address, BLOCKFROST_PAGE_SIZE, page);
+                if (!utxoResult.isSuccessful()) {
+                    // 404: the address has never been used
+                    if (utxoResult.code() == 404) {
+                        return utxos;
+                    }
+                    throw new IllegalStateException("Failed to fetch UTxOs of " + address + ": " + utxoResult.getResponse());
+                }
+                utxos.addAll(utxoResult.getValue());
+                if (utxoResult.getValue().size() < BLOCKFROST_PAGE_SIZE) {
+                    return utxos;
+                }
+            }
+        } catch (ApiException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private List<Utxo> getBlockfrostUtxos(String address) {
         try {
             var utxoResult = bfBackendService.getUtxoService().getUtxos(address, 100, 1);
@@ -91,6 +170,7 @@ public class UtxoProvider {
         if (utxoRepository == null) {
             throw new RuntimeException("Unsupported");
         } else {
+            countLookup(LOCAL);
             return utxoRepository.findUnspentByOwnerPaymentCredential(paymentPkh, Pageable.unpaged())
                     .stream()
                     .flatMap(Collection::stream)
@@ -112,6 +192,7 @@ public class UtxoProvider {
         if (utxoRepository == null) {
             throw new RuntimeException("Unsupported - requires local UTXO repository");
         } else {
+            countLookup(LOCAL);
             return utxoRepository.findUnspentByOwnerStakeCredential(stakePkh, Pageable.unpaged())
                     .stream()
                     .flatMap(Collection::stream)
@@ -121,4 +202,12 @@ public class UtxoProvider {
 
     }
 
+    private void countLookup(String source) {
+        Counter.builder("utxo.provider.lookups")
+                .description("UTxO lookups by source")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
 }
@@ -6,8 +6,6 @@ import com.bloxbean.cardano.client.address.Credential;
 import com.bloxbean.cardano.client.api.model.Amount;
 import com.bloxbean.cardano.client.api.model.Utxo;
 import com.bloxbean.cardano.client.api.util.ValueUtil;
-import com.bloxbean.cardano.client.plutus.blueprint.PlutusBlueprintUtil;
-import com.bloxbean.cardano.client.plutus.blueprint.model.PlutusVersion;
 import com.bloxbean.cardano.client.plutus.spec.BigIntPlutusData;
 import com.bloxbean.cardano.client.plutus.spec.BytesPlutusData;
 import com.bloxbean.cardano.client.plutus.spec.ConstrPlutusData;
@@ -40,7 +38,11 @@ import org.cardanofoundation.cip113.model.onchain.RegistryNodeParser;
 import org.cardanofoundation.cip113.repository.CustomStakeRegistrationRepository;
 import org.cardanofoundation.cip113.repository.ProgrammableTokenRegistryRepository;
 import org.cardanofoundation.cip113.service.AccountService;
+import org.cardanofoundation.cip113.service.ParameterizedScriptCache;
+import org.cardanofoundation.cip113.service.ProtocolParamsService;
 import org.cardanofoundation.cip113.service.ProtocolScriptBuilderService;
+import org.cardanofoundation.cip113.service.RegistryIndex;
+import org.cardanofoundation.cip113.service.SortedNodeIndex;
 import org.cardanofoundation.cip113.service.SubstandardService;
 import org.cardanofoundation.cip113.service.substandard.capabilities.BasicOperations;
 import org.springframework.data.domain.Pageable;
@@ -81,6 +83,12 @@ public class DummySubstandardHandler implements SubstandardHandler, BasicOperati
 
     private final ProtocolScriptBuilderService protocolScriptBuilderService;
 
+    private final ParameterizedScriptCache scriptCache;
+
+    private final RegistryIndex registryIndex;
+
+    private final ProtocolParamsService protocolParamsService;
+
     private final QuickTxBuilder quickTxBuilder;
 
     private final ProgrammableTokenRegistryRepository programmableTokenRegistryRepository;
@@ -112,13 +120,13 @@ public class DummySubstandardHandler implements SubstandardHandler, BasicOperati
                 return TransactionContext.typedError("substandard issuance or transfer contract are empty");
             }
 
-            var substandardIssueContract = PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(substandardIssuanceContractOpt.get().scriptBytes(), PlutusVersion.v3);
+            var substandardIssueContract = scriptCache.getOrBuild(SUBSTANDARD_ID + ":" + substandardIssuanceContractOpt.get().title(), substandardIssuanceContractOpt.get().scriptBytes());
             log.info("substandardIssueContract: {}", substandardIssueContract.getPolicyId());
 
             var substandardIssueAddress = AddressProvider.getRewardAddress(substandardIssueContract, network.getCardanoNetwork());
             log.info("substandardIssueAddress: {}", substandardIssueAddress.getAddress());
 
-            var substandardTransferContract = PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(substandardTransferContractOpt.get().scriptBytes(), PlutusVersion.v3);
+            var substandardTransferContract = scriptCache.getOrBuild(SUBSTANDARD_ID + ":" + substandardTransferContractOpt.get().title(), substandardTransferContractOpt.get().scriptBytes());
             var substandardTransferAddress = AddressProvider.getRewardAddress(substandardTransferContract, network.getCardanoNetwork());
             log.info("substandardTransferAddress: {}", substandardTransferAddress.getAddress());
 
@@ -211,55 +219,33 @@ public class DummySubstandardHandler implements SubstandardHandler, BasicOperati
                 return TransactionContext.typedError("substandard issuance or transfer contract are empty");
             }
 
-            var substandardIssueContract = PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(substandardIssuanceContractOpt.get().scriptBytes(), PlutusVersion.v3);
+            var substandardIssueContract = scriptCache.getOrBuild(SUBSTANDARD_ID + ":" + substandardIssuanceContractOpt.get().title(), substandardIssuanceContractOpt.get().scriptBytes());
             log.info("substandardIssueContract: {}", substandardIssueContract.getPolicyId());
 
             var substandardIssueAddress = AddressProvider.getRewardAddress(substandardIssueContract, network.getCardanoNetwork());
             log.info("substandardIssueAddress: {}", substandardIssueAddress.getAddress());
 
-            var substandardTransferContract = PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(substandardTransferContractOpt.get().scriptBytes(), PlutusVersion.v3);
+            var substandardTransferContract = scriptCache.getOrBuild(SUBSTANDARD_ID + ":" + substandardTransferContractOpt.get().title(), substandardTransferContractOpt.get().scriptBytes());
 
             var issuanceContract = protocolScriptBuilderService.getParameterizedIssuanceMintScript(protocolBootstrapParams, substandardIssueContract);
             final var progTokenPolicyId = issuanceContract.getPolicyId();
             log.info("issuanceContract: {}", progTokenPolicyId);
 
-            var registryEntries = utxoRepository.findUnspentByOwnerPaymentCredential(directorySpendContract.getPolicyId(), Pageable.unpaged());
+            var registryAddress = directorySpendContractAddress.getAddress();
 
-            var registryEntryOpt = registryEntries.stream()
-                    .flatMap(Collection::stream)
-                    .filter(addressUtxoEntity -> registryNodeParser.parse(addressUtxoEntity.getInlineDatum())
-                            .map(registryNode -> registryNode.key().equals(progTokenPolicyId))
-                            .orElse(false)
-                    )
-                    .findAny();
+            var registryEntryOpt = registryIndex.findNode(directoryMintPolicyId, progTokenPolicyId, registryAddress);
 
             if (registryEntryOpt.isEmpty()) {
 
-                var nodeToReplaceOpt = registryEntries.stream()
-                        .flatMap(Collection::stream)
-                        .filter(addressUtxoEntity -> {
-                            var registryDatumOpt = registryNodeParser.parse(addressUtxoEntity.getInlineDatum());
-
-                            if (registryDatumOpt.isEmpty()) {
-                                log.warn("could not parse registry datum for: {}", addressUtxoEntity.getInlineDatum());
-                                return false;
-                            }
-
-                            var registryDatum = registryDatumOpt.get();
-
-                            var after = registryDatum.key().compareTo(progTokenPolicyId) < 0;
-                            var before = progTokenPolicyId.compareTo(registryDatum.next()) < 0;
-                            log.info("after:{}, before: {}", after, before);
-                            return after && before;
-
-                        })
-                        .findAny();
+                // The node the new token is inserted after: key < progTokenPolicyId < next
+                var nodeToReplaceOpt = registryIndex.findCoveringNode(directoryMintPolicyId, progTokenPolicyId, registryAddress)
+                        .flatMap(this::findRegistryNodeUtxo);
 
                 if (nodeToReplaceOpt.isEmpty()) {
                     return TransactionContext.typedError("could not find node to replace");
                 }
 
-                var directoryUtxo = UtxoUtil.toUtxo(nodeToReplaceOpt.get());
+                var directoryUtxo = nodeToReplaceOpt.get();
                 log.info("directoryUtxo: {}", directoryUtxo);
                 var existingRegistryNodeDatumOpt = registryNodeParser.parse(directoryUtxo.getInlineDatum());
 
@@ -450,7 +436,7 @@ public class DummySubstandardHandler implements SubstandardHandler, BasicOperati
             // Handler knows its own contract names internally
             var substandardIssuanceContractOpt = substandardService.getSubstandardValidator(SUBSTANDARD_ID, "issue.issue.withdraw");
 
-            var substandardIssueContract = PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(substandardIssuanceContractOpt.get().scriptBytes(), PlutusVersion.v3);
+            var substandardIssueContract = scriptCache.getOrBuild(SUBSTANDARD_ID + ":" + substandardIssuanceContractOpt.get().title(), substandardIssuanceContractOpt.get().scriptBytes());
             log.info("substandardIssueContract: {}", substandardIssueContract.getPolicyId());
 
             var substandardIssueAddress = AddressProvider.getRewardAddress(substandardIssueContract, network.getCardanoNetwork());
@@ -547,16 +533,11 @@ public class DummySubstandardHandler implements SubstandardHandler, BasicOperati
             var directorySpendContract = protocolScriptBuilderService.getParameterizedDirectorySpendScript(protocolBootstrapParams);
             log.info("directorySpendContract: {}", HexUtil.encodeHexString(directorySpendContract.getScriptHash()));
 
-            var registryEntries = utxoRepository.findUnspentByOwnerPaymentCredential(directorySpendContract.getPolicyId(), Pageable.unpaged());
-
-            var progTokenRegistryOpt = registryEntries.stream()
-                    .flatMap(Collection::stream)
-                    .filter(addressUtxoEntity -> {
-                        var registryDatumOpt = registryNodeParser.parse(addressUtxoEntity.getInlineDatum());
-                        return registryDatumOpt.map(registryDatum -> registryDatum.key().equals(progToken.policyId())).orElse(false);
-                    })
-                    .findAny()
-                    .map(UtxoUtil::toUtxo);
+            var registryAddress = AddressProvider.getEntAddress(directorySpendContract, network.getCardanoNetwork()).getAddress();
+            var progTokenRegistryOpt = protocolParamsService.getByTxHash(bootstrapTxHash)
+                    .flatMap(protocolParams -> registryIndex.findNode(protocolParams.getRegistryNodePolicyId(), progToken.policyId(),
+                            registryAddress))
+                    .flatMap(this::findRegistryNodeUtxo);
 
             if (progTokenRegistryOpt.isEmpty()) {
                 return TransactionContext.error("could not find registry entry for token");
@@ -662,7 +643,7 @@ public class DummySubstandardHandler implements SubstandardHandler, BasicOperati
                 log.warn("could not resolve transfer contract");
                 return TransactionContext.error("could not resolve transfer contract");
             }
-            var substandardTransferContract = PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(substandardTransferContractOpt.get().scriptBytes(), PlutusVersion.v3);
+            var substandardTransferContract = scriptCache.getOrBuild(SUBSTANDARD_ID + ":" + substandardTransferContractOpt.get().title(), substandardTransferContractOpt.get().scriptBytes());
             var substandardTransferAddress = AddressProvider.getRewardAddress(substandardTransferContract, network.getCardanoNetwork());
             log.info("substandardTransferAddress: {}", substandardTransferAddress.getAddress());
 
@@ -745,4 +726,12 @@ public class DummySubstandardHandler implements SubstandardHandler, BasicOperati
 
     }
 
+    private Optional<Utxo> findRegistryNodeUtxo(SortedNodeIndex.Entry<RegistryNode> entry) {
+        return utxoRepository.findById(UtxoId.builder()
+                        .txHash(entry.txHash())
+                        .outputIndex(entry.outputIndex())
+                        .build())
+                .map(UtxoUtil::toUtxo);
+    }
+
 }
@@ -32,6 +32,7 @@ import org.cardanofoundation.cip113.config.AppConfig;
 import org.cardanofoundation.cip113.entity.BlacklistInitEntity;
 import org.cardanofoundation.cip113.entity.FreezeAndSeizeTokenRegistrationEntity;
 import org.cardanofoundation.cip113.entity.ProgrammableTokenRegistryEntity;
+import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
 import org.cardanofoundation.cip113.model.*;
 import org.cardanofoundation.cip113.model.TransactionContext.MintingResult;
 import org.cardanofoundation.cip113.model.TransactionContext.RegistrationResult;
@@ -95,7 +96,6 @@ public class FreezeAndSeizeHandler implements SubstandardHandler, BasicOperation
     private final SubstandardService substandardService;
     private final ProtocolScriptBuilderService protocolScriptBuilderService;
     private final FreezeAndSeizeScriptBuilderService fesScriptBuilder;
-    private final LinkedListService linkedListService;
     private final QuickTxBuilder quickTxBuilder;
 
     private final HybridUtxoSupplier hybridUtxoSupplier;
@@ -110,6 +110,12 @@ public class FreezeAndSeizeHandler implements SubstandardHandler, BasicOperation
 
     private final UtxoProvider utxoProvider;
 
+    private final BlacklistIndex blacklistIndex;
+
+    private final RegistryIndex registryIndex;
+
+    private final ProtocolParamsService protocolParamsService;
+
     private final BFBackendService bfBackendService;
 
     /**
@@ -217,23 +223,24 @@ public class FreezeAndSeizeHandler implements SubstandardHandler, BasicOperation
 
             var registryAddress = AddressProvider.getEntAddress(directorySpendContract, network.getCardanoNetwork());
 
-            var registryEntries = utxoProvider.findUtxos(registryAddress.getAddress());
-            log.info("found {}, registry entries", registryEntries.size());
-
-            var nodeAlreadyPresent = linkedListService.nodeAlreadyPresent(progTokenPolicyId, registryEntries, utxo -> registryNodeParser.parse(utxo.getInlineDatum())
-                    .map(RegistryNode::key));
+            var registryNodePolicyIdOpt = findRegistryNodePolicyId(protocolParams);
+            if (registryNodePolicyIdOpt.isEmpty()) {
+                return TransactionContext.typedError("could not resolve registry node policy");
+            }
+            var registryNodePolicyId = registryNodePolicyIdOpt.get();
+            var nodeAlreadyPresent = registryIndex.findNode(registryNodePolicyId, progTokenPolicyId, registryAddress.getAddress()).isPresent();
 
             if (nodeAlreadyPresent) {
                 log.warn("registry node already present");
-                TransactionContext.error("registry node already present");
+                return TransactionContext.typedError("registry node already present");
             }
 
-            var nodeToReplaceOpt = linkedListService.findNodeToReplace(progTokenPolicyId, registryEntries, utxo -> registryNodeParser.parse(utxo.getInlineDatum())
-                    .map(node -> new LinkedListNode(node.key(), node.next())));
+            var nodeToReplaceOpt = registryIndex.findCoveringNode(registryNodePolicyId, progTokenPolicyId, registryAddress.getAddress())
+                    .flatMap(entry -> utxoProvider.findUtxo(entry.txHash(), entry.outputIndex()));
 
             if (nodeToReplaceOpt.isEmpty()) {
                 log.warn("could not find node to replace");
-                TransactionContext.error("could not find node to replace");
+                return TransactionContext.typedError("could not find node to replace");
             }
 
             var directoryUtxo = nodeToReplaceOpt.get();
@@ -591,14 +598,7 @@ public class FreezeAndSeizeHandler implements SubstandardHandler, BasicOperation
             var registryAddress = AddressProvider.getEntAddress(registrySpendContract, network.getCardanoNetwork());
             log.info("registryAddress: {}", registryAddress.getAddress());
 
-            var registryEntries = utxoProvider.findUtxos(registryAddress.getAddress());
-
-            var progTokenRegistryOpt = registryEntries.stream()
-                    .filter(utxo -> {
-                        var registryDatumOpt = registryNodeParser.parse(utxo.getInlineDatum());
-                        return registryDatumOpt.map(registryDatum -> registryDatum.key().equals(assetTypeToBurn.policyId())).orElse(false);
-                    })
-                    .findAny();
+            var progTokenRegistryOpt = findRegistryNodeUtxo(protocolParams, registryAddress.getAddress(), assetTypeToBurn.policyId());
 
             if (progTokenRegistryOpt.isEmpty()) {
                 return TransactionContext.typedError("could not find registry entry for token");
@@ -729,14 +729,7 @@ public class FreezeAndSeizeHandler implements SubstandardHandler, BasicOperation
             var registryAddress = AddressProvider.getEntAddress(registrySpendContract, network.getCardanoNetwork());
             log.info("registryAddress: {}", registryAddress.getAddress());
 
-            var registryEntries = utxoProvider.findUtxos(registryAddress.getAddress());
-
-            var progTokenRegistryOpt = registryEntries.stream()
-                    .filter(utxo -> {
-                        var registryDatumOpt = registryNodeParser.parse(utxo.getInlineDatum());
-                        return registryDatumOpt.map(registryDatum -> registryDatum.key().equals(progToken.policyId())).orElse(false);
-                    })
-                    .findAny();
+            var progTokenRegistryOpt = findRegistryNodeUtxo(protocolParams, registryAddress.getAddress(), progToken.policyId());
 
             if (progTokenRegistryOpt.isEmpty()) {
                 return TransactionContext.typedError("could not find registry entry for token");
@@ -838,39 +831,31 @@ public class FreezeAndSeizeHandler implements SubstandardHandler, BasicOperation
                 return TransactionContext.typedError("Not enough funds");
             }
 
-            var parameterisedBlacklistSpendingScript = fesScriptBuilder.buildBlacklistSpendScript(blacklistNodePolicyId);
-            var blacklistAddress = AddressProvider.getEntAddress(parameterisedBlacklistSpendingScript, network.getCardanoNetwork());
-
-            var blacklistUtxos = utxoProvider.findUtxos(blacklistAddress.getAddress());
-
             var sortedInputUtxos = Stream.concat(adminUtxos.stream(), inputUtxos.stream())
                     .sorted(new UtxoComparator())
                     .toList();
 
-            var proofs = new ArrayList<Pair<Utxo, Utxo>>();
+            var proofs = new ArrayList<Pair<Utxo, TransactionInput>>();
             var progTokenBaseScriptHash = protocolParams.programmableLogicBaseParams().scriptHash();
             for (Utxo utxo : sortedInputUtxos) {
                 var address = new Address(utxo.getAddress());
                 var addressPkh = address.getPaymentCredentialHash().map(HexUtil::encodeHexString).get();
                 if (progTokenBaseScriptHash.equals(addressPkh)) {
                     var stakingPkh = address.getDelegationCredentialHash().map(HexUtil::encodeHexString).get();
-                    var relevantBlacklistNodeOpt = blacklistUtxos.stream()
-                            .filter(blackListUtxo -> blacklistNodeParser
-                                    .parse(blackListUtxo.getInlineDatum())
-                                    .map(blacklistNode -> blacklistNode.key().compareTo(stakingPkh) < 0 && blacklistNode.next().compareTo(stakingPkh) > 0)
-                                    .orElse(false))
-                            .findAny();
+                    var relevantBlacklistNodeOpt = blacklistIndex.findCoveringNode(blacklistNodePolicyId, stakingPkh,
+                            findBlacklistAddress(blacklistNodePolicyId));
                     if (relevantBlacklistNodeOpt.isEmpty()) {
                         return TransactionContext.typedError("could not resolve blacklist exemption");
                     }
-                    proofs.add(new Pair<>(utxo, relevantBlacklistNodeOpt.get()));
+                    var blacklistNodeRef = relevantBlacklistNodeOpt.get();
+                    proofs.add(new Pair<>(utxo, TransactionInput.builder()
+                            .transactionId(blacklistNodeRef.txHash())
+                            .index(blacklistNodeRef.outputIndex())
+                            .build()));
                 }
             }
 
-            var sortedReferenceInputs = Stream.concat(proofs.stream().map(Pair::second).map(utxo -> TransactionInput.builder()
-                                    .transactionId(utxo.getTxHash())
-                                    .index(utxo.getOutputIndex())
-                                    .build()),
+            var sortedReferenceInputs = Stream.concat(proofs.stream().map(Pair::second),
                             Stream.of(TransactionInput.builder()
                                     .transactionId(protocolParamsUtxo.getTxHash())
                                     .index(protocolParamsUtxo.getOutputIndex())
@@ -884,7 +869,7 @@ public class FreezeAndSeizeHandler implements SubstandardHandler, BasicOperation
 
             var proofList = proofs.stream().map(pair -> {
                 log.info("first: {}, second: {}", pair.first(), pair.second());
-                var index = sortedReferenceInputs.indexOf(TransactionInput.builder().transactionId(pair.second().getTxHash()).index(pair.second().getOutputIndex()).build());
+                var index = sortedReferenceInputs.indexOf(pair.second());
                 log.info("adding index: {} as a blacklist non-belonging proof", index);
                 return ConstrPlutusData.of(0, BigIntPlutusData.of(index));
             }).toList();
@@ -1283,58 +1268,53 @@ public class FreezeAndSeizeHandler implements SubstandardHandler, BasicOperation
      *
      * @param address The bech32 address to check
      * @return true if the address is blacklisted (frozen), false otherwise
+     * @throws RuntimeException if the address cannot be parsed or the blacklist cannot be loaded
      */
     public boolean isAddressBlacklisted(String address) {
-        try {
-            log.debug("Checking blacklist status for address: {}", address);
+        log.debug("Checking blacklist status for address: {}", address);
 
-            // 1. Extract stake credential from address (same as add/remove operations)
-            var targetAddress = new Address(address);
-            var credentialHashOpt = targetAddress.getDelegationCredentialHash()
-                    .map(HexUtil::encodeHexString);
+        // 1. Extract stake credential from address (same as add/remove operations)
+        var targetAddress = new Address(address);
+        var credentialHashOpt = targetAddress.getDelegationCredentialHash()
+                .map(HexUtil::encodeHexString);
 
-            if (credentialHashOpt.isEmpty()) {
-                log.debug("Address {} has no stake credential", address);
-                return false; // No stake credential = cannot be blacklisted
-            }
+        if (credentialHashOpt.isEmpty()) {
+            log.debug("Address {} has no stake credential", address);
+            return false; // No stake credential = cannot be blacklisted
+        }
 
-            var credentialHash = credentialHashOpt.get();
-            log.debug("Extracted stake credential: {}", credentialHash);
+        var credentialHash = credentialHashOpt.get();
+        log.debug("Extracted stake credential: {}", credentialHash);
 
-            // 2. Derive blacklist mint and spend scripts
-            var blacklistScripts = fesScriptBuilder.buildBlacklistScripts(
-                    context.getBlacklistInitTxInput(),
-                    context.getIssuerAdminPkh()
-            );
-            var parameterisedBlacklistMintingScript = blacklistScripts.first();
-            var parameterisedBlacklistSpendingScript = blacklistScripts.second();
-            var blacklistPolicyId = parameterisedBlacklistMintingScript.getPolicyId();
-            log.debug("Derived blacklist policy ID: {}", blacklistPolicyId);
-
-            // 3. Compute blacklist spend address
-            var blacklistSpendAddress = AddressProvider.getEntAddress(
-                    parameterisedBlacklistSpendingScript,
-                    network.getCardanoNetwork()
-            );
-            log.debug("Derived blacklist spend address: {}", blacklistSpendAddress.getAddress());
+        // 2. Look the credential up in the blacklist index (loaded from the blacklist UTxOs on first use)
+        var blacklistPolicyId = context.getBlacklistNodePolicyId();
+        boolean isBlacklisted = blacklistIndex.contains(blacklistPolicyId, credentialHash,
+                findBlacklistAddress(blacklistPolicyId));
 
-            // 5. Query UTxOs at blacklist address
-            var blacklistUtxos = utxoProvider.findUtxos(blacklistSpendAddress.getAddress());
-            log.debug("Found {} blacklist UTxOs", blacklistUtxos.size());
+        log.debug("Address {} is blacklisted: {}", address, isBlacklisted);
+        return isBlacklisted;
+    }
 
-            // 6. Parse datums and check if credential is in the list
-            boolean isBlacklisted = blacklistUtxos.stream()
-                    .flatMap(utxo -> blacklistNodeParser.parse(utxo.getInlineDatum()).stream())
-                    .anyMatch(blacklistNode -> blacklistNode.key().equals(credentialHash));
+    /**
+     * Locate the registry node UTxO of a token through the registry index (loaded from the registry UTxOs on first use)
+     */
+    private Optional<Utxo> findRegistryNodeUtxo(ProtocolBootstrapParams protocolParams, String registryAddress, String policyId) {
+        return findRegistryNodePolicyId(protocolParams)
+                .flatMap(registryNodePolicyId -> registryIndex.findNode(registryNodePolicyId, policyId, registryAddress))
+                .flatMap(entry -> utxoProvider.findUtxo(entry.txHash(), entry.outputIndex()));
+    }
 
-            log.debug("Address {} is blacklisted: {}", address, isBlacklisted);
-            return isBlacklisted;
+    private Optional<String> findRegistryNodePolicyId(ProtocolBootstrapParams protocolParams) {
+        return protocolParamsService.getByTxHash(protocolParams.txHash())
+                .map(ProtocolParamsEntity::getRegistryNodePolicyId);
+    }
 
-        } catch (Exception e) {
-            log.error("Error checking blacklist status for address: {}", address, e);
-            // Fail-safe: return false to avoid blocking legitimate users
-            return false;
-        }
+    /**
+     * The blacklist spend address holding the blacklist nodes, used to load the blacklist index
+     */
+    private String findBlacklistAddress(String blacklistNodePolicyId) {
+        var parameterisedBlacklistSpendingScript = fesScriptBuilder.buildBlacklistSpendScript(blacklistNodePolicyId);
+        return AddressProvider.getEntAddress(parameterisedBlacklistSpendingScript, network.getCardanoNetwork()).getAddress();
     }
 
     // ========== Seizeable Implementation ==========
@@ -1367,14 +1347,7 @@ public class FreezeAndSeizeHandler implements SubstandardHandler, BasicOperation
             var registryAddress = AddressProvider.getEntAddress(registrySpendContract, network.getCardanoNetwork());
             log.info("registryAddress: {}", registryAddress.getAddress());
 
-            var registryEntries = utxoProvider.findUtxos(registryAddress.getAddress());
-
-            var progTokenRegistryOpt = registryEntries.stream()
-                    .filter(utxo -> {
-                        var registryDatumOpt = registryNodeParser.parse(utxo.getInlineDatum());
-                        return registryDatumOpt.map(registryDatum -> registryDatum.key().equals(progToken.policyId())).orElse(false);
-                    })
-                    .findAny();
+            var progTokenRegistryOpt = findRegistryNodeUtxo(protocolParams, registryAddress.getAddress(), progToken.policyId());
 
             if (progTokenRegistryOpt.isEmpty()) {
                 return TransactionContext.typedError("could not find registry entry for token");
@@ -1,26 +1,27 @@
 package org.cardanofoundation.cip113.util;
 
-import com.bloxbean.cardano.client.api.util.ValueUtil;
 import com.bloxbean.cardano.client.transaction.spec.Asset;
 import com.bloxbean.cardano.client.transaction.spec.MultiAsset;
 import com.bloxbean.cardano.client.transaction.spec.Value;
-import com.easy1staking.cardano.model.AssetType;
-import com.easy1staking.cardano.util.AmountUtil;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.bloxbean.cardano.client.util.HexUtil;
+import com.fasterxml.jackson.core.*;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Slf4j
 public class BalanceValueHelper {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // Balances are read and written token by token, no ObjectMapper data binding involved
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
     private static final String LOVELACE_UNIT = "lovelace";
 
     /**
@@ -31,13 +32,17 @@ public class BalanceValueHelper {
      * @return JSON string representation
      */
     public static String toJson(Value value) {
-        try {
-            Map<String, String> balanceMap = toUnitMap(value);
-            return OBJECT_MAPPER.writeValueAsString(balanceMap);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize Value to JSON", e);
-            return "{}";
-        }
+        return writeJson(generator -> forEachUnit(value, (unit, quantity) -> writeField(generator, unit, quantity)));
+    }
+
+    /**
+     * Convert accumulated quantities to JSON string, in the same format as {@link #toJson(Value)}
+     *
+     * @param accumulator the accumulated quantities
+     * @return JSON string representation
+     */
+    public static String toJson(MultiAssetAccumulator accumulator) {
+        return writeJson(generator -> accumulator.forEach((unit, quantity) -> writeField(generator, unit, quantity)));
     }
 
     /**
@@ -47,13 +52,119 @@ public class BalanceValueHelper {
      * @return Value object
      */
     public static Value fromJson(String json) {
-        try {
-            Map<String, String> balanceMap = OBJECT_MAPPER.readValue(json, new TypeReference<Map<String, String>>() {
-            });
-            return fromUnitMap(balanceMap);
-        } catch (JsonProcessingException e) {
+        return accumulatorFromJson(json).toValue();
+    }
+
+    /**
+     * Convert a JSON string to Value object, failing on unreadable JSON, see {@link #accumulatorFromJsonStrict(String)}
+     *
+     * @param json the JSON string
+     * @return Value object
+     * @throws IllegalStateException if the JSON cannot be read
+     */
+    public static Value fromJsonStrict(String json) {
+        return accumulatorFromJsonStrict(json).toValue();
+    }
+
+    /**
+     * Stream a balance JSON string into an accumulator, without building an intermediate map
+     *
+     * @param json the JSON string
+     * @return the quantities, empty if the JSON cannot be read
+     */
+    public static MultiAssetAccumulator accumulatorFromJson(String json) {
+        var accumulator = new MultiAssetAccumulator();
+        readJson(json, (unit, amount) -> accumulator.add(unit, new BigInteger(amount)), false);
+        return accumulator;
+    }
+
+    /**
+     * Stream a balance JSON string into an accumulator, failing on unreadable JSON.
+     * Used wherever the result is summed or written back (delta replay, projections), where reading a broken
+     * balance or diff as empty would silently corrupt every balance built on it.
+     *
+     * @param json the JSON string
+     * @return the quantities
+     * @throws IllegalStateException if the JSON cannot be read
+     */
+    public static MultiAssetAccumulator accumulatorFromJsonStrict(String json) {
+        var accumulator = new MultiAssetAccumulator();
+        readJson(json, (unit, amount) -> accumulator.add(unit, new BigInteger(amount)), true);
+        return accumulator;
+    }
+
+    /**
+     * Convert a balance JSON string straight to a unit map, amounts are kept as stored
+     *
+     * @param json the JSON string
+     * @return map of unit to amount (as string)
+     */
+    public static Map<String, String> unitMapFromJson(String json) {
+        Map<String, String> unitMap = new LinkedHashMap<>();
+        readJson(json, unitMap::put, false);
+        return unitMap;
+    }
+
+    private static void readJson(String json, BiConsumer<String, String> consumer, boolean strict) {
+        if (json == null || json.isEmpty()) {
+            return;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Balance JSON must be an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String unit = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT) {
+                    consumer.accept(unit, parser.getText());
+                } else if (strict) {
+                    throw new JsonParseException(parser, "Balance amount of " + unit + " must be a string or an integer");
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            if (strict) {
+                throw new IllegalStateException("Failed to deserialize balance JSON: " + json, e);
+            }
             log.error("Failed to deserialize JSON to Value", e);
-            return Value.builder().coin(BigInteger.ZERO).build();
+        }
+    }
+
+    private static String writeJson(Consumer<JsonGenerator> fields) {
+        var writer = new StringWriter(128);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartObject();
+            fields.accept(generator);
+            generator.writeEndObject();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to serialize Value to JSON", e);
+            return "{}";
+        }
+        return writer.toString();
+    }
+
+    private static void writeField(JsonGenerator generator, String unit, BigInteger quantity) {
+        try {
+            generator.writeStringField(unit, quantity.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Visit lovelace, then every native asset of the value, as (unit, quantity)
+     */
+    private static void forEachUnit(Value value, BiConsumer<String, BigInteger> consumer) {
+        consumer.accept(LOVELACE_UNIT, value.getCoin() != null ? value.getCoin() : BigInteger.ZERO);
+        if (value.getMultiAssets() == null) {
+            return;
+        }
+        for (MultiAsset multiAsset : value.getMultiAssets()) {
+            for (Asset asset : multiAsset.getAssets()) {
+                consumer.accept(multiAsset.getPolicyId() + HexUtil.encodeHexString(asset.getNameAsBytes()), asset.getValue());
+            }
         }
     }
 
@@ -65,18 +176,8 @@ public class BalanceValueHelper {
      * @return map of unit to amount (as string)
      */
     public static Map<String, String> toUnitMap(Value value) {
-        Map<String, String> map = new HashMap<>();
-
-        ValueUtil.toAmountList(value).forEach(amount -> {
-            var assetType = AssetType.fromUnit(amount.getUnit());
-            if (assetType.isAda()){
-                map.put(AssetType.LOVELACE, String.valueOf(amount.getQuantity()));
-            } else {
-                map.put(assetType.toUnit(), String.valueOf(amount.getQuantity()));
-            }
-
-        });
-
+        Map<String, String> map = new LinkedHashMap<>();
+        forEachUnit(value, (unit, quantity) -> map.put(unit, String.valueOf(quantity)));
         return map;
     }
 
@@ -88,39 +189,23 @@ public class BalanceValueHelper {
      * @return map of unit to amount (as BigInteger)
      */
     public static Map<String, BigInteger> toMap(Value value) {
-        Map<String, BigInteger> map = new HashMap<>();
-
-        ValueUtil.toAmountList(value).forEach(amount -> {
-            var assetType = AssetType.fromUnit(amount.getUnit());
-            if (assetType.isAda()){
-                map.put(AssetType.LOVELACE, amount.getQuantity());
-            } else {
-                map.put(assetType.toUnit(), amount.getQuantity());
-            }
-        });
-
+        Map<String, BigInteger> map = new LinkedHashMap<>();
+        forEachUnit(value, map::put);
         return map;
     }
 
     /**
      * Convert a unit map to Value object
      *
-     * @param unitMap map of unit to amount (as string)
+     * @param unitMap map of unit to amount (as BigInteger)
      * @return Value object
      */
     public static Value fromUnitMap2(Map<String, BigInteger> unitMap) {
-        return unitMap.entrySet()
-                .stream()
-                .reduce(Value.builder().build(), (value, stringStringEntry) -> {
-                    var assetType = AssetType.fromUnit(stringStringEntry.getKey());
-                    var amount = stringStringEntry.getValue();
-                    if (assetType.isAda()) {
-                        return value.addCoin(amount);
-                    } else {
-                        return value.add(assetType.policyId(), "0x" + assetType.assetName(), amount);
-                    }
-                }, Value::add);
+        var accumulator = new MultiAssetAccumulator();
+        unitMap.forEach(accumulator::add);
+        return accumulator.toValue();
     }
+
     /**
      * Convert a unit map to Value object
      *
@@ -128,17 +213,7 @@ public class BalanceValueHelper {
      * @return Value object
      */
     public static Value fromUnitMap(Map<String, String> unitMap) {
-        return unitMap.entrySet()
-                .stream()
-                .reduce(Value.builder().build(), (value, stringStringEntry) -> {
-                    var assetType = AssetType.fromUnit(stringStringEntry.getKey());
-                    var amount = new BigInteger(stringStringEntry.getValue());
-                    if (assetType.isAda()) {
-                        return value.addCoin(amount);
-                    } else {
-                        return value.add(assetType.policyId(), "0x" + assetType.assetName(), amount);
-                    }
-                }, Value::add);
+        return MultiAssetAccumulator.ofUnitMap(unitMap).toValue();
     }
 
     /**
@@ -176,35 +251,18 @@ public class BalanceValueHelper {
      * @return map of unit to signed amount difference
      */
     public static Map<String, String> calculateSignedDiff(String currentBalance, String previousBalance) {
-        Map<String, String> current = toUnitMap(fromJson(currentBalance));
-
-        Map<String, String> previous = previousBalance != null
-            ? toUnitMap(fromJson(previousBalance))
-            : new HashMap<>();
+        MultiAssetAccumulator difference = accumulatorFromJson(currentBalance);
+        if (previousBalance != null) {
+            difference.subtract(accumulatorFromJson(previousBalance));
+        }
 
+        // Only include non-zero differences
         Map<String, String> diff = new HashMap<>();
-
-        // Get all units from both current and previous
-        Set<String> allUnits = new HashSet<>();
-        allUnits.addAll(current.keySet());
-        allUnits.addAll(previous.keySet());
-
-        for (String unit : allUnits) {
-            BigInteger currentAmount = current.containsKey(unit)
-                ? new BigInteger(current.get(unit))
-                : BigInteger.ZERO;
-
-            BigInteger previousAmount = previous.containsKey(unit)
-                ? new BigInteger(previous.get(unit))
-                : BigInteger.ZERO;
-
-            BigInteger difference = currentAmount.subtract(previousAmount);
-
-            // Only include non-zero differences
-            if (difference.compareTo(BigInteger.ZERO) != 0) {
-                diff.put(unit, difference.toString());
+        difference.forEach((unit, amount) -> {
+            if (amount.signum() != 0) {
+                diff.put(unit, amount.toString());
             }
-        }
+        });
 
         return diff;
     }
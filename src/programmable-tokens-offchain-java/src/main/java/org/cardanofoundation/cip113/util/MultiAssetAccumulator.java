@@ -0,0 +1,242 @@
+package org.cardanofoundation.cip113.util;
+
+import com.bloxbean.cardano.client.transaction.spec.Asset;
+import com.bloxbean.cardano.client.transaction.spec.MultiAsset;
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import com.bloxbean.cardano.client.util.HexUtil;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Mutable sum of lovelace and native asset quantities, keyed by unit ({@code policyId + hex asset name}).
+ * <p>
+ * Replaces folding immutable {@link Value}s with {@code Value.add}/{@code Value.subtract}, which copy and merge
+ * the multi asset lists on every call: adding an amount here is a hash lookup and, while the quantity fits,
+ * a {@code long} addition. Quantities switch to {@link BigInteger} on overflow. Conversion to {@link Value} or
+ * to a unit map only happens when the result is needed.
+ * <p>
+ * Not thread-safe.
+ */
+public final class MultiAssetAccumulator {
+
+    public static final String LOVELACE = "lovelace";
+
+    private static final int POLICY_ID_LENGTH = 56;
+
+    private final Quantity lovelace = new Quantity();
+
+    // Insertion ordered so that conversions are deterministic
+    private final Map<String, Quantity> assets = new LinkedHashMap<>();
+
+    public static MultiAssetAccumulator of(Value value) {
+        var accumulator = new MultiAssetAccumulator();
+        accumulator.add(value);
+        return accumulator;
+    }
+
+    /**
+     * @param unitMap map of unit to amount, units as in {@link BalanceValueHelper#toUnitMap}
+     */
+    public static MultiAssetAccumulator ofUnitMap(Map<String, String> unitMap) {
+        var accumulator = new MultiAssetAccumulator();
+        unitMap.forEach((unit, amount) -> accumulator.add(unit, new BigInteger(amount)));
+        return accumulator;
+    }
+
+    /**
+     * @param unit     "lovelace" or the policy id followed by the hex asset name, an optional '.' separator is ignored
+     * @param quantity the quantity to add, may be negative
+     */
+    public MultiAssetAccumulator add(String unit, BigInteger quantity) {
+        quantity(unit).add(quantity);
+        return this;
+    }
+
+    public MultiAssetAccumulator subtract(String unit, BigInteger quantity) {
+        quantity(unit).add(quantity.negate());
+        return this;
+    }
+
+    public MultiAssetAccumulator add(Value value) {
+        return merge(value, false);
+    }
+
+    public MultiAssetAccumulator subtract(Value value) {
+        return merge(value, true);
+    }
+
+    public MultiAssetAccumulator add(MultiAssetAccumulator other) {
+        lovelace.add(other.lovelace);
+        other.assets.forEach((unit, quantity) -> quantity(unit).add(quantity));
+        return this;
+    }
+
+    public MultiAssetAccumulator subtract(MultiAssetAccumulator other) {
+        lovelace.add(other.lovelace.get().negate());
+        other.assets.forEach((unit, quantity) -> quantity(unit).add(quantity.get().negate()));
+        return this;
+    }
+
+    public BigInteger getLovelace() {
+        return lovelace.get();
+    }
+
+    /**
+     * @return the quantity of the unit, zero if never added
+     */
+    public BigInteger get(String unit) {
+        var quantity = LOVELACE.equals(unit) ? lovelace : assets.get(unit);
+        return quantity == null ? BigInteger.ZERO : quantity.get();
+    }
+
+    /**
+     * @return the policy ids of the native assets with a non zero quantity
+     */
+    public Set<String> getPolicyIds() {
+        Set<String> policyIds = new LinkedHashSet<>();
+        assets.forEach((unit, quantity) -> {
+            if (!quantity.isZero()) {
+                policyIds.add(policyId(unit));
+            }
+        });
+        return policyIds;
+    }
+
+    /**
+     * @return true if the lovelace and all asset quantities are zero
+     */
+    public boolean isZero() {
+        return lovelace.isZero() && assets.values().stream().allMatch(Quantity::isZero);
+    }
+
+    /**
+     * Visit lovelace first, then every native asset with a non zero quantity
+     *
+     * @param consumer receives the unit and its quantity
+     */
+    public void forEach(BiConsumer<String, BigInteger> consumer) {
+        consumer.accept(LOVELACE, lovelace.get());
+        assets.forEach((unit, quantity) -> {
+            if (!quantity.isZero()) {
+                consumer.accept(unit, quantity.get());
+            }
+        });
+    }
+
+    /**
+     * @return the unit map, lovelace always included, zero asset quantities left out
+     */
+    public Map<String, String> toUnitMap() {
+        Map<String, String> unitMap = new LinkedHashMap<>();
+        forEach((unit, quantity) -> unitMap.put(unit, quantity.toString()));
+        return unitMap;
+    }
+
+    /**
+     * @return the same quantities as a {@link Value}, zero asset quantities left out
+     */
+    public Value toValue() {
+        Map<String, List<Asset>> assetsByPolicyId = new LinkedHashMap<>();
+        assets.forEach((unit, quantity) -> {
+            if (!quantity.isZero()) {
+                assetsByPolicyId.computeIfAbsent(policyId(unit), policyId -> new ArrayList<>())
+                        .add(Asset.builder()
+                                .name("0x" + unit.substring(policyId(unit).length()))
+                                .value(quantity.get())
+                                .build());
+            }
+        });
+
+        List<MultiAsset> multiAssets = new ArrayList<>(assetsByPolicyId.size());
+        assetsByPolicyId.forEach((policyId, policyAssets) -> multiAssets.add(MultiAsset.builder()
+                .policyId(policyId)
+                .assets(policyAssets)
+                .build()));
+
+        return Value.builder()
+                .coin(lovelace.get())
+                .multiAssets(multiAssets)
+                .build();
+    }
+
+    private MultiAssetAccumulator merge(Value value, boolean negate) {
+        if (value == null) {
+            return this;
+        }
+        if (value.getCoin() != null) {
+            lovelace.add(negate ? value.getCoin().negate() : value.getCoin());
+        }
+        if (value.getMultiAssets() != null) {
+            for (MultiAsset multiAsset : value.getMultiAssets()) {
+                for (Asset asset : multiAsset.getAssets()) {
+                    var unit = multiAsset.getPolicyId() + HexUtil.encodeHexString(asset.getNameAsBytes());
+                    quantity(unit).add(negate ? asset.getValue().negate() : asset.getValue());
+                }
+            }
+        }
+        return this;
+    }
+
+    private Quantity quantity(String unit) {
+        if (LOVELACE.equals(unit) || unit == null || unit.isEmpty()) {
+            return lovelace;
+        }
+        if (unit.indexOf('.') >= 0) {
+            unit = unit.replace(".", "");
+        }
+        return assets.computeIfAbsent(unit, key -> new Quantity());
+    }
+
+    private static String policyId(String unit) {
+        return unit.length() > POLICY_ID_LENGTH ? unit.substring(0, POLICY_ID_LENGTH) : unit;
+    }
+
+    /**
+     * A quantity kept in a long until it overflows
+     */
+    private static final class Quantity {
+
+        private long small;
+
+        private BigInteger big;
+
+        void add(long amount) {
+            if (big == null) {
+                long result = small + amount;
+                // Overflow iff both operands have the same sign and the result has the other one
+                if (((small ^ result) & (amount ^ result)) >= 0) {
+                    small = result;
+                    return;
+                }
+            }
+            big = get().add(BigInteger.valueOf(amount));
+        }
+
+        void add(BigInteger amount) {
+            if (amount.bitLength() < Long.SIZE) {
+                add(amount.longValue());
+            } else {
+                big = get().add(amount);
+            }
+        }
+
+        void add(Quantity other) {
+            if (other.big == null) {
+                add(other.small);
+            } else {
+                add(other.big);
+            }
+        }
+
+        BigInteger get() {
+            return big != null ? big : BigInteger.valueOf(small);
+        }
+
+        boolean isZero() {
+            return big != null ? big.signum() == 0 : small == 0;
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.cardanofoundation.cip113.util;
+
+import com.bloxbean.cardano.client.plutus.spec.BytesPlutusData;
+import com.bloxbean.cardano.client.plutus.spec.ConstrPlutusData;
+import com.bloxbean.cardano.client.plutus.spec.ListPlutusData;
+import com.bloxbean.cardano.client.plutus.spec.PlutusData;
+import com.bloxbean.cardano.client.util.HexUtil;
+
+import java.util.List;
+
+/**
+ * Typed accessors reading {@link PlutusData} fields directly, without going through a JSON representation.
+ */
+public class PlutusDeserializationHelper {
+
+    /**
+     * Fields of a constructor, or items of a list
+     */
+    public static List<PlutusData> fields(PlutusData data) {
+        return switch (data) {
+            case ConstrPlutusData constr -> constr.getData().getPlutusDataList();
+            case ListPlutusData list -> list.getPlutusDataList();
+            default -> throw new IllegalArgumentException("Expected constr or list, got " + data.getClass().getSimpleName());
+        };
+    }
+
+    /**
+     * Hex encoded content of a bytes field
+     */
+    public static String bytesHex(PlutusData data) {
+        if (data instanceof BytesPlutusData bytes) {
+            return HexUtil.encodeHexString(bytes.getValue());
+        }
+        throw new IllegalArgumentException("Expected bytes, got " + data.getClass().getSimpleName());
+    }
+
+    /**
+     * Hex encoded hash of a credential, i.e. the single bytes field of a VerificationKey / Script constructor
+     */
+    public static String credentialHashHex(PlutusData data) {
+        return bytesHex(fields(data).get(0));
+    }
+
+}
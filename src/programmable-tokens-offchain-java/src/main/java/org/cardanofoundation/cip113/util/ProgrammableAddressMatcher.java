@@ -0,0 +1,111 @@
+package org.cardanofoundation.cip113.util;
+
+import com.bloxbean.cardano.client.util.HexUtil;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Fast pre-filter telling whether a bech32 Shelley address has one of a set of script hashes as payment credential.
+ * <p>
+ * Only the address header and the 28 bytes of the payment credential are decoded, straight from the bech32
+ * characters and without verifying the checksum, then compared to the monitored hashes. Addresses with a key
+ * payment credential are rejected from the first data character. Most addresses on chain are not programmable
+ * token addresses, so this avoids a full {@link AddressUtil#decompose} for all of them; matches still go
+ * through {@link AddressUtil#decompose}, which validates the address.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class ProgrammableAddressMatcher {
+
+    public static final ProgrammableAddressMatcher NONE = new ProgrammableAddressMatcher(new byte[0][]);
+
+    private static final String BECH32_CHARSET = "qpzry9x8gf2tvdw0s3jn54khce6mua7l";
+
+    private static final byte[] BECH32_VALUES = new byte[128];
+
+    private static final int CREDENTIAL_LENGTH = 28;
+
+    // Header byte followed by the payment credential
+    private static final int PREFIX_LENGTH = 1 + CREDENTIAL_LENGTH;
+
+    // Number of 5-bit characters holding the prefix bytes
+    private static final int PREFIX_CHARS = (PREFIX_LENGTH * 8 + 4) / 5;
+
+    static {
+        Arrays.fill(BECH32_VALUES, (byte) -1);
+        for (int i = 0; i < BECH32_CHARSET.length(); i++) {
+            BECH32_VALUES[BECH32_CHARSET.charAt(i)] = (byte) i;
+            BECH32_VALUES[Character.toUpperCase(BECH32_CHARSET.charAt(i))] = (byte) i;
+        }
+    }
+
+    private final byte[][] scriptHashes;
+
+    private ProgrammableAddressMatcher(byte[][] scriptHashes) {
+        this.scriptHashes = scriptHashes;
+    }
+
+    /**
+     * @param scriptHashes the hex encoded payment script hashes to match
+     * @return a matcher for the given script hashes, hashes that are not 28 bytes of hex are ignored
+     */
+    public static ProgrammableAddressMatcher of(Collection<String> scriptHashes) {
+        return new ProgrammableAddressMatcher(scriptHashes.stream()
+                .filter(scriptHash -> scriptHash != null && scriptHash.length() == CREDENTIAL_LENGTH * 2)
+                .map(HexUtil::decodeHexString)
+                .toArray(byte[][]::new));
+    }
+
+    /**
+     * @param bech32Address a bech32 encoded address
+     * @return true if the address may have one of the script hashes as payment credential, false if it certainly has not
+     */
+    public boolean matches(String bech32Address) {
+        if (scriptHashes.length == 0 || bech32Address == null) {
+            return false;
+        }
+
+        // "addr" and "addr_test" have no '1', the first one is the separator
+        int dataStart = bech32Address.indexOf('1') + 1;
+        if (dataStart == 0 || bech32Address.length() - dataStart < PREFIX_CHARS) {
+            return false;
+        }
+
+        // Header type is in the 4 high bits, 0x10 set means script payment credential.
+        // Types 0-7 are the base, pointer and enterprise addresses, the only ones with a payment credential.
+        int first = value(bech32Address.charAt(dataStart));
+        if (first < 0 || (first & 0b10000) != 0 || (first & 0b00010) == 0) {
+            return false;
+        }
+
+        byte[] prefix = new byte[PREFIX_LENGTH];
+        int accumulator = 0;
+        int bits = 0;
+        int length = 0;
+        for (int i = dataStart; length < PREFIX_LENGTH; i++) {
+            int value = value(bech32Address.charAt(i));
+            if (value < 0) {
+                return false;
+            }
+            accumulator = ((accumulator << 5) | value) & 0xfff;
+            bits += 5;
+            if (bits >= 8) {
+                bits -= 8;
+                prefix[length++] = (byte) (accumulator >>> bits);
+            }
+        }
+
+        for (byte[] scriptHash : scriptHashes) {
+            if (Arrays.equals(prefix, 1, PREFIX_LENGTH, scriptHash, 0, CREDENTIAL_LENGTH)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int value(char c) {
+        return c < BECH32_VALUES.length ? BECH32_VALUES[c] : -1;
+    }
+
+}
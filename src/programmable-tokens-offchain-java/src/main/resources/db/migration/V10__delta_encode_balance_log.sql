@@ -0,0 +1,20 @@
+-- Delta encode balance_log: only keyframes (every N-th entry of an address) keep the full balance,
+-- the entries in between keep their balance_diff only and are rebuilt from the nearest keyframe on read.
+ALTER TABLE balance_log ALTER COLUMN balance DROP NOT NULL;
+
+-- Left NULL on existing entries until the background compactor has converted them
+ALTER TABLE balance_log ADD COLUMN keyframe_distance INTEGER;
+
+-- Existing current balances point at full balances
+ALTER TABLE current_balance ADD COLUMN keyframe_distance INTEGER NOT NULL DEFAULT 0;
+
+-- Nearest keyframe lookup
+CREATE INDEX idx_balance_keyframe ON balance_log(address, slot DESC, id DESC) WHERE balance IS NOT NULL;
+
+-- Entries still to be converted, empty once the compactor is done
+CREATE INDEX idx_balance_unencoded ON balance_log(address, slot, id) WHERE keyframe_distance IS NULL;
+
+COMMENT ON TABLE balance_log IS 'Append-only log of balance changes for programmable token addresses, with periodic full balance keyframes';
+COMMENT ON COLUMN balance_log.balance IS 'Complete balance as JSON map on keyframes, NULL on delta entries: {"lovelace": "1000000", "blacklistNodePolicyId+assetName": "amount"}';
+COMMENT ON COLUMN balance_log.keyframe_distance IS 'Number of entries since the last keyframe of the address (0 = keyframe), NULL until converted';
+COMMENT ON COLUMN current_balance.keyframe_distance IS 'Keyframe distance of the latest balance_log entry';
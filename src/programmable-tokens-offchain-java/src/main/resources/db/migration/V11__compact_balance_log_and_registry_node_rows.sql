@@ -0,0 +1,57 @@
+-- Compact row encoding for the two append-only logs:
+-- addresses are interned in a dictionary and referenced by an integer id, hex hashes are stored as raw bytes.
+
+-- Address dictionary
+CREATE TABLE address_dictionary (
+    id SERIAL PRIMARY KEY,
+    address VARCHAR(200) NOT NULL,
+
+    CONSTRAINT uq_address_dictionary_address UNIQUE (address)
+);
+
+INSERT INTO address_dictionary (address)
+SELECT DISTINCT address FROM balance_log;
+
+COMMENT ON TABLE address_dictionary IS 'Interned bech32 addresses referenced by balance_log.address_id';
+
+-- balance_log: address -> address_id
+ALTER TABLE balance_log ADD COLUMN address_id INTEGER;
+
+UPDATE balance_log b
+SET address_id = d.id
+FROM address_dictionary d
+WHERE d.address = b.address;
+
+ALTER TABLE balance_log ALTER COLUMN address_id SET NOT NULL;
+ALTER TABLE balance_log ADD CONSTRAINT fk_balance_log_address FOREIGN KEY (address_id) REFERENCES address_dictionary(id);
+
+-- Also drops unique_balance_entry, idx_balance_address_slot_id, idx_balance_keyframe and idx_balance_unencoded
+ALTER TABLE balance_log DROP COLUMN address;
+
+-- balance_log: hex hashes -> bytea, the indexes on these columns are rebuilt by the type change
+ALTER TABLE balance_log
+    ALTER COLUMN payment_script_hash TYPE BYTEA USING decode(payment_script_hash, 'hex'),
+    ALTER COLUMN stake_key_hash TYPE BYTEA USING decode(stake_key_hash, 'hex'),
+    ALTER COLUMN tx_hash TYPE BYTEA USING decode(tx_hash, 'hex');
+
+ALTER TABLE balance_log ADD CONSTRAINT unique_balance_entry UNIQUE (address_id, tx_hash);
+CREATE INDEX idx_balance_address_slot_id ON balance_log(address_id, slot DESC, id DESC);
+CREATE INDEX idx_balance_keyframe ON balance_log(address_id, slot DESC, id DESC) WHERE balance IS NOT NULL;
+CREATE INDEX idx_balance_unencoded ON balance_log(address_id, slot, id) WHERE keyframe_distance IS NULL;
+
+COMMENT ON COLUMN balance_log.address_id IS 'Bech32 address, as its address_dictionary id';
+COMMENT ON COLUMN balance_log.payment_script_hash IS 'Payment credential hash (must match programmable token base script), raw bytes';
+COMMENT ON COLUMN balance_log.stake_key_hash IS 'Optional stake credential hash, raw bytes';
+COMMENT ON COLUMN balance_log.tx_hash IS 'Transaction hash that caused this balance change, raw bytes';
+
+-- registry_node: hex keys and hashes -> bytea, the indexes and unique constraint are rebuilt by the type change
+ALTER TABLE registry_node
+    ALTER COLUMN key TYPE BYTEA USING decode(key, 'hex'),
+    ALTER COLUMN next TYPE BYTEA USING decode(next, 'hex'),
+    ALTER COLUMN transfer_logic_script TYPE BYTEA USING decode(transfer_logic_script, 'hex'),
+    ALTER COLUMN third_party_transfer_logic_script TYPE BYTEA USING decode(third_party_transfer_logic_script, 'hex'),
+    ALTER COLUMN global_state_policy_id TYPE BYTEA USING decode(global_state_policy_id, 'hex'),
+    ALTER COLUMN tx_hash TYPE BYTEA USING decode(tx_hash, 'hex');
+
+COMMENT ON COLUMN registry_node.key IS 'Token policy ID, raw bytes (empty for sentinel/head node)';
+COMMENT ON COLUMN registry_node.next IS 'Pointer to next node in lexicographic order, raw bytes';
@@ -0,0 +1,132 @@
+-- Range partition the two append-only logs by slot, one partition per 432000 slots (one Shelley epoch).
+-- Queries filtering on slot (history cursors, point-in-time lookups, rollback deletes) only touch the matching
+-- partitions, and index maintenance and vacuum on the hot partition no longer grow with the history.
+--
+-- Partitions ahead of the chain are created by SlotPartitionMaintenance through create_slot_partitions.
+-- Rows above the last created partition land in the <table>_default partition and are moved out when their
+-- partition gets created.
+
+CREATE OR REPLACE FUNCTION create_slot_partitions(parent TEXT, from_slot BIGINT, to_slot BIGINT, slot_range BIGINT)
+RETURNS INTEGER AS $$
+DECLARE
+    range_start BIGINT := from_slot - from_slot % slot_range;
+    partition_name TEXT;
+    default_partition TEXT := parent || '_default';
+    created INTEGER := 0;
+BEGIN
+    WHILE range_start <= to_slot LOOP
+        partition_name := format('%s_p%s', parent, range_start / slot_range);
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS)', partition_name, parent);
+            EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', default_partition);
+            EXECUTE format('WITH moved AS (DELETE FROM %I WHERE slot >= %s AND slot < %s RETURNING *) INSERT INTO %I SELECT * FROM moved',
+                           default_partition, range_start, range_start + slot_range, partition_name);
+            EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%s) TO (%s)',
+                           parent, partition_name, range_start, range_start + slot_range);
+            created := created + 1;
+        END IF;
+        range_start := range_start + slot_range;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- balance_log
+
+ALTER SEQUENCE balance_log_id_seq OWNED BY NONE;
+ALTER TABLE balance_log RENAME TO balance_log_unpartitioned;
+
+CREATE TABLE balance_log (
+    id BIGINT NOT NULL DEFAULT nextval('balance_log_id_seq'),
+    address_id INTEGER NOT NULL,
+    payment_script_hash BYTEA NOT NULL,
+    stake_key_hash BYTEA,
+    tx_hash BYTEA NOT NULL,
+    slot BIGINT NOT NULL,
+    block_height BIGINT NOT NULL,
+    balance TEXT,
+    transaction_type TEXT NOT NULL,
+    balance_diff TEXT,
+    keyframe_distance INTEGER,
+    created_at TIMESTAMP NOT NULL
+) PARTITION BY RANGE (slot);
+
+CREATE TABLE balance_log_default PARTITION OF balance_log DEFAULT;
+
+SELECT create_slot_partitions('balance_log', MIN(slot), MAX(slot), 432000)
+FROM balance_log_unpartitioned
+HAVING COUNT(*) > 0;
+
+INSERT INTO balance_log (id, address_id, payment_script_hash, stake_key_hash, tx_hash, slot, block_height,
+                         balance, transaction_type, balance_diff, keyframe_distance, created_at)
+SELECT id, address_id, payment_script_hash, stake_key_hash, tx_hash, slot, block_height,
+       balance, transaction_type, balance_diff, keyframe_distance, created_at
+FROM balance_log_unpartitioned;
+
+DROP TABLE balance_log_unpartitioned;
+ALTER SEQUENCE balance_log_id_seq OWNED BY balance_log.id;
+
+-- Unique constraints of a partitioned table must include the slot, a transaction only ever has one
+ALTER TABLE balance_log ADD CONSTRAINT balance_log_pkey PRIMARY KEY (id, slot);
+ALTER TABLE balance_log ADD CONSTRAINT unique_balance_entry UNIQUE (address_id, tx_hash, slot);
+ALTER TABLE balance_log ADD CONSTRAINT fk_balance_log_address FOREIGN KEY (address_id) REFERENCES address_dictionary(id);
+
+CREATE INDEX idx_balance_address_slot_id ON balance_log(address_id, slot DESC, id DESC);
+CREATE INDEX idx_balance_stake_slot_id ON balance_log(stake_key_hash, slot DESC, id DESC);
+CREATE INDEX idx_balance_payment_stake_slot_id ON balance_log(payment_script_hash, stake_key_hash, slot DESC, id DESC);
+CREATE INDEX idx_balance_tx_hash ON balance_log(tx_hash);
+CREATE INDEX idx_balance_slot ON balance_log(slot);
+CREATE INDEX idx_balance_keyframe ON balance_log(address_id, slot DESC, id DESC) WHERE balance IS NOT NULL;
+CREATE INDEX idx_balance_unencoded ON balance_log(address_id, slot, id) WHERE keyframe_distance IS NULL;
+-- idx_balance_payment_script, idx_balance_transaction_type and idx_balance_payment_type are not recreated:
+-- no query filters on the payment script alone or on the transaction type
+
+COMMENT ON TABLE balance_log IS 'Append-only log of balance changes for programmable token addresses, with periodic full balance keyframes, partitioned by slot';
+
+-- registry_node
+
+ALTER SEQUENCE registry_node_id_seq OWNED BY NONE;
+ALTER TABLE registry_node RENAME TO registry_node_unpartitioned;
+
+CREATE TABLE registry_node (
+    id BIGINT NOT NULL DEFAULT nextval('registry_node_id_seq'),
+    key BYTEA NOT NULL,
+    next BYTEA NOT NULL,
+    transfer_logic_script BYTEA NOT NULL,
+    third_party_transfer_logic_script BYTEA NOT NULL,
+    global_state_policy_id BYTEA,
+    protocol_params_id BIGINT NOT NULL,
+    tx_hash BYTEA NOT NULL,
+    slot BIGINT NOT NULL,
+    block_height BIGINT NOT NULL,
+    is_deleted BOOLEAN NOT NULL DEFAULT false,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+) PARTITION BY RANGE (slot);
+
+CREATE TABLE registry_node_default PARTITION OF registry_node DEFAULT;
+
+SELECT create_slot_partitions('registry_node', MIN(slot), MAX(slot), 432000)
+FROM registry_node_unpartitioned
+HAVING COUNT(*) > 0;
+
+INSERT INTO registry_node (id, key, next, transfer_logic_script, third_party_transfer_logic_script, global_state_policy_id,
+                           protocol_params_id, tx_hash, slot, block_height, is_deleted, created_at, updated_at)
+SELECT id, key, next, transfer_logic_script, third_party_transfer_logic_script, global_state_policy_id,
+       protocol_params_id, tx_hash, slot, block_height, is_deleted, created_at, updated_at
+FROM registry_node_unpartitioned;
+
+DROP TABLE registry_node_unpartitioned;
+ALTER SEQUENCE registry_node_id_seq OWNED BY registry_node.id;
+
+ALTER TABLE registry_node ADD CONSTRAINT registry_node_pkey PRIMARY KEY (id, slot);
+ALTER TABLE registry_node ADD CONSTRAINT uq_registry_key_slot_tx UNIQUE (key, slot, tx_hash);
+ALTER TABLE registry_node ADD CONSTRAINT fk_registry_protocol_params FOREIGN KEY (protocol_params_id)
+    REFERENCES protocol_params(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_registry_protocol_params ON registry_node(protocol_params_id);
+CREATE INDEX idx_registry_slot ON registry_node(slot);
+-- Key lookups use the uq_registry_key_slot_tx index; idx_registry_key, idx_registry_next, idx_registry_is_deleted and
+-- idx_registry_key_slot_deleted are not recreated, reads of the latest state go through registry_node_current
+
+COMMENT ON TABLE registry_node IS 'Immutable append-only log of registry node states (directory) representing linked list structure over time, partitioned by slot';
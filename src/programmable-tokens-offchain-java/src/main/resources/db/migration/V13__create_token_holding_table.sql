@@ -0,0 +1,38 @@
+-- Create token_holding projection: one row per (address, asset) with a non zero amount.
+-- Maintained by the indexer in the same transaction that updates current_balance, it answers
+-- "who holds this asset and how much" without parsing every balance.
+CREATE TABLE token_holding (
+    id BIGSERIAL PRIMARY KEY,
+
+    -- Asset unit, split in policy ID and hex asset name (empty string for the empty asset name)
+    policy_id VARCHAR(56) NOT NULL,
+    asset_name VARCHAR(64) NOT NULL,
+
+    -- Holder
+    address VARCHAR(200) NOT NULL,
+    stake_key_hash VARCHAR(56),
+
+    amount NUMERIC(38, 0) NOT NULL,
+
+    -- Slot of the current balance this amount was projected from
+    slot BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+
+    -- Also serves the per address lookups of the projection and of rollbacks
+    CONSTRAINT uq_token_holding_address_unit UNIQUE (address, policy_id, asset_name)
+);
+
+-- Holders pages, top holders and holder counts of an asset are range scans of this index
+CREATE INDEX idx_token_holding_unit_amount ON token_holding(policy_id, asset_name, amount DESC, id DESC);
+
+-- Backfill from the current balances
+INSERT INTO token_holding (policy_id, asset_name, address, stake_key_hash, amount, slot, updated_at)
+SELECT substring(b.unit FROM 1 FOR 56), substring(b.unit FROM 57), c.address, c.stake_key_hash, b.amount::NUMERIC, c.slot, NOW()
+FROM current_balance c
+CROSS JOIN LATERAL jsonb_each_text(c.balance::JSONB) AS b(unit, amount)
+WHERE b.unit <> 'lovelace'
+  AND length(b.unit) >= 56
+  AND b.amount::NUMERIC <> 0;
+
+COMMENT ON TABLE token_holding IS 'Projection of current_balance holding the amount of each asset at each address';
+COMMENT ON COLUMN token_holding.amount IS 'Amount of the asset held at the address, never zero';
@@ -0,0 +1,62 @@
+-- Create the circulating supply ledger of the programmable tokens, fed from the mint field of indexed transactions.
+
+-- Append-only log of mints and burns, each with the running totals of its asset
+CREATE TABLE token_supply_event (
+    id BIGSERIAL PRIMARY KEY,
+
+    -- Asset unit, split in policy ID and hex asset name (empty string for the empty asset name)
+    policy_id VARCHAR(56) NOT NULL,
+    asset_name VARCHAR(64) NOT NULL,
+
+    -- Transaction Context
+    tx_hash VARCHAR(64) NOT NULL,
+    slot BIGINT NOT NULL,
+    block_height BIGINT NOT NULL,
+
+    -- Minted quantity, negative for a burn
+    quantity NUMERIC(38, 0) NOT NULL,
+
+    -- Running totals of the asset after this event
+    supply NUMERIC(38, 0) NOT NULL,
+    minted NUMERIC(38, 0) NOT NULL,
+    burned NUMERIC(38, 0) NOT NULL,
+
+    created_at TIMESTAMP NOT NULL,
+
+    -- Unique constraint: one event per transaction and asset
+    CONSTRAINT uq_token_supply_event UNIQUE (tx_hash, policy_id, asset_name)
+);
+
+-- Event history of a policy, paged by (slot, id) descending
+CREATE INDEX idx_token_supply_event_policy_slot_id ON token_supply_event(policy_id, slot DESC, id DESC);
+-- Supply of an asset at a past slot
+CREATE INDEX idx_token_supply_event_unit_slot_id ON token_supply_event(policy_id, asset_name, slot DESC, id DESC);
+-- Rollbacks delete the events above the rollback slot
+CREATE INDEX idx_token_supply_event_slot ON token_supply_event(slot);
+
+-- Projection of token_supply_event holding the current supply of each asset
+CREATE TABLE token_supply (
+    id BIGSERIAL PRIMARY KEY,
+
+    policy_id VARCHAR(56) NOT NULL,
+    asset_name VARCHAR(64) NOT NULL,
+
+    supply NUMERIC(38, 0) NOT NULL,
+    minted NUMERIC(38, 0) NOT NULL,
+    burned NUMERIC(38, 0) NOT NULL,
+
+    -- Latest mint or burn
+    tx_hash VARCHAR(64) NOT NULL,
+    slot BIGINT NOT NULL,
+
+    updated_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT uq_token_supply_unit UNIQUE (policy_id, asset_name)
+);
+
+-- Rollbacks look up the supplies changed above the rollback slot
+CREATE INDEX idx_token_supply_slot ON token_supply(slot);
+
+COMMENT ON TABLE token_supply_event IS 'Append-only log of the mints and burns of programmable tokens';
+COMMENT ON COLUMN token_supply_event.supply IS 'Circulating supply of the asset after this event: minted - burned';
+COMMENT ON TABLE token_supply IS 'Projection of token_supply_event holding the current circulating supply of each programmable token asset';
@@ -0,0 +1,5 @@
+-- Serve holders per policy, aggregated per address over the asset names of the policy: holder pages walk
+-- the addresses of a policy in order, top holders and holder counts read the range of the policy
+DROP INDEX IF EXISTS idx_token_holding_unit_amount;
+
+CREATE INDEX idx_token_holding_policy_address ON token_holding(policy_id, address, amount);
@@ -0,0 +1,34 @@
+-- Create current_balance projection: one row per programmable token address holding its latest balance.
+-- Maintained by the indexer in the same transaction that appends to balance_log.
+CREATE TABLE current_balance (
+    address VARCHAR(200) PRIMARY KEY,
+
+    -- Address Information
+    payment_script_hash VARCHAR(56) NOT NULL,
+    stake_key_hash VARCHAR(56),
+
+    -- Latest balance_log entry for this address
+    balance_log_id BIGINT NOT NULL,
+    tx_hash VARCHAR(64) NOT NULL,
+    slot BIGINT NOT NULL,
+    block_height BIGINT NOT NULL,
+
+    -- Balance State - same JSON format as balance_log.balance
+    balance TEXT NOT NULL,
+
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_current_balance_payment_script ON current_balance(payment_script_hash);
+CREATE INDEX idx_current_balance_stake_key ON current_balance(stake_key_hash);
+CREATE INDEX idx_current_balance_payment_stake ON current_balance(payment_script_hash, stake_key_hash);
+
+-- Backfill from the existing log
+INSERT INTO current_balance (address, payment_script_hash, stake_key_hash, balance_log_id, tx_hash, slot, block_height, balance, updated_at)
+SELECT DISTINCT ON (address)
+    address, payment_script_hash, stake_key_hash, id, tx_hash, slot, block_height, balance, NOW()
+FROM balance_log
+ORDER BY address, slot DESC, id DESC;
+
+COMMENT ON TABLE current_balance IS 'Projection of balance_log holding only the latest balance of each address';
+COMMENT ON COLUMN current_balance.balance_log_id IS 'Id of the balance_log entry this row was projected from';
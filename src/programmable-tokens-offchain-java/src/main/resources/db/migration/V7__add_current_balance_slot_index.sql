@@ -0,0 +1,2 @@
+-- Rollbacks look up the current balances set above the rollback slot
+CREATE INDEX idx_current_balance_slot ON current_balance(slot);
@@ -0,0 +1,45 @@
+-- Create registry_node_current projection: one row per (protocol params, key) holding the latest node state.
+-- Maintained by the indexer in the same transaction that appends to registry_node, which is kept for history.
+CREATE TABLE registry_node_current (
+    id BIGSERIAL PRIMARY KEY,
+
+    -- Which registry this node belongs to, and its token policy ID (empty string for the sentinel)
+    protocol_params_id BIGINT NOT NULL,
+    key VARCHAR(64) NOT NULL,
+
+    -- Latest node state
+    next VARCHAR(64) NOT NULL,
+    transfer_logic_script VARCHAR(56) NOT NULL,
+    third_party_transfer_logic_script VARCHAR(56) NOT NULL,
+    global_state_policy_id VARCHAR(56),
+    is_deleted BOOLEAN NOT NULL DEFAULT false,
+
+    -- Latest registry_node entry for this node
+    registry_node_id BIGINT NOT NULL,
+    tx_hash VARCHAR(64) NOT NULL,
+    slot BIGINT NOT NULL,
+    block_height BIGINT NOT NULL,
+
+    updated_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT uq_registry_node_current_protocol_params_key UNIQUE (protocol_params_id, key),
+
+    CONSTRAINT fk_registry_node_current_protocol_params FOREIGN KEY (protocol_params_id)
+        REFERENCES protocol_params(id) ON DELETE CASCADE
+);
+
+-- Rollbacks look up the nodes changed above the rollback slot
+CREATE INDEX idx_registry_node_current_slot ON registry_node_current(slot);
+
+-- Backfill from the existing log
+INSERT INTO registry_node_current (protocol_params_id, key, next, transfer_logic_script, third_party_transfer_logic_script,
+                                   global_state_policy_id, is_deleted, registry_node_id, tx_hash, slot, block_height, updated_at)
+SELECT DISTINCT ON (protocol_params_id, key)
+    protocol_params_id, key, next, transfer_logic_script, third_party_transfer_logic_script,
+    global_state_policy_id, is_deleted, id, tx_hash, slot, block_height, NOW()
+FROM registry_node
+ORDER BY protocol_params_id, key, slot DESC, block_height DESC, id DESC;
+
+COMMENT ON TABLE registry_node_current IS 'Projection of registry_node holding only the latest state of each node';
+COMMENT ON COLUMN registry_node_current.is_deleted IS 'Whether the node has been removed from the linked list';
+COMMENT ON COLUMN registry_node_current.registry_node_id IS 'Id of the registry_node entry this row was projected from';
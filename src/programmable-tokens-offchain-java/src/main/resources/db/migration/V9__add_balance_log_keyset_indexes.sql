@@ -0,0 +1,9 @@
+-- History is paged by (slot, id) descending: these indexes serve each page with a single range scan
+CREATE INDEX idx_balance_address_slot_id ON balance_log(address, slot DESC, id DESC);
+CREATE INDEX idx_balance_stake_slot_id ON balance_log(stake_key_hash, slot DESC, id DESC);
+CREATE INDEX idx_balance_payment_stake_slot_id ON balance_log(payment_script_hash, stake_key_hash, slot DESC, id DESC);
+
+-- Superseded, they are prefixes of the indexes above
+DROP INDEX idx_balance_address;
+DROP INDEX idx_balance_stake_key;
+DROP INDEX idx_balance_payment_stake;
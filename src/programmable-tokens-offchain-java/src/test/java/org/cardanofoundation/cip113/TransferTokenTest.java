@@ -44,7 +44,7 @@ public class TransferTokenTest extends AbstractPreviewTest {
 
     private String DIRECTORY_SPEND_CONTRACT, PROGRAMMABLE_LOGIC_BASE_CONTRACT, PROGRAMMABLE_LOGIC_GLOBAL_CONTRACT;
 
-    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser(OBJECT_MAPPER);
+    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser();
 
     private ProtocolBootstrapParams protocolBootstrapParams;
 
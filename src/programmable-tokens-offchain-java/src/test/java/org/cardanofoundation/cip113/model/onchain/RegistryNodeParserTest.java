@@ -1,15 +1,15 @@
 package org.cardanofoundation.cip113.model.onchain;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Optional;
+
 @Slf4j
 class RegistryNodeParserTest {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser(OBJECT_MAPPER);
+    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser();
 
     @Test
     public void testParseRegistryNode() {
@@ -51,6 +51,21 @@ class RegistryNodeParserTest {
         Assertions.assertEquals("ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff", registryNode.next());
     }
 
+    @Test
+    public void testParseRoundTrip() {
+        var registryNode = RegistryNode.builder()
+                .key("0befd1269cf3b5b41cce136c92c64b45dde93e4bfe11875839b713d1")
+                .next("ffffffffffffffffffffffffffffffffffffffffffffffffffffffff")
+                .transferLogicScript("aaa513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126102")
+                .thirdPartyTransferLogicScript("def513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126103")
+                .globalStatePolicyId("1234567890abcdef1234567890abcdef1234567890abcdef12345678")
+                .build();
+
+        var parsed = registryNodeParser.parse(registryNode.toPlutusData().serializeToHex());
+
+        Assertions.assertEquals(Optional.of(registryNode), parsed);
+    }
+
     @Test
     public void testParseInvalidDatum() {
         var invalidDatum = "invalid_hex_data";
@@ -0,0 +1,26 @@
+package org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+class BlacklistNodeParserTest {
+
+    private final BlacklistNodeParser blacklistNodeParser = new BlacklistNodeParser();
+
+    @Test
+    public void testParseRoundTrip() {
+        var blacklistNode = new BlacklistNode("0befd1269cf3b5b41cce136c92c64b45dde93e4bfe11875839b713d1",
+                "ffffffffffffffffffffffffffffffffffffffffffffffffffffffff");
+
+        var parsed = blacklistNodeParser.parse(blacklistNode.toPlutusData().serializeToHex());
+
+        Assertions.assertEquals(Optional.of(blacklistNode), parsed);
+    }
+
+    @Test
+    public void testParseInvalidDatum() {
+        Assertions.assertTrue(blacklistNodeParser.parse("invalid_hex_data").isEmpty());
+    }
+}
@@ -3,9 +3,15 @@ package org.cardanofoundation.cip113.service;
 import com.bloxbean.cardano.client.transaction.spec.Asset;
 import com.bloxbean.cardano.client.transaction.spec.MultiAsset;
 import com.bloxbean.cardano.client.transaction.spec.Value;
+import com.bloxbean.cardano.client.util.HexUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+import org.cardanofoundation.cip113.model.TokenHolder;
+import org.cardanofoundation.cip113.model.TokenHolderPage;
+import org.cardanofoundation.cip113.repository.AddressDictionaryRepository;
 import org.cardanofoundation.cip113.repository.BalanceLogRepository;
+import org.cardanofoundation.cip113.repository.CurrentBalanceRepository;
+import org.cardanofoundation.cip113.repository.TokenHoldingRepository;
 import org.cardanofoundation.cip113.util.BalanceValueHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +20,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -26,17 +34,36 @@ import static org.junit.jupiter.api.Assertions.*;
 })
 class BalanceServiceTest {
 
+    private static final int KEYFRAME_INTERVAL = 3;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     @Autowired
     private BalanceLogRepository repository;
 
+    @Autowired
+    private CurrentBalanceRepository currentBalanceRepository;
+
+    @Autowired
+    private AddressDictionaryRepository addressDictionaryRepository;
+
+    @Autowired
+    private TokenHoldingRepository tokenHoldingRepository;
+
+    private AddressDictionary addressDictionary;
+
+    private TokenHoldingService tokenHoldingService;
+
     private BalanceService service;
 
     @BeforeEach
     void setUp() {
         repository.deleteAll();
-        service = new BalanceService(repository, mapper);
+        currentBalanceRepository.deleteAll();
+        tokenHoldingRepository.deleteAll();
+        addressDictionary = new AddressDictionary(addressDictionaryRepository, 1000);
+        tokenHoldingService = new TokenHoldingService(tokenHoldingRepository);
+        service = new BalanceService(repository, currentBalanceRepository, new CurrentBalanceCache(false, 0), new BalanceKeyframePolicy(KEYFRAME_INTERVAL), addressDictionary, tokenHoldingService, mapper);
     }
 
     @Test
@@ -46,7 +73,7 @@ class BalanceServiceTest {
         BalanceLogEntity entry = createBalanceEntry(
                 "addr1test123",
                 balance,
-                "tx1",
+                hex("tx1"),
                 100L
         );
 
@@ -68,7 +95,7 @@ class BalanceServiceTest {
         BalanceLogEntity entry1 = createBalanceEntry(
                 "addr1test123",
                 balance,
-                "tx1",
+                hex("tx1"),
                 100L
         );
 
@@ -84,9 +111,9 @@ class BalanceServiceTest {
     void testGetLatestBalance() {
         // Given - create balance history
         String address = "addr1test123";
-        service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), "tx1", 100L));
-        service.append(createBalanceEntry(address, createAdaOnlyBalance(2000), "tx2", 200L));
-        service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), "tx3", 300L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(2000), hex("tx2"), 200L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), hex("tx3"), 300L));
 
         // When
         BalanceLogEntity latest = service.getLatestBalance(address).orElseThrow();
@@ -94,7 +121,7 @@ class BalanceServiceTest {
         // Then - should return most recent
         Value latestBalance = BalanceValueHelper.fromJson(latest.getBalance());
         assertEquals(BigInteger.valueOf(3000), latestBalance.getCoin());
-        assertEquals("tx3", latest.getTxHash());
+        assertEquals(hex("tx3"), latest.getTxHash());
         assertEquals(300L, latest.getSlot());
     }
 
@@ -106,7 +133,7 @@ class BalanceServiceTest {
                 BigInteger.valueOf(5000000),
                 "policyId1", "assetName1", BigInteger.valueOf(100)
         );
-        service.append(createBalanceEntry(address, balance, "tx1", 100L));
+        service.append(createBalanceEntry(address, balance, hex("tx1"), 100L));
 
         // When
         Value currentBalance = service.getCurrentBalanceAsValue(address);
@@ -131,7 +158,7 @@ class BalanceServiceTest {
                 BigInteger.valueOf(2000000),
                 "policyId1", "assetName1", BigInteger.valueOf(50)
         );
-        service.append(createBalanceEntry(address, balance, "tx1", 100L));
+        service.append(createBalanceEntry(address, balance, hex("tx1"), 100L));
 
         // When
         Map<String, String> unitMap = service.getCurrentBalanceByUnit(address);
@@ -157,10 +184,10 @@ class BalanceServiceTest {
     void testGetBalanceHistory() {
         // Given
         String address = "addr1test123";
-        service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), "tx1", 100L));
-        service.append(createBalanceEntry(address, createAdaOnlyBalance(2000), "tx2", 200L));
-        service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), "tx3", 300L));
-        service.append(createBalanceEntry(address, createAdaOnlyBalance(4000), "tx4", 400L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(2000), hex("tx2"), 200L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), hex("tx3"), 300L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(4000), hex("tx4"), 400L));
 
         // When
         List<BalanceLogEntity> history = service.getBalanceHistory(address, 3);
@@ -177,11 +204,72 @@ class BalanceServiceTest {
         assertEquals(BigInteger.valueOf(2000), balance2.getCoin());
     }
 
+    @Test
+    void testGetBalanceHistoryPage() {
+        // Given - two entries share slot 200, so the cursor has to break ties on id
+        String address = "addr1test123";
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(2000), hex("tx2"), 200L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), hex("tx3"), 200L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(4000), hex("tx4"), 300L));
+
+        // When
+        var first = service.getBalanceHistoryPage(address, null, 2);
+        var second = service.getBalanceHistoryPage(address, first.nextCursor().orElseThrow(), 2);
+
+        // Then
+        assertEquals(List.of(hex("tx4"), hex("tx3")), first.entries().stream().map(BalanceLogEntity::getTxHash).toList());
+        assertEquals(hex("tx2"), first.previousOf(1).orElseThrow().getTxHash());
+        assertEquals(List.of(hex("tx2"), hex("tx1")), second.entries().stream().map(BalanceLogEntity::getTxHash).toList());
+        assertTrue(second.nextCursor().isEmpty());
+        assertTrue(second.previousOf(1).isEmpty());
+    }
+
+    @Test
+    void testGetBalanceHistoryPageByStakeKey() {
+        // Given - two addresses of the same stake key, under two protocol versions, and another stake key
+        service.append(createBalanceEntryWithPayment("addr1", hex("script1"), hex("stake1"), createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntryWithPayment("addr2", hex("script2"), hex("stake1"), createAdaOnlyBalance(2000), hex("tx2"), 200L));
+        service.append(createBalanceEntryWithPayment("addr1", hex("script1"), hex("stake1"), createAdaOnlyBalance(3000), hex("tx3"), 300L));
+        service.append(createBalanceEntryWithPayment("addr3", hex("script1"), hex("stake2"), createAdaOnlyBalance(4000), hex("tx4"), 400L));
+
+        // When
+        var first = service.getBalanceHistoryPageByStakeKey(hex("stake1"), null, null, 2);
+        var second = service.getBalanceHistoryPageByStakeKey(hex("stake1"), null, first.nextCursor().orElseThrow(), 2);
+        var script1 = service.getBalanceHistoryPageByStakeKey(hex("stake1"), hex("script1"), null, 10);
+
+        // Then - ordered across addresses by slot
+        assertEquals(List.of(hex("tx3"), hex("tx2")), first.entries().stream().map(BalanceLogEntity::getTxHash).toList());
+        assertEquals(List.of(hex("tx1")), second.entries().stream().map(BalanceLogEntity::getTxHash).toList());
+        assertTrue(second.nextCursor().isEmpty());
+        assertEquals(List.of(hex("tx3"), hex("tx1")), script1.entries().stream().map(BalanceLogEntity::getTxHash).toList());
+    }
+
+    @Test
+    void testGetBalanceAtSlot() {
+        // Given
+        service.append(createBalanceEntryWithPayment("addr1", hex("script1"), hex("stake1"), createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntryWithPayment("addr1", hex("script1"), hex("stake1"), createAdaOnlyBalance(2000), hex("tx2"), 200L));
+        service.append(createBalanceEntryWithPayment("addr2", hex("script1"), hex("stake1"), createAdaOnlyBalance(5000), hex("tx3"), 150L));
+
+        // When/Then - the entry in force at the slot
+        assertTrue(service.getBalanceAtSlot("addr1", 99L).isEmpty());
+        assertEquals(hex("tx1"), service.getBalanceAtSlot("addr1", 100L).orElseThrow().getTxHash());
+        assertEquals(hex("tx1"), service.getBalanceAtSlot("addr1", 199L).orElseThrow().getTxHash());
+        assertEquals(hex("tx2"), service.getBalanceAtSlot("addr1", 1000L).orElseThrow().getTxHash());
+
+        // Batch and stake key variants
+        var atSlot = service.getBalancesAtSlot(List.of("addr1", "addr2", "addr3"), 120L);
+        assertEquals(List.of("addr1"), List.copyOf(atSlot.keySet()));
+        assertEquals(hex("tx1"), atSlot.get("addr1").getTxHash());
+        assertEquals(2, service.getBalancesAtSlotByStakeKey(hex("stake1"), 160L).size());
+    }
+
     @Test
     void testCalculateBalanceDiff() {
         // Given
-        BalanceLogEntity prev = createBalanceEntry("addr1", createAdaOnlyBalance(1000), "tx1", 100L);
-        BalanceLogEntity current = createBalanceEntry("addr1", createAdaOnlyBalance(1500), "tx2", 200L);
+        BalanceLogEntity prev = createBalanceEntry("addr1", createAdaOnlyBalance(1000), hex("tx1"), 100L);
+        BalanceLogEntity current = createBalanceEntry("addr1", createAdaOnlyBalance(1500), hex("tx2"), 200L);
 
         // When
         Value diff = service.calculateBalanceDiff(current, prev);
@@ -202,8 +290,8 @@ class BalanceServiceTest {
                 "policyId1", "assetName1", BigInteger.valueOf(75)
         );
 
-        BalanceLogEntity prev = createBalanceEntry("addr1", prevBalance, "tx1", 100L);
-        BalanceLogEntity current = createBalanceEntry("addr1", currentBalance, "tx2", 200L);
+        BalanceLogEntity prev = createBalanceEntry("addr1", prevBalance, hex("tx1"), 100L);
+        BalanceLogEntity current = createBalanceEntry("addr1", currentBalance, hex("tx2"), 200L);
 
         // When
         Value diff = service.calculateBalanceDiff(current, prev);
@@ -217,7 +305,7 @@ class BalanceServiceTest {
     @Test
     void testCalculateBalanceDiffFirstEntry() {
         // Given
-        BalanceLogEntity current = createBalanceEntry("addr1", createAdaOnlyBalance(1000), "tx1", 100L);
+        BalanceLogEntity current = createBalanceEntry("addr1", createAdaOnlyBalance(1000), hex("tx1"), 100L);
 
         // When - no previous entry
         Value diff = service.calculateBalanceDiff(current, null);
@@ -230,9 +318,9 @@ class BalanceServiceTest {
     void testGetPreviousBalance() {
         // Given
         String address = "addr1test123";
-        BalanceLogEntity entry1 = service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), "tx1", 100L));
-        BalanceLogEntity entry2 = service.append(createBalanceEntry(address, createAdaOnlyBalance(2000), "tx2", 200L));
-        BalanceLogEntity entry3 = service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), "tx3", 300L));
+        BalanceLogEntity entry1 = service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        BalanceLogEntity entry2 = service.append(createBalanceEntry(address, createAdaOnlyBalance(2000), hex("tx2"), 200L));
+        BalanceLogEntity entry3 = service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), hex("tx3"), 300L));
 
         // When - get previous of entry3
         BalanceLogEntity previous = service.getPreviousBalance(entry3).orElseThrow();
@@ -248,7 +336,7 @@ class BalanceServiceTest {
     void testGetPreviousBalanceForFirstEntry() {
         // Given
         String address = "addr1test123";
-        BalanceLogEntity entry1 = service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), "tx1", 100L));
+        BalanceLogEntity entry1 = service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), hex("tx1"), 100L));
 
         // When - get previous of first entry
         var previous = service.getPreviousBalance(entry1);
@@ -260,10 +348,10 @@ class BalanceServiceTest {
     @Test
     void testGetLatestBalancesByPaymentScript() {
         // Given
-        String paymentScript = "testScriptHash123";
-        service.append(createBalanceEntryWithPayment("addr1", paymentScript, null, createAdaOnlyBalance(1000), "tx1", 100L));
-        service.append(createBalanceEntryWithPayment("addr2", paymentScript, null, createAdaOnlyBalance(2000), "tx2", 200L));
-        service.append(createBalanceEntryWithPayment("addr3", "otherScript", null, createAdaOnlyBalance(3000), "tx3", 300L));
+        String paymentScript = hex("testScriptHash123");
+        service.append(createBalanceEntryWithPayment("addr1", paymentScript, null, createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntryWithPayment("addr2", paymentScript, null, createAdaOnlyBalance(2000), hex("tx2"), 200L));
+        service.append(createBalanceEntryWithPayment("addr3", hex("otherScript"), null, createAdaOnlyBalance(3000), hex("tx3"), 300L));
 
         // When
         List<BalanceLogEntity> balances = service.getLatestBalancesByPaymentScript(paymentScript);
@@ -276,10 +364,10 @@ class BalanceServiceTest {
     @Test
     void testGetLatestBalancesByStakeKey() {
         // Given
-        String stakeKey = "stakeKeyHash123";
-        service.append(createBalanceEntryWithPayment("addr1", "script1", stakeKey, createAdaOnlyBalance(1000), "tx1", 100L));
-        service.append(createBalanceEntryWithPayment("addr2", "script2", stakeKey, createAdaOnlyBalance(2000), "tx2", 200L));
-        service.append(createBalanceEntryWithPayment("addr3", "script3", "otherStake", createAdaOnlyBalance(3000), "tx3", 300L));
+        String stakeKey = hex("stakeKeyHash123");
+        service.append(createBalanceEntryWithPayment("addr1", hex("script1"), stakeKey, createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntryWithPayment("addr2", hex("script2"), stakeKey, createAdaOnlyBalance(2000), hex("tx2"), 200L));
+        service.append(createBalanceEntryWithPayment("addr3", hex("script3"), hex("otherStake"), createAdaOnlyBalance(3000), hex("tx3"), 300L));
 
         // When
         List<BalanceLogEntity> balances = service.getLatestBalancesByStakeKey(stakeKey);
@@ -313,22 +401,22 @@ class BalanceServiceTest {
     void testExists() {
         // Given
         String address = "addr1test123";
-        String txHash = "tx1";
+        String txHash = hex("tx1");
         service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), txHash, 100L));
 
         // When/Then
         assertTrue(service.exists(address, txHash));
-        assertFalse(service.exists(address, "tx2"));
+        assertFalse(service.exists(address, hex("tx2")));
         assertFalse(service.exists("addr2", txHash));
     }
 
     @Test
     void testGetBalancesByTransaction() {
         // Given
-        String txHash = "tx123";
+        String txHash = hex("tx123");
         service.append(createBalanceEntry("addr1", createAdaOnlyBalance(1000), txHash, 100L));
         service.append(createBalanceEntry("addr2", createAdaOnlyBalance(2000), txHash, 100L));
-        service.append(createBalanceEntry("addr3", createAdaOnlyBalance(3000), "tx456", 100L));
+        service.append(createBalanceEntry("addr3", createAdaOnlyBalance(3000), hex("tx456"), 100L));
 
         // When
         List<BalanceLogEntity> balances = service.getBalancesByTransaction(txHash);
@@ -338,6 +426,299 @@ class BalanceServiceTest {
         assertTrue(balances.stream().allMatch(b -> b.getTxHash().equals(txHash)));
     }
 
+    @Test
+    void testAppendAllInsertsBatchAndSkipsDuplicates() {
+        // Given - one entry already indexed
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(1000), hex("tx1"), 100L));
+
+        List<BalanceLogEntity> block = List.of(
+                createBalanceEntry("addr1", createAdaOnlyBalance(1000), hex("tx1"), 100L),
+                createBalanceEntry("addr2", createAdaOnlyBalance(2000), hex("tx2"), 200L),
+                createBalanceEntry("addr3", createAdaOnlyBalance(3000), hex("tx2"), 200L)
+        );
+
+        // When
+        List<BalanceLogEntity> inserted = service.appendAll(block);
+
+        // Then - duplicate skipped, others inserted with generated ids
+        assertEquals(2, inserted.size());
+        assertTrue(inserted.stream().allMatch(entry -> entry.getId() != null));
+        assertEquals(3, repository.count());
+        assertEquals(hex("tx2"), service.getLatestBalance("addr3").orElseThrow().getTxHash());
+    }
+
+    @Test
+    void testGetCurrentBalancesAsValue() {
+        // Given
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(1500), hex("tx2"), 200L));
+        service.append(createBalanceEntry("addr2", createAdaOnlyBalance(2000), hex("tx3"), 300L));
+
+        // When
+        Map<String, Value> balances = service.getCurrentBalancesAsValue(List.of("addr1", "addr2", "addr3"));
+
+        // Then - latest per address, unknown addresses are empty
+        assertEquals(3, balances.size());
+        assertEquals(BigInteger.valueOf(1500), balances.get("addr1").getCoin());
+        assertEquals(BigInteger.valueOf(2000), balances.get("addr2").getCoin());
+        assertEquals(BigInteger.ZERO, balances.get("addr3").getCoin());
+    }
+
+    @Test
+    void testCurrentBalanceProjectionFollowsLatestEntry() {
+        // Given
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.appendAll(List.of(
+                createBalanceEntry("addr1", createAdaOnlyBalance(2000), hex("tx2"), 200L),
+                createBalanceEntry("addr1", createAdaOnlyBalance(2500), hex("tx3"), 200L),
+                createBalanceEntry("addr2", createAdaOnlyBalance(4000), hex("tx3"), 200L)
+        ));
+
+        // When - an older entry is replayed
+        service.append(createBalanceEntry("addr2", createAdaOnlyBalance(3000), hex("tx0"), 50L));
+
+        // Then - one row per address, pointing at the latest entry
+        assertEquals(2, currentBalanceRepository.count());
+        var current = currentBalanceRepository.findById("addr1").orElseThrow();
+        assertEquals(hex("tx3"), current.getTxHash());
+        assertEquals(service.getLatestBalance("addr1").orElseThrow().getId(), current.getBalanceLogId());
+        assertEquals(BigInteger.valueOf(4000), service.getCurrentBalanceAsValue("addr2").getCoin());
+    }
+
+    @Test
+    void testCurrentBalanceCacheServesReads() {
+        // Given
+        CurrentBalanceCache cache = new CurrentBalanceCache(true, 100);
+        BalanceService cachedService = new BalanceService(repository, currentBalanceRepository, cache, new BalanceKeyframePolicy(KEYFRAME_INTERVAL), addressDictionary, tokenHoldingService, mapper);
+        cachedService.append(createBalanceEntry("addr1", createAdaOnlyBalance(1000), hex("tx1"), 100L));
+
+        // When - first read loads the projection into the cache
+        assertEquals(BigInteger.valueOf(1000), cachedService.getCurrentBalanceAsValue("addr1").getCoin());
+        currentBalanceRepository.deleteAll();
+
+        // Then - subsequent reads are served from the cache
+        assertTrue(cache.get("addr1").isPresent());
+        assertEquals(BigInteger.valueOf(1000), cachedService.getCurrentBalancesAsValue(List.of("addr1")).get("addr1").getCoin());
+    }
+
+    @Test
+    void testRollbackToSlot() {
+        // Given
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(2000), hex("tx2"), 200L));
+        service.append(createBalanceEntry("addr2", createAdaOnlyBalance(3000), hex("tx3"), 300L));
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(4000), hex("tx4"), 300L));
+
+        // When
+        int deleted = service.rollbackToSlot(200L);
+
+        // Then - entries above the slot are gone and the projection points at the surviving entries
+        assertEquals(2, deleted);
+        assertEquals(2, repository.count());
+        assertEquals(hex("tx2"), service.getLatestBalance("addr1").orElseThrow().getTxHash());
+        assertEquals(BigInteger.valueOf(2000), service.getCurrentBalanceAsValue("addr1").getCoin());
+        assertTrue(service.getLatestBalance("addr2").isEmpty());
+        assertTrue(currentBalanceRepository.findById("addr2").isEmpty());
+    }
+
+    @Test
+    void testRollbackToSlotReprojectsLatestEntryBySlot() {
+        // Given - ids do not follow slots: the entry at slot 400 was written before the one at slot 300
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(4000), hex("tx4"), 400L));
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(3000), hex("tx3"), 300L));
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(5000), hex("tx5"), 500L));
+
+        // When
+        service.rollbackToSlot(450L);
+
+        // Then - the projection follows the highest slot, not the highest id
+        assertEquals(BigInteger.valueOf(4000), service.getCurrentBalanceAsValue("addr1").getCoin());
+        assertEquals(hex("tx4"), service.getLatestBalance("addr1").orElseThrow().getTxHash());
+    }
+
+    @Test
+    void testAppendAllDeltaEncodesBetweenKeyframes() {
+        // Given - five consecutive blocks for the same address
+        long[] balances = {1000, 1500, 1200, 2200, 2000};
+        for (int i = 0; i < balances.length; i++) {
+            long previous = i == 0 ? 0 : balances[i - 1];
+            service.appendAll(List.of(createDeltaEntry("addr1", balances[i], balances[i] - previous, hex("tx" + i), 100L * (i + 1))));
+        }
+
+        // Then - only every third entry stores its balance
+        var stored = repository.findAll().stream()
+                .sorted(Comparator.comparing(BalanceLogEntity::getSlot))
+                .toList();
+        assertEquals(List.of(0, 1, 2, 0, 1), stored.stream().map(BalanceLogEntity::getKeyframeDistance).toList());
+        assertEquals(List.of(true, false, false, true, false), stored.stream().map(entry -> entry.getBalance() != null).toList());
+
+        // And every read rebuilds the full balance
+        List<BalanceLogEntity> history = service.getBalanceHistory("addr1", 10);
+        assertEquals(List.of(2000L, 2200L, 1200L, 1500L, 1000L), history.stream()
+                .map(entry -> BalanceValueHelper.fromJson(entry.getBalance()).getCoin().longValue())
+                .toList());
+        assertEquals(BigInteger.valueOf(1200), BalanceValueHelper.fromJson(service.getBalanceAtSlot("addr1", 350L).orElseThrow().getBalance()).getCoin());
+        assertEquals(BigInteger.valueOf(2000), BalanceValueHelper.fromJson(service.getLatestBalance("addr1").orElseThrow().getBalance()).getCoin());
+        assertEquals(BigInteger.valueOf(2000), service.getCurrentBalanceAsValue("addr1").getCoin());
+
+        // And a rollback onto a delta entry re-projects its rebuilt balance
+        service.rollbackToSlot(300L);
+        assertEquals(BigInteger.valueOf(1200), service.getCurrentBalanceAsValue("addr1").getCoin());
+        assertEquals(2, currentBalanceRepository.findById("addr1").orElseThrow().getKeyframeDistance());
+    }
+
+    @Test
+    void testAppendAllRejectsOutOfOrderEntries() {
+        // Given
+        service.appendAll(List.of(createDeltaEntry("addr1", 1000, 1000, hex("tx1"), 100L)));
+        service.appendAll(List.of(createDeltaEntry("addr1", 1500, 500, hex("tx3"), 300L)));
+
+        // When / Then - an entry older than the latest one is not spliced into the delta chain
+        assertThrows(IllegalStateException.class,
+                () -> service.appendAll(List.of(createDeltaEntry("addr1", 1200, 200, hex("tx2"), 200L))));
+        assertThrows(IllegalStateException.class,
+                () -> service.appendAll(List.of(createDeltaEntry("addr2", 500, 500, hex("tx5"), 500L),
+                        createDeltaEntry("addr2", 400, -100, hex("tx4"), 400L))));
+        assertEquals(2, repository.count());
+        assertEquals(BigInteger.valueOf(1500), service.getCurrentBalanceAsValue("addr1").getCoin());
+    }
+
+    @Test
+    void testGetBalancesAtSlotRebuildsDeltasOfManyAddresses() {
+        // Given - two addresses with delta entries in the same blocks
+        long[] balances1 = {1000, 1500, 1200, 2200};
+        long[] balances2 = {500, 700, 600, 900};
+        for (int i = 0; i < balances1.length; i++) {
+            long previous1 = i == 0 ? 0 : balances1[i - 1];
+            long previous2 = i == 0 ? 0 : balances2[i - 1];
+            service.appendAll(List.of(
+                    createDeltaEntry("addr1", balances1[i], balances1[i] - previous1, hex("tx" + i), 100L * (i + 1)),
+                    createDeltaEntry("addr2", balances2[i], balances2[i] - previous2, hex("tx" + i), 100L * (i + 1))));
+        }
+
+        // When
+        var atSlot = service.getBalancesAtSlot(List.of("addr2", "addr1", "addr3"), 350L);
+
+        // Then - both delta entries are rebuilt from their own keyframe, in the order of the request
+        assertEquals(List.of("addr2", "addr1"), List.copyOf(atSlot.keySet()));
+        assertEquals(BigInteger.valueOf(1200), BalanceValueHelper.fromJson(atSlot.get("addr1").getBalance()).getCoin());
+        assertEquals(BigInteger.valueOf(600), BalanceValueHelper.fromJson(atSlot.get("addr2").getBalance()).getCoin());
+    }
+
+    @Test
+    void testReadEntriesResolveAddressesThroughTheDictionary() {
+        // Given
+        service.append(createBalanceEntry("addr2", createAdaOnlyBalance(1000), hex("tx1"), 100L));
+        service.append(createBalanceEntry("addr1", createAdaOnlyBalance(2000), hex("tx1"), 100L));
+
+        // When - read through a service whose dictionary cache is cold
+        var readService = new BalanceService(repository, currentBalanceRepository, new CurrentBalanceCache(false, 0),
+                new BalanceKeyframePolicy(KEYFRAME_INTERVAL), new AddressDictionary(addressDictionaryRepository, 1000),
+                tokenHoldingService, mapper);
+        List<BalanceLogEntity> entries = readService.getBalancesByTransaction(hex("tx1"));
+
+        // Then - addresses are filled in, ordered by address, and the dictionary internals are not serialized
+        assertEquals(List.of("addr1", "addr2"), entries.stream().map(BalanceLogEntity::getAddress).toList());
+        var json = mapper.copy().findAndRegisterModules().valueToTree(entries.getFirst());
+        assertEquals("addr1", json.get("address").asText());
+        assertFalse(json.has("addressId"));
+        assertFalse(json.has("keyframeDistance"));
+    }
+
+    @Test
+    void testEncodeHistory() {
+        // Given - entries written before delta encoding, the third one with a diff that does not add up
+        repository.saveAll(List.of(
+                createLegacyEntry("addr1", 1000, "{\"lovelace\":\"+1000\"}", hex("tx1"), 100L),
+                createLegacyEntry("addr1", 1500, "{\"lovelace\":\"+500\"}", hex("tx2"), 200L),
+                createLegacyEntry("addr1", 1700, "{\"lovelace\":\"+100\"}", hex("tx3"), 300L),
+                createLegacyEntry("addr1", 1800, "{\"lovelace\":\"+100\"}", hex("tx4"), 400L),
+                createLegacyEntry("addr1", 1900, "{\"lovelace\":\"+100\"}", hex("tx5"), 500L)
+        ));
+
+        // When - converted in two chunks
+        assertEquals(3, service.encodeHistory("addr1", 3));
+        assertEquals(2, service.encodeHistory("addr1", 3));
+        assertEquals(0, service.encodeHistory("addr1", 3));
+
+        // Then - the mismatching entry and the last entry stay keyframes
+        var stored = repository.findAll().stream()
+                .sorted(Comparator.comparing(BalanceLogEntity::getSlot))
+                .toList();
+        assertEquals(List.of(0, 1, 0, 1, 0), stored.stream().map(BalanceLogEntity::getKeyframeDistance).toList());
+        assertEquals(List.of(1900L, 1800L, 1700L, 1500L, 1000L), service.getBalanceHistory("addr1", 10).stream()
+                .map(entry -> BalanceValueHelper.fromJson(entry.getBalance()).getCoin().longValue())
+                .toList());
+    }
+
+    @Test
+    void testTokenHoldingsFollowCurrentBalances() {
+        // Given
+        String policyId = "a".repeat(56);
+        service.append(createBalanceEntry("addr1", createBalanceWithAssets(BigInteger.valueOf(1000), policyId, "TOKEN", BigInteger.valueOf(50)), hex("tx1"), 100L));
+        service.append(createBalanceEntry("addr2", createBalanceWithAssets(BigInteger.valueOf(1000), policyId, "TOKEN", BigInteger.valueOf(300)), hex("tx2"), 200L));
+        service.append(createBalanceEntry("addr3", createBalanceWithAssets(BigInteger.valueOf(1000), policyId, "TOKEN", BigInteger.valueOf(120)), hex("tx3"), 300L));
+        service.append(createBalanceEntry("addr1", createBalanceWithAssets(BigInteger.valueOf(1000), policyId, "TOKEN", BigInteger.valueOf(500)), hex("tx4"), 400L));
+        service.append(createBalanceEntry("addr3", createAdaOnlyBalance(1000), hex("tx5"), 400L));
+
+        // Then - one holder per address, the emptied address is gone
+        assertEquals(2, tokenHoldingService.countHolders(policyId));
+        assertEquals(List.of("addr1", "addr2"), tokenHoldingService.getTopHolders(policyId, 10).stream()
+                .map(TokenHolder::address)
+                .toList());
+        assertEquals(BigInteger.valueOf(500), tokenHoldingService.getTopHolders(policyId, 1).getFirst().amount());
+
+        // And a rollback re-projects the surviving balances
+        service.rollbackToSlot(300L);
+        assertEquals(List.of("addr2", "addr3", "addr1"), tokenHoldingService.getTopHolders(policyId, 10).stream()
+                .map(TokenHolder::address)
+                .toList());
+        assertEquals(BigInteger.valueOf(50), tokenHoldingService.getTopHolders(policyId, 10).getLast().amount());
+    }
+
+    @Test
+    void testHoldersAggregateAssetNamesOfPolicy() {
+        // Given - addr1 holds two asset names of the policy, addr2 one
+        String policyId = "c".repeat(56);
+        Value twoAssets = Value.builder()
+                .coin(BigInteger.ZERO)
+                .multiAssets(List.of(MultiAsset.builder()
+                        .policyId(policyId)
+                        .assets(List.of(
+                                Asset.builder().name("TOKEN").value(BigInteger.valueOf(30)).build(),
+                                Asset.builder().name("OTHER").value(BigInteger.valueOf(40)).build()))
+                        .build()))
+                .build();
+        service.append(createBalanceEntry("addr1", twoAssets, hex("tx1"), 100L));
+        service.append(createBalanceEntry("addr2", createBalanceWithAssets(BigInteger.ZERO, policyId, "TOKEN", BigInteger.valueOf(50)), hex("tx2"), 100L));
+
+        // Then - addresses are counted once, with the total of the policy
+        assertEquals(2, tokenHoldingService.countHolders(policyId));
+        var top = tokenHoldingService.getTopHolders(policyId, 10);
+        assertEquals(List.of("addr1", "addr2"), top.stream().map(TokenHolder::address).toList());
+        assertEquals(BigInteger.valueOf(70), top.getFirst().amount());
+    }
+
+    @Test
+    void testGetHoldersPage() {
+        // Given - four holders
+        String policyId = "b".repeat(56);
+        long[] amounts = {10, 40, 20, 20};
+        for (int i = 0; i < amounts.length; i++) {
+            service.append(createBalanceEntry("addr" + i, createBalanceWithAssets(BigInteger.ZERO, policyId, "TOKEN", BigInteger.valueOf(amounts[i])), hex("tx" + i), 100L));
+        }
+
+        // When
+        TokenHolderPage first = tokenHoldingService.getHolders(policyId, null, 3);
+        TokenHolderPage second = tokenHoldingService.getHolders(policyId, first.nextCursor().orElseThrow(), 3);
+
+        // Then - pages walk the addresses in order
+        assertEquals(List.of("addr0", "addr1", "addr2"), first.holders().stream().map(TokenHolder::address).toList());
+        assertEquals(List.of(10L, 40L, 20L), first.holders().stream().map(holder -> holder.amount().longValue()).toList());
+        assertEquals(List.of("addr3"), second.holders().stream().map(TokenHolder::address).toList());
+        assertTrue(second.nextCursor().isEmpty());
+    }
+
     // Helper methods
 
     private Value createAdaOnlyBalance(long lovelace) {
@@ -364,7 +745,7 @@ class BalanceServiceTest {
     }
 
     private BalanceLogEntity createBalanceEntry(String address, Value balance, String txHash, Long slot) {
-        return createBalanceEntryWithPayment(address, "paymentScript123", "stakeKey456", balance, txHash, slot);
+        return createBalanceEntryWithPayment(address, hex("paymentScript123"), hex("stakeKey456"), balance, txHash, slot);
     }
 
     private BalanceLogEntity createBalanceEntryWithPayment(String address, String paymentScript, String stakeKey,
@@ -381,4 +762,22 @@ class BalanceServiceTest {
                 .blockHeight(1000L)
                 .build();
     }
+
+    private BalanceLogEntity createDeltaEntry(String address, long lovelace, long lovelaceDiff, String txHash, Long slot) {
+        BalanceLogEntity entry = createBalanceEntry(address, createAdaOnlyBalance(lovelace), txHash, slot);
+        entry.setBalanceDiff("{\"lovelace\":\"" + (lovelaceDiff > 0 ? "+" : "") + lovelaceDiff + "\"}");
+        return entry;
+    }
+
+    private BalanceLogEntity createLegacyEntry(String address, long lovelace, String balanceDiff, String txHash, Long slot) {
+        BalanceLogEntity entry = createBalanceEntry(address, createAdaOnlyBalance(lovelace), txHash, slot);
+        entry.setBalanceDiff(balanceDiff);
+        entry.setAddressId(addressDictionary.resolveId(address));
+        return entry;
+    }
+
+    // Hashes are stored as bytes, test labels are hex encoded
+    private static String hex(String label) {
+        return HexUtil.encodeHexString(label.getBytes(StandardCharsets.UTF_8));
+    }
 }
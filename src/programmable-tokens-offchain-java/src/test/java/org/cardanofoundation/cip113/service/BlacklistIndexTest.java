@@ -0,0 +1,61 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist.BlacklistNode;
+import org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist.BlacklistNodeParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BlacklistIndexTest {
+
+    private static final String POLICY_ID = "aa".repeat(28);
+    private static final String OTHER_POLICY_ID = "bb".repeat(28);
+    private static final String HEAD_NEXT = "ff".repeat(28);
+    private static final String LIST_ADDRESS = "addr_test1blacklist";
+
+    private BlacklistIndex index;
+
+    @BeforeEach
+    void setUp() {
+        var utxoProvider = mock(UtxoProvider.class);
+        index = new BlacklistIndex(new BlacklistNodeParser(), utxoProvider);
+        when(utxoProvider.hasLocalStore()).thenReturn(true);
+        // head -> 11 -> 33 -> end, plus fake node datums sent to the blacklist address without the node NFT:
+        // one adding 22, one overwriting the covering node of 20
+        when(utxoProvider.findLocalUtxos(LIST_ADDRESS)).thenReturn(List.of(
+                createUtxo("tx1", 0, new BlacklistNode("", "11"), POLICY_ID),
+                createUtxo("tx2", 0, new BlacklistNode("11", "33"), POLICY_ID),
+                createUtxo("tx3", 0, new BlacklistNode("33", HEAD_NEXT), POLICY_ID),
+                createUtxo("tx4", 0, new BlacklistNode("22", "33"), OTHER_POLICY_ID),
+                createUtxo("tx5", 0, new BlacklistNode("11", "12"), null)));
+    }
+
+    @Test
+    void testNodesWithoutNftIgnored() {
+        assertTrue(index.contains(POLICY_ID, "11", LIST_ADDRESS));
+        assertFalse(index.contains(POLICY_ID, "22", LIST_ADDRESS));
+
+        var covering = index.findCoveringNode(POLICY_ID, "20", LIST_ADDRESS).orElseThrow();
+        assertEquals("tx2", covering.txHash());
+        assertEquals("33", covering.node().next());
+    }
+
+    private Utxo createUtxo(String txHash, int outputIndex, BlacklistNode node, String nftPolicyId) {
+        var amounts = nftPolicyId == null
+                ? List.of(Amount.lovelace(BigInteger.valueOf(2_000_000L)))
+                : List.of(Amount.lovelace(BigInteger.valueOf(2_000_000L)), Amount.asset(nftPolicyId + node.key(), BigInteger.ONE));
+        return Utxo.builder()
+                .txHash(txHash)
+                .outputIndex(outputIndex)
+                .amount(amounts)
+                .inlineDatum(node.toPlutusData().serializeToHex())
+                .build();
+    }
+}
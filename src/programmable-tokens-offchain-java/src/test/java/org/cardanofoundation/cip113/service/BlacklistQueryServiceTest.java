@@ -0,0 +1,96 @@
+package org.cardanofoundation.cip113.service;
+
+import org.cardanofoundation.cip113.config.CacheConfig;
+import org.cardanofoundation.cip113.entity.FreezeAndSeizeTokenRegistrationEntity;
+import org.cardanofoundation.cip113.entity.ProgrammableTokenRegistryEntity;
+import org.cardanofoundation.cip113.repository.BlacklistInitRepository;
+import org.cardanofoundation.cip113.repository.FreezeAndSeizeTokenRegistrationRepository;
+import org.cardanofoundation.cip113.repository.ProgrammableTokenRegistryRepository;
+import org.cardanofoundation.cip113.service.substandard.SubstandardHandlerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BlacklistQueryServiceTest {
+
+    private static final String TOKEN_POLICY_ID = "aa".repeat(28);
+    private static final String BLACKLIST_NODE_POLICY_ID = "bb".repeat(28);
+    private static final String ADDRESS = "addr_test1holder";
+
+    private ProgrammableTokenRegistryRepository programmableTokenRegistryRepository;
+
+    private BlacklistQueryService blacklistQueryService;
+
+    @BeforeEach
+    void setUp() {
+        programmableTokenRegistryRepository = mock(ProgrammableTokenRegistryRepository.class);
+        var freezeAndSeizeTokenRegistrationRepository = mock(FreezeAndSeizeTokenRegistrationRepository.class);
+        when(freezeAndSeizeTokenRegistrationRepository.findByBlacklistInit_BlacklistNodePolicyId(BLACKLIST_NODE_POLICY_ID))
+                .thenReturn(List.of(FreezeAndSeizeTokenRegistrationEntity.builder()
+                        .programmableTokenPolicyId(TOKEN_POLICY_ID)
+                        .build()));
+        blacklistQueryService = new BlacklistQueryService(mock(SubstandardHandlerFactory.class),
+                programmableTokenRegistryRepository,
+                freezeAndSeizeTokenRegistrationRepository,
+                mock(BlacklistInitRepository.class),
+                new CacheConfig().cacheManager(100, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void testIsAddressBlacklisted_cachesStatus() {
+        // Given
+        when(programmableTokenRegistryRepository.findByPolicyId(TOKEN_POLICY_ID)).thenReturn(Optional.of(token()));
+
+        // When
+        assertFalse(blacklistQueryService.isAddressBlacklisted(TOKEN_POLICY_ID, ADDRESS));
+        assertFalse(blacklistQueryService.isAddressBlacklisted(TOKEN_POLICY_ID, ADDRESS));
+
+        // Then
+        verify(programmableTokenRegistryRepository, times(1)).findByPolicyId(TOKEN_POLICY_ID);
+    }
+
+    @Test
+    void testIsAddressBlacklisted_doesNotCacheStatusReadBeforeEviction() {
+        // Given - the blacklist is updated on chain while the status is being checked
+        when(programmableTokenRegistryRepository.findByPolicyId(TOKEN_POLICY_ID)).thenAnswer(invocation -> {
+            blacklistQueryService.evictBlacklistStatuses(BLACKLIST_NODE_POLICY_ID);
+            return Optional.of(token());
+        });
+
+        // When
+        blacklistQueryService.isAddressBlacklisted(TOKEN_POLICY_ID, ADDRESS);
+        blacklistQueryService.isAddressBlacklisted(TOKEN_POLICY_ID, ADDRESS);
+
+        // Then - checked again rather than served from a status older than the update
+        verify(programmableTokenRegistryRepository, times(2)).findByPolicyId(TOKEN_POLICY_ID);
+    }
+
+    @Test
+    void testIsAddressBlacklisted_doesNotCacheStatusReadBeforeRollback() {
+        // Given
+        when(programmableTokenRegistryRepository.findByPolicyId(TOKEN_POLICY_ID)).thenAnswer(invocation -> {
+            blacklistQueryService.evictAllBlacklistStatuses();
+            return Optional.of(token());
+        });
+
+        // When
+        blacklistQueryService.isAddressBlacklisted(TOKEN_POLICY_ID, ADDRESS);
+        blacklistQueryService.isAddressBlacklisted(TOKEN_POLICY_ID, ADDRESS);
+
+        // Then
+        verify(programmableTokenRegistryRepository, times(2)).findByPolicyId(TOKEN_POLICY_ID);
+    }
+
+    private ProgrammableTokenRegistryEntity token() {
+        return ProgrammableTokenRegistryEntity.builder()
+                .policyId(TOKEN_POLICY_ID)
+                .substandardId("dummy")
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.yaci.store.common.domain.AddressUtxo;
+import com.bloxbean.cardano.yaci.store.common.domain.Amt;
+import com.bloxbean.cardano.yaci.store.events.EventMetadata;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
+import com.bloxbean.cardano.yaci.store.utxo.domain.TxInputOutput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ChainEventRouterTest {
+
+    private static final String NODE_POLICY_ID = "aa".repeat(28);
+
+    private IndexerSyncStatus indexerSyncStatus;
+
+    private final List<String> calls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        indexerSyncStatus = mock(IndexerSyncStatus.class);
+        calls.clear();
+    }
+
+    @Test
+    void testProcessEvent_classifiesOnceAndRoutesAcceptedOutputs() {
+        // Given - a node output, a plain ada output, and a handler accepting node NFTs only
+        var nodeAmounts = List.of(amt(NODE_POLICY_ID, BigInteger.ONE));
+        var node = output("tx1", 0, true);
+        var plain = output("tx1", 1, false);
+        var input = output("tx0", 3, false);
+        var amountReads = new AtomicInteger();
+        when(node.getAmounts()).thenAnswer(invocation -> {
+            amountReads.incrementAndGet();
+            return nodeAmounts;
+        });
+
+        var nodes = new RecordingHandler("nodes", false, output -> output.holdsNftOf(Set.of(NODE_POLICY_ID)));
+        var everything = new RecordingHandler("everything", false, output -> true);
+        var router = router(List.of(nodes, everything));
+
+        // When
+        router.processEvent(event(transaction("tx1", List.of(input), List.of(node, plain))));
+
+        // Then
+        var routed = nodes.blocks.getFirst().transactions().getFirst();
+        assertEquals(List.of(input), routed.inputs());
+        assertEquals(1, routed.outputs().size());
+        assertSame(node, routed.outputs().getFirst().utxo());
+        assertTrue(routed.outputs().getFirst().hasInlineDatum());
+        assertEquals(Set.of(NODE_POLICY_ID), routed.outputs().getFirst().nftPolicyIds());
+        assertEquals(2, everything.blocks.getFirst().transactions().getFirst().outputs().size());
+
+        // Amounts decoded once, whatever the number of handlers
+        assertEquals(1, amountReads.get());
+        verify(indexerSyncStatus).record(eq("nodes"), any(), eq(1));
+        verify(indexerSyncStatus).record(eq("everything"), any(), eq(1));
+    }
+
+    @Test
+    void testProcessEvent_runsFirstHandlersFirst() {
+        // Given
+        var other = new RecordingHandler("other", false, output -> true);
+        var first = new RecordingHandler("first", true, output -> true);
+        var router = router(List.of(other, first));
+
+        // When
+        router.processEvent(event(transaction("tx1", List.of(), List.of(output("tx1", 0, false)))));
+
+        // Then
+        assertEquals(List.of("accepts:first", "handle:first", "accepts:other", "handle:other"), calls);
+    }
+
+    private ChainEventRouter router(List<AddressUtxoHandler> handlers) {
+        return new ChainEventRouter(handlers, new IndexerMetrics(new SimpleMeterRegistry()), indexerSyncStatus);
+    }
+
+    private AddressUtxoEvent event(TxInputOutput... transactions) {
+        var event = mock(AddressUtxoEvent.class);
+        when(event.getEventMetadata()).thenReturn(mock(EventMetadata.class));
+        when(event.getTxInputOutputs()).thenReturn(List.of(transactions));
+        return event;
+    }
+
+    private TxInputOutput transaction(String txHash, List<AddressUtxo> inputs, List<AddressUtxo> outputs) {
+        var transaction = mock(TxInputOutput.class);
+        when(transaction.getTxHash()).thenReturn(txHash);
+        when(transaction.getInputs()).thenReturn(inputs);
+        when(transaction.getOutputs()).thenReturn(outputs);
+        return transaction;
+    }
+
+    private AddressUtxo output(String txHash, int outputIndex, boolean inlineDatum, Amt... amounts) {
+        var output = mock(AddressUtxo.class);
+        when(output.getTxHash()).thenReturn(txHash);
+        when(output.getOutputIndex()).thenReturn(outputIndex);
+        when(output.getInlineDatum()).thenReturn(inlineDatum ? "d87980" : null);
+        when(output.getAmounts()).thenReturn(List.of(amounts));
+        return output;
+    }
+
+    private Amt amt(String policyId, BigInteger quantity) {
+        var amt = mock(Amt.class);
+        when(amt.getPolicyId()).thenReturn(policyId);
+        when(amt.getQuantity()).thenReturn(quantity);
+        return amt;
+    }
+
+    private class RecordingHandler implements AddressUtxoHandler {
+
+        private final String name;
+
+        private final boolean runsFirst;
+
+        private final Predicate<ChainEventRouter.ClassifiedOutput> filter;
+
+        private final List<ChainEventRouter.RoutedBlock> blocks = new ArrayList<>();
+
+        private RecordingHandler(String name, boolean runsFirst, Predicate<ChainEventRouter.ClassifiedOutput> filter) {
+            this.name = name;
+            this.runsFirst = runsFirst;
+            this.filter = filter;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean runsFirst() {
+            return runsFirst;
+        }
+
+        @Override
+        public boolean accepts(ChainEventRouter.ClassifiedOutput output) {
+            calls.add("accepts:" + name);
+            return filter.test(output);
+        }
+
+        @Override
+        public void handleBlock(ChainEventRouter.RoutedBlock block) {
+            calls.add("handle:" + name);
+            blocks.add(block);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrentBalanceCacheTest {
+
+    private CurrentBalanceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CurrentBalanceCache(true, 100);
+    }
+
+    @Test
+    void testPutAllIfAbsent_cachesReadsWithoutConcurrentWrites() {
+        // Given
+        long generation = cache.generation();
+
+        // When
+        cache.putAllIfAbsent(Map.of("addr1", lovelace(1000)), generation);
+
+        // Then
+        assertEquals(BigInteger.valueOf(1000), cache.get("addr1").orElseThrow().getCoin());
+    }
+
+    @Test
+    void testPutAllIfAbsent_rejectsReadsOlderThanInvalidation() {
+        // Given - a reader reads the projection, then a rollback invalidates the address
+        long generation = cache.generation();
+        cache.invalidate(List.of("addr1"));
+
+        // When - the reader publishes what it read
+        cache.putAllIfAbsent(Map.of("addr1", lovelace(1000)), generation);
+
+        // Then
+        assertTrue(cache.get("addr1").isEmpty());
+    }
+
+    @Test
+    void testPutAllIfAbsent_rejectsReadsOlderThanIndexerWrite() {
+        // Given - the indexer publishes a newer balance, which is then evicted
+        long generation = cache.generation();
+        cache.putAll(Map.of("addr1", lovelace(2000)));
+        cache.invalidateAll();
+
+        // When
+        cache.putAllIfAbsent(Map.of("addr1", lovelace(1000)), generation);
+
+        // Then
+        assertTrue(cache.get("addr1").isEmpty());
+    }
+
+    private static Value lovelace(long amount) {
+        return Value.builder().coin(BigInteger.valueOf(amount)).build();
+    }
+}
@@ -0,0 +1,67 @@
+package org.cardanofoundation.cip113.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndexerHealthIndicatorTest {
+
+    private IndexerSyncStatus indexerSyncStatus;
+
+    private IndexerHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        indexerSyncStatus = mock(IndexerSyncStatus.class);
+        healthIndicator = new IndexerHealthIndicator(indexerSyncStatus, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testHealth_upWhenAllListenersAtTip() {
+        // Given
+        when(indexerSyncStatus.getStatuses()).thenReturn(Map.of(
+                IndexerMetrics.BALANCE, new IndexerSyncStatus.ListenerStatus(1000L, 10L, 20L, 0.05, 10L),
+                IndexerMetrics.REGISTRY, new IndexerSyncStatus.ListenerStatus(1000L, 10L, 20L, 0.05, 10L)));
+
+        // When
+        var health = healthIndicator.health();
+
+        // Then
+        assertEquals(Status.UP, health.getStatus());
+        assertTrue(health.getDetails().containsKey(IndexerMetrics.BALANCE));
+    }
+
+    @Test
+    void testHealth_degradedWhenAnyListenerLags() {
+        // Given
+        when(indexerSyncStatus.getStatuses()).thenReturn(Map.of(
+                IndexerMetrics.BALANCE, new IndexerSyncStatus.ListenerStatus(1000L, 10L, 3600L, 40.0, 10L),
+                IndexerMetrics.REGISTRY, new IndexerSyncStatus.ListenerStatus(1000L, 10L, 20L, 0.05, 10L)));
+
+        // When
+        var health = healthIndicator.health();
+
+        // Then
+        assertEquals(IndexerHealthIndicator.DEGRADED, health.getStatus());
+    }
+
+    @Test
+    void testHealth_degradedBeforeFirstBlock() {
+        // Given
+        when(indexerSyncStatus.getStatuses()).thenReturn(Map.of());
+
+        // When
+        var health = healthIndicator.health();
+
+        // Then
+        assertEquals(IndexerHealthIndicator.DEGRADED, health.getStatus());
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.cardanofoundation.cip113.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParameterizedScriptCacheTest {
+
+    private static final String COMPILED_CODE = "5101010023259800a518a4d136564004ae69";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ParameterizedScriptCache scriptCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scriptCache = new ParameterizedScriptCache(meterRegistry, 100);
+    }
+
+    @Test
+    void testGetOrBuild_reusesBuiltScript() throws Exception {
+        // When
+        var first = scriptCache.getOrBuild("dummy:transfer.transfer.withdraw", COMPILED_CODE);
+        var second = scriptCache.getOrBuild("dummy:transfer.transfer.withdraw", COMPILED_CODE);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, meterRegistry.get("scripts.build").tag("validator", "dummy:transfer.transfer.withdraw").timer().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ParameterizedScriptCache.CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ParameterizedScriptCache.CACHE_NAME).tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testGetOrBuild_keyedByValidatorTitle() throws Exception {
+        // When
+        var dummy = scriptCache.getOrBuild("dummy:transfer.transfer.withdraw", COMPILED_CODE);
+        var other = scriptCache.getOrBuild("other:transfer.transfer.withdraw", COMPILED_CODE);
+
+        // Then
+        assertNotSame(dummy, other);
+        assertEquals(dummy.getPolicyId(), other.getPolicyId());
+    }
+
+    @Test
+    void testInvalidateAll_rebuildsScripts() {
+        // Given
+        var first = scriptCache.getOrBuild("dummy:transfer.transfer.withdraw", COMPILED_CODE);
+
+        // When
+        scriptCache.invalidateAll();
+        var second = scriptCache.getOrBuild("dummy:transfer.transfer.withdraw", COMPILED_CODE);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(2, meterRegistry.get("scripts.build").timer().count());
+    }
+
+}
@@ -8,6 +8,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -140,6 +143,48 @@ class ProtocolParamsServiceTest {
         assertEquals(300L, allParams.get(2).getSlot());
     }
 
+    @Test
+    void testRollbackToSlot() {
+        // Given
+        service.init();
+
+        service.save(createEntity("txHash1", 100L, 1000L));
+        service.save(createEntity("txHash2", 200L, 2000L));
+        service.save(createEntity("txHash3", 300L, 3000L));
+
+        // When
+        int deleted = service.rollbackToSlot(200L);
+
+        // Then - removed from both database and memory
+        assertEquals(1, deleted);
+        assertEquals(2, repository.count());
+        assertEquals("txHash2", service.getLatest().orElseThrow().getTxHash());
+        assertFalse(service.existsByTxHash("txHash3"));
+    }
+
+    @Test
+    void testSnapshotPublishedOnSave() {
+        // Given
+        service.init();
+        var before = service.getSnapshot();
+
+        // When
+        service.save(createEntity("txHash2", 200L, 2000L));
+        service.save(createEntity("txHash1", 100L, 1000L));
+        var snapshot = service.getSnapshot();
+
+        // Then - earlier snapshots are left untouched, the new one answers every lookup
+        assertTrue(before.isEmpty());
+        assertEquals(List.of("txHash1", "txHash2"), snapshot.getVersions().stream().map(ProtocolParamsEntity::getTxHash).toList());
+        assertEquals("txHash2", snapshot.getByTxHash("txHash2").orElseThrow().getTxHash());
+        assertEquals("txHash1", snapshot.getBySlot(100L).orElseThrow().getTxHash());
+        assertTrue(snapshot.getBySlot(150L).isEmpty());
+        assertEquals("txHash1", snapshot.getValidAtSlot(199L).orElseThrow().getTxHash());
+        assertTrue(snapshot.getValidAtSlot(99L).isEmpty());
+        assertEquals(Set.of("aaa513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126102"), snapshot.getProgLogicScriptHashes());
+        assertTrue(snapshot.getByRegistryNodePolicyId("2584c485b40f65f3659dc94d36ee4389c3f95349f41437cb9b422160").isPresent());
+    }
+
     private ProtocolParamsEntity createEntity(String txHash, Long slot, Long blockHeight) {
         return ProtocolParamsEntity.builder()
                 .registryNodePolicyId("2584c485b40f65f3659dc94d36ee4389c3f95349f41437cb9b422160")
@@ -0,0 +1,125 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import org.cardanofoundation.cip113.model.onchain.RegistryNode;
+import org.cardanofoundation.cip113.model.onchain.RegistryNodeParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RegistryIndexTest {
+
+    private static final String POLICY_ID = "aa".repeat(28);
+    private static final String OTHER_POLICY_ID = "bb".repeat(28);
+    private static final String HEAD_NEXT = "ff".repeat(28);
+    private static final String SCRIPT_HASH = "cc".repeat(28);
+    private static final String LIST_ADDRESS = "addr_test1registry";
+
+    private RegistryIndex index;
+
+    private UtxoProvider utxoProvider;
+
+    @BeforeEach
+    void setUp() {
+        utxoProvider = mock(UtxoProvider.class);
+        index = new RegistryIndex(new RegistryNodeParser(), utxoProvider);
+        when(utxoProvider.hasLocalStore()).thenReturn(true);
+        // head -> 11 -> 33 -> end, plus a node datum sent to the registry address without the node NFT
+        when(utxoProvider.findLocalUtxos(LIST_ADDRESS)).thenReturn(List.of(
+                createUtxo("tx1", 0, node("", "11"), POLICY_ID),
+                createUtxo("tx2", 0, node("11", "33"), POLICY_ID),
+                createUtxo("tx3", 0, node("33", HEAD_NEXT), POLICY_ID),
+                createUtxo("tx4", 0, node("22", "33"), OTHER_POLICY_ID)));
+    }
+
+    // Generic lookups and chain updates are covered by SortedNodeIndexTest
+
+    @Test
+    void testFindNode() {
+        var entry = index.findNode(POLICY_ID, "11", LIST_ADDRESS).orElseThrow();
+        assertEquals("33", entry.node().next());
+        assertEquals("tx2", entry.txHash());
+        assertEquals(0, entry.outputIndex());
+
+        // UTxOs without the registry node NFT are not nodes
+        assertTrue(index.findNode(POLICY_ID, "22", LIST_ADDRESS).isEmpty());
+        assertEquals("11", index.findCoveringNode(POLICY_ID, "22", LIST_ADDRESS).orElseThrow().node().key());
+
+        // Loaded only once
+        verify(utxoProvider, times(1)).findLocalUtxos(LIST_ADDRESS);
+    }
+
+    @Test
+    void testRegistryFollowsChainAfterLoad() {
+        // Given
+        index.findNode(POLICY_ID, "11", LIST_ADDRESS);
+
+        // When: 22 registered, splitting 11 -> 33
+        index.removeNode("tx2", 0);
+        index.addNode(POLICY_ID, node("11", "22"), "tx5", 0);
+        index.addNode(POLICY_ID, node("22", "33"), "tx5", 1);
+
+        // Then: the new node is found and 11 is no longer covered by its spent UTxO
+        assertEquals("tx5", index.findNode(POLICY_ID, "22", LIST_ADDRESS).orElseThrow().txHash());
+        assertEquals("tx5", index.findCoveringNode(POLICY_ID, "12", LIST_ADDRESS).orElseThrow().txHash());
+        verify(utxoProvider, times(1)).findLocalUtxos(LIST_ADDRESS);
+    }
+
+    @Test
+    void testFailedLoadRetried() {
+        // Given
+        when(utxoProvider.findLocalUtxos(LIST_ADDRESS))
+                .thenThrow(new IllegalStateException("store unavailable"))
+                .thenReturn(List.of(createUtxo("tx1", 0, node("", "11"), POLICY_ID),
+                        createUtxo("tx2", 0, node("11", HEAD_NEXT), POLICY_ID)));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> index.findNode(POLICY_ID, "11", LIST_ADDRESS));
+
+        // Then: not cached as an empty registry, a token is not reported as unregistered
+        assertTrue(index.findNode(POLICY_ID, "11", LIST_ADDRESS).isPresent());
+    }
+
+    @Test
+    void testRegistryNotSyncedLookedUpDirectly() {
+        // Given
+        when(utxoProvider.findLocalUtxos(LIST_ADDRESS)).thenReturn(List.of());
+        when(utxoProvider.findAllBlockfrostUtxos(LIST_ADDRESS))
+                .thenReturn(List.of(createUtxo("tx1", 0, node("", "11"), POLICY_ID),
+                        createUtxo("tx2", 0, node("11", HEAD_NEXT), POLICY_ID)));
+
+        // When
+        var entry = index.findNode(POLICY_ID, "11", LIST_ADDRESS);
+
+        // Then
+        assertEquals("tx2", entry.orElseThrow().txHash());
+        assertTrue(index.getIndexedPolicyIds().isEmpty());
+    }
+
+    private RegistryNode node(String key, String next) {
+        return RegistryNode.builder()
+                .key(key)
+                .next(next)
+                .transferLogicScript(SCRIPT_HASH)
+                .thirdPartyTransferLogicScript(SCRIPT_HASH)
+                .globalStatePolicyId("")
+                .build();
+    }
+
+    private Utxo createUtxo(String txHash, int outputIndex, RegistryNode node, String nftPolicyId) {
+        return Utxo.builder()
+                .txHash(txHash)
+                .outputIndex(outputIndex)
+                .amount(List.of(
+                        Amount.lovelace(BigInteger.valueOf(2_000_000L)),
+                        Amount.asset(nftPolicyId + node.key(), BigInteger.ONE)))
+                .inlineDatum(node.toPlutusData().serializeToHex())
+                .build();
+    }
+}
@@ -1,8 +1,10 @@
 package org.cardanofoundation.cip113.service;
 
+import com.bloxbean.cardano.client.util.HexUtil;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
 import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
 import org.cardanofoundation.cip113.repository.ProtocolParamsRepository;
+import org.cardanofoundation.cip113.repository.RegistryNodeCurrentRepository;
 import org.cardanofoundation.cip113.repository.RegistryNodeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.TestPropertySource;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +27,9 @@ class RegistryServiceTest {
     @Autowired
     private RegistryNodeRepository registryNodeRepository;
 
+    @Autowired
+    private RegistryNodeCurrentRepository registryNodeCurrentRepository;
+
     @Autowired
     private ProtocolParamsRepository protocolParamsRepository;
 
@@ -32,6 +38,7 @@ class RegistryServiceTest {
 
     @BeforeEach
     void setUp() {
+        registryNodeCurrentRepository.deleteAll();
         registryNodeRepository.deleteAll();
         protocolParamsRepository.deleteAll();
 
@@ -45,52 +52,54 @@ class RegistryServiceTest {
                 .build();
         protocolParams = protocolParamsRepository.save(protocolParams);
 
-        registryService = new RegistryService(registryNodeRepository);
+        registryService = new RegistryService(registryNodeRepository, registryNodeCurrentRepository);
     }
 
     @Test
     void testInsertNewNode() {
         // Given
-        RegistryNodeEntity entity = createNode("token123", "token456", 100L);
+        RegistryNodeEntity entity = createNode(hex("token123"), hex("token456"), 100L);
 
         // When
         RegistryNodeEntity saved = registryService.insert(entity);
 
         // Then
         assertNotNull(saved.getId());
-        assertEquals("token123", saved.getKey());
-        assertEquals("token456", saved.getNext());
-        assertTrue(registryService.isTokenRegistered("token123"));
+        assertEquals(hex("token123"), saved.getKey());
+        assertEquals(hex("token456"), saved.getNext());
+        assertTrue(registryService.isTokenRegistered(hex("token123")));
     }
 
     @Test
     void testInsertMultipleStatesForSameKey() {
         // Given - insert two states for same key (append-only log)
-        RegistryNodeEntity state1 = createNode("token123", "token456", 100L);
-        RegistryNodeEntity state2 = createNode("token123", "token789", 200L);
-        state2.setTxHash("newTxHash");
+        RegistryNodeEntity state1 = createNode(hex("token123"), hex("token456"), 100L);
+        RegistryNodeEntity state2 = createNode(hex("token123"), hex("token789"), 200L);
+        state2.setTxHash(hex("newTxHash"));
 
         // When
         registryService.insert(state1);
         registryService.insert(state2);
 
-        // Then - should have 2 entries in the log
+        // Then - should have 2 entries in the log, projected to a single current state
         assertEquals(2, registryNodeRepository.count());
+        assertEquals(1, registryNodeCurrentRepository.count());
+        assertEquals(200L, registryNodeCurrentRepository.findByProtocolParamsIdAndKey(protocolParams.getId(), hex("token123")).orElseThrow().getSlot());
 
         // But queries should return the latest state (slot 200)
-        RegistryNodeEntity latest = registryService.getByKey("token123").orElseThrow();
-        assertEquals("token789", latest.getNext());
-        assertEquals("newTxHash", latest.getTxHash());
+        RegistryNodeEntity latest = registryService.getByKey(hex("token123")).orElseThrow();
+        assertEquals(hex("token789"), latest.getNext());
+        assertEquals(hex("newTxHash"), latest.getTxHash());
         assertEquals(200L, latest.getSlot());
     }
 
     @Test
     void testDeletedNodesNotReturned() {
         // Given - insert a node then mark it as deleted
-        RegistryNodeEntity state1 = createNode("token123", "token456", 100L);
+        RegistryNodeEntity state1 = createNode(hex("token123"), hex("token456"), 100L);
         registryService.insert(state1);
 
-        RegistryNodeEntity deletedState = createNode("token123", "token456", 200L);
+        RegistryNodeEntity deletedState = createNode(hex("token123"), hex("token456"), 200L);
         deletedState.setIsDeleted(true);
         registryService.insert(deletedState);
 
@@ -99,15 +108,15 @@ class RegistryServiceTest {
 
         // Then - should not include deleted token
         assertEquals(0, allTokens.size());
-        assertFalse(registryService.isTokenRegistered("token123"));
+        assertFalse(registryService.isTokenRegistered(hex("token123")));
     }
 
     @Test
     void testGetAllTokensExcludesSentinel() {
         // Given
-        RegistryNodeEntity sentinel = createNode("", "token123", 100L); // Sentinel has empty key
-        RegistryNodeEntity token1 = createNode("token123", "token456", 100L);
-        RegistryNodeEntity token2 = createNode("token456", "ffffff", 100L);
+        RegistryNodeEntity sentinel = createNode("", hex("token123"), 100L); // Sentinel has empty key
+        RegistryNodeEntity token1 = createNode(hex("token123"), hex("token456"), 100L);
+        RegistryNodeEntity token2 = createNode(hex("token456"), hex("ffffff"), 100L);
 
         registryService.insert(sentinel);
         registryService.insert(token1);
@@ -124,9 +133,9 @@ class RegistryServiceTest {
     @Test
     void testGetTokensSortedByKey() {
         // Given - insert in random order
-        RegistryNodeEntity token3 = createNode("ccc", "fff", 100L);
-        RegistryNodeEntity token1 = createNode("aaa", "bbb", 100L);
-        RegistryNodeEntity token2 = createNode("bbb", "ccc", 100L);
+        RegistryNodeEntity token3 = createNode(hex("ccc"), hex("fff"), 100L);
+        RegistryNodeEntity token1 = createNode(hex("aaa"), hex("bbb"), 100L);
+        RegistryNodeEntity token2 = createNode(hex("bbb"), hex("ccc"), 100L);
 
         registryService.insert(token3);
         registryService.insert(token1);
@@ -137,48 +146,48 @@ class RegistryServiceTest {
 
         // Then - should be sorted alphabetically
         assertEquals(3, sorted.size());
-        assertEquals("aaa", sorted.get(0).getKey());
-        assertEquals("bbb", sorted.get(1).getKey());
-        assertEquals("ccc", sorted.get(2).getKey());
+        assertEquals(hex("aaa"), sorted.get(0).getKey());
+        assertEquals(hex("bbb"), sorted.get(1).getKey());
+        assertEquals(hex("ccc"), sorted.get(2).getKey());
     }
 
     @Test
     void testGetByKeyReturnsLatestState() {
         // Given - insert multiple states for same key
-        RegistryNodeEntity state1 = createNode("token123", "token456", 100L);
-        RegistryNodeEntity state2 = createNode("token123", "token789", 200L);
-        RegistryNodeEntity state3 = createNode("token123", "tokenXYZ", 300L);
+        RegistryNodeEntity state1 = createNode(hex("token123"), hex("token456"), 100L);
+        RegistryNodeEntity state2 = createNode(hex("token123"), hex("token789"), 200L);
+        RegistryNodeEntity state3 = createNode(hex("token123"), hex("tokenXYZ"), 300L);
 
         registryService.insert(state1);
         registryService.insert(state2);
         registryService.insert(state3);
 
         // When
-        RegistryNodeEntity found = registryService.getByKey("token123").orElseThrow();
+        RegistryNodeEntity found = registryService.getByKey(hex("token123")).orElseThrow();
 
         // Then - should return latest state (slot 300)
-        assertEquals("token123", found.getKey());
-        assertEquals("tokenXYZ", found.getNext());
+        assertEquals(hex("token123"), found.getKey());
+        assertEquals(hex("tokenXYZ"), found.getNext());
         assertEquals(300L, found.getSlot());
     }
 
     @Test
     void testIsTokenRegistered() {
         // Given
-        RegistryNodeEntity entity = createNode("token123", "token456", 100L);
+        RegistryNodeEntity entity = createNode(hex("token123"), hex("token456"), 100L);
         registryService.insert(entity);
 
         // Then
-        assertTrue(registryService.isTokenRegistered("token123"));
-        assertFalse(registryService.isTokenRegistered("nonexistent"));
+        assertTrue(registryService.isTokenRegistered(hex("token123")));
+        assertFalse(registryService.isTokenRegistered(hex("nonexistent")));
     }
 
     @Test
     void testCountTokens() {
         // Given
-        RegistryNodeEntity sentinel = createNode("", "token1", 100L);
-        RegistryNodeEntity token1 = createNode("token1", "token2", 100L);
-        RegistryNodeEntity token2 = createNode("token2", "fff", 100L);
+        RegistryNodeEntity sentinel = createNode("", hex("token1"), 100L);
+        RegistryNodeEntity token1 = createNode(hex("token1"), hex("token2"), 100L);
+        RegistryNodeEntity token2 = createNode(hex("token2"), hex("fff"), 100L);
 
         registryService.insert(sentinel);
         registryService.insert(token1);
@@ -204,8 +213,8 @@ class RegistryServiceTest {
         protocolParams2 = protocolParamsRepository.save(protocolParams2);
 
         // Create nodes for different registries
-        RegistryNodeEntity node1 = createNode("token1", "fff", 100L);
-        RegistryNodeEntity node2 = createNodeForProtocolParams("token2", "fff", 100L, protocolParams2);
+        RegistryNodeEntity node1 = createNode(hex("token1"), hex("fff"), 100L);
+        RegistryNodeEntity node2 = createNodeForProtocolParams(hex("token2"), hex("fff"), 100L, protocolParams2);
 
         registryService.insert(node1);
         registryService.insert(node2);
@@ -221,6 +230,44 @@ class RegistryServiceTest {
         assertEquals(2, allTokens.size());
     }
 
+    @Test
+    void testDeleteOrphanedNodes() {
+        // Given - sentinel -> aaa -> bbb -> ccc, then the sentinel is relinked to ccc
+        registryService.insert(createNode("", hex("aaa"), 100L));
+        registryService.insert(createNode(hex("aaa"), hex("bbb"), 100L));
+        registryService.insert(createNode(hex("bbb"), hex("ccc"), 100L));
+        registryService.insert(createNode(hex("ccc"), hex("fff"), 100L));
+        registryService.insert(createNode("", hex("ccc"), 200L));
+
+        // When
+        registryService.deleteOrphanedNodes("", hex("ccc"), protocolParams.getId(), 200L, 1001L, hex("deletionTx"));
+
+        // Then - the unlinked nodes are logged as deleted and no longer served
+        assertEquals(7, registryNodeRepository.count());
+        assertEquals(List.of(hex("ccc")), registryService.getAllTokens(protocolParams.getId()).stream().map(RegistryNodeEntity::getKey).toList());
+        assertFalse(registryService.isTokenRegistered(hex("aaa")));
+        assertFalse(registryService.isTokenRegistered(hex("bbb")));
+    }
+
+    @Test
+    void testRollbackReloadsDirectoryFromLog() {
+        // Given
+        registryService.insert(createNode(hex("token123"), hex("token456"), 100L));
+        registryService.insert(createNode(hex("token123"), hex("token789"), 200L));
+        registryService.insert(createNode(hex("token456"), hex("fff"), 200L));
+
+        // When
+        registryService.rollbackToSlot(150L);
+
+        // Then - the projection and the directory reflect the log as of slot 150
+        var current = registryNodeCurrentRepository.findByProtocolParamsIdAndKey(protocolParams.getId(), hex("token123")).orElseThrow();
+        assertEquals(100L, current.getSlot());
+        assertTrue(registryNodeCurrentRepository.findByProtocolParamsIdAndKey(protocolParams.getId(), hex("token456")).isEmpty());
+        assertEquals(hex("token456"), registryService.getByKey(hex("token123")).orElseThrow().getNext());
+        assertFalse(registryService.isTokenRegistered(hex("token456")));
+        assertEquals(1, registryService.countTokens(protocolParams.getId()));
+    }
+
     private RegistryNodeEntity createNode(String key, String next, long slot) {
         return createNodeForProtocolParams(key, next, slot, protocolParams);
     }
@@ -229,14 +276,19 @@ class RegistryServiceTest {
         return RegistryNodeEntity.builder()
                 .key(key)
                 .next(next)
-                .transferLogicScript("transferScript123")
-                .thirdPartyTransferLogicScript("thirdPartyScript456")
-                .globalStatePolicyId("globalState789")
+                .transferLogicScript(hex("transferScript123"))
+                .thirdPartyTransferLogicScript(hex("thirdPartyScript456"))
+                .globalStatePolicyId(hex("globalState789"))
                 .protocolParams(pp)
-                .txHash("txHash" + key + slot)
+                .txHash(hex("txHash" + key + slot))
                 .slot(slot)
                 .blockHeight(1000L)
                 .isDeleted(false)
                 .build();
     }
+
+    // Keys and hashes are stored as bytes, test labels are hex encoded
+    private static String hex(String label) {
+        return HexUtil.encodeHexString(label.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,88 @@
+package org.cardanofoundation.cip113.service;
+
+import org.cardanofoundation.cip113.repository.SlotPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SlotPartitionMaintenanceTest {
+
+    private static final long SLOT_RANGE = SlotPartitionRepository.SLOT_RANGE;
+
+    private SlotPartitionRepository repository;
+
+    private IndexerSyncStatus indexerSyncStatus;
+
+    private SlotPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SlotPartitionRepository.class);
+        indexerSyncStatus = mock(IndexerSyncStatus.class);
+        when(repository.findMinDefaultPartitionSlot(anyString())).thenReturn(Optional.empty());
+        maintenance = new SlotPartitionMaintenance(repository, indexerSyncStatus, true, 2);
+    }
+
+    @Test
+    void testCreatePartitions_fromSlowestListenerToAheadOfFastest() {
+        // Given
+        when(indexerSyncStatus.getStatuses()).thenReturn(Map.of(
+                IndexerMetrics.BALANCE, new IndexerSyncStatus.ListenerStatus(1000L, 10L, 20L, 0.05, 10L),
+                IndexerMetrics.REGISTRY, new IndexerSyncStatus.ListenerStatus(5000L, 50L, 20L, 0.05, 50L)));
+
+        // When
+        maintenance.createPartitions();
+
+        // Then
+        verify(repository).createPartitions("balance_log", 1000L, 5000L + 2 * SLOT_RANGE);
+        verify(repository).createPartitions("registry_node", 1000L, 5000L + 2 * SLOT_RANGE);
+    }
+
+    @Test
+    void testCreatePartitions_coversRowsInDefaultPartition() {
+        // Given
+        when(indexerSyncStatus.getStatuses()).thenReturn(Map.of(
+                IndexerMetrics.BALANCE, new IndexerSyncStatus.ListenerStatus(5000L, 50L, 20L, 0.05, 50L)));
+        when(repository.findMinDefaultPartitionSlot("balance_log")).thenReturn(Optional.of(200L));
+
+        // When
+        maintenance.createPartitions();
+
+        // Then
+        verify(repository).createPartitions("balance_log", 200L, 5000L + 2 * SLOT_RANGE);
+        verify(repository).createPartitions("registry_node", 5000L, 5000L + 2 * SLOT_RANGE);
+    }
+
+    @Test
+    void testCreatePartitions_skippedBeforeFirstBlock() {
+        // Given
+        when(indexerSyncStatus.getStatuses()).thenReturn(Map.of());
+
+        // When
+        maintenance.createPartitions();
+
+        // Then
+        verify(repository, never()).createPartitions(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testCreatePartitions_failureOfOneTableDoesNotSkipTheOthers() {
+        // Given
+        when(indexerSyncStatus.getStatuses()).thenReturn(Map.of(
+                IndexerMetrics.BALANCE, new IndexerSyncStatus.ListenerStatus(1000L, 10L, 20L, 0.05, 10L)));
+        when(repository.createPartitions(eq("balance_log"), anyLong(), anyLong()))
+                .thenThrow(new IllegalStateException("lock timeout"));
+
+        // When
+        maintenance.createPartitions();
+
+        // Then
+        verify(repository).createPartitions("registry_node", 1000L, 1000L + 2 * SLOT_RANGE);
+    }
+
+}
@@ -0,0 +1,166 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist.BlacklistNode;
+import org.cardanofoundation.cip113.model.onchain.siezeandfreeze.blacklist.BlacklistNodeParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SortedNodeIndexTest {
+
+    private static final String POLICY_ID = "nodePolicy";
+    private static final String HEAD_NEXT = "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff";
+    private static final String LIST_ADDRESS = "addr_test1list";
+
+    private SortedNodeIndex<BlacklistNode> index;
+
+    private UtxoProvider utxoProvider;
+
+    // head -> bb -> dd -> end
+    private final List<Utxo> listUtxos = List.of(
+            createUtxo("tx1", 0, new BlacklistNode("", "bb")),
+            createUtxo("tx2", 0, new BlacklistNode("bb", "dd")),
+            createUtxo("tx3", 0, new BlacklistNode("dd", HEAD_NEXT)));
+
+    @BeforeEach
+    void setUp() {
+        var parser = new BlacklistNodeParser();
+        utxoProvider = mock(UtxoProvider.class);
+        when(utxoProvider.hasLocalStore()).thenReturn(true);
+        when(utxoProvider.findLocalUtxos(LIST_ADDRESS)).thenReturn(listUtxos);
+        index = new SortedNodeIndex<>("test", utxoProvider) {
+            @Override
+            protected Optional<BlacklistNode> parseNode(String nodePolicyId, Utxo utxo) {
+                return parser.parse(utxo.getInlineDatum());
+            }
+        };
+    }
+
+    @Test
+    void testContains() {
+        assertTrue(index.contains(POLICY_ID, "bb", LIST_ADDRESS));
+        assertTrue(index.contains(POLICY_ID, "dd", LIST_ADDRESS));
+        assertFalse(index.contains(POLICY_ID, "cc", LIST_ADDRESS));
+
+        // Loaded only once
+        verify(utxoProvider, times(1)).findLocalUtxos(LIST_ADDRESS);
+    }
+
+    @Test
+    void testFindNode() {
+        var entry = index.findNode(POLICY_ID, "bb", LIST_ADDRESS).orElseThrow();
+        assertEquals("dd", entry.node().next());
+        assertEquals("tx2", entry.txHash());
+        assertEquals(0, entry.outputIndex());
+
+        assertTrue(index.findNode(POLICY_ID, "cc", LIST_ADDRESS).isEmpty());
+    }
+
+    @Test
+    void testFindCoveringNode() {
+        var covering = index.findCoveringNode(POLICY_ID, "cc", LIST_ADDRESS).orElseThrow();
+        assertEquals("bb", covering.node().key());
+        assertEquals("tx2", covering.txHash());
+
+        assertEquals("", index.findCoveringNode(POLICY_ID, "aa", LIST_ADDRESS).orElseThrow().node().key());
+        assertEquals("dd", index.findCoveringNode(POLICY_ID, "ee", LIST_ADDRESS).orElseThrow().node().key());
+
+        // Keys in the list have no covering node
+        assertTrue(index.findCoveringNode(POLICY_ID, "bb", LIST_ADDRESS).isEmpty());
+    }
+
+    @Test
+    void testChainUpdates() {
+        index.contains(POLICY_ID, "cc", LIST_ADDRESS);
+
+        // Insert cc: spend bb -> dd, create bb -> cc and cc -> dd
+        assertEquals(Optional.of(POLICY_ID), index.removeNode("tx2", 0));
+        index.addNode(POLICY_ID, new BlacklistNode("bb", "cc"), "tx4", 0);
+        index.addNode(POLICY_ID, new BlacklistNode("cc", "dd"), "tx4", 1);
+
+        assertTrue(index.contains(POLICY_ID, "cc", LIST_ADDRESS));
+        assertEquals("tx4", index.findCoveringNode(POLICY_ID, "bc", LIST_ADDRESS).orElseThrow().txHash());
+
+        // Remove bb: spend head and bb, create head -> cc
+        index.removeNode("tx1", 0);
+        index.removeNode("tx4", 0);
+        index.addNode(POLICY_ID, new BlacklistNode("", "cc"), "tx5", 0);
+
+        assertFalse(index.contains(POLICY_ID, "bb", LIST_ADDRESS));
+        assertEquals("tx5", index.findCoveringNode(POLICY_ID, "bb", LIST_ADDRESS).orElseThrow().txHash());
+        verify(utxoProvider, times(1)).findLocalUtxos(LIST_ADDRESS);
+    }
+
+    @Test
+    void testUpdatesIgnoredUntilLoaded() {
+        index.addNode(POLICY_ID, new BlacklistNode("cc", "dd"), "tx4", 1);
+        assertTrue(index.removeNode("tx2", 0).isEmpty());
+
+        assertTrue(index.getIndexedPolicyIds().isEmpty());
+        assertFalse(index.contains(POLICY_ID, "cc", LIST_ADDRESS));
+    }
+
+    @Test
+    void testFailedLoadNotCached() {
+        // Given
+        when(utxoProvider.findLocalUtxos(LIST_ADDRESS))
+                .thenThrow(new IllegalStateException("store unavailable"))
+                .thenReturn(listUtxos);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> index.contains(POLICY_ID, "bb", LIST_ADDRESS));
+
+        // Then
+        assertTrue(index.getIndexedPolicyIds().isEmpty());
+        assertTrue(index.contains(POLICY_ID, "bb", LIST_ADDRESS));
+        assertEquals(Set.of(POLICY_ID), index.getIndexedPolicyIds());
+    }
+
+    @Test
+    void testListMissingLocallyLookedUpDirectly() {
+        // Given: the local store has not synced the list yet
+        when(utxoProvider.findLocalUtxos(LIST_ADDRESS)).thenReturn(List.of());
+        when(utxoProvider.findAllBlockfrostUtxos(LIST_ADDRESS)).thenReturn(listUtxos);
+
+        // When
+        var covering = index.findCoveringNode(POLICY_ID, "cc", LIST_ADDRESS);
+
+        // Then: answered from Blockfrost, but not kept
+        assertEquals("bb", covering.orElseThrow().node().key());
+        assertTrue(index.getIndexedPolicyIds().isEmpty());
+        index.addNode(POLICY_ID, new BlacklistNode("bb", "cc"), "tx4", 0);
+        assertFalse(index.contains(POLICY_ID, "cc", LIST_ADDRESS));
+        verify(utxoProvider, times(2)).findLocalUtxos(LIST_ADDRESS);
+    }
+
+    @Test
+    void testNoLocalStoreLooksUpDirectly() {
+        // Given: no chain events without a local store
+        when(utxoProvider.hasLocalStore()).thenReturn(false);
+        when(utxoProvider.findAllBlockfrostUtxos(LIST_ADDRESS)).thenReturn(listUtxos);
+
+        // When
+        assertTrue(index.contains(POLICY_ID, "bb", LIST_ADDRESS));
+        assertTrue(index.contains(POLICY_ID, "dd", LIST_ADDRESS));
+
+        // Then
+        assertTrue(index.getIndexedPolicyIds().isEmpty());
+        verify(utxoProvider, times(2)).findAllBlockfrostUtxos(LIST_ADDRESS);
+        verify(utxoProvider, never()).findLocalUtxos(any());
+    }
+
+    private static Utxo createUtxo(String txHash, int outputIndex, BlacklistNode node) {
+        return Utxo.builder()
+                .txHash(txHash)
+                .outputIndex(outputIndex)
+                .inlineDatum(node.toPlutusData().serializeToHex())
+                .build();
+    }
+}
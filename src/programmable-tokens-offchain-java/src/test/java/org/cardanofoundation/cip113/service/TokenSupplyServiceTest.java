@@ -0,0 +1,158 @@
+package org.cardanofoundation.cip113.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.cardanofoundation.cip113.entity.TokenSupplyEntity;
+import org.cardanofoundation.cip113.entity.TokenSupplyEventEntity;
+import org.cardanofoundation.cip113.model.SupplyChange;
+import org.cardanofoundation.cip113.model.SupplyEventPage;
+import org.cardanofoundation.cip113.repository.TokenSupplyEventRepository;
+import org.cardanofoundation.cip113.repository.TokenSupplyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class TokenSupplyServiceTest {
+
+    private static final String POLICY_ID = "c".repeat(56);
+
+    private static final String ASSET_1 = "01";
+
+    private static final String ASSET_2 = "02";
+
+    @Autowired
+    private TokenSupplyRepository repository;
+
+    @Autowired
+    private TokenSupplyEventRepository eventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenSupplyService service;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        repository.deleteAll();
+        meterRegistry = new SimpleMeterRegistry();
+        service = new TokenSupplyService(repository, eventRepository, meterRegistry);
+    }
+
+    @Test
+    void testRecordMintsAndBurns() {
+        // Given
+        service.record(List.of(change(ASSET_1, "tx1", 100L, 1000)));
+        service.record(List.of(change(ASSET_1, "tx2", 200L, -200), change(ASSET_2, "tx3", 200L, 50)));
+
+        // When - a replayed block is skipped
+        var replayed = service.record(List.of(change(ASSET_1, "tx1", 100L, 1000)));
+
+        // Then
+        assertTrue(replayed.isEmpty());
+        assertEquals(3, eventRepository.count());
+
+        TokenSupplyEntity supply = supplyOf(ASSET_1);
+        assertEquals(BigInteger.valueOf(800), supply.getSupply());
+        assertEquals(BigInteger.valueOf(1000), supply.getMinted());
+        assertEquals(BigInteger.valueOf(200), supply.getBurned());
+        assertEquals("tx2", supply.getTxHash());
+        assertEquals(BigInteger.valueOf(50), supplyOf(ASSET_2).getSupply());
+    }
+
+    @Test
+    void testGetSupplyAtSlot() {
+        // Given
+        service.record(List.of(change(ASSET_1, "tx1", 100L, 1000)));
+        service.record(List.of(change(ASSET_1, "tx2", 200L, -200), change(ASSET_2, "tx3", 200L, 50)));
+
+        // When
+        List<TokenSupplyEventEntity> atSlot150 = service.getSupplyAtSlot(POLICY_ID, 150L);
+        List<TokenSupplyEventEntity> atSlot200 = service.getSupplyAtSlot(POLICY_ID, 200L).stream()
+                .sorted(Comparator.comparing(TokenSupplyEventEntity::getAssetName))
+                .toList();
+
+        // Then
+        assertEquals(1, atSlot150.size());
+        assertEquals(BigInteger.valueOf(1000), atSlot150.getFirst().getSupply());
+        assertEquals(List.of(BigInteger.valueOf(800), BigInteger.valueOf(50)), atSlot200.stream()
+                .map(TokenSupplyEventEntity::getSupply)
+                .toList());
+        assertTrue(service.getSupplyAtSlot(POLICY_ID, 50L).isEmpty());
+    }
+
+    @Test
+    void testRollbackToSlot() {
+        // Given
+        service.record(List.of(change(ASSET_1, "tx1", 100L, 1000)));
+        service.record(List.of(change(ASSET_1, "tx2", 200L, -200), change(ASSET_2, "tx3", 200L, 50)));
+
+        // When
+        int deleted = service.rollbackToSlot(150L);
+
+        // Then - the supply is re-projected from the surviving events
+        assertEquals(2, deleted);
+        assertEquals(1, eventRepository.count());
+        assertEquals(BigInteger.valueOf(1000), supplyOf(ASSET_1).getSupply());
+        assertEquals(BigInteger.ZERO, supplyOf(ASSET_1).getBurned());
+        assertEquals(1, service.getSupply(POLICY_ID).size());
+    }
+
+    @Test
+    void testGetHistory() {
+        // Given
+        service.record(List.of(change(ASSET_1, "tx1", 100L, 1000)));
+        service.record(List.of(change(ASSET_1, "tx2", 200L, -200)));
+        service.record(List.of(change(ASSET_1, "tx3", 300L, 500)));
+
+        // When
+        SupplyEventPage first = service.getHistory(POLICY_ID, null, 2);
+        SupplyEventPage second = service.getHistory(POLICY_ID, first.nextCursor().orElseThrow(), 2);
+
+        // Then - most recent first, each event with the supply after it
+        assertEquals(List.of("tx3", "tx2"), first.events().stream().map(TokenSupplyEventEntity::getTxHash).toList());
+        assertEquals(BigInteger.valueOf(1300), first.events().getFirst().getSupply());
+        assertEquals(List.of("tx1"), second.events().stream().map(TokenSupplyEventEntity::getTxHash).toList());
+        assertTrue(second.nextCursor().isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testSupplyGauge() {
+        // Given - outside a transaction the gauges are updated straight away
+        service.record(List.of(change(ASSET_1, "tx1", 100L, 1000), change(ASSET_2, "tx2", 100L, 20)));
+        service.record(List.of(change(ASSET_1, "tx3", 200L, -300)));
+
+        // Then - all the asset names of the policy together
+        assertEquals(720d, meterRegistry.get("token.supply").tag("policy", POLICY_ID).gauge().value());
+
+        // And the gauges are restored at startup
+        var restarted = new SimpleMeterRegistry();
+        new TokenSupplyService(repository, eventRepository, restarted).loadGauges();
+        assertEquals(720d, restarted.get("token.supply").tag("policy", POLICY_ID).gauge().value());
+    }
+
+    private TokenSupplyEntity supplyOf(String assetName) {
+        return service.getSupply(POLICY_ID).stream()
+                .filter(supply -> assetName.equals(supply.getAssetName()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static SupplyChange change(String assetName, String txHash, long slot, long quantity) {
+        return new SupplyChange(POLICY_ID, assetName, txHash, slot, slot * 10, BigInteger.valueOf(quantity));
+    }
+}
@@ -0,0 +1,59 @@
+package org.cardanofoundation.cip113.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.cardanofoundation.cip113.model.TransactionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionBuildMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransactionBuildMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new TransactionBuildMetrics(meterRegistry);
+    }
+
+    @Test
+    void testRecord_taggedByOutcome() {
+        // When
+        metrics.record("transfer", "dummy", TransactionBuildMetrics.BASIC, () -> TransactionContext.ok("84a4"));
+        metrics.record("transfer", "dummy", TransactionBuildMetrics.BASIC, () -> TransactionContext.error("no utxos"));
+
+        // Then
+        assertEquals(1, timerCount("transfer", "success"));
+        assertEquals(1, timerCount("transfer", "failure"));
+    }
+
+    @Test
+    void testRecord_exceptionIsRecordedAndRethrown() {
+        // When
+        assertThrows(IllegalStateException.class, () -> metrics.record("seize", "freeze-and-seize", TransactionBuildMetrics.SEIZE,
+                () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        // Then
+        assertEquals(1, meterRegistry.get("tx.build.duration")
+                .tag("operation", "seize")
+                .tag("capability", TransactionBuildMetrics.SEIZE)
+                .tag("outcome", "error")
+                .timer()
+                .count());
+    }
+
+    private long timerCount(String operation, String outcome) {
+        return meterRegistry.get("tx.build.duration")
+                .tag("operation", operation)
+                .tag("substandard", "dummy")
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+}
@@ -21,6 +21,7 @@ import com.bloxbean.cardano.client.util.HexUtil;
 import com.easy1staking.cardano.model.AssetType;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.AbstractPreviewTest;
 import org.cardanofoundation.cip113.config.AppConfig;
@@ -49,7 +50,7 @@ public class PreviewRegisterTest extends AbstractPreviewTest {
 
     private final ProtocolScriptBuilderService protocolScriptBuilderService = new ProtocolScriptBuilderService(protocolBootstrapService);
 
-    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null);
+    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null, new SimpleMeterRegistry());
 
     private final AccountService accountService = new AccountService(utxoProvider);
 
@@ -57,7 +58,7 @@ public class PreviewRegisterTest extends AbstractPreviewTest {
 
     private SubstandardService substandardService;
 
-    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser(OBJECT_MAPPER);
+    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser();
 
     @BeforeEach
     public void init() {
@@ -26,6 +26,7 @@ import com.bloxbean.cardano.client.util.HexUtil;
 import com.easy1staking.cardano.comparator.TransactionInputComparator;
 import com.easy1staking.cardano.model.AssetType;
 import com.easy1staking.util.Pair;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.AbstractPreviewTest;
 import org.cardanofoundation.cip113.config.AppConfig;
@@ -48,7 +49,7 @@ public class PreviewTransferTest extends AbstractPreviewTest implements PreviewF
 
     private final Network network = Networks.preview();
 
-    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null);
+    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null, new SimpleMeterRegistry());
 
     private final AccountService accountService = new AccountService(utxoProvider);
 
@@ -58,9 +59,9 @@ public class PreviewTransferTest extends AbstractPreviewTest implements PreviewF
 
     private SubstandardService substandardService;
 
-    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser(OBJECT_MAPPER);
+    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser();
 
-    private final BlacklistNodeParser blacklistNodeParser = new BlacklistNodeParser(OBJECT_MAPPER);
+    private final BlacklistNodeParser blacklistNodeParser = new BlacklistNodeParser();
 
     @BeforeEach
     public void init() {
@@ -20,6 +20,7 @@ import com.bloxbean.cardano.client.transaction.spec.TransactionInput;
 import com.bloxbean.cardano.client.transaction.spec.Value;
 import com.bloxbean.cardano.client.util.HexUtil;
 import com.easy1staking.util.Pair;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.AbstractPreviewTest;
 import org.cardanofoundation.cip113.model.bootstrap.TxInput;
@@ -44,13 +45,13 @@ public class PreviewBlacklistManagementTest extends AbstractPreviewTest implemen
 
     private final Network network = Networks.preview();
 
-    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null);
+    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null, new SimpleMeterRegistry());
 
     private final AccountService accountService = new AccountService(utxoProvider);
 
     private SubstandardService substandardService;
 
-    private final BlacklistNodeParser blacklistNodeParser = new BlacklistNodeParser(OBJECT_MAPPER);
+    private final BlacklistNodeParser blacklistNodeParser = new BlacklistNodeParser();
 
     @BeforeEach
     public void init() {
@@ -25,6 +25,7 @@ import com.bloxbean.cardano.client.transaction.spec.Value;
 import com.bloxbean.cardano.client.util.HexUtil;
 import com.easy1staking.cardano.model.AssetType;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.AbstractPreviewTest;
 import org.cardanofoundation.cip113.config.AppConfig;
@@ -52,7 +53,7 @@ public class PreviewRegisterTest extends AbstractPreviewTest implements PreviewF
 
     private final Network network = Networks.preview();
 
-    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null);
+    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null, new SimpleMeterRegistry());
 
     private final AccountService accountService = new AccountService(utxoProvider);
 
@@ -64,7 +65,7 @@ public class PreviewRegisterTest extends AbstractPreviewTest implements PreviewF
 
     private SubstandardService substandardService;
 
-    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser(OBJECT_MAPPER);
+    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser();
 
     @BeforeEach
     public void init() {
@@ -24,6 +24,7 @@ import com.bloxbean.cardano.client.util.HexUtil;
 import com.easy1staking.cardano.comparator.TransactionInputComparator;
 import com.easy1staking.cardano.comparator.UtxoComparator;
 import com.easy1staking.cardano.model.AssetType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.AbstractPreviewTest;
 import org.cardanofoundation.cip113.config.AppConfig;
@@ -49,7 +50,7 @@ public class PreviewSeizeTest extends AbstractPreviewTest implements PreviewFree
 
     private final Network network = Networks.preview();
 
-    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null);
+    private final UtxoProvider utxoProvider = new UtxoProvider(bfBackendService, null, new SimpleMeterRegistry());
 
     private final AccountService accountService = new AccountService(utxoProvider);
 
@@ -61,9 +62,9 @@ public class PreviewSeizeTest extends AbstractPreviewTest implements PreviewFree
 
     private SubstandardService substandardService;
 
-    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser(OBJECT_MAPPER);
+    private final RegistryNodeParser registryNodeParser = new RegistryNodeParser();
 
-    private final BlacklistNodeParser blacklistNodeParser = new BlacklistNodeParser(OBJECT_MAPPER);
+    private final BlacklistNodeParser blacklistNodeParser = new BlacklistNodeParser();
 
     @BeforeEach
     public void init() {
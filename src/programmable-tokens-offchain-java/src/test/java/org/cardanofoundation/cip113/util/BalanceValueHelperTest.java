@@ -134,6 +134,43 @@ class BalanceValueHelperTest {
         assertTrue(diff.isEmpty()); // No changes
     }
 
+    @Test
+    void testJsonRoundTrip() {
+        // Given
+        String unit = "aa".repeat(28) + "746f6b656e";
+        String json = "{\"lovelace\":\"2000000\",\"" + unit + "\":\"42\"}";
+
+        // When
+        Value value = BalanceValueHelper.fromJson(json);
+
+        // Then
+        assertEquals(BigInteger.valueOf(2000000), value.getCoin());
+        assertEquals(json, BalanceValueHelper.toJson(value));
+        assertEquals(json, BalanceValueHelper.toJson(BalanceValueHelper.accumulatorFromJson(json)));
+        assertEquals(Map.of("lovelace", "2000000", unit, "42"), BalanceValueHelper.unitMapFromJson(json));
+    }
+
+    @Test
+    void testFromJson_Invalid() {
+        // When/Then - unreadable balances are empty
+        assertEquals(BigInteger.ZERO, BalanceValueHelper.fromJson("not json").getCoin());
+        assertEquals(BigInteger.ZERO, BalanceValueHelper.fromJson(null).getCoin());
+        assertTrue(BalanceValueHelper.unitMapFromJson("[]").isEmpty());
+    }
+
+    @Test
+    void testAccumulatorFromJsonStrict_Invalid() {
+        // When/Then - the strict variant refuses unreadable balances instead of reading them as empty
+        assertThrows(IllegalStateException.class, () -> BalanceValueHelper.accumulatorFromJsonStrict("not json"));
+        assertThrows(IllegalStateException.class, () -> BalanceValueHelper.accumulatorFromJsonStrict("[]"));
+        assertThrows(IllegalStateException.class, () -> BalanceValueHelper.accumulatorFromJsonStrict("{\"lovelace\":\"+1x\"}"));
+        assertThrows(IllegalStateException.class, () -> BalanceValueHelper.fromJsonStrict("{\"lovelace\":{}}"));
+
+        // Missing balances are still empty
+        assertEquals(BigInteger.ZERO, BalanceValueHelper.fromJsonStrict(null).getCoin());
+        assertEquals(BigInteger.valueOf(5), BalanceValueHelper.accumulatorFromJsonStrict("{\"lovelace\":\"+5\"}").get("lovelace"));
+    }
+
     // Helper method
     private Value createBalanceWithAssets(BigInteger lovelace, String policyId, String assetName, BigInteger assetAmount) {
         return Value.builder()
@@ -0,0 +1,109 @@
+package org.cardanofoundation.cip113.util;
+
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiAssetAccumulatorTest {
+
+    private static final String POLICY_ID = "aa".repeat(28);
+
+    private static final String OTHER_POLICY_ID = "bb".repeat(28);
+
+    private static final String UNIT = POLICY_ID + "746f6b656e";
+
+    private static final String OTHER_UNIT = OTHER_POLICY_ID + "6e6674";
+
+    @Test
+    void testAddAndSubtract() {
+        // Given
+        var accumulator = new MultiAssetAccumulator();
+
+        // When - two outputs and an input, the input spends all of OTHER_UNIT
+        accumulator.add("lovelace", BigInteger.valueOf(2_000_000))
+                .add(UNIT, BigInteger.valueOf(100))
+                .add(OTHER_UNIT, BigInteger.ONE)
+                .add(UNIT, BigInteger.valueOf(50))
+                .subtract("lovelace", BigInteger.valueOf(500_000))
+                .subtract(OTHER_UNIT, BigInteger.ONE);
+
+        // Then - zero quantities are left out
+        assertEquals(BigInteger.valueOf(1_500_000), accumulator.getLovelace());
+        assertEquals(BigInteger.valueOf(150), accumulator.get(UNIT));
+        assertEquals(Map.of("lovelace", "1500000", UNIT, "150"), accumulator.toUnitMap());
+        assertEquals(Set.of(POLICY_ID), accumulator.getPolicyIds());
+    }
+
+    @Test
+    void testOverflowFallsBackToBigInteger() {
+        // Given
+        var accumulator = new MultiAssetAccumulator();
+        var max = BigInteger.valueOf(Long.MAX_VALUE);
+
+        // When
+        accumulator.add(UNIT, max).add(UNIT, max).add(UNIT, BigInteger.TEN);
+        accumulator.subtract("lovelace", max).subtract("lovelace", max).subtract("lovelace", BigInteger.TWO);
+
+        // Then
+        assertEquals(max.multiply(BigInteger.TWO).add(BigInteger.TEN), accumulator.get(UNIT));
+        assertEquals(max.multiply(BigInteger.TWO).add(BigInteger.TWO).negate(), accumulator.getLovelace());
+
+        // And still exact back in the long range
+        accumulator.subtract(UNIT, max.multiply(BigInteger.TWO));
+        assertEquals(BigInteger.TEN, accumulator.get(UNIT));
+    }
+
+    @Test
+    void testValueRoundTrip() {
+        // Given
+        Value value = Value.builder()
+                .coin(BigInteger.valueOf(3_000_000))
+                .build()
+                .add(POLICY_ID, "0x746f6b656e", BigInteger.valueOf(42))
+                .add(OTHER_POLICY_ID, "0x6e6674", BigInteger.ONE);
+
+        // When
+        var accumulator = MultiAssetAccumulator.of(value);
+        var roundTrip = accumulator.toValue();
+
+        // Then
+        assertEquals(BigInteger.valueOf(3_000_000), roundTrip.getCoin());
+        assertEquals(BigInteger.valueOf(42), accumulator.get(UNIT));
+        assertEquals(BigInteger.ONE, accumulator.get(OTHER_UNIT));
+        assertEquals(MultiAssetAccumulator.of(roundTrip).toUnitMap(), accumulator.toUnitMap());
+        assertTrue(MultiAssetAccumulator.of(value).subtract(value).isZero());
+    }
+
+    @Test
+    void testFromUnitMap() {
+        // Given
+        Map<String, String> unitMap = Map.of("lovelace", "1000", UNIT, "7");
+
+        // When
+        Value value = BalanceValueHelper.fromUnitMap(unitMap);
+
+        // Then
+        assertEquals(BigInteger.valueOf(1000), value.getCoin());
+        assertEquals(1, value.getMultiAssets().size());
+        assertEquals(POLICY_ID, value.getMultiAssets().getFirst().getPolicyId());
+        assertEquals(BigInteger.valueOf(7), value.getMultiAssets().getFirst().getAssets().getFirst().getValue());
+    }
+
+    @Test
+    void testDotSeparatedUnit() {
+        // Given
+        var accumulator = new MultiAssetAccumulator();
+
+        // When
+        accumulator.add(POLICY_ID + ".746f6b656e", BigInteger.ONE).add(UNIT, BigInteger.ONE);
+
+        // Then
+        assertEquals(BigInteger.TWO, accumulator.get(UNIT));
+    }
+
+}
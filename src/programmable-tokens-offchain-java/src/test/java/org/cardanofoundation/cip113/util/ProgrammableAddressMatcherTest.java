@@ -0,0 +1,78 @@
+package org.cardanofoundation.cip113.util;
+
+import com.bloxbean.cardano.client.address.AddressProvider;
+import com.bloxbean.cardano.client.address.Credential;
+import com.bloxbean.cardano.client.common.model.Networks;
+import com.bloxbean.cardano.client.util.HexUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgrammableAddressMatcherTest {
+
+    private static final String SCRIPT_HASH = "aaa513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126102";
+
+    private static final String OTHER_SCRIPT_HASH = "bb".repeat(28);
+
+    private static final String STAKE_KEY_HASH = "cc".repeat(28);
+
+    private final ProgrammableAddressMatcher matcher = ProgrammableAddressMatcher.of(List.of(SCRIPT_HASH));
+
+    @Test
+    void testMatchesScriptBaseAddress() {
+        // Given - mainnet and testnet base addresses locked by the monitored script
+        var mainnet = AddressProvider.getBaseAddress(script(SCRIPT_HASH), key(STAKE_KEY_HASH), Networks.mainnet()).toBech32();
+        var testnet = AddressProvider.getBaseAddress(script(SCRIPT_HASH), key(STAKE_KEY_HASH), Networks.preprod()).toBech32();
+
+        // Then
+        assertTrue(matcher.matches(mainnet));
+        assertTrue(matcher.matches(testnet));
+        assertEquals(SCRIPT_HASH, AddressUtil.decompose(mainnet).getPaymentScriptHash());
+    }
+
+    @Test
+    void testMatchesScriptEnterpriseAddress() {
+        // Given
+        var address = AddressProvider.getEntAddress(script(SCRIPT_HASH), Networks.mainnet()).toBech32();
+
+        // Then
+        assertTrue(matcher.matches(address));
+    }
+
+    @Test
+    void testRejectsOtherAddresses() {
+        // Given - another script, a key payment credential with the script hash bytes, and invalid input
+        var otherScript = AddressProvider.getBaseAddress(script(OTHER_SCRIPT_HASH), key(STAKE_KEY_HASH), Networks.mainnet()).toBech32();
+        var keyAddress = AddressProvider.getBaseAddress(key(SCRIPT_HASH), key(STAKE_KEY_HASH), Networks.mainnet()).toBech32();
+        var stakeAddress = AddressProvider.getRewardAddress(script(SCRIPT_HASH), Networks.mainnet()).toBech32();
+
+        // Then
+        assertFalse(matcher.matches(otherScript));
+        assertFalse(matcher.matches(keyAddress));
+        assertFalse(matcher.matches(stakeAddress));
+        assertFalse(matcher.matches("not_a_valid_address"));
+        assertFalse(matcher.matches("addr1"));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    void testNoneMatchesNothing() {
+        // Given
+        var address = AddressProvider.getEntAddress(script(SCRIPT_HASH), Networks.mainnet()).toBech32();
+
+        // Then
+        assertFalse(ProgrammableAddressMatcher.NONE.matches(address));
+        assertFalse(ProgrammableAddressMatcher.of(List.of()).matches(address));
+    }
+
+    private static Credential script(String hash) {
+        return Credential.fromScript(HexUtil.decodeHexString(hash));
+    }
+
+    private static Credential key(String hash) {
+        return Credential.fromKey(HexUtil.decodeHexString(hash));
+    }
+
+}